@@ -0,0 +1,371 @@
+package com.chadtalty.commons.data.access.loadtest;
+
+import com.chadtalty.commons.data.access.benchmark.BenchmarkData;
+import com.chadtalty.commons.data.access.testutil.JpaTestConfig;
+import com.chadtalty.commons.data.access.testutil.TestOrder;
+import com.chadtalty.commons.data.access.testutil.TestOrderDAO;
+import com.chadtalty.commons.data.query.BasicFilter;
+import com.chadtalty.commons.data.query.Criteria;
+import com.chadtalty.commons.data.query.PageableCriteria;
+import com.chadtalty.commons.data.query.SortSpec;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Drives {@link TestOrderDAO} on embedded H2 from many platform or virtual threads with a weighted
+ * mix of operations, to reproduce contention outside production. Reports throughput, latency
+ * percentiles per operation ({@link Histogram HdrHistogram}), connection wait time behind a
+ * bounded HikariCP pool (from its metrics tracker), and GC activity, as one JSON object so runs can
+ * be compared.
+ *
+ * <p>Run from the {@code benchmarks} module, e.g. {@code mvn compile exec:java
+ * -Dexec.args="threads=10000 virtual=true pool=20 seconds=30
+ * mix=findById:50,getQueryResult:15,getQueryResultPage:15,count:10,save:10 out=run.json"}.
+ * Arguments are {@code key=value}; see {@link Options} for the defaults.
+ */
+public final class DaoLoadTest {
+
+    /** Operations the threads pick from; the weights come from {@code mix}. */
+    enum Operation {
+        findById,
+        getQueryResult,
+        getQueryResultPage,
+        count,
+        save
+    }
+
+    /**
+     * Run parameters.
+     *
+     * @param threads concurrent callers.
+     * @param virtual virtual instead of platform threads.
+     * @param pool    maximum open connections.
+     * @param rows    orders inserted before the run.
+     * @param warmup  time to run before measuring.
+     * @param seconds measured run time.
+     * @param mix     relative weight per operation.
+     * @param out     file for the JSON report, or {@code null} for stdout only.
+     */
+    record Options(
+            int threads,
+            boolean virtual,
+            int pool,
+            int rows,
+            Duration warmup,
+            Duration seconds,
+            Map<Operation, Integer> mix,
+            Path out) {
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new LinkedHashMap<>();
+            values.put("threads", "500");
+            values.put("virtual", "true");
+            values.put("pool", "10");
+            values.put("rows", "10000");
+            values.put("warmup", "5");
+            values.put("seconds", "15");
+            values.put("mix", "findById:50,getQueryResult:15,getQueryResultPage:15,count:10,save:10");
+            for (String arg : args) {
+                int eq = arg.indexOf('=');
+                if (eq < 0 || !values.containsKey(arg.substring(0, eq)) && !arg.startsWith("out=")) {
+                    throw new IllegalArgumentException("Unknown argument: " + arg + "; expected key=value with key in "
+                            + values.keySet() + " or out");
+                }
+                values.put(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+            Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+            for (String entry : values.get("mix").split(",")) {
+                String[] parts = entry.split(":");
+                mix.put(Operation.valueOf(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+            }
+            return new Options(
+                    Integer.parseInt(values.get("threads")),
+                    Boolean.parseBoolean(values.get("virtual")),
+                    Integer.parseInt(values.get("pool")),
+                    Integer.parseInt(values.get("rows")),
+                    Duration.ofSeconds(Long.parseLong(values.get("warmup"))),
+                    Duration.ofSeconds(Long.parseLong(values.get("seconds"))),
+                    mix,
+                    values.containsKey("out") ? Path.of(values.get("out")) : null);
+        }
+    }
+
+    /** Puts a HikariCP pool of {@code pool} connections in front of the test data source. */
+    @Configuration
+    static class PoolConfig {
+
+        static int maxConnections;
+
+        static final PoolWaits waits = new PoolWaits();
+
+        @Bean
+        static BeanPostProcessor hikariDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource) || bean instanceof HikariDataSource) {
+                        return bean;
+                    }
+                    HikariConfig config = new HikariConfig();
+                    config.setPoolName("dao-load-test");
+                    config.setDataSource(dataSource);
+                    config.setMaximumPoolSize(maxConnections);
+                    config.setMinimumIdle(maxConnections);
+                    // callers queue for a connection rather than fail; the wait is what is measured
+                    config.setConnectionTimeout(Duration.ofMinutes(10).toMillis());
+                    config.setMetricsTrackerFactory(waits);
+                    return new HikariDataSource(config);
+                }
+            };
+        }
+    }
+
+    /** Connection waits reported by HikariCP since the last {@link #reset()}. */
+    static final class PoolWaits implements MetricsTrackerFactory {
+
+        final Histogram nanos = new ConcurrentHistogram(3);
+
+        final LongAdder totalNanos = new LongAdder();
+
+        @Override
+        public IMetricsTracker create(String poolName, PoolStats poolStats) {
+            return new IMetricsTracker() {
+                @Override
+                public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                    nanos.recordValue(elapsedAcquiredNanos);
+                    totalNanos.add(elapsedAcquiredNanos);
+                }
+            };
+        }
+
+        void reset() {
+            nanos.reset();
+            totalNanos.reset();
+        }
+    }
+
+    /** Per-operation outcome counters. */
+    private static final class Stats {
+
+        final Histogram latency = new ConcurrentHistogram(3);
+
+        final AtomicLong errors = new AtomicLong();
+    }
+
+    private DaoLoadTest() {}
+
+    public static void main(String[] args) throws InterruptedException {
+        Options options = Options.parse(args);
+        PoolConfig.maxConnections = options.pool();
+        try (var context = new AnnotationConfigApplicationContext(JpaTestConfig.class, PoolConfig.class)) {
+            TestOrderDAO dao = context.getBean(TestOrderDAO.class);
+            HikariDataSource pool = (HikariDataSource) context.getBean(DataSource.class);
+            BenchmarkData.insertOrders(new JdbcTemplate(pool), options.rows());
+
+            run(dao, options, options.warmup(), new EnumMap<>(Operation.class));
+            PoolConfig.waits.reset();
+            long[] gcBefore = gc();
+
+            Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+            long elapsed = run(dao, options, options.seconds(), stats);
+
+            long[] gcAfter = gc();
+            String json = report(
+                    options, elapsed, stats, pool, PoolConfig.waits, gcAfter[0] - gcBefore[0], gcAfter[1] - gcBefore[1]);
+            System.out.println(json);
+            if (options.out() != null) {
+                try {
+                    Files.writeString(options.out(), json + System.lineSeparator());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    /** Runs the mix on {@code options.threads()} threads for {@code duration}; returns elapsed nanos. */
+    private static long run(TestOrderDAO dao, Options options, Duration duration, Map<Operation, Stats> stats)
+            throws InterruptedException {
+        for (Operation operation : Operation.values()) {
+            stats.putIfAbsent(operation, new Stats());
+        }
+        Operation[] wheel = wheel(options.mix());
+        long maxId = options.rows();
+        CountDownLatch start = new CountDownLatch(1);
+        long[] deadline = new long[1];
+        Thread.Builder builder = options.virtual() ? Thread.ofVirtual() : Thread.ofPlatform().daemon();
+        List<Thread> threads = new ArrayList<>(options.threads());
+        for (int t = 0; t < options.threads(); t++) {
+            threads.add(builder.start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() - deadline[0] < 0) {
+                    Operation operation = wheel[random.nextInt(wheel.length)];
+                    Stats target = stats.get(operation);
+                    long began = System.nanoTime();
+                    try {
+                        execute(dao, operation, random, maxId);
+                    } catch (RuntimeException e) {
+                        target.errors.incrementAndGet();
+                    }
+                    target.latency.recordValue(System.nanoTime() - began);
+                }
+            }));
+        }
+        long began = System.nanoTime();
+        deadline[0] = began + duration.toNanos();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return System.nanoTime() - began;
+    }
+
+    private static void execute(TestOrderDAO dao, Operation operation, ThreadLocalRandom random, long maxId) {
+        String status = BenchmarkData.STATUSES[random.nextInt(BenchmarkData.STATUSES.length)];
+        switch (operation) {
+            case findById -> dao.findById(1 + random.nextLong(maxId));
+            case getQueryResult -> {
+                Criteria criteria = criteria(new Criteria(), status);
+                criteria.setSort(new SortSpec(List.of("id"), List.of()));
+                dao.getQueryResult(criteria).size();
+            }
+            case getQueryResultPage -> {
+                PageableCriteria criteria = criteria(new PageableCriteria(), status);
+                criteria.setPage(random.nextInt(10));
+                criteria.setSize(20);
+                dao.getQueryResultPage(criteria);
+            }
+            case count -> dao.count(criteria(new Criteria(), status));
+            case save -> {
+                TestOrder order = new TestOrder(status, "EU", random.nextInt(10));
+                dao.save(order);
+            }
+        }
+    }
+
+    /** Filters on status and a narrow priority range, so each query returns a bounded slice. */
+    private static <C extends Criteria> C criteria(C criteria, String status) {
+        criteria.setFilters(List.of(
+                BasicFilter.builder()
+                        .field("status")
+                        .operator(BasicFilter.Operator.EQUAL)
+                        .value(status)
+                        .build(),
+                BasicFilter.builder()
+                        .field("priority")
+                        .operator(BasicFilter.Operator.EQUAL)
+                        .value(String.valueOf(ThreadLocalRandom.current().nextInt(10)))
+                        .build()));
+        return criteria;
+    }
+
+    /** One slot per unit of weight, for weighted random picks without a lock. */
+    private static Operation[] wheel(Map<Operation, Integer> mix) {
+        List<Operation> slots = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(operation);
+            }
+        });
+        if (slots.isEmpty()) {
+            throw new IllegalArgumentException("The mix has no positive weight: " + mix);
+        }
+        return slots.toArray(Operation[]::new);
+    }
+
+    /** Total collections and collection time in millis over all collectors. */
+    private static long[] gc() {
+        long count = 0;
+        long millis = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, bean.getCollectionCount());
+            millis += Math.max(0, bean.getCollectionTime());
+        }
+        return new long[] {count, millis};
+    }
+
+    private static String report(
+            Options options,
+            long elapsedNanos,
+            Map<Operation, Stats> stats,
+            HikariDataSource pool,
+            PoolWaits waits,
+            long gcCount,
+            long gcMillis) {
+        double seconds = elapsedNanos / 1e9;
+        long total = stats.values().stream().mapToLong(s -> s.latency.getTotalCount()).sum();
+        String operations = stats.entrySet().stream()
+                .map(e -> {
+                    Histogram h = e.getValue().latency;
+                    return String.format(
+                            Locale.ROOT,
+                            "\"%s\":{\"count\":%d,\"errors\":%d,\"throughput\":%.1f,\"p50Micros\":%.1f,"
+                                    + "\"p90Micros\":%.1f,\"p99Micros\":%.1f,\"p999Micros\":%.1f,\"maxMicros\":%.1f}",
+                            e.getKey(),
+                            h.getTotalCount(),
+                            e.getValue().errors.get(),
+                            h.getTotalCount() / seconds,
+                            h.getValueAtPercentile(50) / 1e3,
+                            h.getValueAtPercentile(90) / 1e3,
+                            h.getValueAtPercentile(99) / 1e3,
+                            h.getValueAtPercentile(99.9) / 1e3,
+                            h.getMaxValue() / 1e3);
+                })
+                .collect(Collectors.joining(",", "{", "}"));
+        return String.format(
+                Locale.ROOT,
+                "{\"threads\":%d,\"virtual\":%b,\"poolSize\":%d,\"rows\":%d,\"seconds\":%.3f,\"operations\":%d,"
+                        + "\"throughput\":%.1f,\"byOperation\":%s,\"pool\":{\"acquisitions\":%d,\"totalWaitMillis\":%.1f,"
+                        + "\"p99WaitMicros\":%.1f,\"maxWaitMicros\":%.1f},\"gc\":{\"collections\":%d,\"timeMillis\":%d,"
+                        + "\"heapUsedBytes\":%d}}",
+                options.threads(),
+                options.virtual(),
+                pool.getMaximumPoolSize(),
+                options.rows(),
+                seconds,
+                total,
+                total / seconds,
+                operations,
+                waits.nanos.getTotalCount(),
+                waits.totalNanos.sum() / 1e6,
+                waits.nanos.getValueAtPercentile(99) / 1e3,
+                waits.nanos.getMaxValue() / 1e3,
+                gcCount,
+                gcMillis,
+                ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+    }
+}
@@ -1,82 +1,549 @@
 package com.chadtalty.commons.data.access;
 
+import com.chadtalty.commons.data.access.aggregate.AggregateQuery;
+import com.chadtalty.commons.data.access.aggregate.AggregateRow;
+import com.chadtalty.commons.data.access.batch.BatchQuery;
+import com.chadtalty.commons.data.access.batch.BatchResult;
+import com.chadtalty.commons.data.access.batch.BatchSpec;
+import com.chadtalty.commons.data.access.capture.CaptureOptions;
+import com.chadtalty.commons.data.access.capture.QueryOperation;
+import com.chadtalty.commons.data.access.capture.QueryRecorder;
+import com.chadtalty.commons.data.access.changes.Change;
+import com.chadtalty.commons.data.access.changes.ChangeBatch;
+import com.chadtalty.commons.data.access.changes.Watermark;
+import com.chadtalty.commons.data.access.export.ExportColumn;
+import com.chadtalty.commons.data.access.export.ExportFormat;
+import com.chadtalty.commons.data.access.export.ExportWriter;
+import com.chadtalty.commons.data.access.facet.FacetQuery;
+import com.chadtalty.commons.data.access.facet.FacetResult;
+import com.chadtalty.commons.data.access.filter.CompositeFilter;
+import com.chadtalty.commons.data.access.filter.Filters;
 import com.chadtalty.commons.data.access.filter.handler.FilterHandlerFactory;
+import com.chadtalty.commons.data.access.guard.IndexedAttributes;
+import com.chadtalty.commons.data.access.guard.QueryGuard;
+import com.chadtalty.commons.data.access.guard.QueryPolicy;
+import com.chadtalty.commons.data.access.guard.QueryRejectedException;
+import com.chadtalty.commons.data.access.guard.QueryTimeouts;
+import com.chadtalty.commons.data.access.id.PooledIdAllocator;
+import com.chadtalty.commons.data.access.invalidation.Invalidation;
+import com.chadtalty.commons.data.access.invalidation.InvalidationBus;
 import com.chadtalty.commons.data.access.repository.EntityRepository;
-import com.chadtalty.commons.data.query.BasicFilter;
+import com.chadtalty.commons.data.access.repository.IdRange;
+import com.chadtalty.commons.data.access.routing.DataSourceRoute;
+import com.chadtalty.commons.data.access.routing.DataSourceRouting;
+import com.chadtalty.commons.data.access.routing.ReadReplicaRoutingDataSource;
+import com.chadtalty.commons.data.access.snapshot.Snapshot;
+import com.chadtalty.commons.data.access.snapshot.SnapshotOptions;
+import com.chadtalty.commons.data.access.snapshot.SnapshotStore;
+import com.chadtalty.commons.data.access.support.PropertyAccessors;
+import com.chadtalty.commons.data.access.support.SortSpecs;
+import com.chadtalty.commons.data.access.support.SortedMerge;
+import com.chadtalty.commons.data.access.upsert.UpsertResult;
+import com.chadtalty.commons.data.access.warmup.WarmupReport;
+import com.chadtalty.commons.data.access.writebehind.WriteBehindBuffer;
+import com.chadtalty.commons.data.access.writebehind.WriteBehindOptions;
 import com.chadtalty.commons.data.query.Criteria;
+import com.chadtalty.commons.data.query.DateTimeFilter;
 import com.chadtalty.commons.data.query.Filter;
-import com.chadtalty.commons.data.query.JoinSpec;
 import com.chadtalty.commons.data.query.PageableCriteria;
 import com.chadtalty.commons.data.query.SortSpec;
+import jakarta.annotation.PreDestroy;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.persistence.criteria.Join;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
 
 /**
  * Base DAO implementation providing CRUD and specification-based querying.
  *
- * <p>Joins are applied as simple equality filters (see {@link #createJoinSpecification(JoinSpec)}).
- * For more advanced join conditions, consider extending this method or mapping joins to filter
- * handlers that operate within join scopes.
+ * <p>Joins inner-join the association and apply their filter, of any type, within it; join
+ * specifications on the same association share that join. Filters combine with {@code AND}; use
+ * {@link CompositeFilter} for {@code OR}/{@code NOT} groups.
+ *
+ * <p>Query methods can run in read-only mode, which loads entities without dirty-checking snapshots
+ * and without flushing the persistence context first. Override {@link #isReadOnlyByDefault()} to make
+ * it the default for a DAO, or use the {@code readOnly} overloads per call. Entities returned in this
+ * mode must not be modified and passed back to {@link #save(Object)} within the same transaction.
+ *
+ * <p>Read methods called outside a transaction are routed to the read replica when the
+ * {@code EntityManagerFactory} uses a {@link ReadReplicaRoutingDataSource}. Inside a transaction
+ * they use that transaction's connection, and after {@link #save(Object)} the calling thread is
+ * pinned to the primary for {@link #getReadYourWritesWindow()}.
+ *
+ * <p>Small, read-mostly tables can opt into an in-memory {@link Snapshot} via {@link
+ * #getSnapshotOptions()}, which then answers criteria queries without the database. Frequently
+ * updated rows can opt into write-behind saves via {@link #getWriteBehindOptions()}. With several
+ * nodes, {@link #getInvalidationBus()} keeps the caches of all of them in step with writes.
+ *
+ * <p>Criteria queries can be recorded to a file via {@link #getCaptureOptions()}, and replayed
+ * with {@link com.chadtalty.commons.data.access.capture.QueryReplayer}.
+ *
+ * <p>These features are implemented by package-private collaborators (read routing, the snapshot
+ * cache, write-behind saves, query capture, specification building) that consult this class's
+ * {@code protected} hooks on every use; {@link #close()} shuts down their background work.
  *
  * @param <E> entity type
  * @param <R> repository type (must extend {@link EntityRepository})
  */
-public abstract class AbstractDAO<E, R extends EntityRepository<E, Long>> implements DAO<E, R> {
+public abstract class AbstractDAO<E, R extends EntityRepository<E, Long>> implements DAO<E, R>, CriteriaDAO<E> {
+
+    private static final Log log = LogFactory.getLog(AbstractDAO.class);
+
+    /** Default for {@link #getReadYourWritesWindow()}. */
+    public static final Duration DEFAULT_READ_YOUR_WRITES_WINDOW = Duration.ofSeconds(5);
 
     @Autowired
     protected R repository;
 
+    private SpecificationBuilder<E> specifications;
+
+    private ReadExecutor reads;
+
+    private SnapshotCache<E> snapshots;
+
+    private WriteBehindSaves<E> writeBehindSaves;
+
+    private QueryCapture capture;
+
+    /**
+     * Wires the collaborators behind this DAO's features. Called once by Spring after construction,
+     * so that hooks they consult may depend on subclass state.
+     */
     @Autowired
-    private FilterHandlerFactory<E> filterHandlerFactory;
+    void wire(FilterHandlerFactory<E> filterHandlerFactory) {
+        specifications = new SpecificationBuilder<>(filterHandlerFactory);
+        reads = new ReadExecutor(this::isReplicaReadEnabled, this::getQueryPolicy);
+        snapshots = new SnapshotCache<>(
+                this::entityInformation, this::loadSnapshotRows, this::getSnapshotOptions, this::getInvalidationBus);
+        writeBehindSaves =
+                new WriteBehindSaves<>(
+                        this::entityInformation, this::writeBehind, this::writeBehindFailed, this::getWriteBehindOptions);
+        capture = new QueryCapture(this::getCaptureOptions);
+    }
 
     @Override
     public E findById(long id) {
-        return repository.findById(id).orElseThrow(() -> new EntityNotFoundException("Entity not found: " + id));
+        return reads.onReadRoute(() -> repository.findById(id))
+                .orElseThrow(() -> new EntityNotFoundException("Entity not found: " + id));
     }
 
     @Override
     public List<E> findAll() {
-        return repository.findAll();
+        return findAll(isReadOnlyByDefault());
+    }
+
+    /**
+     * Loads all entities, optionally in read-only mode.
+     */
+    public List<E> findAll(boolean readOnly) {
+        return reads.onReadRoute(() ->
+                readOnly ? repository.findAllReadOnly(null, Sort.unsorted()) : repository.findAll());
     }
 
     @Override
-    public Page<E> findAll(org.springframework.data.domain.Pageable pageable) {
-        return repository.findAll(pageable);
+    public Page<E> findAll(Pageable pageable) {
+        return findAll(pageable, isReadOnlyByDefault());
+    }
+
+    /**
+     * Loads a page of all entities, optionally in read-only mode.
+     */
+    public Page<E> findAll(Pageable pageable, boolean readOnly) {
+        return reads.onReadRoute(() ->
+                readOnly ? repository.findAllReadOnly(null, pageable) : repository.findAll(pageable));
     }
 
     @Override
     public Long count() {
-        return repository.count();
+        return reads.onReadRoute(repository::count);
+    }
+
+    @Override
+    public Long count(Criteria criteria) {
+        return capture.run(QueryOperation.COUNT, criteria, Long::longValue, () -> {
+            if (snapshots.canAnswer(criteria)) {
+                checkPolicy(criteria);
+                return getSnapshotStore().get().count(criteria);
+            }
+            Specification<E> spec = buildSearchSpecification(criteria);
+            return reads.onReadRoute(() -> repository.count(spec));
+        });
     }
 
     @Override
     public Page<E> getQueryResultPage(PageableCriteria criteria) {
-        return repository.findAll(buildSearchSpecification(criteria), getPageRequest(criteria));
+        return getQueryResultPage(criteria, isReadOnlyByDefault());
+    }
+
+    /**
+     * Runs a paged criteria query, optionally in read-only mode.
+     */
+    public Page<E> getQueryResultPage(PageableCriteria criteria, boolean readOnly) {
+        return capture.run(QueryOperation.PAGE, criteria, Page::getNumberOfElements, () -> {
+            if (snapshots.canAnswer(criteria)) {
+                checkPolicy(criteria);
+                return getSnapshotStore().get().query(criteria);
+            }
+            Specification<E> spec = buildSearchSpecification(criteria);
+            PageRequest pageRequest = getPageRequest(criteria);
+            return reads.onReadRoute(() -> readOnly
+                    ? repository.findAllReadOnly(spec, pageRequest)
+                    : repository.findAll(spec, pageRequest));
+        });
     }
 
     @Override
     public List<E> getQueryResult(Criteria criteria) {
-        return repository.findAll(buildSearchSpecification(criteria));
+        return getQueryResult(criteria, isReadOnlyByDefault());
+    }
+
+    /**
+     * Runs a criteria query, optionally in read-only mode. Results follow the criteria's {@link
+     * SortSpec}, if any.
+     */
+    public List<E> getQueryResult(Criteria criteria, boolean readOnly) {
+        return capture.run(QueryOperation.LIST, criteria, List::size, () -> {
+            if (snapshots.canAnswer(criteria)) {
+                checkPolicy(criteria);
+                return getSnapshotStore().get().query(criteria);
+            }
+            Specification<E> spec = buildSearchSpecification(criteria);
+            Sort sort = SortSpecs.toSort(criteria.getSort());
+            return reads.onReadRoute(() ->
+                    readOnly ? repository.findAllReadOnly(spec, sort) : repository.findAll(spec, sort));
+        });
+    }
+
+    /**
+     * Runs a criteria query as concurrent scans over id ranges.
+     *
+     * <p>The matching id span is split into {@link ParallelScanOptions#partitions()} ranges, each
+     * queried read-only on its own virtual thread, with at most {@link
+     * ParallelScanOptions#maxConcurrency()} queries (and therefore connections) in flight. Results are
+     * concatenated in id-range order, or k-way merged when the criteria has a {@link SortSpec}. The
+     * merge compares properties in memory (see {@link SortSpecs#comparator(Class, Sort)}), so sorted
+     * string columns need a binary collation; a partition the database ordered differently fails the
+     * call with {@link IllegalStateException}.
+     *
+     * <p>Partition queries run outside the caller's transaction, so they see committed data only,
+     * and the returned entities are detached. Worth it for large scans only: each call costs an
+     * extra min/max query plus one query per partition.
+     */
+    public List<E> getQueryResultParallel(Criteria criteria, ParallelScanOptions options) {
+        Sort sort = SortSpecs.toSort(criteria.getSort());
+        Map<Integer, List<E>> partitions = new TreeMap<>();
+        scanPartitions(criteria, sort, options, partitions::put);
+        List<List<E>> ordered = new ArrayList<>(partitions.values());
+        return sort.isSorted()
+                ? SortedMerge.merge(
+                        ordered, SortSpecs.comparator(entityInformation().getJavaType(), sort), Integer.MAX_VALUE)
+                : ordered.stream().flatMap(List::stream).collect(Collectors.toList());
+    }
+
+    /**
+     * Streaming variant of {@link #getQueryResultParallel(Criteria, ParallelScanOptions)}: hands each
+     * partition's rows to {@code consumer} as soon as it is loaded, so only the partitions in flight
+     * are held in memory. Partitions arrive in completion order; each one is sorted by the criteria's
+     * {@link SortSpec}. The consumer is never called concurrently.
+     */
+    public void scanParallel(Criteria criteria, ParallelScanOptions options, Consumer<List<E>> consumer) {
+        Sort sort = SortSpecs.toSort(criteria.getSort());
+        scanPartitions(criteria, sort, options, (index, rows) -> consumer.accept(rows));
+    }
+
+    /**
+     * Aggregates the criteria's matches in the database with one {@code GROUP BY} query.
+     *
+     * <p>Filters and joins are applied through the registered filter handlers exactly as for {@link
+     * #getQueryResult(Criteria)}; the criteria's sort is ignored in favor of {@link
+     * AggregateQuery#getSort()}.
+     *
+     * <pre>{@code
+     * dao.aggregate(criteria, AggregateQuery.builder()
+     *         .groupBy(List.of("status"))
+     *         .aggregates(List.of(Aggregate.count(), Aggregate.sum("amount").as("total")))
+     *         .having(List.of(BasicFilter.builder().field("count").operator(GREATER_THAN).value("10").build()))
+     *         .sort(new SortSpec(List.of(), List.of("total")))
+     *         .build());
+     * }</pre>
+     */
+    public List<AggregateRow> aggregate(Criteria criteria, AggregateQuery query) {
+        Specification<E> spec = buildSearchSpecification(criteria);
+        return reads.onReadRoute(() -> repository.findAggregates(spec, query));
+    }
+
+    /**
+     * Runs several criteria queries, e.g. the widgets of one dashboard, in one read-only transaction
+     * and returns their outcomes in the same order.
+     *
+     * <p>Counts of criteria without joins or dotted fields are computed together in one statement;
+     * every other count and result list is one statement each, on the same connection. Criteria the
+     * {@linkplain #getSnapshotOptions() snapshot} can answer do not touch the database. Results are
+     * loaded read-only.
+     *
+     * <p>The transaction is always a new one, outside any caller transaction, so the queries see
+     * committed data only and a failing one cannot mark the caller's transaction rollback-only.
+     *
+     * <p>A query that fails (unknown field, unconvertible value, an error in the database, ...) is
+     * reported in its own {@link BatchResult} and does not affect the others. After a statement fails
+     * in the database, which ends the transaction on some databases, the remaining queries continue
+     * in a new one.
+     */
+    public List<BatchResult<E>> batch(List<BatchQuery> queries) {
+        return batch(queries, 1);
+    }
+
+    /**
+     * Like {@link #batch(List)}, but with {@code maxConcurrency > 1} trades the single transaction for
+     * latency: the combined count statement and every other query run concurrently on virtual
+     * threads, each in its own read-only transaction and connection, with at most {@code
+     * maxConcurrency} in flight. Concurrent queries run outside the caller's transaction and see
+     * committed data only.
+     */
+    public List<BatchResult<E>> batch(List<BatchQuery> queries, int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+        }
+        List<BatchResult<E>> outcomes = new ArrayList<>(Collections.nCopies(queries.size(), null));
+        List<Integer> indexes = new ArrayList<>();
+        List<BatchSpec<E>> specs = new ArrayList<>();
+        for (int i = 0; i < queries.size(); i++) {
+            BatchQuery query = queries.get(i);
+            try {
+                if (snapshots.canAnswer(query.criteria())) {
+                    checkPolicy(query.criteria());
+                    outcomes.set(i, fromSnapshot(query));
+                } else {
+                    specs.add(toBatchSpec(query));
+                    indexes.add(i);
+                }
+            } catch (RuntimeException e) {
+                outcomes.set(i, BatchResult.failed(e));
+            }
+        }
+        if (specs.isEmpty()) {
+            return outcomes;
+        }
+
+        List<BatchResult<E>> results = maxConcurrency == 1
+                ? runBatch(specs, reads.readRoute())
+                : runBatchConcurrently(specs, maxConcurrency);
+        for (int j = 0; j < indexes.size(); j++) {
+            outcomes.set(indexes.get(j), results.get(j));
+        }
+        return outcomes;
+    }
+
+    /**
+     * Prepares this DAO for traffic: builds the property accessors and index metadata of the
+     * entity's fields, then runs each of {@link #getWarmupCriteria()} once (a one-row page and a
+     * count), so field or type errors in them surface now and Hibernate, the JIT and the database
+     * have seen the statements before the first request. Usually called at startup by {@link
+     * com.chadtalty.commons.data.access.warmup.DataAccessWarmup}.
+     *
+     * @return what was prepared and how long it took; failed criteria carry their error.
+     */
+    public WarmupReport warmUp() {
+        long start = System.nanoTime();
+        Class<E> entityType = repository.getEntityInformation().getJavaType();
+        int attributes = 0;
+        for (Class<?> c = entityType; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers())) {
+                    PropertyAccessors.of(entityType, field.getName());
+                    IndexedAttributes.isIndexed(entityType, field.getName());
+                    attributes++;
+                }
+            }
+        }
+
+        List<WarmupReport.Query> queries = new ArrayList<>();
+        for (Criteria criteria : getWarmupCriteria()) {
+            long queryStart = System.nanoTime();
+            RuntimeException error = null;
+            try {
+                Specification<E> spec = buildSearchSpecification(criteria);
+                PageRequest firstRow = PageRequest.of(0, 1, SortSpecs.toSort(criteria.getSort()));
+                reads.onReadRoute(() -> repository.findAllReadOnly(spec, firstRow));
+                reads.onReadRoute(() -> repository.count(spec));
+            } catch (RuntimeException e) {
+                error = e;
+            }
+            queries.add(new WarmupReport.Query(
+                    WarmupReport.describe(criteria), Duration.ofNanos(System.nanoTime() - queryStart), error));
+        }
+        return new WarmupReport(entityType, attributes, queries, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Counts the values of several facet fields under the criteria, in as few statements as
+     * possible (usually one; see {@link EntityRepository#findFacets}).
+     *
+     * <p>Filters on a facet's own field are left out when counting that facet, so selected values do
+     * not hide their alternatives; all other filters and joins apply to every facet.
+     */
+    public FacetResult facets(Criteria criteria, FacetQuery query) {
+        checkPolicy(criteria);
+        List<Filter> baseFilters = new ArrayList<>();
+        Map<String, List<Filter>> ownFilters = new LinkedHashMap<>();
+        for (Filter filter : Optional.ofNullable(criteria.getFilters()).orElse(List.of())) {
+            String field = Filters.fieldOf(filter);
+            if (field != null && query.getFields().contains(field)) {
+                ownFilters.computeIfAbsent(field, f -> new ArrayList<>()).add(filter);
+            } else {
+                baseFilters.add(filter);
+            }
+        }
+        Specification<E> base = Specification.where(specifications.filters(baseFilters))
+                .and(specifications.joins(criteria.getJoins()));
+        Map<String, Specification<E>> ownSpecs = new LinkedHashMap<>();
+        ownFilters.forEach((field, filters) -> ownSpecs.put(field, specifications.filters(filters)));
+        return reads.onReadRoute(() -> repository.findFacets(base, ownSpecs, query));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The watermark condition is {@code ts > t OR (ts = t AND id > i)} (built with the registered
+     * {@link DateTimeFilter} handler, so {@code Timestamp}, {@code LocalDateTime} and {@code Date}
+     * columns are supported) and is ordered by {@code (ts, id)}. With a composite index on {@code
+     * (ts, id)} each batch is an index seek plus a bounded range read, with no offset scan.
+     */
+    @Override
+    public ChangeBatch<E> getChanges(Criteria criteria, String timestampField, Watermark after, int limit) {
+        JpaEntityInformation<E, Long> entityInformation = repository.getEntityInformation();
+        Specification<E> spec = buildSearchSpecification(criteria)
+                .and(after == null
+                        ? specifications.present(timestampField)
+                        : specifications.after(timestampField, after));
+        Sort order = Sort.by(timestampField, entityInformation.getIdAttribute().getName());
+
+        List<E> rows = reads.onReadRoute(() -> repository.findBy(spec, q -> q.sortBy(order).limit(limit).all()));
+        List<Change<E>> changes = new ArrayList<>(rows.size());
+        for (E row : rows) {
+            Object timestamp = new BeanWrapperImpl(row).getPropertyValue(timestampField);
+            changes.add(new Change<>(row, Watermark.of(timestamp, entityInformation.getId(row))));
+        }
+        return new ChangeBatch<>(changes, changes.isEmpty() ? after : changes.get(changes.size() - 1).position());
+    }
+
+    /**
+     * Streams the criteria's matches as {@code format} rows to {@code out}.
+     *
+     * <p>Only the listed columns are selected, through a read-only forward-only cursor, and rows are
+     * encoded into reusable buffers, so memory use stays flat regardless of result size. The channel
+     * is flushed but not closed.
+     *
+     * @return number of rows written.
+     */
+    public long export(Criteria criteria, List<ExportColumn> columns, ExportFormat format, WritableByteChannel out) {
+        Specification<E> spec = buildSearchSpecification(criteria);
+        Sort sort = SortSpecs.toSort(criteria.getSort());
+        List<String> attributes = columns.stream().map(ExportColumn::attribute).toList();
+        ExportWriter writer = new ExportWriter(format, columns, out);
+        // an export may stream for minutes; the policy's query timeout does not apply
+        return reads.onReadRoute(() -> QueryTimeouts.callWith(null, () -> {
+            writer.begin();
+            long rows = repository.forEachProjection(spec, sort, attributes, getExportFetchSize(), writer::writeRow);
+            writer.finish();
+            return rows;
+        }));
+    }
+
+    /**
+     * {@link OutputStream} variant of {@link #export(Criteria, List, ExportFormat, WritableByteChannel)}.
+     */
+    public long export(Criteria criteria, List<ExportColumn> columns, ExportFormat format, OutputStream out) {
+        return export(criteria, columns, format, Channels.newChannel(out));
     }
 
     @Override
     public boolean existsById(Long id) {
-        return repository.existsById(id);
+        return reads.onReadRoute(() -> repository.existsById(id));
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>With {@link #getWriteBehindOptions()}, a save of an existing entity outside a read-write
+     * transaction only buffers a copy of it and returns the entity itself; changes made to the
+     * entity afterwards are not written. The copy is written by a later {@link #flush()}, and reads
+     * do not see it before. The snapshot is invalidated both when the copy is buffered and when it
+     * is written. Entities with a {@code @Version} attribute are always written through, so the
+     * returned instance carries the new version.
+     */
     @Override
     public E save(E entity) {
-        return repository.save(entity);
+        if (writeBehindSaves.offer(entity)) {
+            snapshots.invalidateAfterCommit(List.of(entity));
+            return entity;
+        }
+        PooledIdAllocator ids = getIdAllocator();
+        E saved = ids == null ? repository.save(entity) : repository.save(entity, ids);
+        DataSourceRouting.pinToPrimary(getReadYourWritesWindow());
+        snapshots.invalidateAfterCommit(List.of(saved));
+        return saved;
+    }
+
+    /**
+     * Saves the entities in one transaction, bypassing write-behind; new entities get their ids
+     * from {@link #getIdAllocator()} when set, so their inserts are batched.
+     */
+    public List<E> saveAll(Collection<E> entities) {
+        PooledIdAllocator ids = getIdAllocator();
+        List<E> saved = ids == null ? repository.saveAll(entities) : repository.saveAll(entities, ids);
+        DataSourceRouting.pinToPrimary(getReadYourWritesWindow());
+        snapshots.invalidateAfterCommit(saved);
+        return saved;
+    }
+
+    /**
+     * Inserts the entity, or updates the row with the same {@link #getUpsertKey() key}, in one
+     * native statement ({@code MERGE} or {@code INSERT ... ON CONFLICT}, depending on the dialect).
+     * Unlike {@link #save(Object)}, the entity is not attached and a generated id is not set on it.
+     */
+    public UpsertResult upsert(E entity) {
+        return upsertAll(List.of(entity));
+    }
+
+    /**
+     * Upserts the entities with one statement per {@link #getUpsertBatchSize()} of them; see {@link
+     * #upsert(Object)}. Entities repeating a key are coalesced, the last one wins.
+     */
+    public UpsertResult upsertAll(Collection<E> entities) {
+        if (entities.isEmpty()) {
+            return UpsertResult.EMPTY;
+        }
+        UpsertResult result =
+                repository.upsert(entities, getUpsertKey(), getUpsertBatchSize(), isUpsertCountingInserted());
+        DataSourceRouting.pinToPrimary(getReadYourWritesWindow());
+        snapshots.invalidateAfterCommit(entities);
+        return result;
     }
 
     @Override
@@ -84,59 +551,368 @@ public abstract class AbstractDAO<E, R extends EntityRepository<E, Long>> implem
         return repository;
     }
 
+    /**
+     * The in-memory snapshot of this DAO's table, created on first call; {@code null} unless {@link
+     * #getSnapshotOptions()} enables it. Use it for {@link SnapshotStore#invalidate() invalidation}
+     * after writes that bypass {@link #save(Object)} and for {@link Snapshot#stats() statistics}.
+     */
+    public SnapshotStore<E> getSnapshotStore() {
+        return snapshots.store();
+    }
+
+    /**
+     * Calls {@code listener} with the ids written by {@link #save(Object)}, {@link
+     * #saveAll(Collection)}, {@link #upsertAll(Collection)} and write-behind flushes once they
+     * commit, so caches of the entity, e.g. around {@link #findById(long)}, can evict them. With
+     * {@link #getInvalidationBus()}, writes on other nodes are passed on as well. Keep it fast; it
+     * runs on the committing thread (or the transport's).
+     */
+    public void addInvalidationListener(Consumer<Invalidation> listener) {
+        snapshots.addListener(listener);
+    }
+
+    public void removeInvalidationListener(Consumer<Invalidation> listener) {
+        snapshots.removeListener(listener);
+    }
+
+    /**
+     * The write-behind buffer of {@link #save(Object)}, created on first call; {@code null} unless
+     * {@link #getWriteBehindOptions()} enables it. Use it for {@link WriteBehindBuffer#stats()
+     * statistics} such as queue depth, coalescing ratio and flush latency.
+     */
+    public WriteBehindBuffer<E> getWriteBehindBuffer() {
+        return writeBehindSaves.buffer();
+    }
+
+    /**
+     * The recorder of {@link #getQueryResult(Criteria)}, {@link
+     * #getQueryResultPage(PageableCriteria)} and {@link #count(Criteria)}, created on first call;
+     * {@code null} unless {@link #getCaptureOptions()} enables it.
+     */
+    public QueryRecorder getQueryRecorder() {
+        return capture.recorder();
+    }
+
+    /** Writes the saves buffered by write-behind now; does nothing without it. */
+    public void flush() {
+        writeBehindSaves.flush();
+    }
+
+    /**
+     * Shuts down this DAO's background work, in order: writes the saves still buffered by
+     * write-behind (later saves write through), then appends the queries still queued by the query
+     * capture and closes its file, then stops the snapshot's background refresh.
+     */
+    @PreDestroy
+    public void close() {
+        try {
+            writeBehindSaves.close();
+        } finally {
+            try {
+                capture.close();
+            } finally {
+                snapshots.close();
+            }
+        }
+    }
+
+    /**
+     * Default mode for {@link #findAll()}, {@link #findAll(Pageable)}, {@link
+     * #getQueryResult(Criteria)} and {@link #getQueryResultPage(PageableCriteria)}. Returns {@code
+     * false}; override for read-mostly DAOs.
+     */
+    protected boolean isReadOnlyByDefault() {
+        return false;
+    }
+
+    /**
+     * Whether read methods called outside a transaction may use the read replica (see {@link
+     * ReadReplicaRoutingDataSource}). Returns {@code true}; has no effect without a routing data source.
+     */
+    protected boolean isReplicaReadEnabled() {
+        return true;
+    }
+
+    /**
+     * How long the calling thread stays on the primary after {@link #save(Object)}, so it reads its
+     * own writes despite replica lag. Defaults to {@link #DEFAULT_READ_YOUR_WRITES_WINDOW}.
+     */
+    protected Duration getReadYourWritesWindow() {
+        return DEFAULT_READ_YOUR_WRITES_WINDOW;
+    }
+
+    /**
+     * JDBC fetch size for {@link #export(Criteria, List, ExportFormat, WritableByteChannel)}.
+     */
+    protected int getExportFetchSize() {
+        return 1_000;
+    }
+
+    /**
+     * Enables the in-memory snapshot for small, read-mostly tables: {@link #getQueryResult(Criteria)},
+     * {@link #getQueryResultPage(PageableCriteria)} and {@link #count(Criteria)} are then answered
+     * from a columnar copy of the whole table (see {@link Snapshot}) whenever the criteria has no
+     * joins or custom filters and no read-write transaction is active. Returns {@code null}
+     * (disabled); override to opt in.
+     */
+    protected SnapshotOptions getSnapshotOptions() {
+        return null;
+    }
+
+    /**
+     * Representative criteria {@link #warmUp()} runs at startup, e.g. the default queries of the
+     * screens backed by this DAO. Returns an empty list.
+     */
+    protected List<Criteria> getWarmupCriteria() {
+        return List.of();
+    }
+
+    /**
+     * Guardrails for incoming criteria: page size, {@code IN}-list, join and filter caps, a query
+     * timeout, and treatment of filters on unindexed attributes (see {@link QueryPolicy}). Criteria
+     * exceeding a cap fail with {@link QueryRejectedException} before any query runs. Returns {@code
+     * null} (no limits); override to enforce a policy.
+     */
+    protected QueryPolicy getQueryPolicy() {
+        return null;
+    }
+
+    /**
+     * Attributes identifying the existing row for {@link #upsertAll(Collection)}: the id, or the
+     * attributes of a unique constraint. Returns the id attribute; override to upsert on a natural
+     * key, e.g. {@code List.of("sku")}.
+     */
+    protected List<String> getUpsertKey() {
+        return List.of(repository.getEntityInformation().getIdAttribute().getName());
+    }
+
+    /**
+     * Maximum rows per upsert statement. Returns 100; keep rows times columns below the database's
+     * bind parameter limit.
+     */
+    protected int getUpsertBatchSize() {
+        return 100;
+    }
+
+    /**
+     * Whether {@link #upsertAll(Collection)} reports inserted and updated rows separately, at the
+     * cost of one count query per statement. Returns {@code false} ({@link UpsertResult#inserted()}
+     * is {@link UpsertResult#NOT_COUNTED}); override to count.
+     */
+    protected boolean isUpsertCountingInserted() {
+        return false;
+    }
+
+    /**
+     * Enables write-behind for {@link #save(Object)}: saves of existing entities are buffered per
+     * id, repeated saves of one entity are merged, and the buffer is written in batches on a size
+     * or time threshold (see {@link WriteBehindBuffer}). Returns {@code null} (disabled); override to
+     * opt in for rows updated many times per second, such as counters.
+     */
+    protected WriteBehindOptions getWriteBehindOptions() {
+        return null;
+    }
+
+    /**
+     * Enables recording of criteria queries: the criteria's shape, its values unless redacted, the
+     * duration and the row count of sampled queries are appended to a file (see {@link
+     * QueryRecorder}) that {@link com.chadtalty.commons.data.access.capture.QueryReplayer} can
+     * re-run. Returns {@code null} (disabled); override to opt in.
+     */
+    protected CaptureOptions getCaptureOptions() {
+        return null;
+    }
+
+    /**
+     * Cross-node invalidation for this DAO's caches: writes through the DAO are broadcast by entity
+     * id after commit, and the snapshot (see {@link #getSnapshotOptions()}) is invalidated on every
+     * node, as are the {@link #addInvalidationListener(Consumer) invalidation listeners}. Returns
+     * {@code null} (only this node's snapshot and listeners are invalidated); override to return the
+     * node's shared {@link InvalidationBus}.
+     */
+    protected InvalidationBus getInvalidationBus() {
+        return null;
+    }
+
+    /**
+     * Id source for new entities saved through this DAO, e.g. a {@link PooledIdAllocator} over a
+     * {@link com.chadtalty.commons.data.access.id.SequenceIdBlockSource}; the entity's id must then
+     * not be generated. Returns {@code null} (ids come from the JPA mapping); override with a
+     * field, since it is called on every save.
+     */
+    protected PooledIdAllocator getIdAllocator() {
+        return null;
+    }
+
+    /**
+     * Writes one write-behind batch with one {@link EntityRepository#updateAll update statement},
+     * without reading the rows first. Fails, writing nothing, if a row was deleted in the meantime;
+     * override to write through {@link #upsertAll(Collection)} instead, which re-creates it.
+     */
+    protected void writeBehind(List<E> batch) {
+        repository.updateAll(batch, batch.size());
+        snapshots.invalidateAfterCommit(batch);
+    }
+
+    /**
+     * Receives an entity write-behind gave up on after {@link WriteBehindOptions#maxAttempts()}
+     * failed writes, with the last failure, on the flushing thread. Logs it; override to keep it
+     * elsewhere, e.g. in a dead-letter table.
+     */
+    protected void writeBehindFailed(E entity, RuntimeException error) {
+        log.error("Write-behind of " + entityInformation().getJavaType().getName() + " "
+                + entityInformation().getId(entity) + " failed " + getWriteBehindOptions().maxAttempts()
+                + " times; dropping it", error);
+    }
+
     // -- Internals ------------------------------------------------------------------------------
 
     /**
-     * Builds a combined specification from filters and joins (AND-ed together).
+     * Checks the criteria against {@link #getQueryPolicy()}, if any.
      */
-    private Specification<E> buildSearchSpecification(Criteria criteria) {
-        return Specification.where(applyFilters(criteria.getFilters())).and(applyJoins(criteria.getJoins()));
+    private void checkPolicy(Criteria criteria) {
+        QueryPolicy policy = getQueryPolicy();
+        if (policy == null) {
+            return;
+        }
+        Class<E> entityType = repository.getEntityInformation().getJavaType();
+        if (criteria instanceof PageableCriteria paged) {
+            QueryGuard.checkPageSize(policy, entityType, paged.getSize());
+        }
+        QueryGuard.check(policy, entityType, criteria);
+    }
+
+    private JpaEntityInformation<E, Long> entityInformation() {
+        return repository.getEntityInformation();
     }
 
     /**
-     * AND-combines specifications generated from each filter.
+     * All rows ordered by id, read-only, for the snapshot. Always read from the primary: a reload
+     * follows a write, here or on another node, which a lagging replica may not have applied yet.
      */
-    private Specification<E> applyFilters(List<Filter> filters) {
-        return Optional.ofNullable(filters)
-                .map(f -> f.stream()
-                        .map(this::createSpecification)
-                        .reduce(Specification::and)
-                        .orElse(null))
-                .orElse(null);
+    private List<E> loadSnapshotRows() {
+        Sort byId = Sort.by(entityInformation().getIdAttribute().getName());
+        return reads.onRoute(DataSourceRoute.PRIMARY, () -> repository.findAllReadOnly(null, byId));
     }
 
     /**
-     * AND-combines specifications generated from each join specification.
+     * Runs the specs in one transaction. A statement failing in the database ends it, and the specs
+     * after that one run in a new transaction, with their counts no longer combined (the failed
+     * statement may have been the combined count). If a transaction fails as a whole, its specs are
+     * re-run one transaction each.
      */
-    private Specification<E> applyJoins(List<JoinSpec> joins) {
-        return Optional.ofNullable(joins)
-                .map(j -> j.stream()
-                        .map(this::createJoinSpecification)
-                        .reduce(Specification::and)
-                        .orElse(null))
-                .orElse(null);
+    private List<BatchResult<E>> runBatch(List<BatchSpec<E>> specs, DataSourceRoute route) {
+        List<BatchResult<E>> results;
+        try {
+            results = new ArrayList<>(reads.onRoute(route, () -> repository.findBatch(specs)));
+        } catch (RuntimeException e) {
+            if (specs.size() == 1) {
+                return List.of(BatchResult.failed(e));
+            }
+            return specs.stream().map(spec -> runBatch(List.of(spec), route).get(0)).toList();
+        }
+        List<Integer> notRun = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i) == null) {
+                notRun.add(i);
+            }
+        }
+        if (!notRun.isEmpty()) {
+            List<BatchResult<E>> rest = runBatch(notRun.stream()
+                    .map(specs::get)
+                    .map(spec -> new BatchSpec<>(spec.spec(), spec.pageable(), spec.fetch(), false))
+                    .toList(), route);
+            for (int j = 0; j < notRun.size(); j++) {
+                results.set(notRun.get(j), rest.get(j));
+            }
+        }
+        return results;
     }
 
     /**
-     * Creates a simple join specification which performs a join and applies an equality constraint
-     * on the joined attribute.
-     *
-     * <p>Note: This implementation currently supports only {@link BasicFilter} equality on the
-     * joined path. Extend as needed for more complex logic.
+     * Runs combinable count-only specs as one task and every other spec as a task of its own, on
+     * virtual threads with at most {@code maxConcurrency} in flight.
      */
-    private Specification<E> createJoinSpecification(JoinSpec joinSpec) {
-        return (root, query, criteriaBuilder) -> {
-            Join<Object, Object> join = root.join(joinSpec.getJoin());
-            BasicFilter filter = (BasicFilter) joinSpec.getFilter();
-            return criteriaBuilder.equal(join.get(filter.getField()), filter.getValue());
-        };
+    private List<BatchResult<E>> runBatchConcurrently(List<BatchSpec<E>> specs, int maxConcurrency) {
+        List<List<Integer>> groups = new ArrayList<>();
+        List<Integer> combinedCounts = new ArrayList<>();
+        for (int i = 0; i < specs.size(); i++) {
+            BatchSpec<E> spec = specs.get(i);
+            if (spec.fetch() == BatchQuery.Fetch.COUNT && spec.countCombinable()) {
+                combinedCounts.add(i);
+            } else {
+                groups.add(List.of(i));
+            }
+        }
+        if (!combinedCounts.isEmpty()) {
+            groups.add(combinedCounts);
+        }
+
+        DataSourceRoute route = reads.readRoute();
+        List<Supplier<List<BatchResult<E>>>> tasks = new ArrayList<>(groups.size());
+        for (List<Integer> group : groups) {
+            List<BatchSpec<E>> groupSpecs = group.stream().map(specs::get).toList();
+            tasks.add(() -> runBatch(groupSpecs, route));
+        }
+        List<BatchResult<E>> results = new ArrayList<>(Collections.nCopies(specs.size(), null));
+        reads.runConcurrently(tasks, maxConcurrency, (index, groupResults) -> {
+            List<Integer> group = groups.get(index);
+            for (int j = 0; j < group.size(); j++) {
+                results.set(group.get(j), groupResults.get(j));
+            }
+        });
+        return results;
+    }
+
+    private BatchSpec<E> toBatchSpec(BatchQuery query) {
+        Criteria criteria = query.criteria();
+        Pageable pageable = criteria instanceof PageableCriteria paged
+                ? getPageRequest(paged)
+                : Pageable.unpaged(SortSpecs.toSort(criteria.getSort()));
+        boolean combinable = SpecificationBuilder.addsNoJoins(criteria);
+        return new BatchSpec<>(buildSearchSpecification(criteria), pageable, query.fetch(), combinable);
+    }
+
+    private BatchResult<E> fromSnapshot(BatchQuery query) {
+        Snapshot<E> snapshot = getSnapshotStore().get();
+        Criteria criteria = query.criteria();
+        List<E> results = !query.fetch().results()
+                ? null
+                : criteria instanceof PageableCriteria paged
+                        ? snapshot.query(paged).getContent()
+                        : snapshot.query(criteria);
+        Long count = query.fetch().count() ? Long.valueOf(snapshot.count(criteria)) : null;
+        return BatchResult.of(results, count);
     }
 
     /**
-     * Delegates a filter to its handler via {@link FilterHandlerFactory}.
+     * Splits the matching id span into ranges and loads them concurrently, passing each loaded
+     * partition (with its index in id order) to {@code sink} under a lock.
      */
-    private Specification<E> createSpecification(Filter filter) {
-        return filterHandlerFactory.getFilterHandler(filter.getType()).handle(filter);
+    private void scanPartitions(
+            Criteria criteria, Sort sort, ParallelScanOptions options, BiConsumer<Integer, List<E>> sink) {
+        Specification<E> spec = buildSearchSpecification(criteria);
+        DataSourceRoute route = reads.readRoute();
+        Optional<IdRange> span = reads.onRoute(route, () -> repository.findIdRange(spec));
+        if (span.isEmpty()) {
+            return;
+        }
+
+        List<Supplier<List<E>>> partitions = new ArrayList<>();
+        for (IdRange range : span.get().split(options.partitions())) {
+            Specification<E> rangeSpec = spec.and(specifications.idBetween(range));
+            partitions.add(() -> reads.onRoute(route, () -> repository.findAllReadOnly(rangeSpec, sort)));
+        }
+        reads.runConcurrently(partitions, options.maxConcurrency(), sink);
+    }
+
+    /**
+     * Builds a combined specification from filters and joins (AND-ed together), after checking the
+     * criteria against the {@linkplain #getQueryPolicy() query policy}.
+     */
+    private Specification<E> buildSearchSpecification(Criteria criteria) {
+        checkPolicy(criteria);
+        return specifications.of(criteria);
     }
 
     /**
@@ -144,16 +920,6 @@ public abstract class AbstractDAO<E, R extends EntityRepository<E, Long>> implem
      * PageableCriteria#getSize()}, and optional {@link SortSpec}.
      */
     private PageRequest getPageRequest(PageableCriteria criteria) {
-        List<Sort.Order> orders = Stream.concat(
-                        Optional.ofNullable(criteria.getSort()).map(SortSpec::getAscending).stream()
-                                .flatMap(Collection::stream)
-                                .map(Sort.Order::asc),
-                        Optional.ofNullable(criteria.getSort()).map(SortSpec::getDescending).stream()
-                                .flatMap(Collection::stream)
-                                .map(Sort.Order::desc))
-                .collect(Collectors.toList());
-
-        Sort sort = orders.isEmpty() ? Sort.unsorted() : Sort.by(orders);
-        return PageRequest.of(criteria.getPage(), criteria.getSize(), sort);
+        return PageRequest.of(criteria.getPage(), criteria.getSize(), SortSpecs.toSort(criteria.getSort()));
     }
 }
@@ -0,0 +1,27 @@
+package com.chadtalty.commons.data.access;
+
+import com.chadtalty.commons.data.access.changes.ChangeBatch;
+import com.chadtalty.commons.data.access.changes.Watermark;
+import com.chadtalty.commons.data.query.Criteria;
+
+/**
+ * DAO that can also count and sync by criteria. Implemented by {@link AbstractDAO} and by composite
+ * DAOs such as {@link com.chadtalty.commons.data.access.shard.ShardedDAO}.
+ *
+ * @param <T> entity type
+ */
+public interface CriteriaDAO<T> extends EntityDAO<T> {
+
+    /** Counts entities matching the criteria's filters and joins (sort is ignored). */
+    Long count(Criteria criteria);
+
+    /**
+     * Returns the next changes for an incremental sync: up to {@code limit} entities matching the
+     * criteria whose {@code timestampField} is after {@code after}, ordered by that timestamp and
+     * then id (the criteria's sort is ignored). Rows with a {@code null} timestamp are never returned.
+     *
+     * @param timestampField temporal attribute holding the last-update time.
+     * @param after          watermark from the previous batch, or {@code null} to start from the beginning.
+     */
+    ChangeBatch<T> getChanges(Criteria criteria, String timestampField, Watermark after, int limit);
+}
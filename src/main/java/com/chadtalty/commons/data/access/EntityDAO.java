@@ -0,0 +1,31 @@
+package com.chadtalty.commons.data.access;
+
+import com.chadtalty.commons.data.query.Criteria;
+import com.chadtalty.commons.data.query.PageableCriteria;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * CRUD and query operations shared by every DAO, independent of how entities are stored.
+ *
+ * @param <T> entity type
+ */
+public interface EntityDAO<T> {
+
+    T findById(long id);
+
+    List<T> findAll();
+
+    List<T> getQueryResult(Criteria criteria);
+
+    Page<T> findAll(Pageable pageable);
+
+    Page<T> getQueryResultPage(PageableCriteria criteria);
+
+    Long count();
+
+    boolean existsById(Long id);
+
+    T save(T entity);
+}
@@ -1,9 +1,12 @@
 package com.chadtalty.commons.data.access;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
- * Simple mapper contract between entity and DTO types.
+ * Simple mapper contract between entity and DTO types. {@link
+ * com.chadtalty.commons.data.access.mapping.EntityMappers} generates implementations that copy
+ * properties by name.
  *
  * @param <D> DTO type
  * @param <E> entity type
@@ -17,4 +20,9 @@ public interface EntityMapper<D, E> {
     List<D> toDtos(List<E> entities);
 
     List<E> toEntities(List<D> dtos);
+
+    /** Maps lazily, e.g. over a result stream that should not be collected into a list first. */
+    default Stream<D> toDtoStream(Stream<E> entities) {
+        return entities.map(this::toDto);
+    }
 }
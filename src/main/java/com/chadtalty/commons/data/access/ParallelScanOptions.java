@@ -0,0 +1,34 @@
+package com.chadtalty.commons.data.access;
+
+/**
+ * Settings for {@link AbstractDAO#getQueryResultParallel(com.chadtalty.commons.data.query.Criteria,
+ * ParallelScanOptions)}.
+ *
+ * @param maxConcurrency maximum number of partition queries (and connections) in flight at once.
+ * @param partitions     number of id ranges to split the scan into; more partitions than threads
+ *                       smooths out uneven id distributions.
+ */
+public record ParallelScanOptions(int maxConcurrency, int partitions) {
+
+    /** Share of a connection pool a parallel scan may occupy by default. */
+    public static final double DEFAULT_POOL_SHARE = 0.5;
+
+    /** Partitions per concurrent query used by {@link #forConnectionPool(int)}. */
+    public static final int DEFAULT_PARTITIONS_PER_THREAD = 4;
+
+    public ParallelScanOptions {
+        if (maxConcurrency < 1 || partitions < 1) {
+            throw new IllegalArgumentException(
+                    "maxConcurrency and partitions must be positive: " + maxConcurrency + ", " + partitions);
+        }
+    }
+
+    /**
+     * Uses at most half of a connection pool of {@code poolSize}, so a scan cannot starve other
+     * requests of connections.
+     */
+    public static ParallelScanOptions forConnectionPool(int poolSize) {
+        int concurrency = Math.max(1, (int) (poolSize * DEFAULT_POOL_SHARE));
+        return new ParallelScanOptions(concurrency, concurrency * DEFAULT_PARTITIONS_PER_THREAD);
+    }
+}
@@ -0,0 +1,72 @@
+package com.chadtalty.commons.data.access;
+
+import com.chadtalty.commons.data.access.capture.CaptureOptions;
+import com.chadtalty.commons.data.access.capture.QueryOperation;
+import com.chadtalty.commons.data.access.capture.QueryRecorder;
+import com.chadtalty.commons.data.query.Criteria;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * The {@link QueryRecorder} of an {@link AbstractDAO}'s criteria queries, if enabled.
+ */
+final class QueryCapture implements AutoCloseable {
+
+    private final Supplier<CaptureOptions> options;
+
+    private volatile QueryRecorder recorder;
+
+    /**
+     * @param options the DAO's {@code getCaptureOptions()}.
+     */
+    QueryCapture(Supplier<CaptureOptions> options) {
+        this.options = options;
+    }
+
+    /**
+     * The recorder, created on first call; {@code null} unless capture options are set.
+     */
+    QueryRecorder recorder() {
+        QueryRecorder current = recorder;
+        if (current == null && options.get() != null) {
+            synchronized (this) {
+                current = recorder;
+                if (current == null) {
+                    current = new QueryRecorder(options.get());
+                    recorder = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Runs a criteria query and hands it to the recorder, if one is enabled and samples it. Failed
+     * queries are recorded with -1 rows.
+     */
+    <T> T run(QueryOperation operation, Criteria criteria, ToLongFunction<T> rows, Supplier<T> query) {
+        QueryRecorder current = recorder();
+        if (current == null || !current.sample()) {
+            return query.get();
+        }
+        long startedAt = System.currentTimeMillis();
+        long start = System.nanoTime();
+        try {
+            T result = query.get();
+            current.record(operation, criteria, startedAt, System.nanoTime() - start, rows.applyAsLong(result));
+            return result;
+        } catch (RuntimeException e) {
+            current.record(operation, criteria, startedAt, System.nanoTime() - start, -1);
+            throw e;
+        }
+    }
+
+    /** Appends the queries still queued and closes the capture file, if any. */
+    @Override
+    public void close() {
+        QueryRecorder current = recorder;
+        if (current != null) {
+            current.close();
+        }
+    }
+}
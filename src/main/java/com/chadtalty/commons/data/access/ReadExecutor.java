@@ -0,0 +1,131 @@
+package com.chadtalty.commons.data.access;
+
+import com.chadtalty.commons.data.access.guard.QueryPolicy;
+import com.chadtalty.commons.data.access.guard.QueryTimeouts;
+import com.chadtalty.commons.data.access.routing.DataSourceRoute;
+import com.chadtalty.commons.data.access.routing.DataSourceRouting;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Runs the reads of an {@link AbstractDAO}: on the read replica when allowed, with the query
+ * policy's timeout, and concurrently on virtual threads for batches and parallel scans.
+ */
+final class ReadExecutor {
+
+    private final BooleanSupplier replicaReadEnabled;
+
+    private final Supplier<QueryPolicy> policy;
+
+    /**
+     * @param replicaReadEnabled the DAO's {@code isReplicaReadEnabled()}.
+     * @param policy             the DAO's {@code getQueryPolicy()}.
+     */
+    ReadExecutor(BooleanSupplier replicaReadEnabled, Supplier<QueryPolicy> policy) {
+        this.replicaReadEnabled = replicaReadEnabled;
+        this.policy = policy;
+    }
+
+    /**
+     * Runs a read against the replica route when no transaction is active on this thread, with the
+     * policy's query timeout.
+     */
+    <T> T onReadRoute(Supplier<T> read) {
+        if (!replicaReadEnabled.getAsBoolean() || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return withQueryTimeout(read);
+        }
+        return DataSourceRouting.callOn(DataSourceRoute.REPLICA, () -> withQueryTimeout(read));
+    }
+
+    /**
+     * Runs a read on {@code route}, with the policy's query timeout.
+     */
+    <T> T onRoute(DataSourceRoute route, Supplier<T> read) {
+        return DataSourceRouting.callOn(route, () -> withQueryTimeout(read));
+    }
+
+    /**
+     * The replica when replica reads are enabled and nothing pins this thread to the primary.
+     * Capture it on the calling thread before handing reads to other threads, which are not pinned.
+     */
+    DataSourceRoute readRoute() {
+        return replicaReadEnabled.getAsBoolean()
+                        && !TransactionSynchronizationManager.isActualTransactionActive()
+                        && !DataSourceRouting.isPinnedToPrimary()
+                ? DataSourceRoute.REPLICA
+                : DataSourceRoute.PRIMARY;
+    }
+
+    /**
+     * Runs the tasks on virtual threads with at most {@code maxConcurrency} in flight, passing each
+     * result (with its task's index) to {@code sink} under a lock, in completion order.
+     *
+     * @throws RuntimeException the first task failure, after cancelling the other tasks.
+     */
+    <T> void runConcurrently(List<Supplier<T>> tasks, int maxConcurrency, BiConsumer<Integer, T> sink) {
+        Semaphore permits = new Semaphore(maxConcurrency);
+        Object sinkLock = new Object();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>(tasks.size());
+            for (int i = 0; i < tasks.size(); i++) {
+                int index = i;
+                Supplier<T> task = tasks.get(i);
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    T result;
+                    try {
+                        result = task.get();
+                    } finally {
+                        permits.release();
+                    }
+                    synchronized (sinkLock) {
+                        sink.accept(index, result);
+                    }
+                    return null;
+                }));
+            }
+            awaitAll(futures);
+        }
+    }
+
+    /**
+     * Runs a query with the policy's query timeout, if one is configured.
+     */
+    private <T> T withQueryTimeout(Supplier<T> query) {
+        QueryPolicy current = policy.get();
+        if (current == null || current.getQueryTimeout() == null) {
+            return query.get();
+        }
+        return QueryTimeouts.callWith(current.getQueryTimeout(), query);
+    }
+
+    /**
+     * Waits for all tasks, cancelling the rest and rethrowing on the first failure.
+     */
+    private static void awaitAll(List<Future<?>> futures) {
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Concurrent read failed", e.getCause());
+        } catch (InterruptedException e) {
+            futures.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Concurrent read interrupted", e);
+        }
+    }
+}
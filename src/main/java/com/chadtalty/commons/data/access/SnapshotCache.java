@@ -0,0 +1,180 @@
+package com.chadtalty.commons.data.access;
+
+import com.chadtalty.commons.data.access.invalidation.Invalidation;
+import com.chadtalty.commons.data.access.invalidation.InvalidationBus;
+import com.chadtalty.commons.data.access.snapshot.Snapshot;
+import com.chadtalty.commons.data.access.snapshot.SnapshotOptions;
+import com.chadtalty.commons.data.access.snapshot.SnapshotStore;
+import com.chadtalty.commons.data.query.Criteria;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * The in-memory {@link Snapshot} of an {@link AbstractDAO}, if enabled, and the invalidation of it
+ * and of the DAO's invalidation listeners (and, through the {@link InvalidationBus}, of other nodes'
+ * caches) after writes.
+ *
+ * @param <E> entity type
+ */
+final class SnapshotCache<E> implements AutoCloseable {
+
+    private static final Log log = LogFactory.getLog(SnapshotCache.class);
+
+    private final Supplier<JpaEntityInformation<E, Long>> entityInformation;
+
+    private final Supplier<List<E>> loader;
+
+    private final Supplier<SnapshotOptions> options;
+
+    private final Supplier<InvalidationBus> bus;
+
+    private volatile SnapshotStore<E> store;
+
+    private final List<Consumer<Invalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    /** Whether {@link #invalidated(Invalidation)} listens to the bus; guarded by {@code this}. */
+    private boolean subscribed;
+
+    /**
+     * @param loader  reads all rows of the table, ordered by id.
+     * @param options the DAO's {@code getSnapshotOptions()}.
+     * @param bus     the DAO's {@code getInvalidationBus()}.
+     */
+    SnapshotCache(
+            Supplier<JpaEntityInformation<E, Long>> entityInformation,
+            Supplier<List<E>> loader,
+            Supplier<SnapshotOptions> options,
+            Supplier<InvalidationBus> bus) {
+        this.entityInformation = entityInformation;
+        this.loader = loader;
+        this.options = options;
+        this.bus = bus;
+    }
+
+    /**
+     * The snapshot store, created on first call; {@code null} unless snapshot options are set.
+     */
+    SnapshotStore<E> store() {
+        SnapshotStore<E> current = store;
+        if (current == null && options.get() != null) {
+            synchronized (this) {
+                current = store;
+                if (current == null) {
+                    Class<E> entityType = entityInformation.get().getJavaType();
+                    current = new SnapshotStore<>(entityType, loader, options.get());
+                    store = current;
+                    subscribe();
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Calls {@code listener} once writes of the entity commit, and for invalidations received
+     * through the bus.
+     */
+    void addListener(Consumer<Invalidation> listener) {
+        listeners.add(listener);
+        synchronized (this) {
+            subscribe();
+        }
+    }
+
+    void removeListener(Consumer<Invalidation> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Whether the snapshot answers the criteria. Read-write transactions go to the database so they
+     * see their own uncommitted changes.
+     */
+    boolean canAnswer(Criteria criteria) {
+        return options.get() != null
+                && Snapshot.supports(criteria)
+                && !(TransactionSynchronizationManager.isActualTransactionActive()
+                        && !TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+    }
+
+    /**
+     * Invalidates the written entities once the current transaction commits, or right away without
+     * one: through the invalidation bus on every node when set, else in this snapshot and listeners.
+     * Entities without an id (e.g. upserted by natural key) invalidate the whole type.
+     */
+    void invalidateAfterCommit(Collection<? extends E> written) {
+        JpaEntityInformation<E, Long> information = entityInformation.get();
+        List<Long> ids = new ArrayList<>(written.size());
+        for (E entity : written) {
+            Long id = information.getId(entity);
+            if (id == null) {
+                ids = null;
+                break;
+            }
+            ids.add(id);
+        }
+        InvalidationBus invalidationBus = bus.get();
+        if (invalidationBus != null) {
+            invalidationBus.invalidate(information.getJavaType(), ids);
+            return;
+        }
+        if (store == null && listeners.isEmpty()) {
+            return;
+        }
+        String type = information.getJavaType().getName();
+        Invalidation invalidation = ids == null ? Invalidation.all(type) : Invalidation.of(type, ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidated(invalidation);
+                }
+            });
+        } else {
+            invalidated(invalidation);
+        }
+    }
+
+    /** Stops the snapshot's background refresh, if any. */
+    @Override
+    public void close() {
+        SnapshotStore<E> current = store;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    /** Subscribes {@link #invalidated(Invalidation)} to the bus once; caller holds {@code this}. */
+    private void subscribe() {
+        InvalidationBus invalidationBus = bus.get();
+        if (!subscribed && invalidationBus != null) {
+            invalidationBus.subscribe(entityInformation.get().getJavaType(), this::invalidated);
+            subscribed = true;
+        }
+    }
+
+    private void invalidated(Invalidation invalidation) {
+        if (invalidation.ids().isEmpty() && !invalidation.all()) {
+            return;
+        }
+        SnapshotStore<E> current = store;
+        if (current != null) {
+            current.invalidate();
+        }
+        for (Consumer<Invalidation> listener : listeners) {
+            try {
+                listener.accept(invalidation);
+            } catch (RuntimeException e) {
+                log.warn("Invalidation listener for " + invalidation.entityType() + " failed", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.chadtalty.commons.data.access;
+
+import com.chadtalty.commons.data.access.changes.Watermark;
+import com.chadtalty.commons.data.access.filter.CompositeFilter;
+import com.chadtalty.commons.data.access.filter.Filters;
+import com.chadtalty.commons.data.access.filter.handler.FilterHandlerFactory;
+import com.chadtalty.commons.data.access.repository.IdRange;
+import com.chadtalty.commons.data.access.support.AttributePaths;
+import com.chadtalty.commons.data.query.Criteria;
+import com.chadtalty.commons.data.query.DateTimeFilter;
+import com.chadtalty.commons.data.query.Filter;
+import com.chadtalty.commons.data.query.JoinSpec;
+import jakarta.persistence.criteria.From;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Translates criteria into specifications through the registered filter handlers.
+ *
+ * @param <E> entity type
+ */
+final class SpecificationBuilder<E> {
+
+    private final FilterHandlerFactory<E> filterHandlerFactory;
+
+    SpecificationBuilder(FilterHandlerFactory<E> filterHandlerFactory) {
+        this.filterHandlerFactory = filterHandlerFactory;
+    }
+
+    /**
+     * Builds a combined specification from the criteria's joins and filters (AND-ed together).
+     */
+    Specification<E> of(Criteria criteria) {
+        // joins first, so dotted filters on a joined association reuse its inner join
+        return Specification.where(joins(criteria.getJoins())).and(filters(criteria.getFilters()));
+    }
+
+    /**
+     * AND-combines specifications generated from each filter; {@code null} without filters.
+     */
+    Specification<E> filters(List<Filter> filters) {
+        return Optional.ofNullable(filters)
+                .map(f -> f.stream()
+                        .map(this::filter)
+                        .reduce(Specification::and)
+                        .orElse(null))
+                .orElse(null);
+    }
+
+    /**
+     * AND-combines specifications generated from each join specification; {@code null} without joins.
+     */
+    Specification<E> joins(List<JoinSpec> joins) {
+        return Optional.ofNullable(joins)
+                .map(j -> j.stream()
+                        .map(this::join)
+                        .reduce(Specification::and)
+                        .orElse(null))
+                .orElse(null);
+    }
+
+    /**
+     * Delegates a filter to its handler via {@link FilterHandlerFactory}.
+     *
+     * @throws IllegalArgumentException if no handler is registered for the filter.
+     */
+    Specification<E> filter(Filter filter) {
+        return filterHandlerFactory.requireFilterHandler(filter).handle(filter);
+    }
+
+    /**
+     * Creates a join specification which inner-joins the association and applies the join's filter
+     * within it. The filter's fields are relative to the joined entity; it is handled like any other
+     * filter (any type, including {@link CompositeFilter} and custom ones) with its paths resolved
+     * from the inner join, see {@link AttributePaths#within(From, From, java.util.function.Supplier)}.
+     *
+     * <p>Join specifications on the same association share that join, as do dotted filters on it.
+     */
+    Specification<E> join(JoinSpec joinSpec) {
+        Specification<E> filter = filter(joinSpec.getFilter());
+        return (root, query, criteriaBuilder) -> {
+            From<?, ?> join = AttributePaths.innerJoin(root, joinSpec.getJoin());
+            return AttributePaths.within(root, join, () -> filter.toPredicate(root, query, criteriaBuilder));
+        };
+    }
+
+    /**
+     * Rows strictly after the watermark in {@code (timestamp, id)} order.
+     */
+    Specification<E> after(String timestampField, Watermark after) {
+        Specification<E> later = filter(DateTimeFilter.builder()
+                .field(timestampField)
+                .operator(DateTimeFilter.Operator.AFTER)
+                .value(after.timestamp())
+                .build());
+        Specification<E> sameTime = filter(DateTimeFilter.builder()
+                .field(timestampField)
+                .operator(DateTimeFilter.Operator.EQUAL)
+                .value(after.timestamp())
+                .build());
+        Specification<E> higherId = (root, query, cb) ->
+                cb.greaterThan(root.get(root.getModel().getId(Long.class)), after.id());
+        return later.or(sameTime.and(higherId));
+    }
+
+    Specification<E> present(String field) {
+        return (root, query, cb) -> cb.isNotNull(root.get(field));
+    }
+
+    /**
+     * Restricts the entity id to an inclusive range.
+     */
+    Specification<E> idBetween(IdRange range) {
+        return (root, query, cb) ->
+                cb.between(root.get(root.getModel().getId(Long.class)), range.min(), range.max());
+    }
+
+    /**
+     * Whether the criteria only reads attributes of the query root (no joins, no dotted fields), so
+     * its predicate can share a root with other queries' predicates.
+     */
+    static boolean addsNoJoins(Criteria criteria) {
+        return (criteria.getJoins() == null || criteria.getJoins().isEmpty())
+                && Optional.ofNullable(criteria.getFilters()).orElse(List.of()).stream()
+                        .allMatch(SpecificationBuilder::addsNoJoins);
+    }
+
+    private static boolean addsNoJoins(Filter filter) {
+        if (filter instanceof CompositeFilter group) {
+            return group.getFilters().stream().allMatch(SpecificationBuilder::addsNoJoins);
+        }
+        String field = Filters.fieldOf(filter);
+        return field != null && field.indexOf('.') < 0;
+    }
+}
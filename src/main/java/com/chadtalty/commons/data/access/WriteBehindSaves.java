@@ -0,0 +1,135 @@
+package com.chadtalty.commons.data.access;
+
+import com.chadtalty.commons.data.access.support.RowCopier;
+import com.chadtalty.commons.data.access.writebehind.WriteBehindBuffer;
+import com.chadtalty.commons.data.access.writebehind.WriteBehindOptions;
+import jakarta.persistence.Version;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * The write-behind buffer of an {@link AbstractDAO}'s saves, if enabled.
+ *
+ * <p>The buffer holds a shallow copy of each saved entity (see {@link RowCopier}), so changes the
+ * caller makes to its instance after {@code save} do not leak into the pending write.
+ *
+ * <p>Entities with a {@link Version @Version} attribute are never buffered: the caller keeps the
+ * instance {@code save} returned, whose version the later write could not update, so its next save
+ * would fail the optimistic lock check.
+ *
+ * @param <E> entity type
+ */
+final class WriteBehindSaves<E> implements AutoCloseable {
+
+    private final Supplier<JpaEntityInformation<E, Long>> entityInformation;
+
+    private final Consumer<List<E>> writer;
+
+    private final BiConsumer<E, RuntimeException> deadLetters;
+
+    private final Supplier<WriteBehindOptions> options;
+
+    private volatile RowCopier<E> copier;
+
+    private volatile boolean versioned;
+
+    private volatile WriteBehindBuffer<E> buffer;
+
+    /**
+     * @param writer      writes one batch, the DAO's {@code writeBehind(batch)}.
+     * @param deadLetters the DAO's {@code writeBehindFailed(entity, error)}.
+     * @param options     the DAO's {@code getWriteBehindOptions()}.
+     */
+    WriteBehindSaves(
+            Supplier<JpaEntityInformation<E, Long>> entityInformation,
+            Consumer<List<E>> writer,
+            BiConsumer<E, RuntimeException> deadLetters,
+            Supplier<WriteBehindOptions> options) {
+        this.entityInformation = entityInformation;
+        this.writer = writer;
+        this.deadLetters = deadLetters;
+        this.options = options;
+    }
+
+    /**
+     * The buffer, created on first call; {@code null} unless write-behind options are set.
+     */
+    WriteBehindBuffer<E> buffer() {
+        WriteBehindBuffer<E> current = buffer;
+        if (current == null && options.get() != null) {
+            synchronized (this) {
+                current = buffer;
+                if (current == null) {
+                    JpaEntityInformation<E, Long> information = entityInformation.get();
+                    copier = new RowCopier<>(information.getJavaType());
+                    versioned = isVersioned(information.getJavaType());
+                    current = new WriteBehindBuffer<>(
+                            information.getJavaType(), information::getId, writer, options.get(), deadLetters);
+                    buffer = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Buffers a copy of the entity when write-behind applies to it: options are set, the entity
+     * exists and is not versioned, no read-write transaction is active and the buffer is open.
+     *
+     * @return whether the entity was buffered; otherwise the caller writes it through.
+     */
+    boolean offer(E entity) {
+        if (options.get() == null
+                || entityInformation.get().isNew(entity)
+                || (TransactionSynchronizationManager.isActualTransactionActive()
+                        && !TransactionSynchronizationManager.isCurrentTransactionReadOnly())) {
+            return false;
+        }
+        WriteBehindBuffer<E> current = buffer();
+        if (versioned || current.isClosed()) {
+            return false;
+        }
+        current.add(copier.copy(entity));
+        return true;
+    }
+
+    /** Writes the buffered saves now; does nothing without a buffer. */
+    void flush() {
+        WriteBehindBuffer<E> current = buffer;
+        if (current != null) {
+            current.flush();
+        }
+    }
+
+    /** Writes the saves still buffered and stops the background flushes, if any. */
+    @Override
+    public void close() {
+        WriteBehindBuffer<E> current = buffer;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    /** Whether the class declares a {@code @Version} attribute, on a field or getter. */
+    private static boolean isVersioned(Class<?> entityType) {
+        for (Class<?> c = entityType; c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Version.class)) {
+                    return true;
+                }
+            }
+            for (Method method : c.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(Version.class)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
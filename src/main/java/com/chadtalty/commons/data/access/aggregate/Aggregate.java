@@ -0,0 +1,66 @@
+package com.chadtalty.commons.data.access.aggregate;
+
+import java.util.Locale;
+
+/**
+ * One aggregate column of an {@link AggregateQuery}.
+ *
+ * @param function  the aggregate function.
+ * @param attribute attribute path to aggregate; {@code null} only for a row {@link
+ *                  AggregateFunction#COUNT}.
+ * @param alias     column name in the result rows, and the name used by having-filters and sort.
+ */
+public record Aggregate(AggregateFunction function, String attribute, String alias) {
+
+    public Aggregate {
+        if (function == null) {
+            throw new IllegalArgumentException("Aggregate function is required");
+        }
+        if (attribute == null && function != AggregateFunction.COUNT) {
+            throw new IllegalArgumentException(function + " requires an attribute");
+        }
+        if (alias == null) {
+            alias = defaultAlias(function, attribute);
+        }
+    }
+
+    /** {@code count(*)}, aliased {@code "count"}. */
+    public static Aggregate count() {
+        return new Aggregate(AggregateFunction.COUNT, null, null);
+    }
+
+    /** {@code count(attribute)}, aliased {@code "count_<attribute>"}. */
+    public static Aggregate count(String attribute) {
+        return new Aggregate(AggregateFunction.COUNT, attribute, null);
+    }
+
+    public static Aggregate countDistinct(String attribute) {
+        return new Aggregate(AggregateFunction.COUNT_DISTINCT, attribute, null);
+    }
+
+    public static Aggregate sum(String attribute) {
+        return new Aggregate(AggregateFunction.SUM, attribute, null);
+    }
+
+    public static Aggregate min(String attribute) {
+        return new Aggregate(AggregateFunction.MIN, attribute, null);
+    }
+
+    public static Aggregate max(String attribute) {
+        return new Aggregate(AggregateFunction.MAX, attribute, null);
+    }
+
+    public static Aggregate avg(String attribute) {
+        return new Aggregate(AggregateFunction.AVG, attribute, null);
+    }
+
+    /** Returns a copy with another column name. */
+    public Aggregate as(String alias) {
+        return new Aggregate(function, attribute, alias);
+    }
+
+    private static String defaultAlias(AggregateFunction function, String attribute) {
+        String name = function.name().toLowerCase(Locale.ROOT);
+        return attribute == null ? name : name + "_" + attribute.replace('.', '_');
+    }
+}
@@ -0,0 +1,149 @@
+package com.chadtalty.commons.data.access.aggregate;
+
+import com.chadtalty.commons.data.access.filter.ValueConversions;
+import com.chadtalty.commons.data.access.support.AttributePaths;
+import com.chadtalty.commons.data.access.support.SortSpecs;
+import com.chadtalty.commons.data.query.BasicFilter;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Translates an {@link AggregateQuery} into a JPA tuple query.
+ *
+ * @param query   the criteria query; tuple elements follow {@code columns}.
+ * @param columns result column names: group-by paths, then aggregate aliases.
+ */
+public record AggregateCriteriaQuery(CriteriaQuery<Tuple> query, List<String> columns) {
+
+    /**
+     * Builds {@code SELECT groupBy..., aggregates... FROM domainClass WHERE spec GROUP BY groupBy
+     * HAVING having ORDER BY sort}.
+     *
+     * @throws IllegalArgumentException for an empty aggregate list, duplicate column names, or
+     *                                  having/sort entries that name no column.
+     */
+    public static <E> AggregateCriteriaQuery of(
+            CriteriaBuilder cb, Class<E> domainClass, Specification<E> spec, AggregateQuery aggregateQuery) {
+        if (aggregateQuery.getAggregates() == null || aggregateQuery.getAggregates().isEmpty()) {
+            throw new IllegalArgumentException("At least one aggregate is required");
+        }
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(domainClass);
+        Map<String, From<?, ?>> joins = new HashMap<>();
+
+        Map<String, Expression<?>> columns = new LinkedHashMap<>();
+        List<Expression<?>> groupings = new ArrayList<>();
+        for (String path : aggregateQuery.getGroupBy()) {
+            Expression<?> expression = AttributePaths.resolve(root, path, joins);
+            putColumn(columns, path, expression);
+            groupings.add(expression);
+        }
+        for (Aggregate aggregate : aggregateQuery.getAggregates()) {
+            Expression<?> target = aggregate.attribute() == null
+                    ? root
+                    : AttributePaths.resolve(root, aggregate.attribute(), joins);
+            putColumn(columns, aggregate.alias(), aggregateExpression(cb, aggregate.function(), target));
+        }
+
+        query.multiselect(new ArrayList<>(columns.values()));
+        if (spec != null) {
+            Predicate where = spec.toPredicate(root, query, cb);
+            if (where != null) {
+                query.where(where);
+            }
+        }
+        if (!groupings.isEmpty()) {
+            query.groupBy(groupings);
+        }
+        if (!aggregateQuery.getHaving().isEmpty()) {
+            query.having(aggregateQuery.getHaving().stream()
+                    .map(filter -> havingPredicate(cb, column(columns, filter.getField()), filter))
+                    .toArray(Predicate[]::new));
+        }
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : SortSpecs.toSort(aggregateQuery.getSort())) {
+            Expression<?> expression = column(columns, order.getProperty());
+            orders.add(order.isAscending() ? cb.asc(expression) : cb.desc(expression));
+        }
+        if (!orders.isEmpty()) {
+            query.orderBy(orders);
+        }
+        return new AggregateCriteriaQuery(query, List.copyOf(columns.keySet()));
+    }
+
+    /**
+     * Converts a result tuple into a row keyed by column name.
+     */
+    public AggregateRow toRow(Tuple tuple) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            values.put(columns.get(i), tuple.get(i));
+        }
+        return new AggregateRow(values);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Expression<?> aggregateExpression(CriteriaBuilder cb, AggregateFunction function, Expression<?> x) {
+        return switch (function) {
+            case COUNT -> cb.count(x);
+            case COUNT_DISTINCT -> cb.countDistinct(x);
+            case SUM -> cb.sum((Expression<Number>) x);
+            case AVG -> cb.avg((Expression<Number>) x);
+            case MIN -> cb.least((Expression<Comparable>) x);
+            case MAX -> cb.greatest((Expression<Comparable>) x);
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate havingPredicate(CriteriaBuilder cb, Expression<?> expression, BasicFilter filter) {
+        Expression<Comparable> x = (Expression<Comparable>) expression;
+        Comparable value = (Comparable) ValueConversions.castToRequiredType(havingType(expression), filter.getValue());
+        return switch (filter.getOperator()) {
+            case EQUAL -> cb.equal(x, value);
+            case NOT_EQUAL -> cb.notEqual(x, value);
+            case GREATER_THAN -> cb.greaterThan(x, value);
+            case LESS_THAN -> cb.lessThan(x, value);
+            case GREATER_THAN_OR_EQUAL -> cb.greaterThanOrEqualTo(x, value);
+            case LESS_THAN_OR_EQUAL -> cb.lessThanOrEqualTo(x, value);
+        };
+    }
+
+    /**
+     * Java type used to convert a having value; providers may report {@code Object} or primitive
+     * types for aggregates, so fall back to the widest sensible numeric type.
+     */
+    private static Class<?> havingType(Expression<?> expression) {
+        Class<?> type = expression.getJavaType();
+        if (type == null || type == Object.class || type == Number.class || type.isPrimitive()) {
+            return Double.class;
+        }
+        return type;
+    }
+
+    private static void putColumn(Map<String, Expression<?>> columns, String name, Expression<?> expression) {
+        if (columns.putIfAbsent(name, expression) != null) {
+            throw new IllegalArgumentException("Duplicate aggregate column: " + name);
+        }
+    }
+
+    private static Expression<?> column(Map<String, Expression<?>> columns, String name) {
+        Expression<?> expression = columns.get(name);
+        if (expression == null) {
+            throw new IllegalArgumentException("Unknown aggregate column '" + name + "'; expected one of " + columns.keySet());
+        }
+        return expression;
+    }
+}
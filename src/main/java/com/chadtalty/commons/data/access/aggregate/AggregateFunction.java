@@ -0,0 +1,25 @@
+package com.chadtalty.commons.data.access.aggregate;
+
+/**
+ * SQL aggregate functions supported by {@link AggregateQuery}.
+ */
+public enum AggregateFunction {
+
+    /** Number of rows, or of non-null values when an attribute is given. Result: {@code Long}. */
+    COUNT,
+
+    /** Number of distinct non-null values. Result: {@code Long}. */
+    COUNT_DISTINCT,
+
+    /** Sum of a numeric attribute. Result: {@code Long} for integral, otherwise the attribute type. */
+    SUM,
+
+    /** Smallest value of a comparable attribute (numbers, strings, temporal types). */
+    MIN,
+
+    /** Largest value of a comparable attribute (numbers, strings, temporal types). */
+    MAX,
+
+    /** Average of a numeric attribute. Result: {@code Double}. */
+    AVG
+}
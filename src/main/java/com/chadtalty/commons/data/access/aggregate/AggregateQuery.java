@@ -0,0 +1,37 @@
+package com.chadtalty.commons.data.access.aggregate;
+
+import com.chadtalty.commons.data.query.BasicFilter;
+import com.chadtalty.commons.data.query.SortSpec;
+import java.util.List;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * A {@code GROUP BY} query over the entities matching a criteria.
+ *
+ * <p>Result columns are the {@code groupBy} attribute paths followed by the aggregate aliases.
+ * {@code having} filters are {@link BasicFilter}s whose {@code field} names an aggregate alias (or a
+ * group-by path); their values are converted like ordinary filter values. {@code sort} may name
+ * aliases and group-by paths.
+ */
+@Value
+@Builder
+public class AggregateQuery {
+
+    /** Attribute paths to group by; empty for a single summary row. */
+    @Builder.Default
+    List<String> groupBy = List.of();
+
+    /** Aggregate columns; at least one. */
+    List<Aggregate> aggregates;
+
+    /** Conditions on aggregate values (SQL {@code HAVING}), AND-ed together. */
+    @Builder.Default
+    List<BasicFilter> having = List.of();
+
+    /** Result order by alias or group-by path; optional. */
+    SortSpec sort;
+
+    /** Maximum number of groups to return; optional. */
+    Integer limit;
+}
@@ -0,0 +1,133 @@
+package com.chadtalty.commons.data.access.aggregate;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One result row of an {@link AggregateQuery}: group-by values keyed by attribute path and aggregate
+ * values keyed by alias, in query order.
+ */
+public final class AggregateRow {
+
+    private final Map<String, Object> values;
+
+    public AggregateRow(Map<String, Object> values) {
+        this.values = Collections.unmodifiableMap(new LinkedHashMap<>(values));
+    }
+
+    /**
+     * Returns a column value (may be {@code null}, e.g. {@code SUM} over no non-null values).
+     *
+     * @throws IllegalArgumentException if the row has no such column.
+     */
+    public Object get(String column) {
+        if (!values.containsKey(column)) {
+            throw new IllegalArgumentException("No column '" + column + "' in " + values.keySet());
+        }
+        return values.get(column);
+    }
+
+    /** Returns a column value cast to {@code type}, converting between numeric types. */
+    public <T> T get(String column, Class<T> type) {
+        return convert(get(column), type, column);
+    }
+
+    public Long getLong(String column) {
+        return get(column, Long.class);
+    }
+
+    public Double getDouble(String column) {
+        return get(column, Double.class);
+    }
+
+    public BigDecimal getBigDecimal(String column) {
+        return get(column, BigDecimal.class);
+    }
+
+    /** Column values in query order. */
+    public Map<String, Object> asMap() {
+        return values;
+    }
+
+    /**
+     * Maps the row onto a record whose component names match column names (group-by paths must be
+     * simple names, or aliased through a record with matching components).
+     */
+    public <R extends Record> R as(Class<R> recordType) {
+        RecordComponent[] components = recordType.getRecordComponents();
+        Class<?>[] types = new Class<?>[components.length];
+        Object[] args = new Object[components.length];
+        for (int i = 0; i < components.length; i++) {
+            types[i] = components[i].getType();
+            args[i] = convert(get(components[i].getName()), types[i], components[i].getName());
+        }
+        try {
+            Constructor<R> constructor = recordType.getDeclaredConstructor(types);
+            constructor.setAccessible(true);
+            return constructor.newInstance(args);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Cannot create " + recordType.getName() + " from " + values, e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof AggregateRow other && values.equals(other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return values.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "AggregateRow" + values;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T convert(Object value, Class<T> type, String column) {
+        if (value == null) {
+            if (type.isPrimitive()) {
+                throw new IllegalArgumentException("Column '" + column + "' is null; cannot map to " + type);
+            }
+            return null;
+        }
+        Class<?> boxed = box(type);
+        if (boxed.isInstance(value)) {
+            return (T) value;
+        }
+        if (value instanceof Number number) {
+            if (boxed == Long.class) {
+                return (T) Long.valueOf(number.longValue());
+            } else if (boxed == Integer.class) {
+                return (T) Integer.valueOf(number.intValue());
+            } else if (boxed == Double.class) {
+                return (T) Double.valueOf(number.doubleValue());
+            } else if (boxed == BigDecimal.class) {
+                return (T) new BigDecimal(number.toString());
+            }
+        }
+        throw new IllegalArgumentException(
+                "Column '" + column + "' is " + value.getClass().getName() + ", not " + type.getName());
+    }
+
+    private static Class<?> box(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        } else if (type == long.class) {
+            return Long.class;
+        } else if (type == int.class) {
+            return Integer.class;
+        } else if (type == double.class) {
+            return Double.class;
+        } else if (type == boolean.class) {
+            return Boolean.class;
+        }
+        throw new IllegalArgumentException("Unsupported primitive: " + type);
+    }
+}
@@ -0,0 +1,49 @@
+package com.chadtalty.commons.data.access.batch;
+
+import com.chadtalty.commons.data.query.Criteria;
+import com.chadtalty.commons.data.query.PageableCriteria;
+
+/**
+ * One criteria of a batch, with what to fetch for it.
+ *
+ * <p>A {@link PageableCriteria} limits the results to its page; its count is still the total number
+ * of matches.
+ *
+ * @param criteria filters, joins and sort, as for {@code AbstractDAO#getQueryResult(Criteria)}.
+ * @param fetch    results, count, or both.
+ */
+public record BatchQuery(Criteria criteria, Fetch fetch) {
+
+    /** What a batch query returns. */
+    public enum Fetch {
+        RESULTS,
+        COUNT,
+        RESULTS_AND_COUNT;
+
+        public boolean results() {
+            return this != COUNT;
+        }
+
+        public boolean count() {
+            return this != RESULTS;
+        }
+    }
+
+    public BatchQuery {
+        if (criteria == null || fetch == null) {
+            throw new IllegalArgumentException("criteria and fetch are required");
+        }
+    }
+
+    public static BatchQuery results(Criteria criteria) {
+        return new BatchQuery(criteria, Fetch.RESULTS);
+    }
+
+    public static BatchQuery count(Criteria criteria) {
+        return new BatchQuery(criteria, Fetch.COUNT);
+    }
+
+    public static BatchQuery resultsAndCount(Criteria criteria) {
+        return new BatchQuery(criteria, Fetch.RESULTS_AND_COUNT);
+    }
+}
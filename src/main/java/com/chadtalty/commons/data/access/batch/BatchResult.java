@@ -0,0 +1,25 @@
+package com.chadtalty.commons.data.access.batch;
+
+import java.util.List;
+
+/**
+ * Outcome of one {@link BatchQuery}: its results and/or count, or the error it failed with.
+ *
+ * @param results matching entities, or {@code null} when not requested or failed.
+ * @param count   number of matches, or {@code null} when not requested or failed.
+ * @param error   why this query failed, or {@code null} on success.
+ */
+public record BatchResult<E>(List<E> results, Long count, RuntimeException error) {
+
+    public static <E> BatchResult<E> of(List<E> results, Long count) {
+        return new BatchResult<>(results, count, null);
+    }
+
+    public static <E> BatchResult<E> failed(RuntimeException error) {
+        return new BatchResult<>(null, null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
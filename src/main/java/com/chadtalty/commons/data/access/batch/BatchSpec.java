@@ -0,0 +1,16 @@
+package com.chadtalty.commons.data.access.batch;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * A {@link BatchQuery} translated for the repository.
+ *
+ * @param spec            filters and joins; {@code null} matches everything.
+ * @param pageable        sort, and the page to load when paged.
+ * @param fetch           results, count, or both.
+ * @param countCombinable whether the count can share one statement with other counts; only true
+ *                        when {@code spec} adds no joins to the query root.
+ */
+public record BatchSpec<E>(
+        Specification<E> spec, Pageable pageable, BatchQuery.Fetch fetch, boolean countCombinable) {}
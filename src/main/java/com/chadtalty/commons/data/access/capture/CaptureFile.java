@@ -0,0 +1,154 @@
+package com.chadtalty.commons.data.access.capture;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads capture files written by {@link QueryRecorder}.
+ *
+ * <p>The file is UTF-8 text, one record per line, with tab-separated fields. Each distinct criteria
+ * shape is written once, the first time it is seen, and queries refer to it by number:
+ *
+ * <pre>
+ * S  shapeId  shape
+ * Q  startedAtEpochMillis  operation  shapeId  page  micros  rows  value...
+ * </pre>
+ *
+ * A value is {@code =} followed by the escaped value, or {@code ~} if it was redacted. Lines
+ * starting with {@code #} are comments.
+ */
+public final class CaptureFile {
+
+    static final String HEADER = "# query capture v1";
+
+    private CaptureFile() {}
+
+    /**
+     * Reads all queries, in file order. An incomplete last line, as left by a process that died
+     * while appending, is skipped.
+     *
+     * @throws IllegalArgumentException if any other line is malformed.
+     */
+    public static List<CapturedQuery> read(Path file) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Map<Integer, String> shapes = new HashMap<>();
+        List<CapturedQuery> queries = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            try {
+                String[] fields = line.split("\t", -1);
+                switch (fields[0]) {
+                    case "S" -> shapes.put(Integer.parseInt(fields[1]), fields[2]);
+                    case "Q" -> queries.add(query(fields, shapes));
+                    default -> throw new IllegalArgumentException("Unknown record type '" + fields[0] + "'");
+                }
+            } catch (RuntimeException e) {
+                if (i < lines.size() - 1) {
+                    throw new IllegalArgumentException("Malformed line " + (i + 1) + " of " + file + ": " + line, e);
+                }
+            }
+        }
+        return queries;
+    }
+
+    /** Shape ids already assigned in an existing file, so appending continues its numbering. */
+    static Map<String, Integer> readShapeIds(Path file) {
+        Map<String, Integer> ids = new HashMap<>();
+        if (!Files.exists(file)) {
+            return ids;
+        }
+        try (var lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            lines.filter(line -> line.startsWith("S\t")).forEach(line -> {
+                String[] fields = line.split("\t", -1);
+                if (fields.length == 3) {
+                    ids.put(fields[2], Integer.parseInt(fields[1]));
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return ids;
+    }
+
+    static String shapeLine(int id, String shape) {
+        return "S\t" + id + "\t" + shape;
+    }
+
+    static String queryLine(
+            long startedAtMillis,
+            QueryOperation operation,
+            int shapeId,
+            int page,
+            long micros,
+            long rows,
+            List<String> values) {
+        StringBuilder line = new StringBuilder(64)
+                .append("Q\t")
+                .append(startedAtMillis)
+                .append('\t')
+                .append(operation.code())
+                .append('\t')
+                .append(shapeId)
+                .append('\t')
+                .append(page)
+                .append('\t')
+                .append(micros)
+                .append('\t')
+                .append(rows);
+        for (String value : values) {
+            line.append('\t');
+            if (value == null) {
+                line.append('~');
+            } else {
+                line.append('=').append(CriteriaCodec.escape(value));
+            }
+        }
+        return line.toString();
+    }
+
+    private static CapturedQuery query(String[] fields, Map<Integer, String> shapes) {
+        if (fields.length < 7 || fields[2].length() != 1) {
+            throw new IllegalArgumentException("Expected at least 7 fields");
+        }
+        String shape = shapes.get(Integer.parseInt(fields[3]));
+        if (shape == null) {
+            throw new IllegalArgumentException("Unknown shape " + fields[3]);
+        }
+        List<String> values = new ArrayList<>(fields.length - 7);
+        for (String value : Arrays.asList(fields).subList(7, fields.length)) {
+            if (value.equals("~")) {
+                values.add(null);
+            } else if (value.startsWith("=")) {
+                values.add(CriteriaCodec.unescape(value.substring(1)));
+            } else {
+                throw new IllegalArgumentException("Malformed value '" + value + "'");
+            }
+        }
+        return new CapturedQuery(
+                Instant.ofEpochMilli(Long.parseLong(fields[1])),
+                QueryOperation.ofCode(fields[2].charAt(0)),
+                shape,
+                values,
+                Integer.parseInt(fields[4]),
+                Duration.ofNanos(Long.parseLong(fields[5]) * 1_000),
+                Long.parseLong(fields[6]));
+    }
+}
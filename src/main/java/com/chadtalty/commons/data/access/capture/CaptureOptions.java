@@ -0,0 +1,57 @@
+package com.chadtalty.commons.data.access.capture;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Opt-in configuration of the query capture of an {@code AbstractDAO}.
+ *
+ * @param file          capture file, appended to; give each DAO its own.
+ * @param sampleRate    share of queries recorded, between 0 and 1.
+ * @param redactValues  whether filter values are left out of the file, keeping only their shape.
+ * @param capacity      maximum records waiting for the writer; further records are dropped.
+ * @param flushInterval how often the writer appends waiting records to the file.
+ */
+public record CaptureOptions(Path file, double sampleRate, boolean redactValues, int capacity, Duration flushInterval) {
+
+    public static final int DEFAULT_CAPACITY = 10_000;
+
+    public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofSeconds(1);
+
+    public CaptureOptions {
+        if (file == null) {
+            throw new IllegalArgumentException("file must not be null");
+        }
+        if (!(sampleRate >= 0 && sampleRate <= 1)) {
+            throw new IllegalArgumentException("sampleRate must be between 0 and 1: " + sampleRate);
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        if (flushInterval == null || flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new IllegalArgumentException("flushInterval must be positive: " + flushInterval);
+        }
+    }
+
+    /** Records every query, with redacted values, into {@code file}. */
+    public static CaptureOptions to(Path file) {
+        return new CaptureOptions(file, 1, true, DEFAULT_CAPACITY, DEFAULT_FLUSH_INTERVAL);
+    }
+
+    public CaptureOptions withSampleRate(double sampleRate) {
+        return new CaptureOptions(file, sampleRate, redactValues, capacity, flushInterval);
+    }
+
+    /** Keeps filter values verbatim, e.g. on a staging system without personal data. */
+    public CaptureOptions withValues() {
+        return new CaptureOptions(file, sampleRate, false, capacity, flushInterval);
+    }
+
+    public CaptureOptions withCapacity(int capacity) {
+        return new CaptureOptions(file, sampleRate, redactValues, capacity, flushInterval);
+    }
+
+    public CaptureOptions withFlushInterval(Duration flushInterval) {
+        return new CaptureOptions(file, sampleRate, redactValues, capacity, flushInterval);
+    }
+}
@@ -0,0 +1,50 @@
+package com.chadtalty.commons.data.access.capture;
+
+import com.chadtalty.commons.data.query.Criteria;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One query read back from a capture file.
+ *
+ * @param startedAt when the query started.
+ * @param operation the DAO method it went through.
+ * @param shape     the criteria without its values (see {@link #toCriteria(ReplayValues)}).
+ * @param values    filter values in shape order; {@code null} where redacted.
+ * @param page      page number of a {@link QueryOperation#PAGE} query, else 0.
+ * @param duration  time the DAO method took.
+ * @param rows      entities returned (the count, for {@link QueryOperation#COUNT}), or -1 if it failed.
+ */
+public record CapturedQuery(
+        Instant startedAt,
+        QueryOperation operation,
+        String shape,
+        List<String> values,
+        int page,
+        Duration duration,
+        long rows) {
+
+    public CapturedQuery {
+        values = Collections.unmodifiableList(new ArrayList<>(values));
+    }
+
+    public boolean failed() {
+        return rows < 0;
+    }
+
+    /**
+     * Rebuilds the criteria, taking each value from {@code values}.
+     *
+     * @throws IllegalArgumentException if the shape contains a filter type the capture could not
+     *                                  describe, or {@code values} returns an unparsable date-time.
+     */
+    public Criteria toCriteria(ReplayValues values) {
+        int[] position = {0};
+        long base = startedAt.toEpochMilli() * 31 + shape.hashCode();
+        return CriteriaCodec.decode(shape, this.values, page, (field, recorded) ->
+                values.valueFor(field, recorded, base * 31 + position[0]++));
+    }
+}
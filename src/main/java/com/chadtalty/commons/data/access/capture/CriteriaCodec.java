@@ -0,0 +1,364 @@
+package com.chadtalty.commons.data.access.capture;
+
+import com.chadtalty.commons.data.access.filter.CompositeFilter;
+import com.chadtalty.commons.data.access.filter.TextFilter;
+import com.chadtalty.commons.data.query.BasicFilter;
+import com.chadtalty.commons.data.query.BetweenFilter;
+import com.chadtalty.commons.data.query.ContainsFilter;
+import com.chadtalty.commons.data.query.Criteria;
+import com.chadtalty.commons.data.query.DateTimeFilter;
+import com.chadtalty.commons.data.query.Filter;
+import com.chadtalty.commons.data.query.JoinSpec;
+import com.chadtalty.commons.data.query.PageableCriteria;
+import com.chadtalty.commons.data.query.SortSpec;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Splits a criteria into its shape, a one-line text with fields, operators and list sizes, and its
+ * values in traversal order, and puts them back together.
+ *
+ * <p>The shape is {@code size|filters|joins|sort}, where {@code size} is the page size or {@code -},
+ * and filters are {@code B(field,OP)}, {@code C(field,OP,count)}, {@code W(field,OP)}, {@code
+ * D(field,OP)}, {@code T(field,OP,ignoreCase)}, {@code G(OP,filter,...)}, or {@code X(class)} for a
+ * filter type it does not know. Joins are {@code join(filter)} or {@code join()}, and sort keys
+ * {@code +field} or {@code -field}. Names are backslash-escaped.
+ */
+final class CriteriaCodec {
+
+    private CriteriaCodec() {}
+
+    /** A criteria's shape and values; a {@code null} value was redacted or {@code null}. */
+    record Encoded(String shape, List<String> values) {}
+
+    static Encoded encode(Criteria criteria, boolean redactValues) {
+        StringBuilder shape = new StringBuilder();
+        List<String> values = new ArrayList<>();
+        shape.append(criteria instanceof PageableCriteria paged ? Integer.toString(paged.getSize()) : "-");
+        shape.append('|');
+        List<Filter> filters = criteria.getFilters() == null ? List.of() : criteria.getFilters();
+        for (int i = 0; i < filters.size(); i++) {
+            shape.append(i == 0 ? "" : ",");
+            encode(filters.get(i), shape, values);
+        }
+        shape.append('|');
+        List<JoinSpec> joins = criteria.getJoins() == null ? List.of() : criteria.getJoins();
+        for (int i = 0; i < joins.size(); i++) {
+            shape.append(i == 0 ? "" : ",").append(escape(joins.get(i).getJoin())).append('(');
+            if (joins.get(i).getFilter() != null) {
+                encode(joins.get(i).getFilter(), shape, values);
+            }
+            shape.append(')');
+        }
+        shape.append('|');
+        SortSpec sort = criteria.getSort();
+        if (sort != null) {
+            String separator = "";
+            for (String field : sort.getAscending() == null ? List.<String>of() : sort.getAscending()) {
+                shape.append(separator).append('+').append(escape(field));
+                separator = ",";
+            }
+            for (String field : sort.getDescending() == null ? List.<String>of() : sort.getDescending()) {
+                shape.append(separator).append('-').append(escape(field));
+                separator = ",";
+            }
+        }
+        if (redactValues) {
+            values.replaceAll(value -> null);
+        }
+        return new Encoded(shape.toString(), values);
+    }
+
+    /**
+     * Rebuilds a criteria; {@code valueOf} receives each value's attribute path (prefixed by the
+     * join, if any) and recorded value, and returns the value to use.
+     *
+     * @throws IllegalArgumentException if the shape is malformed, has too few values, or contains
+     *                                  an unknown filter type.
+     */
+    static Criteria decode(
+            String shape, List<String> values, int page, BiFunction<String, String, String> valueOf) {
+        return new Decoder(shape, values.iterator(), valueOf).criteria(page);
+    }
+
+    private static void encode(Filter filter, StringBuilder shape, List<String> values) {
+        if (filter instanceof BasicFilter basic) {
+            shape.append("B(").append(escape(basic.getField())).append(',').append(name(basic.getOperator()));
+            values.add(basic.getValue());
+        } else if (filter instanceof ContainsFilter contains) {
+            List<String> list = contains.getValues() == null ? List.of() : contains.getValues();
+            shape.append("C(").append(escape(contains.getField())).append(',').append(name(contains.getOperator()));
+            shape.append(',').append(list.size());
+            values.addAll(list);
+        } else if (filter instanceof BetweenFilter between) {
+            shape.append("W(").append(escape(between.getField())).append(',').append(name(between.getOperator()));
+            values.add(instant(between.getStartDateTime()));
+            values.add(instant(between.getEndDateTime()));
+        } else if (filter instanceof DateTimeFilter dateTime) {
+            shape.append("D(").append(escape(dateTime.getField())).append(',').append(name(dateTime.getOperator()));
+            values.add(instant(dateTime.getValue()));
+        } else if (filter instanceof TextFilter text) {
+            shape.append("T(").append(escape(text.getField())).append(',').append(name(text.getOperator()));
+            shape.append(',').append(text.isIgnoreCase() ? '1' : '0');
+            values.add(text.getValue());
+        } else if (filter instanceof CompositeFilter composite) {
+            shape.append("G(").append(name(composite.getOperator()));
+            for (Filter child : composite.getFilters() == null ? List.<Filter>of() : composite.getFilters()) {
+                shape.append(',');
+                encode(child, shape, values);
+            }
+        } else {
+            shape.append("X(").append(escape(filter == null ? "null" : filter.getClass().getName()));
+        }
+        shape.append(')');
+    }
+
+    private static String name(Enum<?> operator) {
+        return operator == null ? "" : operator.name();
+    }
+
+    private static String instant(Instant instant) {
+        return instant == null ? null : instant.toString();
+    }
+
+    static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\', ',', '(', ')', '|' -> escaped.append('\\').append(c);
+                case '\t' -> escaped.append("\\t");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    static String unescape(String text) {
+        if (text.indexOf('\\') < 0) {
+            return text;
+        }
+        StringBuilder plain = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < text.length()) {
+                char next = text.charAt(++i);
+                plain.append(
+                        switch (next) {
+                            case 't' -> '\t';
+                            case 'n' -> '\n';
+                            case 'r' -> '\r';
+                            default -> next;
+                        });
+            } else {
+                plain.append(c);
+            }
+        }
+        return plain.toString();
+    }
+
+    /** Recursive-descent parser of one shape. */
+    private static final class Decoder {
+
+        private final String shape;
+
+        private final Iterator<String> values;
+
+        private final BiFunction<String, String, String> valueOf;
+
+        private int pos;
+
+        private String prefix = "";
+
+        Decoder(String shape, Iterator<String> values, BiFunction<String, String, String> valueOf) {
+            this.shape = shape;
+            this.values = values;
+            this.valueOf = valueOf;
+        }
+
+        Criteria criteria(int page) {
+            String size = name();
+            expect('|');
+            Criteria criteria;
+            if (size.equals("-")) {
+                criteria = new Criteria();
+            } else {
+                PageableCriteria paged = new PageableCriteria();
+                paged.setSize(Integer.parseInt(size));
+                paged.setPage(page);
+                criteria = paged;
+            }
+
+            List<Filter> filters = new ArrayList<>();
+            while (peek() != '|') {
+                filters.add(filter());
+                skip(',');
+            }
+            criteria.setFilters(filters);
+            expect('|');
+
+            List<JoinSpec> joins = new ArrayList<>();
+            while (peek() != '|') {
+                JoinSpec join = new JoinSpec();
+                join.setJoin(name());
+                expect('(');
+                if (peek() != ')') {
+                    prefix = join.getJoin() + ".";
+                    join.setFilter(filter());
+                    prefix = "";
+                }
+                expect(')');
+                joins.add(join);
+                skip(',');
+            }
+            criteria.setJoins(joins);
+            expect('|');
+
+            List<String> ascending = new ArrayList<>();
+            List<String> descending = new ArrayList<>();
+            while (pos < shape.length()) {
+                char direction = shape.charAt(pos++);
+                (direction == '-' ? descending : ascending).add(name());
+                skip(',');
+            }
+            if (!ascending.isEmpty() || !descending.isEmpty()) {
+                criteria.setSort(new SortSpec(ascending, descending));
+            }
+            return criteria;
+        }
+
+        private Filter filter() {
+            char type = shape.charAt(pos++);
+            expect('(');
+            Filter filter =
+                    switch (type) {
+                        case 'B' -> {
+                            BasicFilter basic = new BasicFilter();
+                            basic.setField(name());
+                            expect(',');
+                            basic.setOperator(operator(BasicFilter.Operator.class));
+                            basic.setValue(value(basic.getField()));
+                            yield basic;
+                        }
+                        case 'C' -> {
+                            ContainsFilter contains = new ContainsFilter();
+                            contains.setField(name());
+                            expect(',');
+                            contains.setOperator(operator(ContainsFilter.Operator.class));
+                            expect(',');
+                            int count = Integer.parseInt(name());
+                            List<String> list = new ArrayList<>(count);
+                            for (int i = 0; i < count; i++) {
+                                list.add(value(contains.getField()));
+                            }
+                            contains.setValues(list);
+                            yield contains;
+                        }
+                        case 'W' -> {
+                            BetweenFilter between = new BetweenFilter();
+                            between.setField(name());
+                            expect(',');
+                            between.setOperator(operator(BetweenFilter.Operator.class));
+                            between.setStartDateTime(instant(value(between.getField())));
+                            between.setEndDateTime(instant(value(between.getField())));
+                            yield between;
+                        }
+                        case 'D' -> {
+                            DateTimeFilter dateTime = new DateTimeFilter();
+                            dateTime.setField(name());
+                            expect(',');
+                            dateTime.setOperator(operator(DateTimeFilter.Operator.class));
+                            dateTime.setValue(instant(value(dateTime.getField())));
+                            yield dateTime;
+                        }
+                        case 'T' -> {
+                            TextFilter text = new TextFilter();
+                            text.setField(name());
+                            expect(',');
+                            text.setOperator(operator(TextFilter.Operator.class));
+                            expect(',');
+                            text.setIgnoreCase(name().equals("1"));
+                            text.setValue(value(text.getField()));
+                            yield text;
+                        }
+                        case 'G' -> {
+                            CompositeFilter composite = new CompositeFilter();
+                            composite.setOperator(operator(CompositeFilter.Operator.class));
+                            while (peek() == ',') {
+                                pos++;
+                                composite.getFilters().add(filter());
+                            }
+                            yield composite;
+                        }
+                        case 'X' -> throw new IllegalArgumentException("Cannot replay filter type " + name());
+                        default -> throw malformed();
+                    };
+            expect(')');
+            return filter;
+        }
+
+        private <T extends Enum<T>> T operator(Class<T> type) {
+            String name = name();
+            return name.isEmpty() ? null : Enum.valueOf(type, name);
+        }
+
+        private String value(String field) {
+            if (!values.hasNext()) {
+                throw new IllegalArgumentException("Too few values for shape " + shape);
+            }
+            return valueOf.apply(prefix + field, values.next());
+        }
+
+        private static Instant instant(String value) {
+            return value == null ? null : Instant.parse(value);
+        }
+
+        /** Reads up to the next unescaped delimiter. */
+        private String name() {
+            int start = pos;
+            while (pos < shape.length()) {
+                char c = shape.charAt(pos);
+                if (c == '\\') {
+                    pos += 2;
+                } else if (c == ',' || c == '(' || c == ')' || c == '|') {
+                    break;
+                } else {
+                    pos++;
+                }
+            }
+            return unescape(shape.substring(start, Math.min(pos, shape.length())));
+        }
+
+        private char peek() {
+            if (pos >= shape.length()) {
+                throw malformed();
+            }
+            return shape.charAt(pos);
+        }
+
+        private void expect(char c) {
+            if (peek() != c) {
+                throw malformed();
+            }
+            pos++;
+        }
+
+        private void skip(char c) {
+            if (pos < shape.length() && shape.charAt(pos) == c) {
+                pos++;
+            }
+        }
+
+        private IllegalArgumentException malformed() {
+            return new IllegalArgumentException("Malformed criteria shape at " + pos + ": " + shape);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.chadtalty.commons.data.access.capture;
+
+/** The {@code DAO} method a captured query went through. */
+public enum QueryOperation {
+
+    /** {@code getQueryResult(Criteria)}. */
+    LIST('L'),
+
+    /** {@code getQueryResultPage(PageableCriteria)}. */
+    PAGE('P'),
+
+    /** {@code count(Criteria)}. */
+    COUNT('C');
+
+    private final char code;
+
+    QueryOperation(char code) {
+        this.code = code;
+    }
+
+    char code() {
+        return code;
+    }
+
+    static QueryOperation ofCode(char code) {
+        for (QueryOperation operation : values()) {
+            if (operation.code == code) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown query operation code '" + code + "'");
+    }
+}
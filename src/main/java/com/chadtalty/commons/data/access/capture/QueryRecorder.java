@@ -0,0 +1,222 @@
+package com.chadtalty.commons.data.access.capture;
+
+import com.chadtalty.commons.data.query.Criteria;
+import com.chadtalty.commons.data.query.PageableCriteria;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Appends the shape, values, timing and row count of executed queries to a capture file (see
+ * {@link CaptureFile}).
+ *
+ * <p>The calling thread only encodes the criteria and offers the record to a bounded queue; a
+ * daemon thread appends queued records every {@link CaptureOptions#flushInterval()}. When the
+ * queue is full, records are dropped rather than slowing queries down, and counted in {@link
+ * #dropped()}. With {@link CaptureOptions#redactValues()}, values are removed before the record
+ * is queued.
+ */
+public final class QueryRecorder implements AutoCloseable {
+
+    private static final Log log = LogFactory.getLog(QueryRecorder.class);
+
+    private final CaptureOptions options;
+
+    private final BlockingQueue<Entry> queue;
+
+    private final ScheduledExecutorService writer;
+
+    /** Shape ids of the file; guarded by {@code out}. */
+    private final Map<String, Integer> shapeIds;
+
+    private final BufferedWriter out;
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private final AtomicLong recorded = new AtomicLong();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * Opens the capture file for appending, creating it if needed and dropping an incomplete last
+     * line.
+     *
+     * @throws UncheckedIOException if the file cannot be read or opened.
+     */
+    public QueryRecorder(CaptureOptions options) {
+        this.options = options;
+        this.queue = new ArrayBlockingQueue<>(options.capacity());
+        try {
+            dropPartialLastLine();
+            this.shapeIds = CaptureFile.readShapeIds(options.file());
+            boolean empty = !Files.exists(options.file()) || Files.size(options.file()) == 0;
+            this.out = Files.newBufferedWriter(
+                    options.file(), StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            if (empty) {
+                out.write(CaptureFile.HEADER);
+                out.newLine();
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.writer = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .daemon()
+                .name("query-capture-" + options.file().getFileName())
+                .factory());
+        long interval = options.flushInterval().toNanos();
+        writer.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.NANOSECONDS);
+    }
+
+    /** Decides whether the next query is recorded, per {@link CaptureOptions#sampleRate()}. */
+    public boolean sample() {
+        double rate = options.sampleRate();
+        return !closed.get() && (rate >= 1 || rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    /**
+     * Queues one executed query.
+     *
+     * @param startedAtMillis epoch millis when the query started.
+     * @param rows            entities returned, the count for {@link QueryOperation#COUNT}, or -1 if
+     *                        the query failed.
+     */
+    public void record(
+            QueryOperation operation, Criteria criteria, long startedAtMillis, long durationNanos, long rows) {
+        if (closed.get()) {
+            return;
+        }
+        CriteriaCodec.Encoded encoded = CriteriaCodec.encode(criteria, options.redactValues());
+        int page = criteria instanceof PageableCriteria paged ? paged.getPage() : 0;
+        Entry entry = new Entry(startedAtMillis, operation, encoded, page, durationNanos / 1_000, rows);
+        if (queue.offer(entry)) {
+            recorded.incrementAndGet();
+        } else {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /** Queries queued for the file so far. */
+    public long recorded() {
+        return recorded.get();
+    }
+
+    /** Queries not recorded because the queue was full. */
+    public long dropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Appends the queued records now, on the calling thread.
+     *
+     * @throws UncheckedIOException if writing fails; the records are then lost.
+     */
+    public void flush() {
+        List<Entry> entries = new ArrayList<>();
+        synchronized (out) {
+            queue.drainTo(entries);
+            if (entries.isEmpty()) {
+                return;
+            }
+            try {
+                for (Entry entry : entries) {
+                    Integer shapeId = shapeIds.get(entry.criteria().shape());
+                    if (shapeId == null) {
+                        shapeId = shapeIds.size() + 1;
+                        shapeIds.put(entry.criteria().shape(), shapeId);
+                        out.write(CaptureFile.shapeLine(shapeId, entry.criteria().shape()));
+                        out.newLine();
+                    }
+                    out.write(CaptureFile.queryLine(
+                            entry.startedAtMillis(),
+                            entry.operation(),
+                            shapeId,
+                            entry.page(),
+                            entry.micros(),
+                            entry.rows(),
+                            entry.criteria().values()));
+                    out.newLine();
+                }
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /** Stops recording, appends what is queued and closes the file. */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        writer.shutdown();
+        try {
+            writer.awaitTermination(options.flushInterval().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            flush();
+        } finally {
+            synchronized (out) {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    log.warn("Closing query capture " + options.file() + " failed", e);
+                }
+            }
+        }
+    }
+
+    /** Cuts off a line left incomplete by a process that died while appending. */
+    private void dropPartialLastLine() throws IOException {
+        if (!Files.exists(options.file())) {
+            return;
+        }
+        try (RandomAccessFile file = new RandomAccessFile(options.file().toFile(), "rw")) {
+            long length = file.length();
+            while (length > 0) {
+                file.seek(length - 1);
+                if (file.read() == '\n') {
+                    break;
+                }
+                length--;
+            }
+            file.setLength(length);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Appending to query capture " + options.file() + " failed; records dropped", e);
+        }
+    }
+
+    private record Entry(
+            long startedAtMillis,
+            QueryOperation operation,
+            CriteriaCodec.Encoded criteria,
+            int page,
+            long micros,
+            long rows) {}
+}
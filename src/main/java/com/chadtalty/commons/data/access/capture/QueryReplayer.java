@@ -0,0 +1,184 @@
+package com.chadtalty.commons.data.access.capture;
+
+import com.chadtalty.commons.data.access.CriteriaDAO;
+import com.chadtalty.commons.data.query.Criteria;
+import com.chadtalty.commons.data.query.PageableCriteria;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Re-runs captured queries through a DAO, e.g. one wired to an embedded or staging database, and
+ * reports their latency per criteria shape.
+ *
+ * <p>Queries are started in capture order on virtual threads, with at most {@link
+ * ReplayOptions#concurrency()} in flight. With a {@link ReplayOptions#speed()} above 0 each query
+ * also waits for its captured offset from the first query, divided by the speed, so bursts and
+ * quiet periods are replayed as they happened. Replaying the same capture before and after a change
+ * and comparing with {@link ReplayReport#regressionsAgainst(ReplayReport, double)} shows the shapes
+ * it made slower.
+ */
+public final class QueryReplayer {
+
+    private QueryReplayer() {}
+
+    /**
+     * Replays {@code queries} and waits for all of them. Failing queries are counted, not rethrown.
+     *
+     * @throws IllegalStateException if interrupted.
+     */
+    public static ReplayReport replay(List<CapturedQuery> queries, CriteriaDAO<?> dao, ReplayOptions options) {
+        Map<String, ShapeSamples> shapes = new LinkedHashMap<>();
+        for (CapturedQuery query : queries) {
+            shapes.computeIfAbsent(key(query), k -> new ShapeSamples(query.operation(), query.shape()))
+                    .captured(query);
+        }
+        if (queries.isEmpty()) {
+            return new ReplayReport(Duration.ZERO, 0, 0, List.of());
+        }
+
+        long firstMillis = queries.get(0).startedAt().toEpochMilli();
+        Semaphore permits = new Semaphore(options.concurrency());
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (CapturedQuery query : queries) {
+                if (options.speed() > 0) {
+                    long due = start
+                            + (long) ((query.startedAt().toEpochMilli() - firstMillis) * 1_000_000 / options.speed());
+                    for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+                        LockSupport.parkNanos(wait);
+                    }
+                }
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    executor.shutdownNow();
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Replay interrupted", e);
+                }
+                ShapeSamples samples = shapes.get(key(query));
+                executor.execute(() -> {
+                    try {
+                        run(query, dao, options.values(), samples);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        List<ShapeStats> stats = new ArrayList<>(shapes.size());
+        int failures = 0;
+        for (ShapeSamples samples : shapes.values()) {
+            ShapeStats shape = samples.stats();
+            stats.add(shape);
+            failures += shape.failures();
+        }
+        return new ReplayReport(elapsed, queries.size(), failures, stats);
+    }
+
+    private static void run(CapturedQuery query, CriteriaDAO<?> dao, ReplayValues values, ShapeSamples samples) {
+        long start = System.nanoTime();
+        try {
+            Criteria criteria = query.toCriteria(values);
+            start = System.nanoTime();
+            long rows =
+                    switch (query.operation()) {
+                        case LIST -> dao.getQueryResult(criteria).size();
+                        case PAGE -> dao.getQueryResultPage((PageableCriteria) criteria).getNumberOfElements();
+                        case COUNT -> dao.count(criteria);
+                    };
+            samples.replayed(System.nanoTime() - start, rows);
+        } catch (RuntimeException e) {
+            samples.failed(e);
+        }
+    }
+
+    private static String key(CapturedQuery query) {
+        return query.operation().code() + query.shape();
+    }
+
+    /** Durations collected for one shape; replayed from many threads. */
+    private static final class ShapeSamples {
+
+        private final QueryOperation operation;
+
+        private final String shape;
+
+        private final List<Long> capturedNanos = new ArrayList<>();
+
+        private long capturedRows;
+
+        private long[] nanos = new long[16];
+
+        private int count;
+
+        private int failures;
+
+        private String firstError;
+
+        private long rows;
+
+        ShapeSamples(QueryOperation operation, String shape) {
+            this.operation = operation;
+            this.shape = shape;
+        }
+
+        void captured(CapturedQuery query) {
+            if (!query.failed()) {
+                capturedNanos.add(query.duration().toNanos());
+                capturedRows += query.rows();
+            }
+        }
+
+        synchronized void replayed(long durationNanos, long rows) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = durationNanos;
+            this.rows += rows;
+        }
+
+        synchronized void failed(RuntimeException e) {
+            failures++;
+            if (firstError == null) {
+                firstError = e.toString();
+            }
+        }
+
+        synchronized ShapeStats stats() {
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            long[] captured = capturedNanos.stream().mapToLong(Long::longValue).sorted().toArray();
+            return new ShapeStats(
+                    operation,
+                    shape,
+                    count + failures,
+                    failures,
+                    firstError,
+                    percentile(captured, 0.5),
+                    percentile(sorted, 0.5),
+                    percentile(sorted, 0.95),
+                    percentile(sorted, 1),
+                    capturedRows,
+                    rows);
+        }
+
+        /** Nearest-rank percentile; zero without samples. */
+        private static Duration percentile(long[] sorted, double fraction) {
+            if (sorted.length == 0) {
+                return Duration.ZERO;
+            }
+            int rank = (int) Math.ceil(fraction * sorted.length);
+            return Duration.ofNanos(sorted[Math.max(rank, 1) - 1]);
+        }
+    }
+}
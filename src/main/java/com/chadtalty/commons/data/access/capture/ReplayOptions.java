@@ -0,0 +1,38 @@
+package com.chadtalty.commons.data.access.capture;
+
+/**
+ * How {@link QueryReplayer} runs a capture.
+ *
+ * @param speed       pacing relative to the capture: 1 keeps the captured gaps between queries, 2
+ *                    halves them, and 0 sends each query as soon as a slot is free.
+ * @param concurrency maximum queries in flight, and therefore connections in use.
+ * @param values      filter values to run with, e.g. in place of redacted ones.
+ */
+public record ReplayOptions(double speed, int concurrency, ReplayValues values) {
+
+    public ReplayOptions {
+        if (!(speed >= 0) || Double.isInfinite(speed)) {
+            throw new IllegalArgumentException("speed must be finite and not negative: " + speed);
+        }
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be positive: " + concurrency);
+        }
+        if (values == null) {
+            throw new IllegalArgumentException("values must not be null");
+        }
+    }
+
+    /** Runs queries back to back, at most {@code concurrency} at a time, with the captured values. */
+    public static ReplayOptions unpaced(int concurrency) {
+        return new ReplayOptions(0, concurrency, ReplayValues.recorded());
+    }
+
+    /** Keeps the captured arrival pattern, sped up by {@code speed}, with the captured values. */
+    public static ReplayOptions paced(double speed, int concurrency) {
+        return new ReplayOptions(speed, concurrency, ReplayValues.recorded());
+    }
+
+    public ReplayOptions withValues(ReplayValues values) {
+        return new ReplayOptions(speed, concurrency, values);
+    }
+}
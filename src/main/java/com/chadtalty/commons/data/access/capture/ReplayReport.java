@@ -0,0 +1,49 @@
+package com.chadtalty.commons.data.access.capture;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of one {@link QueryReplayer} run.
+ *
+ * @param elapsed  wall-clock time of the run.
+ * @param queries  queries replayed.
+ * @param failures queries that failed, or could not be rebuilt from the capture.
+ * @param shapes   results per operation and criteria shape, in order of first appearance.
+ */
+public record ReplayReport(Duration elapsed, int queries, int failures, List<ShapeStats> shapes) {
+
+    public ReplayReport {
+        shapes = List.copyOf(shapes);
+    }
+
+    /** Queries per second. */
+    public double throughput() {
+        return elapsed.isZero() ? 0 : queries * 1e9 / elapsed.toNanos();
+    }
+
+    /**
+     * Shapes whose median got slower than {@code tolerance} times their median in {@code baseline},
+     * e.g. a replay of the same capture before a filter handler change. Shapes missing from the
+     * baseline are left out.
+     *
+     * @param tolerance allowed slowdown factor, e.g. 1.2 for 20%.
+     */
+    public List<ShapeStats> regressionsAgainst(ReplayReport baseline, double tolerance) {
+        Map<String, ShapeStats> before = new HashMap<>();
+        for (ShapeStats stats : baseline.shapes()) {
+            before.put(stats.operation().code() + stats.shape(), stats);
+        }
+        List<ShapeStats> regressions = new ArrayList<>();
+        for (ShapeStats stats : shapes) {
+            ShapeStats old = before.get(stats.operation().code() + stats.shape());
+            if (old != null && stats.median().toNanos() > old.median().toNanos() * tolerance) {
+                regressions.add(stats);
+            }
+        }
+        return regressions;
+    }
+}
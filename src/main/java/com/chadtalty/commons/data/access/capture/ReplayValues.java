@@ -0,0 +1,92 @@
+package com.chadtalty.commons.data.access.capture;
+
+import com.chadtalty.commons.data.access.AbstractDAO;
+import com.chadtalty.commons.data.access.facet.FacetQuery;
+import com.chadtalty.commons.data.access.facet.FacetResult;
+import com.chadtalty.commons.data.access.facet.FacetValue;
+import com.chadtalty.commons.data.query.Criteria;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Supplies the filter values of replayed queries, e.g. in place of redacted ones.
+ */
+@FunctionalInterface
+public interface ReplayValues {
+
+    /**
+     * @param field    attribute path of the filter, prefixed by its join, e.g. {@code
+     *                 customer.region}.
+     * @param recorded the captured value, or {@code null} if it was redacted.
+     * @param key      the same for the same value of the same captured query, so choices made
+     *                 from it repeat across replays.
+     * @return the value to filter on; date-times as ISO-8601 instants.
+     */
+    String valueFor(String field, String recorded, long key);
+
+    /** Replays the captured values as they are; redacted ones stay {@code null}. */
+    static ReplayValues recorded() {
+        return (field, recorded, key) -> recorded;
+    }
+
+    /**
+     * Keeps captured values and replaces redacted ones by one of the samples of their field, or
+     * {@code null} if there are none.
+     */
+    static ReplayValues sampled(Map<String, List<String>> samples) {
+        Map<String, List<String>> copy = new LinkedHashMap<>();
+        samples.forEach((field, values) -> copy.put(field, List.copyOf(values)));
+        return (field, recorded, key) -> {
+            if (recorded != null) {
+                return recorded;
+            }
+            List<String> values = copy.getOrDefault(field, List.of());
+            return values.isEmpty() ? null : values.get((int) Math.floorMod(mix(key), (long) values.size()));
+        };
+    }
+
+    /**
+     * Like {@link #sampled(Map)}, with the most frequent values of each field in the target
+     * database, read through {@link AbstractDAO#facets(Criteria, FacetQuery)}.
+     */
+    static ReplayValues sampledFrom(AbstractDAO<?, ?> dao, Collection<String> fields, int valuesPerField) {
+        FacetResult facets = dao.facets(new Criteria(), FacetQuery.builder()
+                .fields(List.copyOf(fields))
+                .limit(valuesPerField)
+                .build());
+        Map<String, List<String>> samples = new LinkedHashMap<>();
+        facets.facets().forEach((field, values) -> {
+            List<String> strings = new ArrayList<>();
+            for (FacetValue value : values) {
+                if (value.value() != null) {
+                    strings.add(toString(value.value()));
+                }
+            }
+            samples.put(field, strings);
+        });
+        return sampled(samples);
+    }
+
+    private static String toString(Object value) {
+        if (value instanceof Date date) {
+            return date.toInstant().toString();
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime.atZone(ZoneId.systemDefault()).toInstant().toString();
+        }
+        return value.toString();
+    }
+
+    /** Spreads nearby keys over the samples (SplitMix64 finalizer). */
+    private static long mix(long key) {
+        key = (key ^ (key >>> 30)) * 0xbf58476d1ce4e5b9L;
+        key = (key ^ (key >>> 27)) * 0x94d049bb133111ebL;
+        return key ^ (key >>> 31);
+    }
+}
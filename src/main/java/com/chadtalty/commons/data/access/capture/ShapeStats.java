@@ -0,0 +1,30 @@
+package com.chadtalty.commons.data.access.capture;
+
+import java.time.Duration;
+
+/**
+ * Replay results of the captured queries sharing one operation and criteria shape.
+ *
+ * @param count          queries replayed.
+ * @param failures       queries that failed, or could not be rebuilt from the capture.
+ * @param firstError     message of the first failure, or {@code null}.
+ * @param capturedMedian median duration in the capture.
+ * @param median         median replayed duration of the successful queries.
+ * @param p95            95th percentile replayed duration.
+ * @param max            longest replayed duration.
+ * @param capturedRows   rows returned in the capture, summed.
+ * @param rows           rows returned by the replay, summed; differs from {@code capturedRows} when
+ *                       the data or the values differ.
+ */
+public record ShapeStats(
+        QueryOperation operation,
+        String shape,
+        int count,
+        int failures,
+        String firstError,
+        Duration capturedMedian,
+        Duration median,
+        Duration p95,
+        Duration max,
+        long capturedRows,
+        long rows) {}
@@ -0,0 +1,9 @@
+package com.chadtalty.commons.data.access.changes;
+
+/**
+ * One changed entity and its position in the feed.
+ *
+ * @param entity   the changed entity
+ * @param position watermark of this entity; resuming from it returns the rows after it
+ */
+public record Change<T>(T entity, Watermark position) {}
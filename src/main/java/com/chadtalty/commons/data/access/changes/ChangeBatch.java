@@ -0,0 +1,21 @@
+package com.chadtalty.commons.data.access.changes;
+
+import java.util.List;
+
+/**
+ * A batch of changes in watermark order.
+ *
+ * @param changes   changed entities, ordered by updated-at then id
+ * @param watermark position to pass to the next call; the input watermark when the batch is empty
+ */
+public record ChangeBatch<T>(List<Change<T>> changes, Watermark watermark) {
+
+    /** The changed entities without their positions. */
+    public List<T> items() {
+        return changes.stream().map(Change::entity).toList();
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+}
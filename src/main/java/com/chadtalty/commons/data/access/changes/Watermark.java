@@ -0,0 +1,54 @@
+package com.chadtalty.commons.data.access.changes;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.Date;
+
+/**
+ * Position in a change feed: the updated-at timestamp of the last row seen plus its id.
+ *
+ * <p>The id breaks ties between rows with equal timestamps, so a feed never skips or repeats a row
+ * at a batch boundary.
+ *
+ * @param timestamp updated-at of the last row seen
+ * @param id        id of the last row seen
+ */
+public record Watermark(Instant timestamp, long id) implements Comparable<Watermark> {
+
+    private static final Comparator<Watermark> ORDER =
+            Comparator.comparing(Watermark::timestamp).thenComparingLong(Watermark::id);
+
+    public Watermark {
+        if (timestamp == null) {
+            throw new IllegalArgumentException("Watermark timestamp is required");
+        }
+    }
+
+    /**
+     * Builds a watermark from an entity's temporal attribute value.
+     *
+     * @param temporal a {@link Timestamp}, {@link LocalDateTime} (read as UTC, matching the filter
+     *                 handlers) or {@link Date}.
+     * @throws IllegalArgumentException for {@code null} or other types.
+     */
+    public static Watermark of(Object temporal, long id) {
+        if (temporal instanceof Timestamp timestamp) {
+            return new Watermark(timestamp.toInstant(), id);
+        } else if (temporal instanceof LocalDateTime dateTime) {
+            return new Watermark(dateTime.toInstant(ZoneOffset.UTC), id);
+        } else if (temporal instanceof Date date) {
+            // java.sql.Date#toInstant is unsupported, so go through epoch millis
+            return new Watermark(Instant.ofEpochMilli(date.getTime()), id);
+        }
+        throw new IllegalArgumentException("Unsupported watermark value: "
+                + (temporal == null ? "null" : temporal.getClass().getName()));
+    }
+
+    @Override
+    public int compareTo(Watermark other) {
+        return ORDER.compare(this, other);
+    }
+}
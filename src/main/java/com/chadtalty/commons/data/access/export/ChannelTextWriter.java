@@ -0,0 +1,74 @@
+package com.chadtalty.commons.data.access.export;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * UTF-8 encodes text into one reusable byte buffer and drains it to a channel when full.
+ *
+ * <p>Callers must write whole characters per call (no split surrogate pairs).
+ */
+class ChannelTextWriter {
+
+    private final WritableByteChannel channel;
+
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+
+    private final ByteBuffer buffer;
+
+    ChannelTextWriter(WritableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(bufferSize);
+    }
+
+    void write(CharSequence text) {
+        CharBuffer chars = CharBuffer.wrap(text);
+        while (true) {
+            CoderResult result = encoder.encode(chars, buffer, false);
+            if (result.isUnderflow()) {
+                return;
+            }
+            if (result.isOverflow()) {
+                drain();
+            } else {
+                throw new UncheckedIOException(codingError(result));
+            }
+        }
+    }
+
+    /** Writes all buffered bytes to the channel (the channel itself is not closed). */
+    void flush() {
+        encoder.encode(CharBuffer.allocate(0), buffer, true);
+        drain();
+        encoder.reset();
+    }
+
+    private void drain() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    private static CharacterCodingException codingError(CoderResult result) {
+        try {
+            result.throwException();
+        } catch (CharacterCodingException e) {
+            return e;
+        }
+        return new CharacterCodingException();
+    }
+}
@@ -0,0 +1,66 @@
+package com.chadtalty.commons.data.access.export;
+
+import java.util.List;
+
+/**
+ * RFC 4180 CSV: fields containing a comma, quote or line break are quoted, quotes are doubled, and
+ * {@code null} is an empty field.
+ */
+class CsvRowEncoder extends RowEncoder {
+
+    private final List<String> columnNames;
+
+    CsvRowEncoder(List<String> columnNames) {
+        this.columnNames = columnNames;
+    }
+
+    @Override
+    void header(StringBuilder out) {
+        for (int i = 0; i < columnNames.size(); i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            appendField(columnNames.get(i), out);
+        }
+        out.append("\r\n");
+    }
+
+    @Override
+    void row(Object[] values, StringBuilder out) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            if (values[i] != null) {
+                appendField(text(values[i]), out);
+            }
+        }
+        out.append("\r\n");
+    }
+
+    private static void appendField(String field, StringBuilder out) {
+        if (!needsQuoting(field)) {
+            out.append(field);
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == '"') {
+                out.append('"');
+            }
+            out.append(c);
+        }
+        out.append('"');
+    }
+
+    private static boolean needsQuoting(String field) {
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
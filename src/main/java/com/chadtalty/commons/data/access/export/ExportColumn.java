@@ -0,0 +1,15 @@
+package com.chadtalty.commons.data.access.export;
+
+/**
+ * One exported column: an entity attribute path and the name written to the output.
+ *
+ * @param attribute attribute path, e.g. {@code "status"} or {@code "customer.lastName"}.
+ * @param name      CSV header / JSON key.
+ */
+public record ExportColumn(String attribute, String name) {
+
+    /** Column named after its attribute path. */
+    public static ExportColumn of(String attribute) {
+        return new ExportColumn(attribute, attribute);
+    }
+}
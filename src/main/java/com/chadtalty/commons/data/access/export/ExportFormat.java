@@ -0,0 +1,27 @@
+package com.chadtalty.commons.data.access.export;
+
+import java.util.List;
+
+/**
+ * Output formats supported by {@link ExportWriter}.
+ */
+public enum ExportFormat {
+
+    /** RFC 4180 CSV with a header row and CRLF line endings. */
+    CSV {
+        @Override
+        RowEncoder encoder(List<String> columnNames) {
+            return new CsvRowEncoder(columnNames);
+        }
+    },
+
+    /** Newline-delimited JSON: one object per row, keyed by column name. */
+    NDJSON {
+        @Override
+        RowEncoder encoder(List<String> columnNames) {
+            return new NdjsonRowEncoder(columnNames);
+        }
+    };
+
+    abstract RowEncoder encoder(List<String> columnNames);
+}
@@ -0,0 +1,44 @@
+package com.chadtalty.commons.data.access.export;
+
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+
+/**
+ * Writes projected rows to a channel in an {@link ExportFormat}, reusing one character buffer and
+ * one byte buffer for the whole export so memory use does not grow with the row count.
+ */
+public final class ExportWriter {
+
+    /** Size of the reusable byte buffer. */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final RowEncoder encoder;
+
+    private final ChannelTextWriter writer;
+
+    private final StringBuilder line = new StringBuilder(256);
+
+    public ExportWriter(ExportFormat format, List<ExportColumn> columns, WritableByteChannel channel) {
+        this.encoder = format.encoder(columns.stream().map(ExportColumn::name).toList());
+        this.writer = new ChannelTextWriter(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    /** Writes the format's preamble (the CSV header). Call once, before the first row. */
+    public void begin() {
+        line.setLength(0);
+        encoder.header(line);
+        writer.write(line);
+    }
+
+    /** Encodes and buffers one row; values are in column order. */
+    public void writeRow(Object[] values) {
+        line.setLength(0);
+        encoder.row(values, line);
+        writer.write(line);
+    }
+
+    /** Flushes buffered output to the channel; the channel stays open. */
+    public void finish() {
+        writer.flush();
+    }
+}
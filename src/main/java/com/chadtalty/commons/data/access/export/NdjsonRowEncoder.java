@@ -0,0 +1,78 @@
+package com.chadtalty.commons.data.access.export;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Newline-delimited JSON. Numbers and booleans are written as JSON literals (non-finite floating
+ * point values as {@code null}); everything else as strings.
+ */
+class NdjsonRowEncoder extends RowEncoder {
+
+    /** {@code "name":} prefixes, escaped once up front. */
+    private final String[] keys;
+
+    NdjsonRowEncoder(List<String> columnNames) {
+        keys = new String[columnNames.size()];
+        for (int i = 0; i < keys.length; i++) {
+            StringBuilder key = new StringBuilder();
+            appendString(columnNames.get(i), key);
+            keys[i] = key.append(':').toString();
+        }
+    }
+
+    @Override
+    void header(StringBuilder out) {
+        // no header in NDJSON
+    }
+
+    @Override
+    void row(Object[] values, StringBuilder out) {
+        out.append('{');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            out.append(keys[i]);
+            appendValue(values[i], out);
+        }
+        out.append("}\n");
+    }
+
+    private static void appendValue(Object value, StringBuilder out) {
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof Double d && !Double.isFinite(d)
+                || value instanceof Float f && !Float.isFinite(f)) {
+            out.append("null");
+        } else if (value instanceof BigDecimal decimal) {
+            out.append(decimal.toPlainString());
+        } else if (value instanceof Number || value instanceof Boolean) {
+            out.append(value);
+        } else {
+            appendString(text(value), out);
+        }
+    }
+
+    private static void appendString(String s, StringBuilder out) {
+        out.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+}
@@ -0,0 +1,38 @@
+package com.chadtalty.commons.data.access.export;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.temporal.TemporalAccessor;
+import java.util.Date;
+
+/**
+ * Appends rows of projected values to a reusable {@link StringBuilder} in one output format.
+ */
+abstract class RowEncoder {
+
+    /** Appends whatever precedes the first row (e.g. a CSV header). */
+    abstract void header(StringBuilder out);
+
+    /** Appends one row, including its line terminator. */
+    abstract void row(Object[] values, StringBuilder out);
+
+    /**
+     * Text form of a non-null value: ISO-8601 for temporal types, plain notation for decimals.
+     */
+    static String text(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toInstant().toString();
+        } else if (value instanceof java.sql.Date date) {
+            return date.toLocalDate().toString();
+        } else if (value instanceof Date date) {
+            return date.toInstant().toString();
+        } else if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        } else if (value instanceof Enum<?> constant) {
+            return constant.name();
+        } else if (value instanceof TemporalAccessor) {
+            return value.toString();
+        }
+        return String.valueOf(value);
+    }
+}
@@ -0,0 +1,148 @@
+package com.chadtalty.commons.data.access.facet;
+
+import com.chadtalty.commons.data.access.support.AttributePaths;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Builds the queries behind {@link FacetQuery}.
+ *
+ * <p>The single-statement strategy groups by all facet fields at once:
+ *
+ * <pre>
+ * SELECT f1, ..., fk, MAX(CASE WHEN own1 THEN 1 ELSE 0 END), ..., COUNT(*)
+ * FROM e WHERE base GROUP BY f1, ..., fk
+ * </pre>
+ *
+ * <p>where {@code base} holds the filters on non-facet fields and {@code ownJ} the filters on facet
+ * field {@code fj}. Because {@code ownJ} only looks at {@code fj}, it is constant within a group, so
+ * the {@code MAX} is just that group's flag. Facet {@code j} is then the sum of the counts of the
+ * groups whose other flags are all set, grouped by {@code fj}. This needs only portable JPA
+ * criteria (no {@code GROUPING SETS} or {@code UNION}), at the cost of reading one row per value
+ * combination, which is why {@link #perFacet} exists as the fallback for high-cardinality facets.
+ */
+public final class FacetCriteriaQueries {
+
+    /** Tie-break for equal counts: ascending value, nulls last. */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final Comparator<Object> VALUE_ORDER = Comparator.nullsLast((a, b) ->
+            a instanceof Comparable comparable && a.getClass() == b.getClass()
+                    ? comparable.compareTo(b)
+                    : a.toString().compareTo(b.toString()));
+
+    private FacetCriteriaQueries() {}
+
+    /**
+     * The single-statement query; tuple elements are the facet values, then one flag per field with
+     * an own filter (in {@code ownFilters} iteration order), then the count.
+     */
+    public static <E> CriteriaQuery<Tuple> combined(
+            CriteriaBuilder cb,
+            Class<E> domainClass,
+            Specification<E> base,
+            Map<String, Specification<E>> ownFilters,
+            List<String> fields) {
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(domainClass);
+        Map<String, From<?, ?>> joins = new HashMap<>();
+
+        List<Expression<?>> groupings = new ArrayList<>();
+        for (String field : fields) {
+            groupings.add(AttributePaths.resolve(root, field, joins));
+        }
+        List<Expression<?>> selections = new ArrayList<>(groupings);
+        for (Specification<E> own : ownFilters.values()) {
+            Predicate predicate = own.toPredicate(root, query, cb);
+            selections.add(cb.max(cb.<Integer>selectCase().when(predicate, 1).otherwise(0)));
+        }
+        selections.add(cb.count(root));
+
+        query.multiselect(new ArrayList<>(selections));
+        where(query, root, cb, base);
+        query.groupBy(groupings);
+        return query;
+    }
+
+    /**
+     * Counts of one facet under {@code spec}, highest first: tuple elements are value and count.
+     */
+    public static <E> CriteriaQuery<Tuple> perFacet(
+            CriteriaBuilder cb, Class<E> domainClass, Specification<E> spec, String field) {
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(domainClass);
+        Expression<?> value = AttributePaths.resolve(root, field, new HashMap<>());
+        Expression<Long> count = cb.count(root);
+
+        query.multiselect(value, count);
+        where(query, root, cb, spec);
+        query.groupBy(value);
+        query.orderBy(cb.desc(count), cb.asc(value));
+        return query;
+    }
+
+    /**
+     * Folds the rows of {@link #combined} into per-facet counts.
+     */
+    public static FacetResult marginalize(
+            List<Tuple> rows, List<String> fields, List<String> ownFilterFields, int limit) {
+        Map<String, List<FacetValue>> facets = new LinkedHashMap<>();
+        int countIndex = fields.size() + ownFilterFields.size();
+        for (int j = 0; j < fields.size(); j++) {
+            int ownFlag = ownFilterFields.indexOf(fields.get(j));
+            Map<Object, Long> counts = new LinkedHashMap<>();
+            for (Tuple row : rows) {
+                if (passesOtherFilters(row, fields.size(), ownFilterFields.size(), ownFlag)) {
+                    counts.merge(row.get(j), ((Number) row.get(countIndex)).longValue(), Long::sum);
+                }
+            }
+            facets.put(fields.get(j), top(counts, limit));
+        }
+        return new FacetResult(facets);
+    }
+
+    /**
+     * Reads the rows of {@link #perFacet} into facet values.
+     */
+    public static List<FacetValue> toValues(List<Tuple> rows) {
+        return rows.stream().map(row -> new FacetValue(row.get(0), ((Number) row.get(1)).longValue())).toList();
+    }
+
+    private static boolean passesOtherFilters(Tuple row, int flagOffset, int flagCount, int skip) {
+        for (int i = 0; i < flagCount; i++) {
+            if (i != skip && ((Number) row.get(flagOffset + i)).intValue() == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<FacetValue> top(Map<Object, Long> counts, int limit) {
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<Object, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry::getKey, VALUE_ORDER))
+                .limit(limit)
+                .map(e -> new FacetValue(e.getKey(), e.getValue()))
+                .toList();
+    }
+
+    private static <E> void where(CriteriaQuery<Tuple> query, Root<E> root, CriteriaBuilder cb, Specification<E> spec) {
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+    }
+}
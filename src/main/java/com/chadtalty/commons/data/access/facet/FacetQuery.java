@@ -0,0 +1,36 @@
+package com.chadtalty.commons.data.access.facet;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Facet fields to count under a criteria, with the size bounds of the result.
+ *
+ * <p>Each facet is counted under all of the criteria's filters except the ones on the facet's own
+ * field, so a user who selected {@code status = OPEN} still sees the counts of the other statuses.
+ */
+@Value
+@Builder
+public class FacetQuery {
+
+    /** Default for {@link #getLimit()}. */
+    public static final int DEFAULT_LIMIT = 10;
+
+    /** Default for {@link #getMaxCombinations()}. */
+    public static final int DEFAULT_MAX_COMBINATIONS = 10_000;
+
+    /** Attribute paths to facet on (e.g. {@code status}, {@code customer.region}). */
+    List<String> fields;
+
+    /** Maximum number of values returned per facet, highest counts first. */
+    @Builder.Default
+    int limit = DEFAULT_LIMIT;
+
+    /**
+     * Maximum number of distinct value combinations read by the single-statement strategy; above
+     * it, each facet is counted with its own grouped query instead.
+     */
+    @Builder.Default
+    int maxCombinations = DEFAULT_MAX_COMBINATIONS;
+}
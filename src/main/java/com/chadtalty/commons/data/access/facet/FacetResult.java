@@ -0,0 +1,28 @@
+package com.chadtalty.commons.data.access.facet;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Facet counts keyed by field, in {@link FacetQuery#getFields()} order; each list is sorted by
+ * descending count and truncated to {@link FacetQuery#getLimit()}.
+ */
+public record FacetResult(Map<String, List<FacetValue>> facets) {
+
+    public FacetResult {
+        facets = Collections.unmodifiableMap(new LinkedHashMap<>(facets));
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code field} was not requested.
+     */
+    public List<FacetValue> get(String field) {
+        List<FacetValue> values = facets.get(field);
+        if (values == null) {
+            throw new IllegalArgumentException("No facet '" + field + "' in " + facets.keySet());
+        }
+        return values;
+    }
+}
@@ -0,0 +1,8 @@
+package com.chadtalty.commons.data.access.facet;
+
+/**
+ * One facet value and the number of matching entities that have it.
+ *
+ * @param value the attribute value as loaded by the provider; {@code null} counts as a value.
+ */
+public record FacetValue(Object value, long count) {}
@@ -0,0 +1,55 @@
+package com.chadtalty.commons.data.access.filter;
+
+import com.chadtalty.commons.data.query.Filter;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Boolean group of filters: {@code AND} / {@code OR} of its children, or {@code NOT} of its single
+ * child. Children may be any filter, including further groups, and may appear in a {@code
+ * JoinSpec}, where their fields are relative to the joined entity.
+ *
+ * <pre>{@code
+ * // status IN (A, B) OR priority > 5
+ * criteria.setFilters(List.of(CompositeFilter.or(statusInAOrB, priorityAbove5)));
+ * }</pre>
+ *
+ * <p>Handled by {@code CompositeFilterHandler}, which is registered for this class rather than for
+ * a {@code FilterType}; {@link #getType()} is {@code null}. In JSON it is discriminated as {@code
+ * "type": "COMPOSITE"} by {@link FilterJacksonModule}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class CompositeFilter extends Filter {
+
+    public enum Operator {
+        AND,
+        OR,
+        NOT
+    }
+
+    private Operator operator;
+
+    private List<Filter> filters = new ArrayList<>();
+
+    public CompositeFilter(Operator operator, List<Filter> filters) {
+        this.operator = operator;
+        this.filters = new ArrayList<>(filters);
+    }
+
+    public static CompositeFilter and(Filter... filters) {
+        return new CompositeFilter(Operator.AND, List.of(filters));
+    }
+
+    public static CompositeFilter or(Filter... filters) {
+        return new CompositeFilter(Operator.OR, List.of(filters));
+    }
+
+    public static CompositeFilter not(Filter filter) {
+        return new CompositeFilter(Operator.NOT, List.of(filter));
+    }
+}
@@ -0,0 +1,81 @@
+package com.chadtalty.commons.data.access.filter;
+
+import com.chadtalty.commons.data.query.BasicFilter;
+import com.chadtalty.commons.data.query.BetweenFilter;
+import com.chadtalty.commons.data.query.ContainsFilter;
+import com.chadtalty.commons.data.query.DateTimeFilter;
+import com.chadtalty.commons.data.query.Filter;
+import com.chadtalty.commons.data.query.FilterType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.jsontype.NamedType;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * Jackson module that reads and writes {@link Filter}s polymorphically, using their {@code type}
+ * property as the discriminator.
+ *
+ * <p>The {@link FilterType} names select the {@code commons-query-api} filters ({@code BASIC},
+ * {@code CONTAINS}, {@code BETWEEN}, {@code DATE_TIME}); {@code COMPOSITE} selects {@link
+ * CompositeFilter} and {@code TEXT} selects {@link TextFilter}, whose {@link Filter#getType()} is
+ * {@code null}. Custom filter classes are added with {@link #withFilter(String, Class)}.
+ *
+ * <pre>{@code
+ * objectMapper.registerModule(new FilterJacksonModule());
+ * // {"type": "COMPOSITE", "operator": "OR", "filters": [
+ * //     {"type": "BASIC", "field": "status", "operator": "EQUAL", "value": "OPEN"},
+ * //     {"type": "TEXT", "field": "name", "operator": "STARTS_WITH", "value": "Ac"}]}
+ * }</pre>
+ *
+ * <p>Needs {@code jackson-databind}, an optional dependency of this library; the {@code Instant}s of
+ * {@code BETWEEN} and {@code DATE_TIME} filters also need {@code jackson-datatype-jsr310}.
+ */
+public final class FilterJacksonModule extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Discriminator of {@link CompositeFilter}. */
+    public static final String COMPOSITE = "COMPOSITE";
+
+    /** Discriminator of {@link TextFilter}. */
+    public static final String TEXT = "TEXT";
+
+    public FilterJacksonModule() {
+        super(FilterJacksonModule.class.getSimpleName());
+        setMixInAnnotation(Filter.class, FilterMixIn.class);
+        registerSubtypes(
+                new NamedType(BasicFilter.class, FilterType.BASIC.name()),
+                new NamedType(ContainsFilter.class, FilterType.CONTAINS.name()),
+                new NamedType(BetweenFilter.class, FilterType.BETWEEN.name()),
+                new NamedType(DateTimeFilter.class, FilterType.DATE_TIME.name()),
+                new NamedType(CompositeFilter.class, COMPOSITE),
+                new NamedType(TextFilter.class, TEXT));
+    }
+
+    /**
+     * Registers a custom filter class under a discriminator.
+     *
+     * @throws IllegalArgumentException if {@code type} is blank.
+     */
+    public FilterJacksonModule withFilter(String type, Class<? extends Filter> filterClass) {
+        if (type == null || type.isBlank()) {
+            throw new IllegalArgumentException("Filter type name must not be blank");
+        }
+        registerSubtypes(new NamedType(filterClass, type));
+        return this;
+    }
+
+    /**
+     * The discriminator replaces the {@code type} bean property: each class's constructor sets its
+     * own {@link FilterType}, if it has one.
+     */
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.PROPERTY, property = "type")
+    abstract static class FilterMixIn {
+
+        @JsonIgnore
+        abstract FilterType getType();
+
+        @JsonIgnore
+        abstract void setType(FilterType type);
+    }
+}
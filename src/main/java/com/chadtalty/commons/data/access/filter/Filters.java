@@ -0,0 +1,41 @@
+package com.chadtalty.commons.data.access.filter;
+
+import com.chadtalty.commons.data.query.BasicFilter;
+import com.chadtalty.commons.data.query.BetweenFilter;
+import com.chadtalty.commons.data.query.ContainsFilter;
+import com.chadtalty.commons.data.query.DateTimeFilter;
+import com.chadtalty.commons.data.query.Filter;
+import java.util.List;
+
+/**
+ * Structural helpers for filter trees.
+ */
+public final class Filters {
+
+    private Filters() {}
+
+    /**
+     * The attribute a filter constrains, or {@code null} for filters without a single field (e.g.
+     * {@link CompositeFilter}).
+     */
+    public static String fieldOf(Filter filter) {
+        return switch (filter) {
+            case BasicFilter f -> f.getField();
+            case ContainsFilter f -> f.getField();
+            case BetweenFilter f -> f.getField();
+            case DateTimeFilter f -> f.getField();
+            case TextFilter f -> f.getField();
+            default -> null;
+        };
+    }
+
+    /**
+     * The filters of a tree that are not {@link CompositeFilter}s, depth first.
+     */
+    public static List<Filter> leaves(Filter filter) {
+        if (filter instanceof CompositeFilter group) {
+            return group.getFilters().stream().flatMap(f -> leaves(f).stream()).toList();
+        }
+        return List.of(filter);
+    }
+}
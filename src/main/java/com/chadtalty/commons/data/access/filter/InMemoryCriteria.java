@@ -0,0 +1,141 @@
+package com.chadtalty.commons.data.access.filter;
+
+import com.chadtalty.commons.data.access.filter.handler.FilterHandlerFactory;
+import com.chadtalty.commons.data.access.filter.handler.InMemoryFilterHandler;
+import com.chadtalty.commons.data.access.support.PropertyAccessor;
+import com.chadtalty.commons.data.access.support.PropertyAccessors;
+import com.chadtalty.commons.data.access.support.SortSpecs;
+import com.chadtalty.commons.data.query.Criteria;
+import com.chadtalty.commons.data.query.Filter;
+import com.chadtalty.commons.data.query.JoinSpec;
+import com.chadtalty.commons.data.query.SortSpec;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compiles {@link Criteria} into in-memory {@link Predicate}s and {@link Comparator}s, so the
+ * payloads accepted by the DAOs can also query cached collections.
+ *
+ * <p>Filters are translated by the handlers registered with the {@link FilterHandlerFactory}, which
+ * must be {@link InMemoryFilterHandler}s (all built-in handlers are), with the same value conversions
+ * as their JPA specifications. Check {@link #supports(Criteria)} first and query the database for
+ * criteria it rejects. Compile once per criteria and reuse the result: all conversion and property
+ * lookup happens at compile time.
+ *
+ * <p>Joins are evaluated like {@code AbstractDAO} builds them: the join's filter applied to the
+ * joined entity. A collection-valued join matches if any element matches.
+ */
+@Component
+@RequiredArgsConstructor
+public class InMemoryCriteria<T> {
+
+    private final FilterHandlerFactory<T> filterHandlerFactory;
+
+    /**
+     * Whether every filter of the criteria, including join filters and the children of {@link
+     * CompositeFilter}s, has an {@link InMemoryFilterHandler}.
+     */
+    public boolean supports(Criteria criteria) {
+        return Objects.requireNonNullElse(criteria.getFilters(), List.<Filter>of()).stream()
+                        .allMatch(this::supports)
+                && Objects.requireNonNullElse(criteria.getJoins(), List.<JoinSpec>of()).stream()
+                        .allMatch(join -> supports(join.getFilter()));
+    }
+
+    /**
+     * AND-combines the criteria's filters and joins; matches everything when there are none.
+     *
+     * @throws IllegalArgumentException if a filter has no {@link InMemoryFilterHandler} (see {@link
+     *     #supports(Criteria)}).
+     */
+    public Predicate<T> predicate(Class<T> entityType, Criteria criteria) {
+        List<Predicate<T>> parts = new ArrayList<>();
+        for (Filter filter : Objects.requireNonNullElse(criteria.getFilters(), List.<Filter>of())) {
+            parts.add(filterHandlerFactory.requireInMemoryFilterHandler(filter).toPredicate(filter, entityType));
+        }
+        for (JoinSpec join : Objects.requireNonNullElse(criteria.getJoins(), List.<JoinSpec>of())) {
+            parts.add(joinPredicate(entityType, join));
+        }
+        return allOf(parts);
+    }
+
+    /**
+     * Orders like the database would for {@code sort}; see {@link SortSpecs#comparator(Class, SortSpec)}.
+     */
+    public Comparator<T> comparator(Class<T> entityType, SortSpec sort) {
+        return SortSpecs.comparator(entityType, sort);
+    }
+
+    /**
+     * Filters and sorts {@code source} by {@code criteria}, like {@code DAO#getQueryResult(Criteria)}.
+     */
+    public List<T> apply(Class<T> entityType, Collection<T> source, Criteria criteria) {
+        Predicate<T> predicate = predicate(entityType, criteria);
+        List<T> matches = source.stream().filter(predicate).toList();
+        if (criteria.getSort() == null) {
+            return matches;
+        }
+        return matches.stream().sorted(comparator(entityType, criteria.getSort())).toList();
+    }
+
+    /**
+     * Flat conjunction; avoids the nested, shared lambdas of chained {@link Predicate#and}.
+     */
+    private static <T> Predicate<T> allOf(List<Predicate<T>> parts) {
+        return switch (parts.size()) {
+            case 0 -> entity -> true;
+            case 1 -> parts.get(0);
+            default -> {
+                @SuppressWarnings("unchecked")
+                Predicate<T>[] all = parts.toArray(Predicate[]::new);
+                yield entity -> {
+                    for (Predicate<T> part : all) {
+                        if (!part.test(entity)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                };
+            }
+        };
+    }
+
+    private Predicate<T> joinPredicate(Class<T> entityType, JoinSpec joinSpec) {
+        PropertyAccessor join = PropertyAccessors.of(entityType, joinSpec.getJoin());
+        Filter filter = joinSpec.getFilter();
+        // the joined class is only known from the values; compile once per class seen
+        Map<Class<?>, Predicate<Object>> byClass = new ConcurrentHashMap<>();
+        Predicate<Object> matches = joined ->
+                joined != null && byClass.computeIfAbsent(joined.getClass(), c -> joinedPredicate(c, filter)).test(joined);
+        return entity -> {
+            Object joined = join.get(entity);
+            if (joined instanceof Collection<?> elements) {
+                return elements.stream().anyMatch(matches);
+            }
+            return matches.test(joined);
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate<Object> joinedPredicate(Class<?> joinedType, Filter filter) {
+        InMemoryFilterHandler handler = filterHandlerFactory.requireInMemoryFilterHandler(filter);
+        return handler.toPredicate(filter, joinedType);
+    }
+
+    private boolean supports(Filter filter) {
+        if (filter == null || !(filterHandlerFactory.getFilterHandler(filter) instanceof InMemoryFilterHandler)) {
+            return false;
+        }
+        return !(filter instanceof CompositeFilter composite)
+                || Objects.requireNonNullElse(composite.getFilters(), List.<Filter>of()).stream()
+                        .allMatch(this::supports);
+    }
+}
@@ -0,0 +1,16 @@
+package com.chadtalty.commons.data.access.filter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a string attribute whose column only holds lower-case text (e.g. normalized on write).
+ *
+ * <p>Case-insensitive {@link TextFilter}s on such attributes lower-case the search value instead of
+ * wrapping the column in {@code lower(...)}, so a plain index on the column stays usable.
+ */
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StoredLowerCase {}
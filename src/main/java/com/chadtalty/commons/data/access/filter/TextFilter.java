@@ -0,0 +1,45 @@
+package com.chadtalty.commons.data.access.filter;
+
+import com.chadtalty.commons.data.query.Filter;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Matches string attributes by prefix, suffix or substring, translated to SQL {@code LIKE}.
+ *
+ * <p>{@code value} is matched literally: {@code %}, {@code _} and the escape character are escaped.
+ * Prefer {@link Operator#STARTS_WITH}, which an ordinary B-tree index on the column can serve; the
+ * other operators scan.
+ *
+ * <p>Handled by {@code TextFilterHandler}, which is registered for this class rather than for a
+ * {@code FilterType}; {@link #getType()} is {@code null}. In JSON it is discriminated as {@code
+ * "type": "TEXT"} by {@link FilterJacksonModule}.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TextFilter extends Filter {
+
+    public enum Operator {
+        STARTS_WITH,
+        ENDS_WITH,
+        CONTAINS
+    }
+
+    private String field;
+
+    private Operator operator;
+
+    private String value;
+
+    /**
+     * Compares case-insensitively: {@code lower(column) LIKE lower(value)}, or just the lower-cased
+     * value for columns marked {@link StoredLowerCase}.
+     */
+    private boolean ignoreCase;
+}
@@ -0,0 +1,101 @@
+package com.chadtalty.commons.data.access.filter;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+/**
+ * Conversions from filter DTO values (JSON strings or {@link Instant}s) to entity property types.
+ *
+ * <p>This is the single definition of the casting rules used by the filter handlers (see {@link
+ * com.chadtalty.commons.data.access.filter.handler.AbstractFilterHandler}) and by every other
+ * component that interprets filter values.
+ */
+public final class ValueConversions {
+
+    private ValueConversions() {}
+
+    /**
+     * Casts a text value (from JSON) to the given JPA property type.
+     *
+     * @param fieldType the target Java type on the entity property.
+     * @param value     the raw JSON string value.
+     * @return converted instance compatible with JPA property type.
+     * @throws IllegalArgumentException if the type is unsupported or the value cannot be parsed.
+     */
+    public static Object castToRequiredType(Class<?> fieldType, String value) {
+        if (fieldType.isAssignableFrom(Double.class)) {
+            return Double.valueOf(value);
+        } else if (fieldType.isAssignableFrom(Integer.class)) {
+            return Integer.valueOf(value);
+        } else if (fieldType.isAssignableFrom(Long.class)) {
+            return Long.valueOf(value);
+        } else if (fieldType.isAssignableFrom(Float.class)) {
+            return Float.valueOf(value);
+        } else if (fieldType.isAssignableFrom(Boolean.class)) {
+            return Boolean.valueOf(value);
+        } else if (fieldType.isAssignableFrom(BigDecimal.class)) {
+            return new BigDecimal(value);
+        } else if (fieldType.isAssignableFrom(Date.class)) {
+            // Expect ISO-8601 instant (e.g., 2025-08-20T12:34:56.000Z)
+            return Date.from(Instant.parse(value));
+        } else if (fieldType.isAssignableFrom(LocalDateTime.class)) {
+            // Accept ISO local date-time; fallback to Instant -> UTC if offset present
+            try {
+                return LocalDateTime.parse(value, DateTimeFormatter.ISO_DATE_TIME);
+            } catch (Exception ignored) {
+                return LocalDateTime.ofInstant(Instant.parse(value), ZoneOffset.UTC);
+            }
+        } else if (fieldType.isAssignableFrom(String.class)) {
+            return value;
+        }
+        throw new IllegalArgumentException("Unsupported field type: " + fieldType.getName());
+    }
+
+    /**
+     * Casts an {@link Instant} (already parsed at the DTO layer) to the target Java temporal type.
+     *
+     * @param fieldType the target Java type on the entity property.
+     * @param value     the instant value.
+     * @return converted instance (e.g., {@link Timestamp}, {@link LocalDateTime}, or {@link Date}).
+     * @throws IllegalArgumentException if the type is unsupported.
+     */
+    public static Object castToRequiredType(Class<?> fieldType, Instant value) {
+        if (fieldType.isAssignableFrom(Timestamp.class)) {
+            return Timestamp.from(value);
+        } else if (fieldType.isAssignableFrom(LocalDateTime.class)) {
+            return LocalDateTime.ofInstant(value, ZoneOffset.UTC);
+        } else if (fieldType.isAssignableFrom(java.sql.Date.class)) {
+            // java.sql.Date is date-only (time truncated by JDBC), but Instant epoch ms is fine
+            return new java.sql.Date(value.toEpochMilli());
+        } else if (fieldType.isAssignableFrom(Date.class)) {
+            return Date.from(value);
+        }
+        throw new IllegalArgumentException("Unsupported field type: " + fieldType.getName());
+    }
+
+    /**
+     * The temporal type a property of {@code fieldType} is compared as, checked in the same order as
+     * the temporal filter handlers do.
+     *
+     * @throws IllegalArgumentException for non-temporal types.
+     */
+    public static Class<?> temporalType(String field, Class<?> fieldType) {
+        if (Timestamp.class.isAssignableFrom(fieldType)) {
+            return Timestamp.class;
+        } else if (LocalDateTime.class.isAssignableFrom(fieldType)) {
+            return LocalDateTime.class;
+        } else if (java.sql.Date.class.isAssignableFrom(fieldType)) {
+            return java.sql.Date.class;
+        } else if (Date.class.isAssignableFrom(fieldType)) {
+            return Date.class;
+        }
+        throw new IllegalArgumentException(
+                "Temporal comparison only supported on Timestamp/LocalDateTime/Date. Field '"
+                        + field + "' has type " + fieldType.getName());
+    }
+}
@@ -1,12 +1,18 @@
 package com.chadtalty.commons.data.access.filter.handler;
 
-import java.math.BigDecimal;
+import com.chadtalty.commons.data.access.filter.ValueConversions;
+import com.chadtalty.commons.data.access.support.AttributePaths;
+import com.chadtalty.commons.data.access.support.PropertyAccessor;
+import com.chadtalty.commons.data.access.support.PropertyAccessors;
+import com.chadtalty.commons.data.query.Filter;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Path;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.ZoneOffset;
-import java.time.format.DateTimeFormatter;
 import java.util.Date;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * Base class for filter handlers providing common type-conversion utilities.
@@ -29,34 +35,10 @@ public abstract class AbstractFilterHandler<T> implements FilterHandler<T> {
      * @param value     the raw JSON string value.
      * @return converted instance compatible with JPA property type.
      * @throws IllegalArgumentException if the type is unsupported or the value cannot be parsed.
+     * @see ValueConversions#castToRequiredType(Class, String)
      */
     public Object castToRequiredType(Class<?> fieldType, String value) {
-        if (fieldType.isAssignableFrom(Double.class)) {
-            return Double.valueOf(value);
-        } else if (fieldType.isAssignableFrom(Integer.class)) {
-            return Integer.valueOf(value);
-        } else if (fieldType.isAssignableFrom(Long.class)) {
-            return Long.valueOf(value);
-        } else if (fieldType.isAssignableFrom(Float.class)) {
-            return Float.valueOf(value);
-        } else if (fieldType.isAssignableFrom(Boolean.class)) {
-            return Boolean.valueOf(value);
-        } else if (fieldType.isAssignableFrom(BigDecimal.class)) {
-            return new BigDecimal(value);
-        } else if (fieldType.isAssignableFrom(Date.class)) {
-            // Expect ISO-8601 instant (e.g., 2025-08-20T12:34:56.000Z)
-            return Date.from(Instant.parse(value));
-        } else if (fieldType.isAssignableFrom(LocalDateTime.class)) {
-            // Accept ISO local date-time; fallback to Instant -> UTC if offset present
-            try {
-                return LocalDateTime.parse(value, DateTimeFormatter.ISO_DATE_TIME);
-            } catch (Exception ignored) {
-                return LocalDateTime.ofInstant(Instant.parse(value), ZoneOffset.UTC);
-            }
-        } else if (fieldType.isAssignableFrom(String.class)) {
-            return value;
-        }
-        throw new IllegalArgumentException("Unsupported field type: " + fieldType.getName());
+        return ValueConversions.castToRequiredType(fieldType, value);
     }
 
     /**
@@ -66,18 +48,65 @@ public abstract class AbstractFilterHandler<T> implements FilterHandler<T> {
      * @param value     the instant value.
      * @return converted instance (e.g., {@link Timestamp}, {@link LocalDateTime}, or {@link Date}).
      * @throws IllegalArgumentException if the type is unsupported.
+     * @see ValueConversions#castToRequiredType(Class, Instant)
      */
     public Object castToRequiredType(Class<?> fieldType, Instant value) {
-        if (fieldType.isAssignableFrom(Timestamp.class)) {
-            return Timestamp.from(value);
-        } else if (fieldType.isAssignableFrom(LocalDateTime.class)) {
-            return LocalDateTime.ofInstant(value, ZoneOffset.UTC);
-        } else if (fieldType.isAssignableFrom(java.sql.Date.class)) {
-            // java.sql.Date is date-only (time truncated by JDBC), but Instant epoch ms is fine
-            return new java.sql.Date(value.toEpochMilli());
-        } else if (fieldType.isAssignableFrom(Date.class)) {
-            return Date.from(value);
-        }
-        throw new IllegalArgumentException("Unsupported field type: " + fieldType.getName());
+        return ValueConversions.castToRequiredType(fieldType, value);
+    }
+
+    /**
+     * Resolves a filter field on the query root; dotted fields (e.g. {@code customer.lastName}) join
+     * the associations, reusing joins already on the query. Inside a {@code JoinSpec} the field
+     * resolves from the joined entity instead.
+     *
+     * @see AttributePaths#path(From, String)
+     */
+    protected <Y> Path<Y> path(From<?, ?> root, String field) {
+        return AttributePaths.path(root, field);
+    }
+
+    /** Comparison outcomes for {@link #comparing(PropertyAccessor, Object, Comparison)}. */
+    protected enum Comparison {
+        EQ, NE, GT, GE, LT, LE
+    }
+
+    /**
+     * In-memory comparison of a property against an already converted value, with SQL semantics: a
+     * {@code null} property matches no comparison.
+     *
+     * <p>The property value is the {@code compareTo} receiver, so that e.g. a {@link Timestamp}
+     * loaded into a {@link Date} property compares by instant. Each outcome is a separate lambda
+     * that calls the getter itself, which keeps the JIT's type profiles per comparison narrow.
+     */
+    @SuppressWarnings("unchecked")
+    protected Predicate<T> comparing(PropertyAccessor property, Object value, Comparison comparison) {
+        Function<Object, Object> getter = property.getter();
+        Comparable<Object> v = (Comparable<Object>) value;
+        return switch (comparison) {
+            case EQ -> e -> getter.apply(e) instanceof Comparable<?> a && ((Comparable<Object>) a).compareTo(v) == 0;
+            case NE -> e -> getter.apply(e) instanceof Comparable<?> a && ((Comparable<Object>) a).compareTo(v) != 0;
+            case GT -> e -> getter.apply(e) instanceof Comparable<?> a && ((Comparable<Object>) a).compareTo(v) > 0;
+            case GE -> e -> getter.apply(e) instanceof Comparable<?> a && ((Comparable<Object>) a).compareTo(v) >= 0;
+            case LT -> e -> getter.apply(e) instanceof Comparable<?> a && ((Comparable<Object>) a).compareTo(v) < 0;
+            case LE -> e -> getter.apply(e) instanceof Comparable<?> a && ((Comparable<Object>) a).compareTo(v) <= 0;
+        };
+    }
+
+    /**
+     * In-memory test for a {@code null} property, e.g. to tell when a comparison on it is SQL
+     * {@code UNKNOWN} (see {@link InMemoryFilterHandler#toUnknownPredicate(Filter, Class)}).
+     */
+    protected Predicate<T> isNull(Class<T> entityType, String field) {
+        Function<Object, Object> getter = PropertyAccessors.of(entityType, field).getter();
+        return e -> getter.apply(e) == null;
+    }
+
+    /**
+     * The temporal type a property is compared as.
+     *
+     * @see ValueConversions#temporalType(String, Class)
+     */
+    protected static Class<?> temporalType(PropertyAccessor property) {
+        return ValueConversions.temporalType(property.path(), property.type());
     }
 }
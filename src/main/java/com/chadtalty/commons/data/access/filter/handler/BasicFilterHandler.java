@@ -1,5 +1,7 @@
 package com.chadtalty.commons.data.access.filter.handler;
 
+import com.chadtalty.commons.data.access.support.PropertyAccessor;
+import com.chadtalty.commons.data.access.support.PropertyAccessors;
 import com.chadtalty.commons.data.query.BasicFilter;
 import com.chadtalty.commons.data.query.Filter;
 import com.chadtalty.commons.data.query.FilterType;
@@ -8,6 +10,7 @@ import jakarta.validation.Valid;
 import java.util.EnumMap;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
@@ -20,7 +23,7 @@ import org.springframework.stereotype.Component;
  */
 @Component
 @RequiredArgsConstructor
-public class BasicFilterHandler<T> extends AbstractFilterHandler<T> {
+public class BasicFilterHandler<T> extends AbstractFilterHandler<T> implements InMemoryFilterHandler<T> {
 
     private final FilterHandlerFactory<T> factory;
 
@@ -48,24 +51,24 @@ public class BasicFilterHandler<T> extends AbstractFilterHandler<T> {
 
     private Specification<T> equal(BasicFilter filter) {
         return (root, query, cb) -> cb.equal(
-                root.get(filter.getField()),
-                castToRequiredType(root.get(filter.getField()).getJavaType(), filter.getValue()));
+                path(root, filter.getField()),
+                castToRequiredType(path(root, filter.getField()).getJavaType(), filter.getValue()));
     }
 
     private Specification<T> notEqual(BasicFilter filter) {
         return (root, query, cb) -> cb.notEqual(
-                root.get(filter.getField()),
-                castToRequiredType(root.get(filter.getField()).getJavaType(), filter.getValue()));
+                path(root, filter.getField()),
+                castToRequiredType(path(root, filter.getField()).getJavaType(), filter.getValue()));
     }
 
     private Specification<T> greaterThan(BasicFilter filter) {
-        return (root, query, cb) -> cb.gt(root.get(filter.getField()), (Number)
-                castToRequiredType(root.get(filter.getField()).getJavaType(), filter.getValue()));
+        return (root, query, cb) -> cb.gt(path(root, filter.getField()), (Number)
+                castToRequiredType(path(root, filter.getField()).getJavaType(), filter.getValue()));
     }
 
     private Specification<T> lessThan(BasicFilter filter) {
-        return (root, query, cb) -> cb.lt(root.get(filter.getField()), (Number)
-                castToRequiredType(root.get(filter.getField()).getJavaType(), filter.getValue()));
+        return (root, query, cb) -> cb.lt(path(root, filter.getField()), (Number)
+                castToRequiredType(path(root, filter.getField()).getJavaType(), filter.getValue()));
     }
 
     /**
@@ -73,11 +76,11 @@ public class BasicFilterHandler<T> extends AbstractFilterHandler<T> {
      */
     private Specification<T> greaterThanOrEqual(BasicFilter filter) {
         return (root, query, cb) -> cb.or(
-                cb.gt(root.get(filter.getField()), (Number)
-                        castToRequiredType(root.get(filter.getField()).getJavaType(), filter.getValue())),
+                cb.gt(path(root, filter.getField()), (Number)
+                        castToRequiredType(path(root, filter.getField()).getJavaType(), filter.getValue())),
                 cb.equal(
-                        root.get(filter.getField()),
-                        castToRequiredType(root.get(filter.getField()).getJavaType(), filter.getValue())));
+                        path(root, filter.getField()),
+                        castToRequiredType(path(root, filter.getField()).getJavaType(), filter.getValue())));
     }
 
     /**
@@ -85,11 +88,37 @@ public class BasicFilterHandler<T> extends AbstractFilterHandler<T> {
      */
     private Specification<T> lessThanOrEqual(BasicFilter filter) {
         return (root, query, cb) -> cb.or(
-                cb.lt(root.get(filter.getField()), (Number)
-                        castToRequiredType(root.get(filter.getField()).getJavaType(), filter.getValue())),
+                cb.lt(path(root, filter.getField()), (Number)
+                        castToRequiredType(path(root, filter.getField()).getJavaType(), filter.getValue())),
                 cb.equal(
-                        root.get(filter.getField()),
-                        castToRequiredType(root.get(filter.getField()).getJavaType(), filter.getValue())));
+                        path(root, filter.getField()),
+                        castToRequiredType(path(root, filter.getField()).getJavaType(), filter.getValue())));
+    }
+
+    /**
+     * Same conversions as the specifications; ordering operators require a numeric property, like
+     * {@code cb.gt}/{@code cb.lt} do.
+     */
+    @Override
+    public Predicate<T> toPredicate(Filter f, Class<T> entityType) {
+        BasicFilter filter = (BasicFilter) f;
+        PropertyAccessor property = PropertyAccessors.of(entityType, filter.getField());
+        Object value = castToRequiredType(property.type(), filter.getValue());
+        return switch (filter.getOperator()) {
+            case EQUAL -> comparing(property, value, Comparison.EQ);
+            case NOT_EQUAL -> comparing(property, value, Comparison.NE);
+            case GREATER_THAN -> comparing(property, (Number) value, Comparison.GT);
+            case LESS_THAN -> comparing(property, (Number) value, Comparison.LT);
+            case GREATER_THAN_OR_EQUAL -> comparing(property, (Number) value, Comparison.GE);
+            case LESS_THAN_OR_EQUAL -> comparing(property, (Number) value, Comparison.LE);
+            default -> throw new UnsupportedOperationException("Operation not supported: " + filter.getOperator());
+        };
+    }
+
+    /** Unknown when the property is {@code null}, as SQL compares {@code null} to nothing. */
+    @Override
+    public Predicate<T> toUnknownPredicate(Filter f, Class<T> entityType) {
+        return isNull(entityType, ((BasicFilter) f).getField());
     }
 
     private Specification<T> unsupportedOperation(BasicFilter filter) {
@@ -7,10 +7,13 @@ import java.time.LocalDateTime;
 import java.util.EnumMap;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
+import com.chadtalty.commons.data.access.support.PropertyAccessor;
+import com.chadtalty.commons.data.access.support.PropertyAccessors;
 import com.chadtalty.commons.data.query.BetweenFilter;
 import com.chadtalty.commons.data.query.Filter;
 import com.chadtalty.commons.data.query.FilterType;
@@ -29,7 +32,7 @@ import lombok.RequiredArgsConstructor;
  */
 @Component
 @RequiredArgsConstructor
-public class BetweenFilterHandler<T> extends AbstractFilterHandler<T> {
+public class BetweenFilterHandler<T> extends AbstractFilterHandler<T> implements InMemoryFilterHandler<T> {
 
     private final FilterHandlerFactory<T> factory;
 
@@ -52,31 +55,31 @@ public class BetweenFilterHandler<T> extends AbstractFilterHandler<T> {
 
     private Specification<T> between(BetweenFilter filter) {
         return (root, query, cb) -> {
-            Path<?> path = root.get(filter.getField());
+            Path<?> path = path(root, filter.getField());
             Class<?> javaType = path.getJavaType();
 
             if (Timestamp.class.isAssignableFrom(javaType)) {
-                var expr = root.get(filter.getField()).as(Timestamp.class);
+                var expr = path(root, filter.getField()).as(Timestamp.class);
                 Timestamp start = (Timestamp) castToRequiredType(Timestamp.class, filter.getStartDateTime());
                 Timestamp end = (Timestamp) castToRequiredType(Timestamp.class, filter.getEndDateTime());
                 return cb.between(expr, start, end);
 
             } else if (LocalDateTime.class.isAssignableFrom(javaType)) {
-                var expr = root.get(filter.getField()).as(LocalDateTime.class);
+                var expr = path(root, filter.getField()).as(LocalDateTime.class);
                 LocalDateTime start = (LocalDateTime) castToRequiredType(LocalDateTime.class,
                         filter.getStartDateTime());
                 LocalDateTime end = (LocalDateTime) castToRequiredType(LocalDateTime.class, filter.getEndDateTime());
                 return cb.between(expr, start, end);
 
             } else if (java.sql.Date.class.isAssignableFrom(javaType)) {
-                var expr = root.get(filter.getField()).as(java.sql.Date.class);
+                var expr = path(root, filter.getField()).as(java.sql.Date.class);
                 java.sql.Date start = (java.sql.Date) castToRequiredType(java.sql.Date.class,
                         filter.getStartDateTime());
                 java.sql.Date end = (java.sql.Date) castToRequiredType(java.sql.Date.class, filter.getEndDateTime());
                 return cb.between(expr, start, end);
 
             } else if (java.util.Date.class.isAssignableFrom(javaType)) {
-                var expr = root.get(filter.getField()).as(java.util.Date.class);
+                var expr = path(root, filter.getField()).as(java.util.Date.class);
                 java.util.Date start = (java.util.Date) castToRequiredType(java.util.Date.class,
                         filter.getStartDateTime());
                 java.util.Date end = (java.util.Date) castToRequiredType(java.util.Date.class, filter.getEndDateTime());
@@ -89,6 +92,27 @@ public class BetweenFilterHandler<T> extends AbstractFilterHandler<T> {
         };
     }
 
+    /**
+     * Inclusive on both ends, like SQL {@code BETWEEN}.
+     */
+    @Override
+    public Predicate<T> toPredicate(Filter f, Class<T> entityType) {
+        BetweenFilter filter = (BetweenFilter) f;
+        if (filter.getOperator() != BetweenFilter.Operator.BETWEEN) {
+            throw new UnsupportedOperationException("Operation not supported: " + filter.getOperator());
+        }
+        PropertyAccessor property = PropertyAccessors.of(entityType, filter.getField());
+        Class<?> type = temporalType(property);
+        return comparing(property, castToRequiredType(type, filter.getStartDateTime()), Comparison.GE)
+                .and(comparing(property, castToRequiredType(type, filter.getEndDateTime()), Comparison.LE));
+    }
+
+    /** Unknown when the property is {@code null}, as SQL compares {@code null} to nothing. */
+    @Override
+    public Predicate<T> toUnknownPredicate(Filter f, Class<T> entityType) {
+        return isNull(entityType, ((BetweenFilter) f).getField());
+    }
+
     private Specification<T> unsupportedOperation(BetweenFilter filter) {
         throw new UnsupportedOperationException("Operation not supported: " + filter.getOperator());
     }
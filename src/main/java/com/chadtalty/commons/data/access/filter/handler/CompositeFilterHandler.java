@@ -0,0 +1,112 @@
+package com.chadtalty.commons.data.access.filter.handler;
+
+import com.chadtalty.commons.data.access.filter.CompositeFilter;
+import com.chadtalty.commons.data.query.Filter;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.validation.Valid;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+/**
+ * Translates {@link CompositeFilter} into one {@link Specification} by translating each child
+ * through the {@link FilterHandlerFactory} and combining the predicates with {@code AND}, {@code
+ * OR} or {@code NOT}.
+ *
+ * <p>An empty {@code AND} matches everything and an empty {@code OR} matches nothing; {@code NOT}
+ * needs exactly one child.
+ */
+@Component
+@RequiredArgsConstructor
+public class CompositeFilterHandler<T> extends AbstractFilterHandler<T> implements InMemoryFilterHandler<T> {
+
+    private final FilterHandlerFactory<T> factory;
+
+    @PostConstruct
+    public void init() {
+        factory.register(CompositeFilter.class, this);
+    }
+
+    @Override
+    public Specification<T> handle(@Valid Filter f) {
+        CompositeFilter filter = (CompositeFilter) f;
+        List<Specification<T>> children = filter.getFilters().stream().map(this::child).toList();
+        return switch (operator(filter)) {
+            case AND -> (root, query, cb) -> cb.and(predicates(children, root, query, cb));
+            case OR -> (root, query, cb) -> cb.or(predicates(children, root, query, cb));
+            case NOT -> (root, query, cb) -> cb.not(children.get(0).toPredicate(root, query, cb));
+        };
+    }
+
+    /**
+     * Evaluates like SQL three-valued logic: {@code NOT} matches only rows for which its child is
+     * false, not those for which it is unknown (e.g. a comparison on a {@code null} property).
+     */
+    @Override
+    public java.util.function.Predicate<T> toPredicate(Filter f, Class<T> entityType) {
+        return compile(f, entityType).matches();
+    }
+
+    @Override
+    public java.util.function.Predicate<T> toUnknownPredicate(Filter f, Class<T> entityType) {
+        return compile(f, entityType).unknown();
+    }
+
+    /** A filter compiled for three-valued evaluation: true, unknown, or else false. */
+    private record ThreeValued<T>(java.util.function.Predicate<T> matches, java.util.function.Predicate<T> unknown) {
+
+        boolean isFalse(T entity) {
+            return !matches.test(entity) && !unknown.test(entity);
+        }
+    }
+
+    private ThreeValued<T> compile(Filter f, Class<T> entityType) {
+        CompositeFilter filter = (CompositeFilter) f;
+        List<ThreeValued<T>> children = filter.getFilters().stream()
+                .map(child -> compileChild(child, entityType))
+                .toList();
+        return switch (operator(filter)) {
+            case AND -> new ThreeValued<>(
+                    entity -> children.stream().allMatch(c -> c.matches().test(entity)),
+                    entity -> children.stream().noneMatch(c -> c.isFalse(entity))
+                            && children.stream().anyMatch(c -> c.unknown().test(entity)));
+            case OR -> new ThreeValued<>(
+                    entity -> children.stream().anyMatch(c -> c.matches().test(entity)),
+                    entity -> children.stream().noneMatch(c -> c.matches().test(entity))
+                            && children.stream().anyMatch(c -> c.unknown().test(entity)));
+            case NOT -> new ThreeValued<>(children.get(0)::isFalse, children.get(0).unknown());
+        };
+    }
+
+    private ThreeValued<T> compileChild(Filter child, Class<T> entityType) {
+        InMemoryFilterHandler<T> handler = factory.requireInMemoryFilterHandler(child);
+        if (handler == this) {
+            return compile(child, entityType);
+        }
+        return new ThreeValued<>(handler.toPredicate(child, entityType), handler.toUnknownPredicate(child, entityType));
+    }
+
+    private Specification<T> child(Filter child) {
+        return factory.requireFilterHandler(child).handle(child);
+    }
+
+    private static CompositeFilter.Operator operator(CompositeFilter filter) {
+        if (filter.getOperator() == null) {
+            throw new IllegalArgumentException("Composite filter needs an operator");
+        }
+        if (filter.getOperator() == CompositeFilter.Operator.NOT && filter.getFilters().size() != 1) {
+            throw new IllegalArgumentException("NOT needs exactly one filter, got " + filter.getFilters().size());
+        }
+        return filter.getOperator();
+    }
+
+    private static <T> Predicate[] predicates(
+            List<Specification<T>> children,
+            jakarta.persistence.criteria.Root<T> root,
+            jakarta.persistence.criteria.CriteriaQuery<?> query,
+            jakarta.persistence.criteria.CriteriaBuilder cb) {
+        return children.stream().map(c -> c.toPredicate(root, query, cb)).toArray(Predicate[]::new);
+    }
+}
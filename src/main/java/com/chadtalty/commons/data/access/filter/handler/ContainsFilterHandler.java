@@ -1,13 +1,21 @@
 package com.chadtalty.commons.data.access.filter.handler;
 
+import com.chadtalty.commons.data.access.support.PropertyAccessor;
+import com.chadtalty.commons.data.access.support.PropertyAccessors;
 import com.chadtalty.commons.data.query.ContainsFilter;
 import com.chadtalty.commons.data.query.Filter;
 import com.chadtalty.commons.data.query.FilterType;
 import jakarta.annotation.PostConstruct;
 import jakarta.validation.Valid;
+import java.math.BigDecimal;
+import java.util.Date;
 import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
@@ -17,7 +25,7 @@ import org.springframework.stereotype.Component;
  */
 @Component
 @RequiredArgsConstructor
-public class ContainsFilterHandler<T> extends AbstractFilterHandler<T> {
+public class ContainsFilterHandler<T> extends AbstractFilterHandler<T> implements InMemoryFilterHandler<T> {
 
     private final FilterHandlerFactory<T> factory;
 
@@ -43,7 +51,7 @@ public class ContainsFilterHandler<T> extends AbstractFilterHandler<T> {
      */
     private Specification<T> in(ContainsFilter filter) {
         return (root, query, cb) -> {
-            var path = root.get(filter.getField());
+            var path = path(root, filter.getField());
             var in = cb.in(path);
             Class<?> javaType = path.getJavaType();
             for (String raw : filter.getValues()) {
@@ -53,6 +61,38 @@ public class ContainsFilterHandler<T> extends AbstractFilterHandler<T> {
         };
     }
 
+    /**
+     * Matches non-null property values contained in the converted value set. {@code BigDecimal} and
+     * date values go into a set ordered by {@code compareTo}, so scale differences and {@code
+     * Timestamp}/{@code Date} mixes compare by value, as in SQL; other types use a hash set.
+     */
+    @Override
+    public Predicate<T> toPredicate(Filter f, Class<T> entityType) {
+        ContainsFilter filter = (ContainsFilter) f;
+        if (filter.getOperator() != ContainsFilter.Operator.IN) {
+            throw new UnsupportedOperationException("Operation not supported: " + filter.getOperator());
+        }
+        PropertyAccessor property = PropertyAccessors.of(entityType, filter.getField());
+        Class<?> type = property.type();
+        Set<Object> values = BigDecimal.class.isAssignableFrom(type) || Date.class.isAssignableFrom(type)
+                ? new TreeSet<>()
+                : new HashSet<>();
+        for (String raw : filter.getValues()) {
+            values.add(castToRequiredType(type, raw));
+        }
+        Function<Object, Object> getter = property.getter();
+        return entity -> {
+            Object actual = getter.apply(entity);
+            return actual != null && values.contains(actual);
+        };
+    }
+
+    /** Unknown when the property is {@code null}, as SQL compares {@code null} to nothing. */
+    @Override
+    public Predicate<T> toUnknownPredicate(Filter f, Class<T> entityType) {
+        return isNull(entityType, ((ContainsFilter) f).getField());
+    }
+
     private Specification<T> unsupportedOperation(ContainsFilter filter) {
         throw new UnsupportedOperationException("Operation not supported: " + filter.getOperator());
     }
@@ -1,5 +1,7 @@
 package com.chadtalty.commons.data.access.filter.handler;
 
+import com.chadtalty.commons.data.access.support.PropertyAccessor;
+import com.chadtalty.commons.data.access.support.PropertyAccessors;
 import com.chadtalty.commons.data.query.DateTimeFilter;
 import com.chadtalty.commons.data.query.Filter;
 import com.chadtalty.commons.data.query.FilterType;
@@ -11,6 +13,7 @@ import java.util.Date;
 import java.util.EnumMap;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Path;
 import lombok.RequiredArgsConstructor;
@@ -26,7 +29,7 @@ import org.springframework.stereotype.Component;
  */
 @Component
 @RequiredArgsConstructor
-public class DateTimeFilterHandler<T> extends AbstractFilterHandler<T> {
+public class DateTimeFilterHandler<T> extends AbstractFilterHandler<T> implements InMemoryFilterHandler<T> {
 
     private final FilterHandlerFactory<T> factory;
 
@@ -54,7 +57,7 @@ public class DateTimeFilterHandler<T> extends AbstractFilterHandler<T> {
 
     private Specification<T> after(DateTimeFilter filter) {
         return (root, query, cb) -> {
-            Path<?> path = root.get(filter.getField());
+            Path<?> path = path(root, filter.getField());
             Class<?> type = path.getJavaType();
 
             if (Timestamp.class.isAssignableFrom(type)) {
@@ -80,7 +83,7 @@ public class DateTimeFilterHandler<T> extends AbstractFilterHandler<T> {
 
     private Specification<T> afterOrEqual(DateTimeFilter filter) {
         return (root, query, cb) -> {
-            Path<?> path = root.get(filter.getField());
+            Path<?> path = path(root, filter.getField());
             Class<?> type = path.getJavaType();
 
             if (Timestamp.class.isAssignableFrom(type)) {
@@ -106,7 +109,7 @@ public class DateTimeFilterHandler<T> extends AbstractFilterHandler<T> {
 
     private Specification<T> before(DateTimeFilter filter) {
         return (root, query, cb) -> {
-            Path<?> path = root.get(filter.getField());
+            Path<?> path = path(root, filter.getField());
             Class<?> type = path.getJavaType();
 
             if (Timestamp.class.isAssignableFrom(type)) {
@@ -132,7 +135,7 @@ public class DateTimeFilterHandler<T> extends AbstractFilterHandler<T> {
 
     private Specification<T> beforeOrEqual(DateTimeFilter filter) {
         return (root, query, cb) -> {
-            Path<?> path = root.get(filter.getField());
+            Path<?> path = path(root, filter.getField());
             Class<?> type = path.getJavaType();
 
             if (Timestamp.class.isAssignableFrom(type)) {
@@ -158,7 +161,7 @@ public class DateTimeFilterHandler<T> extends AbstractFilterHandler<T> {
 
     private Specification<T> equal(DateTimeFilter filter) {
         return (root, query, cb) -> {
-            Path<?> path = root.get(filter.getField());
+            Path<?> path = path(root, filter.getField());
             Class<?> type = path.getJavaType();
 
             if (Timestamp.class.isAssignableFrom(type)) {
@@ -184,7 +187,7 @@ public class DateTimeFilterHandler<T> extends AbstractFilterHandler<T> {
 
     private Specification<T> notEqual(DateTimeFilter filter) {
         return (root, query, cb) -> {
-            Path<?> path = root.get(filter.getField());
+            Path<?> path = path(root, filter.getField());
             Class<?> type = path.getJavaType();
 
             if (Timestamp.class.isAssignableFrom(type)) {
@@ -208,6 +211,28 @@ public class DateTimeFilterHandler<T> extends AbstractFilterHandler<T> {
         };
     }
 
+    @Override
+    public Predicate<T> toPredicate(Filter f, Class<T> entityType) {
+        DateTimeFilter filter = (DateTimeFilter) f;
+        PropertyAccessor property = PropertyAccessors.of(entityType, filter.getField());
+        Object value = castToRequiredType(temporalType(property), filter.getValue());
+        return switch (filter.getOperator()) {
+            case AFTER -> comparing(property, value, Comparison.GT);
+            case AFTER_OR_EQUAL -> comparing(property, value, Comparison.GE);
+            case BEFORE -> comparing(property, value, Comparison.LT);
+            case BEFORE_OR_EQUAL -> comparing(property, value, Comparison.LE);
+            case EQUAL -> comparing(property, value, Comparison.EQ);
+            case NOT_EQUAL -> comparing(property, value, Comparison.NE);
+            default -> throw new UnsupportedOperationException("Operation not supported: " + filter.getOperator());
+        };
+    }
+
+    /** Unknown when the property is {@code null}, as SQL compares {@code null} to nothing. */
+    @Override
+    public Predicate<T> toUnknownPredicate(Filter f, Class<T> entityType) {
+        return isNull(entityType, ((DateTimeFilter) f).getField());
+    }
+
     private Specification<T> unsupportedOperation(DateTimeFilter filter) {
         throw new UnsupportedOperationException("Operation not supported: " + filter.getOperator());
     }
@@ -9,6 +9,8 @@ import org.springframework.data.jpa.domain.Specification;
  * <p>Concrete handlers implement operator-specific translations (e.g., EQUAL, IN, BETWEEN) and are
  * typically registered with the {@link FilterHandlerFactory} during {@code @PostConstruct}.
  *
+ * <p>Handlers that can also evaluate filters in memory implement {@link InMemoryFilterHandler}.
+ *
  * @param <T> entity type managed by the resulting {@link Specification}.
  */
 public interface FilterHandler<T> {
@@ -19,6 +21,10 @@ public interface FilterHandler<T> {
     /**
      * Translates the given {@link Filter} into a {@link Specification}.
      *
+     * <p>Fields should be resolved through {@link
+     * com.chadtalty.commons.data.access.support.AttributePaths#path AttributePaths.path} rather than
+     * {@code root.get}, so the filter also applies inside a {@code JoinSpec}.
+     *
      * @param filter a validated filter DTO.
      * @return a non-null specification that can be combined by the caller.
      */
@@ -1,27 +1,96 @@
 package com.chadtalty.commons.data.access.filter.handler;
 
+import com.chadtalty.commons.data.query.Filter;
 import com.chadtalty.commons.data.query.FilterType;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import org.springframework.stereotype.Component;
 
 /**
  * Registry of {@link FilterHandler} implementations keyed by {@link FilterType}.
  *
  * <p>Filters are polymorphic; this factory returns the correct handler for a given filter type.
+ * Filter classes without a {@link FilterType} of their own (e.g. {@code CompositeFilter}) register
+ * by class instead; {@link #getFilterHandler(Filter)} checks class registrations first.
  */
 @Component
 public class FilterHandlerFactory<T> {
 
     private final Map<FilterType, FilterHandler<T>> filterHandlerMap = new HashMap<>();
 
+    private final Map<Class<? extends Filter>, FilterHandler<T>> filterClassHandlerMap = new HashMap<>();
+
     /** Registers a handler for a filter type (typically during {@code @PostConstruct}). */
     public void register(FilterType type, FilterHandler<T> handler) {
         this.filterHandlerMap.put(type, handler);
     }
 
+    /** Registers a handler for a filter class and its subclasses. */
+    public void register(Class<? extends Filter> filterClass, FilterHandler<T> handler) {
+        this.filterClassHandlerMap.put(filterClass, handler);
+    }
+
     /** Looks up a previously-registered handler or returns {@code null} if none is registered. */
     public FilterHandler<T> getFilterHandler(FilterType type) {
         return filterHandlerMap.get(type);
     }
+
+    /** Filter types without a registered handler; empty once all handlers are initialized. */
+    public Set<FilterType> missingHandlers() {
+        Set<FilterType> missing = EnumSet.allOf(FilterType.class);
+        missing.removeAll(filterHandlerMap.keySet());
+        return missing;
+    }
+
+    /**
+     * Looks up the handler for a filter: by its class (or nearest registered superclass), else by
+     * its {@link FilterType}; {@code null} if neither is registered.
+     */
+    public FilterHandler<T> getFilterHandler(Filter filter) {
+        for (Class<?> c = filter.getClass(); c != Filter.class && c != null; c = c.getSuperclass()) {
+            FilterHandler<T> handler = filterClassHandlerMap.get(c);
+            if (handler != null) {
+                return handler;
+            }
+        }
+        return filter.getType() == null ? null : filterHandlerMap.get(filter.getType());
+    }
+
+    /**
+     * Like {@link #getFilterHandler(Filter)}, but never {@code null}.
+     *
+     * @throws IllegalArgumentException if no handler is registered for the filter.
+     */
+    public FilterHandler<T> requireFilterHandler(Filter filter) {
+        if (filter == null) {
+            throw new IllegalArgumentException("Filter must not be null");
+        }
+        FilterHandler<T> handler = getFilterHandler(filter);
+        if (handler == null) {
+            throw new IllegalArgumentException("No filter handler registered for " + describe(filter));
+        }
+        return handler;
+    }
+
+    /**
+     * Looks up the handler for a filter and checks that it can evaluate the filter in memory.
+     *
+     * @throws IllegalArgumentException if no handler is registered for the filter, or it is not an
+     *     {@link InMemoryFilterHandler}.
+     */
+    public InMemoryFilterHandler<T> requireInMemoryFilterHandler(Filter filter) {
+        if (requireFilterHandler(filter) instanceof InMemoryFilterHandler<T> handler) {
+            return handler;
+        }
+        throw new IllegalArgumentException("No in-memory translation for " + describe(filter));
+    }
+
+    /** Names a filter in error messages: its class and, if it has one, its {@link FilterType}. */
+    static String describe(Filter filter) {
+        Class<?> filterClass = filter.getClass();
+        String name = filterClass.isAnonymousClass() ? filterClass.getName() : filterClass.getSimpleName();
+        return filter.getType() == null ? name : name + " (type " + filter.getType() + ")";
+    }
 }
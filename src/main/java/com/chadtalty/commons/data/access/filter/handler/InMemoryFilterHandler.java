@@ -0,0 +1,34 @@
+package com.chadtalty.commons.data.access.filter.handler;
+
+import com.chadtalty.commons.data.query.Filter;
+import java.util.function.Predicate;
+
+/**
+ * {@link FilterHandler} that can also evaluate its filters in memory, for {@code InMemoryCriteria}.
+ * All built-in handlers implement it; custom handlers opt in.
+ *
+ * @param <T> entity type the predicates test.
+ */
+public interface InMemoryFilterHandler<T> extends FilterHandler<T> {
+
+    /**
+     * Translates the given {@link Filter} into an in-memory {@link Predicate} with the same meaning
+     * as {@link #handle(Filter)}, for evaluating criteria against cached collections.
+     *
+     * <p>Values are converted once, here; the returned predicate only reads properties.
+     *
+     * @param filter     a validated filter DTO.
+     * @param entityType class whose properties the filter fields name.
+     */
+    Predicate<T> toPredicate(Filter filter, Class<T> entityType);
+
+    /**
+     * Matches the rows for which the filter is {@code UNKNOWN} under SQL three-valued logic, i.e.
+     * neither true nor false, typically because the compared property is {@code null}. {@code NOT}
+     * of a filter matches only rows for which it is false: neither {@link #toPredicate matching}
+     * nor unknown. The default never reports unknown.
+     */
+    default Predicate<T> toUnknownPredicate(Filter filter, Class<T> entityType) {
+        return entity -> false;
+    }
+}
@@ -0,0 +1,131 @@
+package com.chadtalty.commons.data.access.filter.handler;
+
+import com.chadtalty.commons.data.access.filter.StoredLowerCase;
+import com.chadtalty.commons.data.access.filter.TextFilter;
+import com.chadtalty.commons.data.access.support.PropertyAccessor;
+import com.chadtalty.commons.data.access.support.PropertyAccessors;
+import com.chadtalty.commons.data.query.Filter;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.validation.Valid;
+import java.lang.reflect.AnnotatedElement;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+/**
+ * Translates {@link TextFilter} into a {@code LIKE} {@link Specification}.
+ *
+ * <p>Supported operators: STARTS_WITH ({@code LIKE 'abc%'}), ENDS_WITH ({@code LIKE '%abc'}) and
+ * CONTAINS ({@code LIKE '%abc%'}), each optionally case-insensitive. The value is escaped with
+ * {@value #ESCAPE}, so it never acts as a pattern.
+ */
+@Component
+@RequiredArgsConstructor
+public class TextFilterHandler<T> extends AbstractFilterHandler<T> implements InMemoryFilterHandler<T> {
+
+    /** Escape character of the generated {@code LIKE} patterns. */
+    public static final char ESCAPE = '\\';
+
+    private final FilterHandlerFactory<T> factory;
+
+    @PostConstruct
+    public void init() {
+        factory.register(TextFilter.class, this);
+    }
+
+    @Override
+    public Specification<T> handle(@Valid Filter f) {
+        TextFilter filter = (TextFilter) f;
+        String pattern = pattern(operator(filter), escape(value(filter)));
+        if (!filter.isIgnoreCase()) {
+            return (root, query, cb) -> cb.like(path(root, filter.getField()), pattern, ESCAPE);
+        }
+        String lowerPattern = pattern.toLowerCase(Locale.ROOT);
+        return (root, query, cb) -> {
+            Path<String> path = path(root, filter.getField());
+            Expression<String> column = isStoredLowerCase(path) ? path : cb.lower(path);
+            return cb.like(column, lowerPattern, ESCAPE);
+        };
+    }
+
+    /**
+     * Matches non-null property values with {@link String#startsWith}, {@link String#endsWith} or
+     * {@link String#contains}; case-insensitive filters compare lower-cased values.
+     */
+    @Override
+    public Predicate<T> toPredicate(Filter f, Class<T> entityType) {
+        TextFilter filter = (TextFilter) f;
+        PropertyAccessor property = PropertyAccessors.of(entityType, filter.getField());
+        Function<Object, Object> getter = property.getter();
+        boolean ignoreCase = filter.isIgnoreCase();
+        String value = ignoreCase ? value(filter).toLowerCase(Locale.ROOT) : value(filter);
+        Predicate<String> matches = switch (operator(filter)) {
+            case STARTS_WITH -> s -> s.startsWith(value);
+            case ENDS_WITH -> s -> s.endsWith(value);
+            case CONTAINS -> s -> s.contains(value);
+        };
+        return entity -> {
+            Object actual = getter.apply(entity);
+            return actual != null
+                    && matches.test(ignoreCase ? actual.toString().toLowerCase(Locale.ROOT) : actual.toString());
+        };
+    }
+
+    /** Unknown when the property is {@code null}, as SQL compares {@code null} to nothing. */
+    @Override
+    public Predicate<T> toUnknownPredicate(Filter f, Class<T> entityType) {
+        return isNull(entityType, ((TextFilter) f).getField());
+    }
+
+    /**
+     * Whether the attribute behind {@code path} is marked {@link StoredLowerCase}.
+     */
+    protected boolean isStoredLowerCase(Path<?> path) {
+        return path.getModel() instanceof Attribute<?, ?> attribute
+                && attribute.getJavaMember() instanceof AnnotatedElement member
+                && member.isAnnotationPresent(StoredLowerCase.class);
+    }
+
+    /**
+     * Escapes the escape character and the {@code LIKE} wildcards {@code %} and {@code _}.
+     */
+    static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ESCAPE || c == '%' || c == '_') {
+                escaped.append(ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    private static String pattern(TextFilter.Operator operator, String escaped) {
+        return switch (operator) {
+            case STARTS_WITH -> escaped + "%";
+            case ENDS_WITH -> "%" + escaped;
+            case CONTAINS -> "%" + escaped + "%";
+        };
+    }
+
+    private static TextFilter.Operator operator(TextFilter filter) {
+        if (filter.getOperator() == null) {
+            throw new UnsupportedOperationException("Operation not supported: null");
+        }
+        return filter.getOperator();
+    }
+
+    private static String value(TextFilter filter) {
+        if (filter.getValue() == null) {
+            throw new IllegalArgumentException("Text filter on '" + filter.getField() + "' needs a value");
+        }
+        return filter.getValue();
+    }
+}
@@ -0,0 +1,111 @@
+package com.chadtalty.commons.data.access.guard;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Which entity attributes the mapping declares an index for, read from field annotations: the id,
+ * {@code @Column(unique = true)}, and the <em>leading</em> column of each {@code @Table} index or
+ * unique constraint (only the leading column of a composite index serves a filter on its own).
+ *
+ * <p>Index column names are matched to attributes by {@code @Column(name)} or the attribute name,
+ * ignoring case and underscores, so {@code created_at} matches {@code createdAt}. Indexes created
+ * outside the mapping (migrations) are invisible here; list those attributes in {@link
+ * QueryPolicy#getAllowedFields()}.
+ */
+public final class IndexedAttributes {
+
+    private static final ClassValue<Set<String>> INDEXED = new ClassValue<>() {
+        @Override
+        protected Set<String> computeValue(Class<?> type) {
+            return indexedAttributes(type);
+        }
+    };
+
+    private IndexedAttributes() {}
+
+    /**
+     * Whether the attribute at {@code attributePath} (e.g. {@code status} or {@code
+     * customer.lastName}) is indexed on the entity that owns it.
+     */
+    public static boolean isIndexed(Class<?> entityType, String attributePath) {
+        String[] parts = attributePath.split("\\.");
+        Class<?> owner = entityType;
+        for (int i = 0; i < parts.length - 1; i++) {
+            Field field = findField(owner, parts[i]);
+            if (field == null) {
+                return false;
+            }
+            owner = elementType(field);
+        }
+        return INDEXED.get(owner).contains(parts[parts.length - 1]);
+    }
+
+    private static Set<String> indexedAttributes(Class<?> type) {
+        Set<String> leadingColumns = new HashSet<>();
+        Table table = type.getAnnotation(Table.class);
+        if (table != null) {
+            for (Index index : table.indexes()) {
+                leadingColumns.add(normalize(index.columnList().split(",")[0].trim().split("\\s+")[0]));
+            }
+            for (UniqueConstraint constraint : table.uniqueConstraints()) {
+                if (constraint.columnNames().length > 0) {
+                    leadingColumns.add(normalize(constraint.columnNames()[0]));
+                }
+            }
+        }
+
+        Set<String> indexed = new HashSet<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                Column column = field.getAnnotation(Column.class);
+                String columnName = column != null && !column.name().isEmpty() ? column.name() : field.getName();
+                if (field.isAnnotationPresent(Id.class)
+                        || field.isAnnotationPresent(EmbeddedId.class)
+                        || (column != null && column.unique())
+                        || leadingColumns.contains(normalize(columnName))) {
+                    indexed.add(field.getName());
+                }
+            }
+        }
+        return Set.copyOf(indexed);
+    }
+
+    private static Field findField(Class<?> type, String name) {
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            try {
+                return c.getDeclaredField(name);
+            } catch (NoSuchFieldException e) {
+                // try the superclass
+            }
+        }
+        return null;
+    }
+
+    /** The field's type, or its element type for collections. */
+    private static Class<?> elementType(Field field) {
+        if (Collection.class.isAssignableFrom(field.getType())
+                && field.getGenericType() instanceof ParameterizedType parameterized) {
+            Type element = parameterized.getActualTypeArguments()[0];
+            if (element instanceof Class<?> elementClass) {
+                return elementClass;
+            }
+        }
+        return field.getType();
+    }
+
+    private static String normalize(String column) {
+        return column.replace("_", "").replace("\"", "").replace("`", "").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,137 @@
+package com.chadtalty.commons.data.access.guard;
+
+import com.chadtalty.commons.data.access.filter.Filters;
+import com.chadtalty.commons.data.query.ContainsFilter;
+import com.chadtalty.commons.data.query.Criteria;
+import com.chadtalty.commons.data.query.Filter;
+import com.chadtalty.commons.data.query.JoinSpec;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Checks criteria against a {@link QueryPolicy}: reports every violation to the policy's listener,
+ * logs the tolerated ones and throws {@link QueryRejectedException} for the rest.
+ */
+public final class QueryGuard {
+
+    private static final Log log = LogFactory.getLog(QueryGuard.class);
+
+    private QueryGuard() {}
+
+    /**
+     * Checks filter, {@code IN}-list and join counts, and filters on unindexed attributes.
+     *
+     * @throws QueryRejectedException if any limit is exceeded.
+     */
+    public static void check(QueryPolicy policy, Class<?> entityType, Criteria criteria) {
+        List<JoinSpec> joins = Objects.requireNonNullElse(criteria.getJoins(), List.of());
+        List<Filter> leaves = new ArrayList<>();
+        List<String> fields = new ArrayList<>();
+        for (Filter filter : Objects.requireNonNullElse(criteria.getFilters(), List.<Filter>of())) {
+            collect(filter, null, leaves, fields);
+        }
+        Set<String> joinPaths = new LinkedHashSet<>();
+        for (JoinSpec join : joins) {
+            joinPaths.add(join.getJoin());
+            collect(join.getFilter(), join.getJoin(), leaves, fields);
+        }
+
+        List<QueryPolicyViolation> rejected = new ArrayList<>();
+        List<QueryPolicyViolation> tolerated = new ArrayList<>();
+        if (exceeds(leaves.size(), policy.getMaxFilters())) {
+            rejected.add(new QueryPolicyViolation(
+                    QueryPolicyViolation.Rule.FILTER_COUNT, "filter count", leaves.size(), policy.getMaxFilters()));
+        }
+        for (Filter leaf : leaves) {
+            if (leaf instanceof ContainsFilter in
+                    && in.getValues() != null
+                    && exceeds(in.getValues().size(), policy.getMaxInListSize())) {
+                rejected.add(new QueryPolicyViolation(
+                        QueryPolicyViolation.Rule.IN_LIST_SIZE,
+                        "IN list on '" + in.getField() + "'",
+                        in.getValues().size(),
+                        policy.getMaxInListSize()));
+            }
+        }
+        long joinCount = joins.size()
+                + associations(fields).stream().filter(a -> !joinPaths.contains(a)).count();
+        if (exceeds(joinCount, policy.getMaxJoins())) {
+            rejected.add(new QueryPolicyViolation(
+                    QueryPolicyViolation.Rule.JOIN_COUNT, "join count", joinCount, policy.getMaxJoins()));
+        }
+        if (policy.getUnindexedFilters() != QueryPolicy.UnindexedFilterAction.ALLOW) {
+            for (String field : new LinkedHashSet<>(fields)) {
+                if (!policy.getAllowedFields().contains(field) && !IndexedAttributes.isIndexed(entityType, field)) {
+                    QueryPolicyViolation violation = new QueryPolicyViolation(
+                            QueryPolicyViolation.Rule.UNINDEXED_FILTER, "no index on '" + field + "'", 1, 0);
+                    (policy.getUnindexedFilters() == QueryPolicy.UnindexedFilterAction.REJECT ? rejected : tolerated)
+                            .add(violation);
+                }
+            }
+        }
+        report(policy, entityType, rejected, tolerated);
+    }
+
+    /**
+     * Checks a requested page size.
+     *
+     * @throws QueryRejectedException if it exceeds {@link QueryPolicy#getMaxPageSize()}.
+     */
+    public static void checkPageSize(QueryPolicy policy, Class<?> entityType, int size) {
+        if (exceeds(size, policy.getMaxPageSize())) {
+            report(policy, entityType, List.of(new QueryPolicyViolation(
+                    QueryPolicyViolation.Rule.PAGE_SIZE, "page size", size, policy.getMaxPageSize())), List.of());
+        }
+    }
+
+    private static void report(
+            QueryPolicy policy,
+            Class<?> entityType,
+            List<QueryPolicyViolation> rejected,
+            List<QueryPolicyViolation> tolerated) {
+        for (QueryPolicyViolation violation : tolerated) {
+            log.warn("Query on " + entityType.getSimpleName() + " violates its policy: " + violation);
+            policy.getListener().onViolation(entityType, violation, false);
+        }
+        for (QueryPolicyViolation violation : rejected) {
+            policy.getListener().onViolation(entityType, violation, true);
+        }
+        if (!rejected.isEmpty()) {
+            throw new QueryRejectedException(rejected);
+        }
+    }
+
+    /** Collects the leaves of {@code filter} and their fields as paths from the query root. */
+    private static void collect(Filter filter, String join, List<Filter> leaves, List<String> fields) {
+        if (filter == null) {
+            return;
+        }
+        for (Filter leaf : Filters.leaves(filter)) {
+            leaves.add(leaf);
+            String field = Filters.fieldOf(leaf);
+            if (field != null) {
+                fields.add(join == null ? field : join + "." + field);
+            }
+        }
+    }
+
+    /** Association paths joined to reach dotted fields, e.g. {@code a} and {@code a.b} for {@code a.b.c}. */
+    private static Set<String> associations(List<String> fields) {
+        Set<String> associations = new LinkedHashSet<>();
+        for (String field : fields) {
+            for (int dot = field.indexOf('.'); dot >= 0; dot = field.indexOf('.', dot + 1)) {
+                associations.add(field.substring(0, dot));
+            }
+        }
+        return associations;
+    }
+
+    private static boolean exceeds(long actual, Integer limit) {
+        return limit != null && actual > limit;
+    }
+}
@@ -0,0 +1,64 @@
+package com.chadtalty.commons.data.access.guard;
+
+import java.time.Duration;
+import java.util.Set;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Limits a DAO enforces on incoming criteria before they reach the database; {@code null} limits are
+ * not enforced.
+ *
+ * <pre>{@code
+ * QueryPolicy.builder()
+ *         .maxPageSize(200)
+ *         .maxInListSize(1_000)
+ *         .maxJoins(2)
+ *         .maxFilters(20)
+ *         .queryTimeout(Duration.ofSeconds(5))
+ *         .unindexedFilters(UnindexedFilterAction.REJECT)
+ *         .allowedFields(Set.of("status"))
+ *         .build();
+ * }</pre>
+ */
+@Value
+@Builder
+public class QueryPolicy {
+
+    /** What to do with a filter on an attribute that is neither indexed nor allow-listed. */
+    public enum UnindexedFilterAction {
+        ALLOW,
+        LOG,
+        REJECT
+    }
+
+    /** Maximum {@code PageableCriteria} page size. */
+    Integer maxPageSize;
+
+    /** Maximum number of values in one {@code ContainsFilter}. */
+    Integer maxInListSize;
+
+    /** Maximum number of joins: join specifications plus associations reached by dotted fields. */
+    Integer maxJoins;
+
+    /** Maximum number of filters, counting the members of filter groups and join filters. */
+    Integer maxFilters;
+
+    /** Applied as the JPA query timeout hint to the DAO's queries, except exports. */
+    Duration queryTimeout;
+
+    /**
+     * Treatment of filters on attributes without an index; see {@link IndexedAttributes} for what
+     * counts as indexed.
+     */
+    @Builder.Default
+    UnindexedFilterAction unindexedFilters = UnindexedFilterAction.ALLOW;
+
+    /** Attribute paths that may be filtered on even without an index. */
+    @Builder.Default
+    Set<String> allowedFields = Set.of();
+
+    /** Receives every violation, rejected or not, e.g. to count them in a metrics registry. */
+    @Builder.Default
+    QueryPolicyListener listener = QueryPolicyListener.NONE;
+}
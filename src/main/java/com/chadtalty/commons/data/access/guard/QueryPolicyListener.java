@@ -0,0 +1,17 @@
+package com.chadtalty.commons.data.access.guard;
+
+/**
+ * Metrics hook for {@link QueryPolicy} violations. Called on the querying thread; keep it cheap.
+ */
+@FunctionalInterface
+public interface QueryPolicyListener {
+
+    /** Ignores violations. */
+    QueryPolicyListener NONE = (entityType, violation, rejected) -> {};
+
+    /**
+     * @param entityType entity the rejected or logged query was for.
+     * @param rejected   whether the query was rejected, or only logged.
+     */
+    void onViolation(Class<?> entityType, QueryPolicyViolation violation, boolean rejected);
+}
@@ -0,0 +1,27 @@
+package com.chadtalty.commons.data.access.guard;
+
+/**
+ * One limit of a {@link QueryPolicy} that a criteria exceeded.
+ *
+ * @param rule   the limit.
+ * @param detail human-readable description, e.g. the offending field.
+ * @param actual observed value (for {@link Rule#UNINDEXED_FILTER}, always 1).
+ * @param limit  configured maximum (for {@link Rule#UNINDEXED_FILTER}, always 0).
+ */
+public record QueryPolicyViolation(Rule rule, String detail, long actual, long limit) {
+
+    public enum Rule {
+        PAGE_SIZE,
+        IN_LIST_SIZE,
+        JOIN_COUNT,
+        FILTER_COUNT,
+        UNINDEXED_FILTER
+    }
+
+    @Override
+    public String toString() {
+        return rule == Rule.UNINDEXED_FILTER
+                ? rule + ": " + detail
+                : rule + ": " + detail + " is " + actual + ", limit " + limit;
+    }
+}
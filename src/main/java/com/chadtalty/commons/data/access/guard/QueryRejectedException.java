@@ -0,0 +1,20 @@
+package com.chadtalty.commons.data.access.guard;
+
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * Thrown when a criteria exceeds the DAO's {@link QueryPolicy}; nothing was sent to the database.
+ */
+@Getter
+public class QueryRejectedException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient List<QueryPolicyViolation> violations;
+
+    public QueryRejectedException(List<QueryPolicyViolation> violations) {
+        super("Query rejected: " + violations);
+        this.violations = List.copyOf(violations);
+    }
+}
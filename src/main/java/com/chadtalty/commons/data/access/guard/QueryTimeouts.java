@@ -0,0 +1,42 @@
+package com.chadtalty.commons.data.access.guard;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Thread-bound query timeout, applied by {@code EntityRepositoryImp} to the queries it creates.
+ *
+ * <p>State is per thread and is not propagated to other threads or executors.
+ */
+public final class QueryTimeouts {
+
+    /** JPA query timeout hint, in milliseconds. */
+    public static final String HINT_TIMEOUT = "jakarta.persistence.query.timeout";
+
+    private static final ThreadLocal<Duration> TIMEOUT = new ThreadLocal<>();
+
+    private QueryTimeouts() {}
+
+    /**
+     * Runs {@code action} with {@code timeout} ({@code null} for none), restoring the previous
+     * timeout afterwards.
+     */
+    public static <T> T callWith(Duration timeout, Supplier<T> action) {
+        Duration previous = TIMEOUT.get();
+        TIMEOUT.set(timeout);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                TIMEOUT.remove();
+            } else {
+                TIMEOUT.set(previous);
+            }
+        }
+    }
+
+    /** The current thread's timeout, or {@code null}. */
+    public static Duration current() {
+        return TIMEOUT.get();
+    }
+}
@@ -0,0 +1,83 @@
+package com.chadtalty.commons.data.access.id;
+
+import com.chadtalty.commons.data.access.routing.DataSourceRoute;
+import com.chadtalty.commons.data.access.routing.DataSourceRouting;
+import javax.sql.DataSource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Reserves id blocks from a row of a counter table, for databases or schemas without sequences.
+ *
+ * <p>The table has a name column (primary key) and a next-value column, e.g. {@code CREATE TABLE
+ * id_blocks (name VARCHAR(64) PRIMARY KEY, next_val BIGINT NOT NULL)}. Each block is reserved in
+ * its own short transaction, separate from the caller's: it advances the row by the block size
+ * under a row lock, creating the row (starting at 1) on first use.
+ */
+public final class HiLoTableIdBlockSource implements IdBlockSource {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final String updateSql;
+
+    private final String selectSql;
+
+    private final String insertSql;
+
+    private final String name;
+
+    private final int blockSize;
+
+    /**
+     * @param table     counter table with {@code name} and {@code next_val} columns; an unquoted,
+     *                  optionally schema-qualified name.
+     * @param name      row of this id space, e.g. the entity name.
+     * @param blockSize ids per block.
+     * @throws IllegalArgumentException if {@code table} is not such a name.
+     */
+    public HiLoTableIdBlockSource(DataSource dataSource, String table, String name, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("blockSize must be positive: " + blockSize);
+        }
+        SqlNames.require(table, "table");
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.updateSql = "UPDATE " + table + " SET next_val = next_val + ? WHERE name = ?";
+        this.selectSql = "SELECT next_val FROM " + table + " WHERE name = ?";
+        this.insertSql = "INSERT INTO " + table + " (name, next_val) VALUES (?, ?)";
+        this.name = name;
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public IdBlock nextBlock() {
+        long end;
+        try {
+            end = reserveOnPrimary();
+        } catch (DuplicateKeyException e) {
+            // another caller created the row first; it exists now
+            end = reserveOnPrimary();
+        }
+        return new IdBlock(end - blockSize, end);
+    }
+
+    private long reserveOnPrimary() {
+        return DataSourceRouting.callOn(
+                DataSourceRoute.PRIMARY, () -> transactionTemplate.execute(status -> reserve()));
+    }
+
+    /** Returns the end of the reserved block. */
+    private long reserve() {
+        if (jdbcTemplate.update(updateSql, blockSize, name) == 0) {
+            jdbcTemplate.update(insertSql, name, 1L + blockSize);
+            return 1L + blockSize;
+        }
+        return jdbcTemplate.queryForObject(selectSql, Long.class, name);
+    }
+}
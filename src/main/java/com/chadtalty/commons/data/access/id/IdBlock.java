@@ -0,0 +1,17 @@
+package com.chadtalty.commons.data.access.id;
+
+/**
+ * A reserved range of ids, {@code first} inclusive to {@code end} exclusive.
+ */
+public record IdBlock(long first, long end) {
+
+    public IdBlock {
+        if (end <= first) {
+            throw new IllegalArgumentException("Empty id block [" + first + ", " + end + ")");
+        }
+    }
+
+    public long size() {
+        return end - first;
+    }
+}
@@ -0,0 +1,11 @@
+package com.chadtalty.commons.data.access.id;
+
+/**
+ * Reserves blocks of ids that no other caller, in this or another process, will receive.
+ */
+@FunctionalInterface
+public interface IdBlockSource {
+
+    /** Reserves the next block; one database round trip for the database-backed sources. */
+    IdBlock nextBlock();
+}
@@ -0,0 +1,67 @@
+package com.chadtalty.commons.data.access.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out ids from blocks reserved by an {@link IdBlockSource}, so inserts need no id round trip
+ * and Hibernate can batch them.
+ *
+ * <p>Taking an id is one atomic increment; only the thread that finds the block exhausted reserves
+ * the next one, while the others wait for it. Ids left in the block when the application stops are
+ * never used, so ids have gaps.
+ */
+public final class PooledIdAllocator {
+
+    private final IdBlockSource source;
+
+    private final Object refillLock = new Object();
+
+    private final AtomicLong blocks = new AtomicLong();
+
+    private volatile Range current;
+
+    public PooledIdAllocator(IdBlockSource source) {
+        this.source = source;
+    }
+
+    /** Returns an id no other caller receives. */
+    public long nextId() {
+        while (true) {
+            Range range = current;
+            if (range != null) {
+                long id = range.next.getAndIncrement();
+                if (id < range.end) {
+                    return id;
+                }
+            }
+            refill(range);
+        }
+    }
+
+    /** Number of blocks reserved so far. */
+    public long blocksReserved() {
+        return blocks.get();
+    }
+
+    private void refill(Range exhausted) {
+        synchronized (refillLock) {
+            if (current == exhausted) {
+                IdBlock block = source.nextBlock();
+                current = new Range(block.first(), block.end());
+                blocks.incrementAndGet();
+            }
+        }
+    }
+
+    private static final class Range {
+
+        final AtomicLong next;
+
+        final long end;
+
+        Range(long first, long end) {
+            this.next = new AtomicLong(first);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.chadtalty.commons.data.access.id;
+
+import com.chadtalty.commons.data.access.routing.DataSourceRoute;
+import com.chadtalty.commons.data.access.routing.DataSourceRouting;
+import java.sql.DatabaseMetaData;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+/**
+ * Reserves id blocks from a database sequence whose increment is the block size, e.g. {@code
+ * CREATE SEQUENCE order_seq START WITH 1 INCREMENT BY 50}: each value {@code v} read from it
+ * reserves {@code [v, v + blockSize)}.
+ */
+public final class SequenceIdBlockSource implements IdBlockSource {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String nextValueSql;
+
+    private final int blockSize;
+
+    /**
+     * @param nextValueSql query returning the next sequence value, e.g. {@code SELECT nextval('order_seq')}.
+     * @param blockSize    the sequence's increment.
+     */
+    public SequenceIdBlockSource(DataSource dataSource, String nextValueSql, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("blockSize must be positive: " + blockSize);
+        }
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.nextValueSql = nextValueSql;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Reads {@code sequence} with the next-value syntax of the database behind {@code dataSource}.
+     *
+     * @param sequence unquoted sequence name, optionally schema-qualified, e.g. {@code
+     *                 sales.order_seq}.
+     * @throws IllegalArgumentException if {@code sequence} is not such a name.
+     */
+    public static SequenceIdBlockSource of(DataSource dataSource, String sequence, int blockSize) {
+        SqlNames.require(sequence, "sequence");
+        String product;
+        try {
+            product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Cannot determine the database product", e);
+        }
+        String sql = switch (JdbcUtils.commonDatabaseName(product)) {
+            case "PostgreSQL" -> "SELECT nextval('" + sequence + "')";
+            case "Oracle" -> "SELECT " + sequence + ".NEXTVAL FROM DUAL";
+            default -> "SELECT NEXT VALUE FOR " + sequence;
+        };
+        return new SequenceIdBlockSource(dataSource, sql, blockSize);
+    }
+
+    @Override
+    public IdBlock nextBlock() {
+        Long first = DataSourceRouting.callOn(
+                DataSourceRoute.PRIMARY, () -> jdbcTemplate.queryForObject(nextValueSql, Long.class));
+        return new IdBlock(first, first + blockSize);
+    }
+}
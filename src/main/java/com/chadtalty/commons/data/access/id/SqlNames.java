@@ -0,0 +1,23 @@
+package com.chadtalty.commons.data.access.id;
+
+import java.util.regex.Pattern;
+
+/** Validation of the table and sequence names the block sources concatenate into SQL. */
+final class SqlNames {
+
+    /** Unquoted identifier, optionally qualified by a schema (and catalog). */
+    private static final Pattern NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_$]*(\\.[A-Za-z_][A-Za-z0-9_$]*){0,2}");
+
+    private SqlNames() {}
+
+    /**
+     * @throws IllegalArgumentException if {@code name} is not an unquoted, optionally qualified
+     *                                  identifier.
+     */
+    static String require(String name, String kind) {
+        if (name == null || !NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Not a " + kind + " name: " + name);
+        }
+        return name;
+    }
+}
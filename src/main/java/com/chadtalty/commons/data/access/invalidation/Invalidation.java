@@ -0,0 +1,43 @@
+package com.chadtalty.commons.data.access.invalidation;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Entities of one type whose cached copies are stale.
+ *
+ * <p>Ids are kept as their {@code toString()}, so ids of any type (numbers, strings, UUIDs) survive
+ * a trip through an {@link InvalidationTransport} and are matched by {@link #covers(Object)}
+ * whatever their type; composite id classes need a {@code toString()} that is unique per id.
+ *
+ * @param entityType fully qualified class name of the entity.
+ * @param all        whether every entity of the type is affected, e.g. after a bulk write.
+ * @param ids        the affected ids as text; empty if {@code all}.
+ */
+public record Invalidation(String entityType, boolean all, Set<String> ids) {
+
+    public Invalidation {
+        if (entityType == null || entityType.isEmpty()) {
+            throw new IllegalArgumentException("entityType must not be empty");
+        }
+        ids = all ? Set.of() : Set.copyOf(ids);
+    }
+
+    public static Invalidation of(String entityType, Collection<?> ids) {
+        Set<String> text = new LinkedHashSet<>();
+        for (Object id : ids) {
+            text.add(String.valueOf(id));
+        }
+        return new Invalidation(entityType, false, text);
+    }
+
+    public static Invalidation all(String entityType) {
+        return new Invalidation(entityType, true, Set.of());
+    }
+
+    /** Whether a cached entity of this type and id is stale. */
+    public boolean covers(Object id) {
+        return all || ids.contains(String.valueOf(id));
+    }
+}
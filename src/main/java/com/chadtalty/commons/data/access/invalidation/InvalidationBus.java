@@ -0,0 +1,305 @@
+package com.chadtalty.commons.data.access.invalidation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Tells the caches of every node which entities changed, once the change is committed.
+ *
+ * <p>{@link #invalidate(Class, Collection)} waits for the current transaction to commit (nothing is
+ * sent on rollback), then notifies this node's listeners right away and queues the ids for the
+ * other nodes. A daemon thread sends what is queued every {@link
+ * InvalidationOptions#flushInterval()} as one {@link InvalidationMessage}: repeated ids are sent
+ * once, and a type with more than {@link InvalidationOptions#maxIdsPerType()} ids is invalidated as
+ * a whole. Received messages are passed to the listeners of their entity types. One bus per node is
+ * shared by all its DAOs.
+ */
+public final class InvalidationBus implements AutoCloseable {
+
+    private static final Log log = LogFactory.getLog(InvalidationBus.class);
+
+    private final String nodeId;
+
+    private final InvalidationTransport transport;
+
+    private final InvalidationOptions options;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Map<String, List<Consumer<Invalidation>>> listeners = new ConcurrentHashMap<>();
+
+    private final Object lock = new Object();
+
+    /** Queued ids by entity type, {@code null} for the whole type; guarded by {@code lock}. */
+    private Map<String, Set<String>> pending = new LinkedHashMap<>();
+
+    /** Commit time of the oldest queued invalidation; guarded by {@code lock}. */
+    private long firstCommitAtMillis;
+
+    /** Serializes publishes, so a node's messages go out in commit order. */
+    private final Object publishLock = new Object();
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private final AtomicLong requested = new AtomicLong();
+
+    private final AtomicLong coalesced = new AtomicLong();
+
+    private final AtomicLong messagesSent = new AtomicLong();
+
+    private final AtomicLong invalidationsSent = new AtomicLong();
+
+    private final AtomicLong publishFailures = new AtomicLong();
+
+    private final AtomicLong messagesReceived = new AtomicLong();
+
+    private final AtomicLong invalidationsReceived = new AtomicLong();
+
+    private final AtomicLong lastLagMillis = new AtomicLong();
+
+    private final AtomicLong maxLagMillis = new AtomicLong();
+
+    private final AtomicLong totalLagMillis = new AtomicLong();
+
+    /**
+     * Subscribes to the transport and starts the background sends.
+     *
+     * @param nodeId unique per node, e.g. the host name; must not contain {@code |}.
+     */
+    public InvalidationBus(String nodeId, InvalidationTransport transport, InvalidationOptions options) {
+        if (nodeId == null || nodeId.isEmpty() || nodeId.indexOf('|') >= 0) {
+            throw new IllegalArgumentException("nodeId must be non-empty and without '|': " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.transport = transport;
+        this.options = options;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .daemon()
+                .name("invalidation-bus-" + nodeId)
+                .factory());
+        long interval = options.flushInterval().toNanos();
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.NANOSECONDS);
+        transport.subscribe(this::receive);
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Calls {@code listener} for each committed invalidation of {@code entityType}, from this node
+     * (on the committing thread) or from others (on the transport's thread). Keep it fast, e.g.
+     * evicting cache entries.
+     */
+    public void subscribe(Class<?> entityType, Consumer<Invalidation> listener) {
+        listeners.computeIfAbsent(entityType.getName(), t -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    public void unsubscribe(Class<?> entityType, Consumer<Invalidation> listener) {
+        List<Consumer<Invalidation>> typeListeners = listeners.get(entityType.getName());
+        if (typeListeners != null) {
+            typeListeners.remove(listener);
+        }
+    }
+
+    /**
+     * Invalidates the entities with these ids once the current transaction commits, or now without
+     * one.
+     *
+     * @param ids the changed ids, of any type (see {@link Invalidation}), or {@code null} if they
+     *            are unknown, which invalidates the whole type.
+     */
+    public void invalidate(Class<?> entityType, Collection<?> ids) {
+        String type = entityType.getName();
+        Set<String> copy = ids == null ? null : Invalidation.of(type, ids).ids();
+        if (copy != null && copy.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    committed(type, copy);
+                }
+            });
+        } else {
+            committed(type, copy);
+        }
+    }
+
+    /** Invalidates every entity of the type once the current transaction commits, or now without one. */
+    public void invalidateAll(Class<?> entityType) {
+        invalidate(entityType, null);
+    }
+
+    /**
+     * Sends the queued invalidations now, on the calling thread.
+     *
+     * @throws RuntimeException the transport's exception, after queueing the batch again.
+     */
+    public void flush() {
+        synchronized (publishLock) {
+            Map<String, Set<String>> batch;
+            long firstCommit;
+            synchronized (lock) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                firstCommit = firstCommitAtMillis;
+                pending = new LinkedHashMap<>();
+            }
+            List<Invalidation> invalidations = new ArrayList<>(batch.size());
+            batch.forEach((type, ids) ->
+                    invalidations.add(ids == null ? Invalidation.all(type) : Invalidation.of(type, ids)));
+            try {
+                transport.publish(
+                        new InvalidationMessage(nodeId, firstCommit, System.currentTimeMillis(), invalidations));
+            } catch (RuntimeException e) {
+                publishFailures.incrementAndGet();
+                requeue(batch, firstCommit);
+                throw e;
+            }
+            messagesSent.incrementAndGet();
+            invalidationsSent.addAndGet(invalidations.size());
+        }
+    }
+
+    /** Current counters. */
+    public InvalidationStats stats() {
+        return new InvalidationStats(
+                requested.get(),
+                coalesced.get(),
+                messagesSent.get(),
+                invalidationsSent.get(),
+                publishFailures.get(),
+                messagesReceived.get(),
+                invalidationsReceived.get(),
+                Duration.ofMillis(lastLagMillis.get()),
+                Duration.ofMillis(maxLagMillis.get()),
+                Duration.ofMillis(totalLagMillis.get()));
+    }
+
+    /** Stops the background sends and sends what is still queued. */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(options.flushInterval().toNanos() * 10, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+    }
+
+    /** Notifies local listeners and queues the invalidation for the other nodes. */
+    private void committed(String type, Set<String> ids) {
+        Invalidation invalidation = ids == null ? Invalidation.all(type) : Invalidation.of(type, ids);
+        notifyListeners(invalidation);
+        requested.addAndGet(ids == null ? 1 : ids.size());
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                firstCommitAtMillis = System.currentTimeMillis();
+            }
+            merge(type, ids);
+        }
+        if (closed.get()) {
+            flushQuietly();
+        }
+    }
+
+    /** Adds to {@code pending}, counting what was already queued; caller holds {@code lock}. */
+    private void merge(String type, Set<String> ids) {
+        if (!pending.containsKey(type)) {
+            pending.put(type, ids == null || ids.size() > options.maxIdsPerType() ? null : new LinkedHashSet<>(ids));
+            return;
+        }
+        Set<String> queued = pending.get(type);
+        if (queued == null) {
+            coalesced.addAndGet(ids == null ? 1 : ids.size());
+        } else if (ids == null) {
+            pending.put(type, null);
+        } else {
+            for (String id : ids) {
+                if (!queued.add(id)) {
+                    coalesced.incrementAndGet();
+                }
+            }
+            if (queued.size() > options.maxIdsPerType()) {
+                pending.put(type, null);
+            }
+        }
+    }
+
+    /** Puts a batch that failed to send back in front of what was queued since. */
+    private void requeue(Map<String, Set<String>> batch, long firstCommit) {
+        synchronized (lock) {
+            Map<String, Set<String>> newer = pending;
+            pending = new LinkedHashMap<>();
+            batch.forEach(pending::put);
+            newer.forEach((type, ids) -> {
+                if (pending.containsKey(type) && pending.get(type) == null) {
+                    return;
+                }
+                if (ids == null || !pending.containsKey(type)) {
+                    pending.put(type, ids);
+                } else {
+                    pending.get(type).addAll(ids);
+                }
+            });
+            firstCommitAtMillis = newer.isEmpty() ? firstCommit : Math.min(firstCommit, firstCommitAtMillis);
+        }
+    }
+
+    private void receive(InvalidationMessage message) {
+        if (nodeId.equals(message.sourceNode())) {
+            return;
+        }
+        long lag = Math.max(0, System.currentTimeMillis() - message.firstCommitAtMillis());
+        messagesReceived.incrementAndGet();
+        invalidationsReceived.addAndGet(message.invalidations().size());
+        lastLagMillis.set(lag);
+        maxLagMillis.accumulateAndGet(lag, Math::max);
+        totalLagMillis.addAndGet(lag);
+        message.invalidations().forEach(this::notifyListeners);
+    }
+
+    private void notifyListeners(Invalidation invalidation) {
+        for (Consumer<Invalidation> listener : listeners.getOrDefault(invalidation.entityType(), List.of())) {
+            try {
+                listener.accept(invalidation);
+            } catch (RuntimeException e) {
+                log.warn("Invalidation listener for " + invalidation.entityType() + " failed", e);
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Publishing invalidations from " + nodeId + " failed; retrying with the next batch", e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.chadtalty.commons.data.access.invalidation;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * One batch of invalidations sent by an {@link InvalidationBus}.
+ *
+ * <p>{@link #encode()} and {@link #decode(String)} give transports that carry text, such as
+ * Redis pub/sub or PostgreSQL {@code NOTIFY}, a compact one-line form: {@code
+ * v1|node|firstCommit|sent} followed by {@code |type=id,id} or {@code |type=*} per entity type.
+ * Ids are URL-encoded, so numeric ids are sent as they are and text ids may contain the separators.
+ *
+ * @param sourceNode          id of the sending node; receivers skip their own messages.
+ * @param firstCommitAtMillis epoch millis of the earliest commit in the batch, for lag.
+ * @param sentAtMillis        epoch millis when the batch was published.
+ */
+public record InvalidationMessage(
+        String sourceNode, long firstCommitAtMillis, long sentAtMillis, List<Invalidation> invalidations) {
+
+    private static final String VERSION = "v1";
+
+    public InvalidationMessage {
+        invalidations = List.copyOf(invalidations);
+    }
+
+    public String encode() {
+        StringBuilder text = new StringBuilder(VERSION)
+                .append('|')
+                .append(sourceNode)
+                .append('|')
+                .append(firstCommitAtMillis)
+                .append('|')
+                .append(sentAtMillis);
+        for (Invalidation invalidation : invalidations) {
+            text.append('|').append(invalidation.entityType()).append('=');
+            if (invalidation.all()) {
+                text.append('*');
+            } else {
+                String separator = "";
+                for (String id : invalidation.ids()) {
+                    text.append(separator).append(URLEncoder.encode(id, StandardCharsets.UTF_8));
+                    separator = ",";
+                }
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code text} was not produced by {@link #encode()}.
+     */
+    public static InvalidationMessage decode(String text) {
+        String[] parts = text.split("\\|", -1);
+        if (parts.length < 4 || !parts[0].equals(VERSION)) {
+            throw new IllegalArgumentException("Not an invalidation message: " + text);
+        }
+        try {
+            List<Invalidation> invalidations = new ArrayList<>(parts.length - 4);
+            for (int i = 4; i < parts.length; i++) {
+                int eq = parts[i].indexOf('=');
+                String type = parts[i].substring(0, eq);
+                String ids = parts[i].substring(eq + 1);
+                if (ids.equals("*")) {
+                    invalidations.add(Invalidation.all(type));
+                } else {
+                    Set<String> parsed = new LinkedHashSet<>();
+                    for (String id : ids.isEmpty() ? new String[0] : ids.split(",")) {
+                        parsed.add(URLDecoder.decode(id, StandardCharsets.UTF_8));
+                    }
+                    invalidations.add(Invalidation.of(type, parsed));
+                }
+            }
+            return new InvalidationMessage(
+                    parts[1], Long.parseLong(parts[2]), Long.parseLong(parts[3]), invalidations);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed invalidation message: " + text, e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.chadtalty.commons.data.access.invalidation;
+
+import java.time.Duration;
+
+/**
+ * Batching of an {@link InvalidationBus}.
+ *
+ * @param flushInterval  how long invalidations are collected before they are sent as one message.
+ * @param maxIdsPerType  ids of one entity type per batch above which the whole type is invalidated
+ *                       instead.
+ */
+public record InvalidationOptions(Duration flushInterval, int maxIdsPerType) {
+
+    public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(20);
+
+    public static final int DEFAULT_MAX_IDS_PER_TYPE = 1_000;
+
+    public InvalidationOptions {
+        if (flushInterval == null || flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new IllegalArgumentException("flushInterval must be positive: " + flushInterval);
+        }
+        if (maxIdsPerType < 1) {
+            throw new IllegalArgumentException("maxIdsPerType must be positive: " + maxIdsPerType);
+        }
+    }
+
+    public static InvalidationOptions defaults() {
+        return flushEvery(DEFAULT_FLUSH_INTERVAL);
+    }
+
+    public static InvalidationOptions flushEvery(Duration flushInterval) {
+        return new InvalidationOptions(flushInterval, DEFAULT_MAX_IDS_PER_TYPE);
+    }
+
+    public InvalidationOptions withMaxIdsPerType(int maxIdsPerType) {
+        return new InvalidationOptions(flushInterval, maxIdsPerType);
+    }
+}
@@ -0,0 +1,38 @@
+package com.chadtalty.commons.data.access.invalidation;
+
+import java.time.Duration;
+
+/**
+ * Counters of an {@link InvalidationBus}.
+ *
+ * @param requested             ids (or whole types) invalidated on this node by committed writes.
+ * @param coalesced             of those, the ones merged into an invalidation already waiting.
+ * @param messagesSent          batches published.
+ * @param invalidationsSent     entity types across the published batches.
+ * @param publishFailures       publishes that failed (their invalidations are retried).
+ * @param messagesReceived      batches received from other nodes.
+ * @param invalidationsReceived entity types across the received batches.
+ * @param lastLag               commit-to-receipt time of the latest received batch.
+ * @param maxLag                longest commit-to-receipt time.
+ * @param totalLag              sum of all commit-to-receipt times.
+ */
+public record InvalidationStats(
+        long requested,
+        long coalesced,
+        long messagesSent,
+        long invalidationsSent,
+        long publishFailures,
+        long messagesReceived,
+        long invalidationsReceived,
+        Duration lastLag,
+        Duration maxLag,
+        Duration totalLag) {
+
+    /**
+     * Mean commit-to-receipt time, measured from the earliest commit of each batch; includes the
+     * clock skew between nodes.
+     */
+    public Duration averageLag() {
+        return messagesReceived == 0 ? Duration.ZERO : totalLag.dividedBy(messagesReceived);
+    }
+}
@@ -0,0 +1,26 @@
+package com.chadtalty.commons.data.access.invalidation;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries {@link InvalidationMessage}s between the nodes of a cluster; implement it over the
+ * messaging the cluster already has (Redis pub/sub, JMS, Kafka, PostgreSQL {@code NOTIFY}, ...).
+ * {@link LoopbackTransport} connects buses within one JVM, for tests.
+ *
+ * <p>Delivery is best effort: a node that misses a message serves stale entries until they expire
+ * or are invalidated again, so pair the bus with a cache time-to-live.
+ */
+public interface InvalidationTransport {
+
+    /**
+     * Sends the message to every subscribed node, including the sender's own; the bus skips its
+     * own messages.
+     *
+     * @throws RuntimeException if the message could not be sent; the bus keeps its invalidations and
+     *                          retries with the next batch.
+     */
+    void publish(InvalidationMessage message);
+
+    /** Registers the receiver for every message published by any node from now on. */
+    void subscribe(Consumer<InvalidationMessage> receiver);
+}
@@ -0,0 +1,26 @@
+package com.chadtalty.commons.data.access.invalidation;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Delivers each message to every bus of the same JVM that subscribed, on the publishing thread.
+ * Several buses sharing one instance behave like the nodes of a cluster, e.g. in tests.
+ */
+public final class LoopbackTransport implements InvalidationTransport {
+
+    private final List<Consumer<InvalidationMessage>> receivers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(InvalidationMessage message) {
+        for (Consumer<InvalidationMessage> receiver : receivers) {
+            receiver.accept(message);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<InvalidationMessage> receiver) {
+        receivers.add(receiver);
+    }
+}
@@ -0,0 +1,27 @@
+package com.chadtalty.commons.data.access.mapping;
+
+/**
+ * Builds reflection-free {@link GeneratedEntityMapper}s between an entity and a DTO.
+ *
+ * <p>Properties are matched by name: a record DTO is built through its canonical constructor, a
+ * bean through its no-arg constructor and setters. Properties missing on the source side stay
+ * {@code null} or their initial value; a {@code null} read for a primitive is written as zero. A
+ * property present on both sides must have assignable types; nested objects are copied by
+ * reference. Compiling is the expensive part, so build each
+ * mapper once, e.g. as a bean or a static field.
+ */
+public final class EntityMappers {
+
+    private EntityMappers() {}
+
+    /**
+     * @throws IllegalArgumentException if a shared property has incompatible types, or a type can be
+     *                                  neither constructed nor populated.
+     */
+    public static <D, E> GeneratedEntityMapper<D, E> of(Class<D> dtoType, Class<E> entityType) {
+        return new GeneratedEntityMapper<>(
+                PropertyCopier.compile(entityType, dtoType),
+                PropertyCopier.compile(dtoType, entityType),
+                Integer.MAX_VALUE);
+    }
+}
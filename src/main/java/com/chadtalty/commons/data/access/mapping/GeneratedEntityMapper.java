@@ -0,0 +1,89 @@
+package com.chadtalty.commons.data.access.mapping;
+
+import com.chadtalty.commons.data.access.EntityMapper;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * {@link EntityMapper} over copy functions compiled by {@link EntityMappers}. Thread-safe.
+ *
+ * <p>Bulk methods fill a presized list. Lists of at least {@link #getParallelThreshold()} elements
+ * are mapped on the common fork-join pool; only enable that for detached entities or plain
+ * properties, since a persistence context must not be used from several threads.
+ *
+ * @param <D> DTO type
+ * @param <E> entity type
+ */
+public final class GeneratedEntityMapper<D, E> implements EntityMapper<D, E> {
+
+    private final Function<E, D> toDto;
+
+    private final Function<D, E> toEntity;
+
+    private final int parallelThreshold;
+
+    GeneratedEntityMapper(Function<E, D> toDto, Function<D, E> toEntity, int parallelThreshold) {
+        if (parallelThreshold < 1) {
+            throw new IllegalArgumentException("parallelThreshold must be positive: " + parallelThreshold);
+        }
+        this.toDto = toDto;
+        this.toEntity = toEntity;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /** Returns a mapper that maps lists of at least {@code threshold} elements in parallel. */
+    public GeneratedEntityMapper<D, E> withParallelThreshold(int threshold) {
+        return new GeneratedEntityMapper<>(toDto, toEntity, threshold);
+    }
+
+    /** Size from which bulk methods map in parallel; {@link Integer#MAX_VALUE} (never) by default. */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    @Override
+    public D toDto(E entity) {
+        return entity == null ? null : toDto.apply(entity);
+    }
+
+    @Override
+    public E toEntity(D dto) {
+        return dto == null ? null : toEntity.apply(dto);
+    }
+
+    @Override
+    public List<D> toDtos(List<E> entities) {
+        return mapAll(entities, this::toDto);
+    }
+
+    @Override
+    public List<E> toEntities(List<D> dtos) {
+        return mapAll(dtos, this::toEntity);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <A, B> List<B> mapAll(List<A> from, Function<A, B> mapping) {
+        int size = from.size();
+        if (size >= parallelThreshold) {
+            List<A> indexed = from instanceof RandomAccess ? from : new ArrayList<>(from);
+            Object[] to = new Object[size];
+            IntStream.range(0, size).parallel().forEach(i -> to[i] = mapping.apply(indexed.get(i)));
+            return new ArrayList<>((List<B>) Arrays.asList(to));
+        }
+        List<B> to = new ArrayList<>(size);
+        if (from instanceof RandomAccess) {
+            for (int i = 0; i < size; i++) {
+                to.add(mapping.apply(from.get(i)));
+            }
+        } else {
+            for (A element : from) {
+                to.add(mapping.apply(element));
+            }
+        }
+        return to;
+    }
+}
@@ -0,0 +1,190 @@
+package com.chadtalty.commons.data.access.mapping;
+
+import com.chadtalty.commons.data.access.support.PropertyAccessor;
+import com.chadtalty.commons.data.access.support.PropertyAccessors;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Compiles the copy of one type into another, matching properties by name, into a single {@link
+ * MethodHandle}: a record target is built through its canonical constructor, a bean target through
+ * its no-arg constructor followed by its setters. Reads use the generated getters of {@link
+ * PropertyAccessors}, bound into the handle as constants, so once the JVM customizes the handle for
+ * its heavy use, the whole copy compiles like hand-written code rather than a loop of megamorphic
+ * calls.
+ */
+final class PropertyCopier {
+
+    private static final MethodType COPY = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodHandle APPLY;
+
+    private static final MethodHandle DEFAULT_IF_NULL;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            APPLY = lookup.findVirtual(Function.class, "apply", COPY);
+            DEFAULT_IF_NULL = lookup.findStatic(
+                    PropertyCopier.class,
+                    "defaultIfNull",
+                    MethodType.methodType(Object.class, Object.class, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private PropertyCopier() {}
+
+    /**
+     * @throws IllegalArgumentException if a property has incompatible types on both sides, or the
+     *                                  target cannot be instantiated.
+     */
+    @SuppressWarnings("unchecked")
+    static <S, T> Function<S, T> compile(Class<S> source, Class<T> target) {
+        MethodHandle copy = (target.isRecord() ? compileRecord(source, target) : compileBean(source, target))
+                .asType(COPY);
+        return from -> {
+            try {
+                return (T) (Object) copy.invokeExact((Object) from);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    /** {@code (Object) -> T}: the canonical constructor applied to the source's values. */
+    private static MethodHandle compileRecord(Class<?> source, Class<?> target) {
+        RecordComponent[] components = target.getRecordComponents();
+        Class<?>[] types = new Class<?>[components.length];
+        MethodHandle[] values = new MethodHandle[components.length];
+        for (int i = 0; i < components.length; i++) {
+            types[i] = components[i].getType();
+            values[i] = value(source, target, components[i].getName(), types[i]);
+        }
+        MethodHandle constructor;
+        try {
+            constructor = lookupIn(target).findConstructor(target, MethodType.methodType(void.class, types));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Cannot access the canonical constructor of " + target.getName(), e);
+        }
+        return MethodHandles.permuteArguments(
+                MethodHandles.filterArguments(constructor, 0, values),
+                MethodType.methodType(target, Object.class),
+                new int[components.length]);
+    }
+
+    /** {@code (Object) -> T}: a new instance, then each setter with the source's value. */
+    private static MethodHandle compileBean(Class<?> source, Class<?> target) {
+        MethodHandle constructor;
+        try {
+            constructor = lookupIn(target).findConstructor(target, MethodType.methodType(void.class));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException(
+                    target.getName() + " is neither a record nor has an accessible no-arg constructor", e);
+        }
+
+        // (Object to, Object from) -> void, calling every setter
+        MethodHandle setAll = MethodHandles.empty(MethodType.methodType(void.class, Object.class, Object.class));
+        List<Map.Entry<String, Method>> setters = List.copyOf(setters(target).entrySet());
+        for (int i = setters.size() - 1; i >= 0; i--) {
+            Method method = setters.get(i).getValue();
+            Class<?> type = method.getParameterTypes()[0];
+            if (!hasProperty(source, setters.get(i).getKey())) {
+                continue;
+            }
+            MethodHandle value = value(source, target, setters.get(i).getKey(), type);
+            MethodHandle setter;
+            try {
+                setter = lookupIn(method.getDeclaringClass()).unreflect(method);
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException("Cannot call " + method, e);
+            }
+            MethodHandle set = MethodHandles.filterArguments(
+                            setter.asType(MethodType.methodType(void.class, Object.class, type)), 1, value)
+                    .asType(MethodType.methodType(void.class, Object.class, Object.class));
+            setAll = MethodHandles.foldArguments(setAll, set);
+        }
+
+        MethodHandle returnTarget = MethodHandles.dropArguments(MethodHandles.identity(Object.class), 1, Object.class);
+        MethodHandle populate = MethodHandles.foldArguments(returnTarget, setAll);
+        MethodHandle create = MethodHandles.dropArguments(
+                constructor.asType(MethodType.methodType(Object.class)), 0, Object.class);
+        return MethodHandles.foldArguments(populate, create);
+    }
+
+    /**
+     * {@code (Object) -> type}: reads {@code name} from the source, or returns the type's default if
+     * the source has no such property or holds {@code null} for a primitive.
+     */
+    private static MethodHandle value(Class<?> source, Class<?> target, String name, Class<?> type) {
+        Object defaultValue = type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null;
+        if (!hasProperty(source, name)) {
+            return MethodHandles.dropArguments(MethodHandles.constant(type, defaultValue), 0, Object.class);
+        }
+        PropertyAccessor accessor = PropertyAccessors.of(source, name);
+        if (!MethodType.methodType(type).wrap().returnType().isAssignableFrom(accessor.type())) {
+            throw new IllegalArgumentException("Property '" + name + "' is " + accessor.type().getName() + " on "
+                    + source.getName() + " but " + type.getName() + " on " + target.getName());
+        }
+        MethodHandle read = APPLY.bindTo(accessor.getter());
+        if (type.isPrimitive()) {
+            read = MethodHandles.filterReturnValue(read, MethodHandles.insertArguments(DEFAULT_IF_NULL, 1, defaultValue));
+        }
+        return read.asType(MethodType.methodType(type, Object.class));
+    }
+
+    private static boolean hasProperty(Class<?> type, String name) {
+        try {
+            PropertyAccessors.of(type, name);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static Object defaultIfNull(Object value, Object defaultValue) {
+        return value == null ? defaultValue : value;
+    }
+
+    /** One-argument {@code setX} methods by property name, most specific class first. */
+    private static Map<String, Method> setters(Class<?> type) {
+        Map<String, Method> setters = new LinkedHashMap<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Method method : c.getDeclaredMethods()) {
+                String name = method.getName();
+                if (name.length() > 3
+                        && name.startsWith("set")
+                        && method.getParameterCount() == 1
+                        && !Modifier.isStatic(method.getModifiers())
+                        && !method.isSynthetic()) {
+                    setters.putIfAbsent(decapitalize(name.substring(3)), method);
+                }
+            }
+        }
+        return setters;
+    }
+
+    /** Like {@code java.beans.Introspector.decapitalize}: {@code URL} stays, {@code Name} becomes {@code name}. */
+    private static String decapitalize(String name) {
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static MethodHandles.Lookup lookupIn(Class<?> type) throws IllegalAccessException {
+        return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+    }
+}
@@ -1,6 +1,24 @@
 package com.chadtalty.commons.data.access.repository;
 
+import com.chadtalty.commons.data.access.aggregate.AggregateQuery;
+import com.chadtalty.commons.data.access.aggregate.AggregateRow;
+import com.chadtalty.commons.data.access.batch.BatchResult;
+import com.chadtalty.commons.data.access.batch.BatchSpec;
+import com.chadtalty.commons.data.access.facet.FacetQuery;
+import com.chadtalty.commons.data.access.facet.FacetResult;
+import com.chadtalty.commons.data.access.id.PooledIdAllocator;
+import com.chadtalty.commons.data.access.upsert.UpsertResult;
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
 import org.springframework.data.jpa.repository.support.JpaRepositoryImplementation;
 import org.springframework.data.repository.NoRepositoryBean;
 
@@ -11,4 +29,101 @@ import org.springframework.data.repository.NoRepositoryBean;
  * @param <I> identifier type
  */
 @NoRepositoryBean
-public interface EntityRepository<E, I extends Serializable> extends JpaRepositoryImplementation<E, I> {}
+public interface EntityRepository<E, I extends Serializable> extends JpaRepositoryImplementation<E, I> {
+
+    /** Metadata of the managed entity type (id attribute, id values, entity name). */
+    JpaEntityInformation<E, I> getEntityInformation();
+
+    /**
+     * Like {@link #findAll(Specification, Sort)}, but loads entities read-only: no dirty-checking
+     * snapshot is kept and the persistence context is not flushed before the query runs.
+     */
+    List<E> findAllReadOnly(Specification<E> spec, Sort sort);
+
+    /**
+     * Read-only variant of {@link #findAll(Specification, Pageable)}.
+     *
+     * @see #findAllReadOnly(Specification, Sort)
+     */
+    Page<E> findAllReadOnly(Specification<E> spec, Pageable pageable);
+
+    /**
+     * Returns the lowest and highest id of the entities matching {@code spec}.
+     *
+     * @return empty when nothing matches.
+     */
+    Optional<IdRange> findIdRange(Specification<E> spec);
+
+    /**
+     * Runs an aggregate ({@code GROUP BY}) query over the entities matching {@code spec}.
+     */
+    List<AggregateRow> findAggregates(Specification<E> spec, AggregateQuery query);
+
+    /**
+     * Counts facet values for the entities matching {@code base}; each facet additionally applies
+     * the {@code ownFilters} of the other facet fields (keyed by field).
+     */
+    FacetResult findFacets(Specification<E> base, Map<String, Specification<E>> ownFilters, FacetQuery query);
+
+    /**
+     * Runs several queries in one new read-only transaction and returns their outcomes in order; a
+     * query that fails is reported in its own {@link BatchResult}. After a statement fails in the
+     * database the rest are not run and their outcomes are {@code null}.
+     */
+    List<BatchResult<E>> findBatch(List<BatchSpec<E>> specs);
+
+    /**
+     * Streams a projection of the entities matching {@code spec} through a forward-only cursor,
+     * without loading entities into the persistence context.
+     *
+     * @param attributePaths attribute paths to select, e.g. {@code "status"} or {@code
+     *                       "customer.lastName"} (nested paths use left joins).
+     * @param fetchSize      JDBC fetch size hint for the cursor.
+     * @param action         receives one array per row, in {@code attributePaths} order; the array
+     *                       must not be retained.
+     * @return number of rows streamed.
+     */
+    long forEachProjection(
+            Specification<E> spec, Sort sort, List<String> attributePaths, int fetchSize, Consumer<Object[]> action);
+
+    /**
+     * Inserts the entities, or updates the existing rows with the same {@code keyAttributes}, with
+     * one native upsert statement per {@code batchSize} entities ({@code MERGE} or {@code INSERT ...
+     * ON CONFLICT DO UPDATE}, depending on the dialect). Bypasses the persistence context: the
+     * entities are not attached, and entities already loaded are not refreshed.
+     *
+     * @param keyAttributes attributes of the primary key or of a unique constraint; entities without
+     *                      an id are inserted with a generated one when the key is not the id.
+     * @param batchSize     maximum number of rows per statement.
+     * @param countInserted whether to count the existing keys before each statement, to report
+     *                      inserted and updated rows separately; costs one query per statement.
+     * @throws IllegalArgumentException if a key attribute is unknown, the key is the id and an
+     *                                  entity has none, or the {@code @Version} attribute is not
+     *                                  numeric.
+     */
+    UpsertResult upsert(
+            Collection<? extends E> entities, List<String> keyAttributes, int batchSize, boolean countInserted);
+
+    /**
+     * Updates the existing rows of the entities by id, with one {@code UPDATE ... SET column = CASE
+     * id WHEN ... END WHERE id IN (...)} statement per {@code batchSize} entities and no reads.
+     * Bypasses the persistence context like {@link #upsert}. A {@code @Version} attribute is
+     * incremented, not checked.
+     *
+     * @return the number of rows updated.
+     * @throws IllegalArgumentException if an entity has no id or {@code batchSize} is not positive.
+     * @throws IllegalStateException    if a row does not exist; no row is updated then.
+     */
+    int updateAll(Collection<? extends E> entities, int batchSize);
+
+    /**
+     * Like {@link #save(Object)}, but a new entity gets its id from {@code ids} and is persisted
+     * without a merge, so its insert can be batched. The id attribute must not be generated.
+     */
+    <S extends E> S save(S entity, PooledIdAllocator ids);
+
+    /**
+     * Saves the entities in one transaction; see {@link #save(Object, PooledIdAllocator)}.
+     */
+    <S extends E> List<S> saveAll(Iterable<S> entities, PooledIdAllocator ids);
+}
@@ -1,10 +1,62 @@
 package com.chadtalty.commons.data.access.repository;
 
+import com.chadtalty.commons.data.access.aggregate.AggregateCriteriaQuery;
+import com.chadtalty.commons.data.access.aggregate.AggregateQuery;
+import com.chadtalty.commons.data.access.aggregate.AggregateRow;
+import com.chadtalty.commons.data.access.batch.BatchResult;
+import com.chadtalty.commons.data.access.batch.BatchSpec;
+import com.chadtalty.commons.data.access.facet.FacetCriteriaQueries;
+import com.chadtalty.commons.data.access.facet.FacetQuery;
+import com.chadtalty.commons.data.access.facet.FacetResult;
+import com.chadtalty.commons.data.access.facet.FacetValue;
+import com.chadtalty.commons.data.access.guard.QueryTimeouts;
+import com.chadtalty.commons.data.access.id.PooledIdAllocator;
+import com.chadtalty.commons.data.access.support.AttributePaths;
+import com.chadtalty.commons.data.access.support.PropertyAccessor;
+import com.chadtalty.commons.data.access.support.PropertyAccessors;
+import com.chadtalty.commons.data.access.support.SortSpecs;
+import com.chadtalty.commons.data.access.upsert.UpsertResult;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
 import java.io.Serializable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.support.JpaEntityInformation;
 import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.data.util.DirectFieldAccessFallbackBeanWrapper;
 import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
 /**
  * Default repository implementation extending Spring Data's {@link SimpleJpaRepository}.
@@ -16,7 +68,601 @@ import org.springframework.data.repository.NoRepositoryBean;
 public class EntityRepositoryImp<T, I extends Serializable> extends SimpleJpaRepository<T, I>
         implements EntityRepository<T, I> {
 
+    /** Hibernate query hint marking loaded entities read-only (kept as a string to avoid a compile-time dependency). */
+    static final String HINT_READ_ONLY = "org.hibernate.readOnly";
+
+    /** Hibernate JDBC fetch size hint. */
+    static final String HINT_FETCH_SIZE = "org.hibernate.fetchSize";
+
+    /** Numeric version types supported by {@link #upsert}, with the version of a new row. */
+    private static final Map<Class<?>, Object> VERSION_TYPES = Map.of(
+            Integer.class, 0, int.class, 0, Long.class, 0L, long.class, 0L, Short.class, (short) 0, short.class,
+            (short) 0);
+
+    private final JpaEntityInformation<T, I> entityInformation;
+
+    private final EntityManager entityManager;
+
     public EntityRepositoryImp(JpaEntityInformation<T, I> entityInformation, EntityManager entityManager) {
         super(entityInformation, entityManager);
+        this.entityInformation = entityInformation;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public JpaEntityInformation<T, I> getEntityInformation() {
+        return entityInformation;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<T> findAllReadOnly(Specification<T> spec, Sort sort) {
+        return readOnly(getQuery(spec, sort)).getResultList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<T> findAllReadOnly(Specification<T> spec, Pageable pageable) {
+        TypedQuery<T> query = readOnly(getQuery(spec, pageable));
+        return pageable.isUnpaged()
+                ? new PageImpl<>(query.getResultList())
+                : readPage(query, getDomainClass(), pageable, spec);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    @Transactional(readOnly = true)
+    public Optional<IdRange> findIdRange(Specification<T> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<T> root = query.from(getDomainClass());
+        Path<Long> id = (Path<Long>) root.get(entityInformation.getIdAttribute());
+        query.multiselect(cb.min(id), cb.max(id));
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+
+        Object[] minMax = readOnly(entityManager.createQuery(query)).getSingleResult();
+        if (minMax[0] == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new IdRange(((Number) minMax[0]).longValue(), ((Number) minMax[1]).longValue()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AggregateRow> findAggregates(Specification<T> spec, AggregateQuery query) {
+        AggregateCriteriaQuery aggregate =
+                AggregateCriteriaQuery.of(entityManager.getCriteriaBuilder(), getDomainClass(), spec, query);
+        TypedQuery<Tuple> typedQuery = readOnly(entityManager.createQuery(aggregate.query()));
+        if (query.getLimit() != null) {
+            typedQuery.setMaxResults(query.getLimit());
+        }
+        return typedQuery.getResultList().stream().map(aggregate::toRow).toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Tries one statement over all facet value combinations first (see {@link
+     * FacetCriteriaQueries}); if there are more than {@link FacetQuery#getMaxCombinations()}
+     * combinations, runs one grouped, limited query per facet instead, in the same transaction.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public FacetResult findFacets(
+            Specification<T> base, Map<String, Specification<T>> ownFilters, FacetQuery query) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        List<String> fields = query.getFields();
+        if (fields.size() > 1) {
+            List<Tuple> rows = readOnly(entityManager.createQuery(
+                            FacetCriteriaQueries.combined(cb, getDomainClass(), base, ownFilters, fields)))
+                    .setMaxResults(query.getMaxCombinations() + 1)
+                    .getResultList();
+            if (rows.size() <= query.getMaxCombinations()) {
+                return FacetCriteriaQueries.marginalize(
+                        rows, fields, List.copyOf(ownFilters.keySet()), query.getLimit());
+            }
+        }
+
+        Map<String, List<FacetValue>> facets = new LinkedHashMap<>();
+        for (String field : fields) {
+            Specification<T> spec = Specification.where(base);
+            for (Map.Entry<String, Specification<T>> own : ownFilters.entrySet()) {
+                if (!own.getKey().equals(field)) {
+                    spec = spec.and(own.getValue());
+                }
+            }
+            List<Tuple> rows = readOnly(entityManager.createQuery(
+                            FacetCriteriaQueries.perFacet(cb, getDomainClass(), spec, field)))
+                    .setMaxResults(query.getLimit())
+                    .getResultList();
+            facets.put(field, FacetCriteriaQueries.toValues(rows));
+        }
+        return new FacetResult(facets);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Counts marked {@link BatchSpec#countCombinable()} are computed together by one statement
+     * with a {@code COUNT(CASE WHEN ... THEN 1 END)} column per query; every other count and every
+     * result list is its own statement.
+     *
+     * <p>A statement that fails in the database marks the transaction rollback-only, and some
+     * databases refuse further statements in it: the specs after it are not run (their outcome is
+     * {@code null}) and the transaction is rolled back quietly, for the caller to run the rest in a
+     * new one. The transaction is always a new one, so a failure never affects the caller's.
+     */
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    public List<BatchResult<T>> findBatch(List<BatchSpec<T>> specs) {
+        TransactionStatus transaction = TransactionAspectSupport.currentTransactionStatus();
+        int size = specs.size();
+        List<List<T>> results = new ArrayList<>(Collections.nCopies(size, null));
+        Long[] counts = new Long[size];
+        RuntimeException[] errors = new RuntimeException[size];
+
+        List<Integer> combined = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (specs.get(i).fetch().count() && specs.get(i).countCombinable()) {
+                combined.add(i);
+            }
+        }
+        if (combined.size() > 1) {
+            countCombined(specs, combined, counts, errors);
+        }
+        int next = 0;
+        for (; next < size && !transaction.isRollbackOnly(); next++) {
+            BatchSpec<T> spec = specs.get(next);
+            try {
+                if (spec.fetch().count() && counts[next] == null && errors[next] == null) {
+                    counts[next] = count(spec.spec());
+                }
+                if (spec.fetch().results() && errors[next] == null) {
+                    results.set(next, page(spec.spec(), spec.pageable()));
+                }
+            } catch (RuntimeException e) {
+                errors[next] = e;
+            }
+        }
+        if (transaction.isRollbackOnly()) {
+            // a local mark: roll back without an UnexpectedRollbackException, keeping the outcomes
+            transaction.setRollbackOnly();
+        }
+
+        List<BatchResult<T>> outcomes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            outcomes.add(errors[i] != null
+                    ? BatchResult.failed(errors[i])
+                    : i < next ? BatchResult.of(results.get(i), counts[i]) : null);
+        }
+        return outcomes;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long forEachProjection(
+            Specification<T> spec,
+            Sort sort,
+            List<String> attributePaths,
+            int fetchSize,
+            Consumer<Object[]> action) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(getDomainClass());
+        Map<String, From<?, ?>> joins = new HashMap<>();
+        query.multiselect(attributePaths.stream()
+                .<Selection<?>>map(path -> AttributePaths.resolve(root, path, joins))
+                .toList());
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        if (sort.isSorted()) {
+            query.orderBy(SortSpecs.toOrders(sort, root, cb));
+        }
+
+        long rows = 0;
+        try (Stream<Tuple> stream = readOnly(entityManager.createQuery(query))
+                .setHint(HINT_FETCH_SIZE, fetchSize)
+                .getResultStream()) {
+            Iterator<Tuple> it = stream.iterator();
+            while (it.hasNext()) {
+                action.accept(it.next().toArray());
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Each statement is an HQL {@code insert ... values (...), (...) on conflict (...) do update},
+     * which Hibernate renders in the dialect's native upsert syntax. With {@code countInserted}, one
+     * count over the batch's keys before it tells inserted from updated rows; concurrent writers of
+     * the same keys can skew that split, not the upsert itself. A numeric {@code @Version} is
+     * inserted as the entity's value (0 when null) and incremented on update; the update is not
+     * checked against it.
+     */
+    @Override
+    @Transactional
+    public UpsertResult upsert(
+            Collection<? extends T> entities, List<String> keyAttributes, int batchSize, boolean countInserted) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Upsert batch size must be positive: " + batchSize);
+        }
+        if (keyAttributes.isEmpty()) {
+            throw new IllegalArgumentException("Upsert needs at least one key attribute");
+        }
+        EntityType<T> type = entityManager.getMetamodel().entity(getDomainClass());
+        String idAttribute = entityInformation.getIdAttribute().getName();
+        List<String> columns = new ArrayList<>();
+        String version = null;
+        for (SingularAttribute<? super T, ?> attribute : type.getSingularAttributes()) {
+            if (attribute.isVersion()) {
+                version = attribute.getName();
+                if (!VERSION_TYPES.containsKey(attribute.getJavaType())) {
+                    throw new IllegalArgumentException("Upsert supports numeric @Version attributes only: "
+                            + type.getName() + "." + version + " is " + attribute.getJavaType().getName());
+                }
+            }
+            if (!attribute.isId()) {
+                columns.add(attribute.getName());
+            }
+        }
+        for (String key : keyAttributes) {
+            if (!key.equals(idAttribute) && !columns.contains(key)) {
+                throw new IllegalArgumentException("Unknown upsert key attribute: " + key);
+            }
+        }
+        List<PropertyAccessor> keys = keyAttributes.stream()
+                .map(key -> PropertyAccessors.of(getDomainClass(), key))
+                .toList();
+
+        // Coalesce repeated keys (the last entity wins): one statement must not touch a row twice.
+        // Keys with a null part never conflict, so those entities are all kept.
+        Map<Object, T> distinct = new LinkedHashMap<>();
+        for (T entity : entities) {
+            List<Object> key = keys.stream().map(accessor -> accessor.get(entity)).toList();
+            distinct.put(key.contains(null) ? new Object() : key, entity);
+        }
+        List<T> withId = new ArrayList<>();
+        List<T> withoutId = new ArrayList<>();
+        for (T entity : distinct.values()) {
+            (entityInformation.getId(entity) != null ? withId : withoutId).add(entity);
+        }
+        if (!withoutId.isEmpty() && keyAttributes.contains(idAttribute)) {
+            throw new IllegalArgumentException("Upsert on the id needs entities with an id");
+        }
+
+        List<String> updated = columns.stream()
+                .filter(column -> !keyAttributes.contains(column))
+                .toList();
+        List<String> withIdColumns = new ArrayList<>(columns);
+        withIdColumns.add(0, idAttribute);
+        UpsertColumns withIdStatement = new UpsertColumns(withIdColumns, keyAttributes, keys, updated, version);
+        UpsertColumns withoutIdStatement = new UpsertColumns(columns, keyAttributes, keys, updated, version);
+        UpsertResult result = UpsertResult.EMPTY;
+        for (int from = 0; from < withId.size(); from += batchSize) {
+            List<T> chunk = withId.subList(from, Math.min(from + batchSize, withId.size()));
+            result = result.plus(upsertChunk(chunk, withIdStatement, countInserted));
+        }
+        for (int from = 0; from < withoutId.size(); from += batchSize) {
+            List<T> chunk = withoutId.subList(from, Math.min(from + batchSize, withoutId.size()));
+            result = result.plus(upsertChunk(chunk, withoutIdStatement, countInserted));
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public int updateAll(Collection<? extends T> entities, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Update batch size must be positive: " + batchSize);
+        }
+        EntityType<T> type = entityManager.getMetamodel().entity(getDomainClass());
+        List<String> columns = new ArrayList<>();
+        String version = null;
+        for (SingularAttribute<? super T, ?> attribute : type.getSingularAttributes()) {
+            if (attribute.isVersion()) {
+                version = attribute.getName();
+            } else if (!attribute.isId()) {
+                columns.add(attribute.getName());
+            }
+        }
+        // the last save of an id wins, as one statement must not set a row twice
+        Map<Object, T> distinct = new LinkedHashMap<>();
+        for (T entity : entities) {
+            Object id = entityInformation.getId(entity);
+            if (id == null) {
+                throw new IllegalArgumentException("Update needs entities with an id");
+            }
+            distinct.put(id, entity);
+        }
+        List<T> rows = new ArrayList<>(distinct.values());
+        int updated = 0;
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            List<T> chunk = rows.subList(from, Math.min(from + batchSize, rows.size()));
+            updated += updateChunk(chunk, columns, version);
+        }
+        if (updated != rows.size()) {
+            throw new IllegalStateException((rows.size() - updated) + " of " + rows.size() + " "
+                    + entityInformation.getEntityName() + " rows to update do not exist");
+        }
+        return updated;
+    }
+
+    /**
+     * Fills {@code counts} for the {@code indexes} with one statement over a shared root; a query
+     * whose predicate cannot be built gets its error instead. Leaves all counts unset if the
+     * statement fails.
+     */
+    private void countCombined(
+            List<BatchSpec<T>> specs, List<Integer> indexes, Long[] counts, RuntimeException[] errors) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(getDomainClass());
+        List<Integer> selected = new ArrayList<>();
+        List<Selection<?>> columns = new ArrayList<>();
+        List<Predicate> predicates = new ArrayList<>();
+        boolean unconditional = false;
+        for (int i : indexes) {
+            Specification<T> spec = specs.get(i).spec();
+            Predicate predicate;
+            try {
+                predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+            } catch (RuntimeException e) {
+                errors[i] = e;
+                continue;
+            }
+            selected.add(i);
+            if (predicate == null) {
+                unconditional = true;
+                columns.add(cb.count(root));
+            } else {
+                predicates.add(predicate);
+                columns.add(cb.count(
+                        cb.<Integer>selectCase().when(predicate, 1).otherwise(cb.nullLiteral(Integer.class))));
+            }
+        }
+        if (selected.isEmpty()) {
+            return;
+        }
+        query.multiselect(columns);
+        if (!unconditional) {
+            query.where(cb.or(predicates.toArray(Predicate[]::new)));
+        }
+
+        Tuple row;
+        try {
+            row = readOnly(entityManager.createQuery(query)).getSingleResult();
+        } catch (RuntimeException e) {
+            return;
+        }
+        for (int c = 0; c < selected.size(); c++) {
+            counts[selected.get(c)] = ((Number) row.get(c)).longValue();
+        }
+    }
+
+    @Override
+    @Transactional
+    public <S extends T> S save(S entity, PooledIdAllocator ids) {
+        if (!entityInformation.isNew(entity)) {
+            return save(entity);
+        }
+        new DirectFieldAccessFallbackBeanWrapper(entity)
+                .setPropertyValue(entityInformation.getIdAttribute().getName(), ids.nextId());
+        entityManager.persist(entity);
+        return entity;
+    }
+
+    @Override
+    @Transactional
+    public <S extends T> List<S> saveAll(Iterable<S> entities, PooledIdAllocator ids) {
+        List<S> saved = new ArrayList<>();
+        for (S entity : entities) {
+            saved.add(save(entity, ids));
+        }
+        return saved;
+    }
+
+    /**
+     * Columns of one upsert statement.
+     *
+     * @param columns       inserted attributes.
+     * @param keyAttributes conflict key.
+     * @param keys          accessors of the conflict key.
+     * @param updated       attributes set on conflict.
+     * @param version       the {@code @Version} attribute, or {@code null}.
+     */
+    private record UpsertColumns(
+            List<String> columns,
+            List<String> keyAttributes,
+            List<PropertyAccessor> keys,
+            List<String> updated,
+            String version) {}
+
+    /**
+     * Issues one upsert statement for {@code chunk}, whose entities have distinct keys.
+     */
+    private UpsertResult upsertChunk(List<T> chunk, UpsertColumns statement, boolean countInserted) {
+        List<String> columns = statement.columns();
+        String version = statement.version();
+        int inserted = countInserted
+                ? chunk.size() - countExisting(chunk, statement.keyAttributes(), statement.keys())
+                : UpsertResult.NOT_COUNTED;
+
+        StringBuilder hql = new StringBuilder("insert into ")
+                .append(entityInformation.getEntityName())
+                .append(" (")
+                .append(String.join(", ", columns))
+                .append(") values ");
+        for (int row = 0; row < chunk.size(); row++) {
+            hql.append(row == 0 ? "(" : ", (");
+            for (int column = 0; column < columns.size(); column++) {
+                hql.append(column == 0 ? ":p" : ", :p").append(row).append('_').append(column);
+            }
+            hql.append(')');
+        }
+        hql.append(" on conflict (").append(String.join(", ", statement.keyAttributes())).append(") do ");
+        hql.append(statement.updated().isEmpty()
+                ? "nothing"
+                : statement.updated().stream()
+                        .map(column -> column.equals(version)
+                                ? column + " = " + column + " + 1"
+                                : column + " = excluded." + column)
+                        .collect(Collectors.joining(", ", "update set ", "")));
+
+        Query query = timed(entityManager.createQuery(hql.toString()));
+        for (int row = 0; row < chunk.size(); row++) {
+            T entity = chunk.get(row);
+            for (int column = 0; column < columns.size(); column++) {
+                PropertyAccessor accessor = PropertyAccessors.of(getDomainClass(), columns.get(column));
+                Object value = accessor.get(entity);
+                if (value == null && columns.get(column).equals(version)) {
+                    value = VERSION_TYPES.get(accessor.type());
+                }
+                query.setParameter("p" + row + "_" + column, value);
+            }
+        }
+        query.executeUpdate();
+        return new UpsertResult(chunk.size(), inserted, 1);
+    }
+
+    /**
+     * Issues one update statement for {@code chunk}, whose entities have distinct ids.
+     */
+    private int updateChunk(List<T> chunk, List<String> columns, String version) {
+        String id = entityInformation.getIdAttribute().getName();
+        List<String> assignments = new ArrayList<>();
+        for (int column = 0; column < columns.size(); column++) {
+            StringBuilder assignment = new StringBuilder(columns.get(column)).append(" = case ").append(id);
+            for (int row = 0; row < chunk.size(); row++) {
+                assignment.append(" when :id").append(row).append(" then :p").append(row).append('_').append(column);
+            }
+            assignments.add(assignment.append(" end").toString());
+        }
+        if (version != null) {
+            assignments.add(version + " = " + version + " + 1");
+        }
+        String hql = "update " + entityInformation.getEntityName() + " set " + String.join(", ", assignments)
+                + " where " + id + " in (:ids)";
+
+        Query query = timed(entityManager.createQuery(hql));
+        List<Object> ids = new ArrayList<>(chunk.size());
+        for (int row = 0; row < chunk.size(); row++) {
+            T entity = chunk.get(row);
+            Object rowId = entityInformation.getId(entity);
+            ids.add(rowId);
+            query.setParameter("id" + row, rowId);
+            for (int column = 0; column < columns.size(); column++) {
+                query.setParameter(
+                        "p" + row + "_" + column, PropertyAccessors.of(getDomainClass(), columns.get(column)).get(entity));
+            }
+        }
+        query.setParameter("ids", ids);
+        return query.executeUpdate();
+    }
+
+    /**
+     * Counts the rows already holding one of the keys of {@code chunk}.
+     */
+    private int countExisting(List<T> chunk, List<String> keyAttributes, List<PropertyAccessor> keys) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(getDomainClass());
+        List<Predicate> matches = new ArrayList<>();
+        if (keys.size() == 1) {
+            List<Object> values = chunk.stream()
+                    .map(entity -> keys.get(0).get(entity))
+                    .filter(value -> value != null)
+                    .toList();
+            if (!values.isEmpty()) {
+                matches.add(root.get(keyAttributes.get(0)).in(values));
+            }
+        } else {
+            rows:
+            for (T entity : chunk) {
+                Predicate[] parts = new Predicate[keys.size()];
+                for (int i = 0; i < parts.length; i++) {
+                    Object value = keys.get(i).get(entity);
+                    if (value == null) {
+                        continue rows;
+                    }
+                    parts[i] = cb.equal(root.get(keyAttributes.get(i)), value);
+                }
+                matches.add(cb.and(parts));
+            }
+        }
+        if (matches.isEmpty()) {
+            return 0;
+        }
+        query.select(cb.count(root)).where(cb.or(matches.toArray(Predicate[]::new)));
+        return timed(entityManager.createQuery(query)).getSingleResult().intValue();
+    }
+
+    /**
+     * Loads the matches of {@code spec}, limited to the page when {@code pageable} is paged.
+     */
+    private List<T> page(Specification<T> spec, Pageable pageable) {
+        TypedQuery<T> query = readOnly(getQuery(spec, pageable));
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * Applies the calling thread's {@link QueryTimeouts query timeout}, if any, to every
+     * specification query, and orders by {@link SortSpecs#toOrders}, which honours the sort's
+     * {@link Sort.NullHandling}.
+     */
+    @Override
+    protected <S extends T> TypedQuery<S> getQuery(Specification<S> spec, Class<S> domainClass, Sort sort) {
+        if (sort.isUnsorted()) {
+            return timed(super.getQuery(spec, domainClass, sort));
+        }
+        Specification<S> ordered = (root, query, cb) -> {
+            Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+            query.orderBy(SortSpecs.toOrders(sort, root, cb));
+            return predicate;
+        };
+        return timed(super.getQuery(ordered, domainClass, Sort.unsorted()));
+    }
+
+    @Override
+    protected <S extends T> TypedQuery<Long> getCountQuery(Specification<S> spec, Class<S> domainClass) {
+        return timed(super.getCountQuery(spec, domainClass));
+    }
+
+    /**
+     * Applies the read-only hint, commit-only flushing and the query timeout to a query.
+     */
+    private <S> TypedQuery<S> readOnly(TypedQuery<S> query) {
+        return timed(query).setHint(HINT_READ_ONLY, true).setFlushMode(FlushModeType.COMMIT);
+    }
+
+    private static <S> TypedQuery<S> timed(TypedQuery<S> query) {
+        Duration timeout = QueryTimeouts.current();
+        if (timeout == null) {
+            return query;
+        }
+        return query.setHint(QueryTimeouts.HINT_TIMEOUT, (int) Math.min(timeout.toMillis(), Integer.MAX_VALUE));
+    }
+
+    private static Query timed(Query query) {
+        Duration timeout = QueryTimeouts.current();
+        if (timeout == null) {
+            return query;
+        }
+        return query.setHint(QueryTimeouts.HINT_TIMEOUT, (int) Math.min(timeout.toMillis(), Integer.MAX_VALUE));
     }
 }
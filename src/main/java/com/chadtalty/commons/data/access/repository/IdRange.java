@@ -0,0 +1,45 @@
+package com.chadtalty.commons.data.access.repository;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inclusive range of numeric entity ids.
+ *
+ * @param min lowest id (inclusive)
+ * @param max highest id (inclusive)
+ */
+public record IdRange(long min, long max) {
+
+    public IdRange {
+        if (max < min) {
+            throw new IllegalArgumentException("Empty id range: " + min + ".." + max);
+        }
+    }
+
+    /**
+     * Splits the range into at most {@code parts} contiguous, non-overlapping ranges of near-equal
+     * width, in ascending order. Works for any range, including {@code Long.MIN_VALUE..Long.MAX_VALUE}.
+     */
+    public List<IdRange> split(int parts) {
+        if (parts < 1) {
+            throw new IllegalArgumentException("parts must be positive: " + parts);
+        }
+        // Widths beyond Long.MAX_VALUE are possible, so compute boundaries exactly.
+        BigInteger width = BigInteger.valueOf(max).subtract(BigInteger.valueOf(min)).add(BigInteger.ONE);
+        int count = width.min(BigInteger.valueOf(parts)).intValueExact();
+        BigInteger[] stepAndRemainder = width.divideAndRemainder(BigInteger.valueOf(count));
+        int remainder = stepAndRemainder[1].intValueExact();
+
+        List<IdRange> ranges = new ArrayList<>(count);
+        BigInteger start = BigInteger.valueOf(min);
+        for (int i = 0; i < count; i++) {
+            BigInteger size = i < remainder ? stepAndRemainder[0].add(BigInteger.ONE) : stepAndRemainder[0];
+            BigInteger end = start.add(size).subtract(BigInteger.ONE);
+            ranges.add(new IdRange(start.longValueExact(), end.longValueExact()));
+            start = end.add(BigInteger.ONE);
+        }
+        return ranges;
+    }
+}
@@ -0,0 +1,13 @@
+package com.chadtalty.commons.data.access.routing;
+
+/**
+ * Target of a connection request made through {@link ReadReplicaRoutingDataSource}.
+ */
+public enum DataSourceRoute {
+
+    /** The writable primary database. */
+    PRIMARY,
+
+    /** A read-only replica; may lag behind the primary. */
+    REPLICA
+}
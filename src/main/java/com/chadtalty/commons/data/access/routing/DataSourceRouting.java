@@ -0,0 +1,86 @@
+package com.chadtalty.commons.data.access.routing;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Thread-bound routing state consulted by {@link ReadReplicaRoutingDataSource}.
+ *
+ * <p>A thread is routed to {@link DataSourceRoute#PRIMARY} unless code explicitly runs on the
+ * replica via {@link #callOn(DataSourceRoute, Supplier)}. After a write, {@link #pinToPrimary(Duration)}
+ * keeps the thread on the primary for a "read-your-writes" window, overriding replica requests.
+ *
+ * <p>State is per thread and is not propagated to other threads or executors.
+ */
+public final class DataSourceRouting {
+
+    private static final ThreadLocal<DataSourceRoute> ROUTE = new ThreadLocal<>();
+
+    private static final ThreadLocal<Long> PINNED_UNTIL = new ThreadLocal<>();
+
+    private DataSourceRouting() {}
+
+    /**
+     * Returns the route for connections requested by the current thread.
+     */
+    public static DataSourceRoute currentRoute() {
+        DataSourceRoute route = ROUTE.get();
+        if (route == null || route == DataSourceRoute.PRIMARY || isPinnedToPrimary()) {
+            return DataSourceRoute.PRIMARY;
+        }
+        return route;
+    }
+
+    /**
+     * Runs {@code action} with the given route, restoring the previous route afterwards.
+     */
+    public static <T> T callOn(DataSourceRoute route, Supplier<T> action) {
+        DataSourceRoute previous = ROUTE.get();
+        ROUTE.set(route);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                ROUTE.remove();
+            } else {
+                ROUTE.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Pins the current thread to the primary for {@code window}, extending any existing pin.
+     */
+    public static void pinToPrimary(Duration window) {
+        if (window.isZero() || window.isNegative()) {
+            return;
+        }
+        long until = System.nanoTime() + window.toNanos();
+        Long current = PINNED_UNTIL.get();
+        if (current == null || until - current > 0) {
+            PINNED_UNTIL.set(until);
+        }
+    }
+
+    /**
+     * Whether the current thread is inside a read-your-writes window.
+     */
+    public static boolean isPinnedToPrimary() {
+        Long until = PINNED_UNTIL.get();
+        if (until == null) {
+            return false;
+        }
+        if (System.nanoTime() - until >= 0) {
+            PINNED_UNTIL.remove();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Ends the current thread's read-your-writes window, if any.
+     */
+    public static void unpin() {
+        PINNED_UNTIL.remove();
+    }
+}
@@ -0,0 +1,90 @@
+package com.chadtalty.commons.data.access.routing;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Routes connections to a primary or a read replica according to {@link DataSourceRouting}.
+ *
+ * <p>If the replica cannot hand out a connection, the request falls back to the primary and the
+ * replica is skipped for {@code retryInterval} before it is tried again.
+ *
+ * <p>Use this as the {@code DataSource} of the {@code EntityManagerFactory}. Routing is decided
+ * when a connection is acquired, i.e. when a transaction begins, so a route cannot change inside a
+ * running transaction.
+ */
+public final class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final Duration DEFAULT_RETRY_INTERVAL = Duration.ofSeconds(30);
+
+    private final DataSource primary;
+
+    private final DataSource replica;
+
+    private final long retryIntervalNanos;
+
+    private volatile long replicaRetryAt;
+
+    private volatile boolean replicaDown;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        this(primary, replica, DEFAULT_RETRY_INTERVAL);
+    }
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration retryInterval) {
+        this.primary = primary;
+        this.replica = replica;
+        this.retryIntervalNanos = retryInterval.toNanos();
+        setTargetDataSources(Map.of(DataSourceRoute.PRIMARY, primary, DataSourceRoute.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        initialize();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (determineCurrentLookupKey() != DataSourceRoute.REPLICA) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException | RuntimeException e) {
+            markReplicaDown();
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (determineCurrentLookupKey() != DataSourceRoute.REPLICA) {
+            return primary.getConnection(username, password);
+        }
+        try {
+            return replica.getConnection(username, password);
+        } catch (SQLException | RuntimeException e) {
+            markReplicaDown();
+            return primary.getConnection(username, password);
+        }
+    }
+
+    /**
+     * Whether the replica is currently skipped after a failed connection attempt.
+     */
+    public boolean isReplicaAvailable() {
+        return !replicaDown || System.nanoTime() - replicaRetryAt >= 0;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        DataSourceRoute route = DataSourceRouting.currentRoute();
+        return route == DataSourceRoute.REPLICA && !isReplicaAvailable() ? DataSourceRoute.PRIMARY : route;
+    }
+
+    private void markReplicaDown() {
+        replicaRetryAt = System.nanoTime() + retryIntervalNanos;
+        replicaDown = true;
+    }
+}
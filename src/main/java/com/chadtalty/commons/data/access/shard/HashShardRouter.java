@@ -0,0 +1,49 @@
+package com.chadtalty.commons.data.access.shard;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * {@link ShardRouter} that assigns keys to shards by hashing their string form.
+ *
+ * <p>The assignment depends on the order of {@code shardIds}; changing the shard list moves keys.
+ *
+ * @param <E> entity type
+ */
+public class HashShardRouter<E> implements ShardRouter<E> {
+
+    private final String shardKeyField;
+
+    private final Function<E, ?> shardKeyExtractor;
+
+    private final List<String> shardIds;
+
+    public HashShardRouter(String shardKeyField, Function<E, ?> shardKeyExtractor, List<String> shardIds) {
+        if (shardIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard id is required");
+        }
+        this.shardKeyField = shardKeyField;
+        this.shardKeyExtractor = shardKeyExtractor;
+        this.shardIds = List.copyOf(shardIds);
+    }
+
+    @Override
+    public String getShardKeyField() {
+        return shardKeyField;
+    }
+
+    @Override
+    public String shardForKey(String key) {
+        return shardIds.get(Math.floorMod(Objects.requireNonNull(key, "shard key").hashCode(), shardIds.size()));
+    }
+
+    @Override
+    public String shardFor(E entity) {
+        Object key = shardKeyExtractor.apply(entity);
+        if (key == null) {
+            throw new IllegalArgumentException("Entity has no shard key (" + shardKeyField + "): " + entity);
+        }
+        return shardForKey(String.valueOf(key));
+    }
+}
@@ -0,0 +1,22 @@
+package com.chadtalty.commons.data.access.shard;
+
+/**
+ * Maps shard-key values to shard ids for {@link ShardedDAO}.
+ *
+ * @param <E> entity type
+ */
+public interface ShardRouter<E> {
+
+    /** Entity attribute path holding the shard key (e.g. {@code "tenantId"}). */
+    String getShardKeyField();
+
+    /**
+     * Returns the shard owning a shard-key value.
+     *
+     * @param key the key as it appears in filter DTOs (string form).
+     */
+    String shardForKey(String key);
+
+    /** Returns the shard an entity is stored in. */
+    String shardFor(E entity);
+}
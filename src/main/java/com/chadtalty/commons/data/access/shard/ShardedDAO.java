@@ -0,0 +1,259 @@
+package com.chadtalty.commons.data.access.shard;
+
+import com.chadtalty.commons.data.access.CriteriaDAO;
+import com.chadtalty.commons.data.access.changes.Change;
+import com.chadtalty.commons.data.access.changes.ChangeBatch;
+import com.chadtalty.commons.data.access.changes.Watermark;
+import com.chadtalty.commons.data.access.support.SortSpecs;
+import com.chadtalty.commons.data.access.support.SortedMerge;
+import com.chadtalty.commons.data.query.BasicFilter;
+import com.chadtalty.commons.data.query.ContainsFilter;
+import com.chadtalty.commons.data.query.Criteria;
+import com.chadtalty.commons.data.query.Filter;
+import com.chadtalty.commons.data.query.PageableCriteria;
+import jakarta.persistence.EntityNotFoundException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * {@link CriteriaDAO} over several shards, each served by its own DAO (and data source). It has no
+ * repository of its own; use {@link #getShard(String)} for shard-local repository access.
+ *
+ * <p>Reads are scattered to every relevant shard in parallel and gathered here: counts are summed,
+ * and lists and pages are merged with a k-way merge on the requested sort (unsorted lists are
+ * concatenated in shard order). A
+ * criteria filter on the router's shard-key field ({@link BasicFilter} {@code EQUAL} or
+ * {@link ContainsFilter} {@code IN}) prunes the shards that cannot hold matching rows.
+ *
+ * <p>Page {@code n} of size {@code s} fetches the first {@code (n + 1) * s} rows from each shard, so
+ * deep pages get proportionally more expensive. Sorted merging compares entity properties in
+ * memory (see {@link SortSpecs#comparator(Class, Sort)}), with {@code null} lowest, which every shard
+ * query states explicitly; sorted string columns need a binary collation on every shard, and a
+ * shard result ordered differently fails the call with {@link IllegalStateException}. Id lookups
+ * query every shard and expect ids to be unique across shards (e.g. UUID-derived or allocated from
+ * disjoint ranges).
+ *
+ * @param <E> entity type
+ */
+public class ShardedDAO<E> implements CriteriaDAO<E> {
+
+    private final Class<E> entityType;
+
+    private final Map<String, CriteriaDAO<E>> shards;
+
+    private final ShardRouter<E> router;
+
+    private final Executor executor;
+
+    /**
+     * @param entityType the entity type, whose properties sorted merges compare.
+     * @param shards     shard DAOs keyed by shard id (iteration order is the merge tie-break order).
+     * @param router     maps shard keys and entities to shard ids.
+     * @param executor   runs the per-shard calls, e.g. a virtual-thread-per-task executor.
+     */
+    public ShardedDAO(
+            Class<E> entityType,
+            Map<String, ? extends CriteriaDAO<E>> shards,
+            ShardRouter<E> router,
+            Executor executor) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.entityType = entityType;
+        this.shards = new LinkedHashMap<>(shards);
+        this.router = router;
+        this.executor = executor;
+    }
+
+    /**
+     * Returns the DAO of a single shard.
+     *
+     * @throws IllegalArgumentException if the shard id is unknown.
+     */
+    public CriteriaDAO<E> getShard(String shardId) {
+        CriteriaDAO<E> shard = shards.get(shardId);
+        if (shard == null) {
+            throw new IllegalArgumentException("Unknown shard: " + shardId);
+        }
+        return shard;
+    }
+
+    /**
+     * Looks the id up on every shard and returns the first match in shard order.
+     */
+    @Override
+    public E findById(long id) {
+        return scatter(shards.keySet(), dao -> findOnShard(dao, id)).stream()
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElseThrow(() -> new EntityNotFoundException("Entity not found: " + id));
+    }
+
+    @Override
+    public List<E> findAll() {
+        return concat(scatter(shards.keySet(), CriteriaDAO::findAll));
+    }
+
+    @Override
+    public List<E> getQueryResult(Criteria criteria) {
+        List<List<E>> results = scatter(relevantShards(criteria), dao -> dao.getQueryResult(criteria));
+        Sort sort = SortSpecs.toSort(criteria.getSort());
+        return sort.isSorted()
+                ? SortedMerge.merge(results, SortSpecs.comparator(entityType, sort), Integer.MAX_VALUE)
+                : concat(results);
+    }
+
+    @Override
+    public Page<E> findAll(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(findAll());
+        }
+        Pageable window = PageRequest.of(0, windowSize(pageable), SortSpecs.nullsLowest(pageable.getSort()));
+        return mergePages(scatter(shards.keySet(), dao -> dao.findAll(window)), pageable);
+    }
+
+    @Override
+    public Page<E> getQueryResultPage(PageableCriteria criteria) {
+        Sort sort = SortSpecs.toSort(criteria.getSort());
+        Pageable pageable = PageRequest.of(criteria.getPage(), criteria.getSize(), sort);
+
+        PageableCriteria window = new PageableCriteria();
+        window.setJoins(criteria.getJoins());
+        window.setFilters(criteria.getFilters());
+        window.setSort(criteria.getSort());
+        window.setPage(0);
+        window.setSize(windowSize(pageable));
+
+        return mergePages(scatter(relevantShards(criteria), dao -> dao.getQueryResultPage(window)), pageable);
+    }
+
+    @Override
+    public Long count() {
+        return scatter(shards.keySet(), CriteriaDAO::count).stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Override
+    public Long count(Criteria criteria) {
+        return scatter(relevantShards(criteria), dao -> dao.count(criteria)).stream()
+                .mapToLong(Long::longValue)
+                .sum();
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return scatter(shards.keySet(), dao -> dao.existsById(id)).contains(Boolean.TRUE);
+    }
+
+    /**
+     * Merges each relevant shard's batch in watermark order and keeps the first {@code limit}. Assumes
+     * ids are unique across shards, so one watermark orders rows of all shards.
+     */
+    @Override
+    public ChangeBatch<E> getChanges(Criteria criteria, String timestampField, Watermark after, int limit) {
+        List<List<Change<E>>> batches = scatter(
+                relevantShards(criteria), dao -> dao.getChanges(criteria, timestampField, after, limit).changes());
+        List<Change<E>> merged = SortedMerge.merge(batches, Comparator.comparing(Change::position), limit);
+        return new ChangeBatch<>(merged, merged.isEmpty() ? after : merged.get(merged.size() - 1).position());
+    }
+
+    @Override
+    public E save(E entity) {
+        return getShard(router.shardFor(entity)).save(entity);
+    }
+
+    // -- Internals ------------------------------------------------------------------------------
+
+    /**
+     * Returns the shards that can hold rows matching the criteria's shard-key filters.
+     */
+    Set<String> relevantShards(Criteria criteria) {
+        Set<String> relevant = new LinkedHashSet<>(shards.keySet());
+        for (Filter filter : Optional.ofNullable(criteria.getFilters()).orElse(List.of())) {
+            shardKeyValues(filter).ifPresent(keys -> relevant.retainAll(keys.stream()
+                    .map(router::shardForKey)
+                    .toList()));
+        }
+        return relevant;
+    }
+
+    /**
+     * Shard-key values a filter restricts to, if it is an equality or {@code IN} on the shard key.
+     */
+    private Optional<List<String>> shardKeyValues(Filter filter) {
+        String field = router.getShardKeyField();
+        if (filter instanceof BasicFilter basic
+                && field.equals(basic.getField())
+                && basic.getOperator() == BasicFilter.Operator.EQUAL) {
+            return Optional.of(List.of(basic.getValue()));
+        } else if (filter instanceof ContainsFilter contains
+                && field.equals(contains.getField())
+                && contains.getOperator() == ContainsFilter.Operator.IN
+                && contains.getValues() != null) {
+            return Optional.of(contains.getValues());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Runs {@code call} on each shard in parallel and returns the results in shard order.
+     */
+    private <T> List<T> scatter(Set<String> shardIds, Function<CriteriaDAO<E>, T> call) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(shardIds.size());
+        for (String shardId : shardIds) {
+            CriteriaDAO<E> dao = shards.get(shardId);
+            futures.add(CompletableFuture.supplyAsync(() -> call.apply(dao), executor));
+        }
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            futures.forEach(f -> f.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private E findOnShard(CriteriaDAO<E> dao, long id) {
+        try {
+            return dao.findById(id);
+        } catch (EntityNotFoundException e) {
+            return null;
+        }
+    }
+
+    private Page<E> mergePages(List<Page<E>> pages, Pageable pageable) {
+        long total = pages.stream().mapToLong(Page::getTotalElements).sum();
+        List<List<E>> contents = pages.stream().map(Page::getContent).toList();
+        List<E> merged = SortedMerge.merge(
+                contents, SortSpecs.comparator(entityType, pageable.getSort()), windowSize(pageable));
+        int from = (int) Math.min(pageable.getOffset(), merged.size());
+        return new PageImpl<>(new ArrayList<>(merged.subList(from, merged.size())), pageable, total);
+    }
+
+    private static int windowSize(Pageable pageable) {
+        return (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize());
+    }
+
+    private static <E> List<E> concat(List<List<E>> lists) {
+        List<E> all = new ArrayList<>(lists.stream().mapToInt(List::size).sum());
+        lists.forEach(all::addAll);
+        return all;
+    }
+}
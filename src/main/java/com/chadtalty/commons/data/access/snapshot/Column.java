@@ -0,0 +1,110 @@
+package com.chadtalty.commons.data.access.snapshot;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * One property of all snapshot rows, stored column-wise. Filter values passed in are already
+ * converted to the property's Java type.
+ */
+abstract sealed class Column permits LongColumn, TemporalColumn, DoubleColumn, DictionaryColumn, ObjectColumn {
+
+    /** Rows whose value is {@code null}; they match no comparison, like SQL. */
+    final BitSet nulls = new BitSet();
+
+    final int size;
+
+    private volatile int[] ranks;
+
+    Column(int size) {
+        this.size = size;
+    }
+
+    /**
+     * Stores {@code values} in the most compact column for {@code type}: integral types as {@code
+     * long}s, temporal types as epoch seconds and nanos, floating point as {@code double}s, strings,
+     * booleans and enums dictionary-encoded, anything else {@link Comparable} as objects.
+     *
+     * @throws IllegalArgumentException if values of {@code type} cannot be compared.
+     */
+    static Column of(String path, Class<?> type, Object[] values, int bitmapMaxCardinality) {
+        if (type == Integer.class || type == Long.class || type == Short.class || type == Byte.class) {
+            return new LongColumn(values, v -> ((Number) v).longValue());
+        } else if (Date.class.isAssignableFrom(type) || type == LocalDateTime.class) {
+            return new TemporalColumn(values);
+        } else if (type == Double.class || type == Float.class) {
+            return new DoubleColumn(values);
+        } else if (type == String.class || type == Boolean.class || type.isEnum()) {
+            return new DictionaryColumn(values, bitmapMaxCardinality);
+        } else if (Comparable.class.isAssignableFrom(type)) {
+            return new ObjectColumn(values);
+        }
+        throw new IllegalArgumentException("Property '" + path + "' of type " + type.getName() + " is not comparable");
+    }
+
+    /** Rows whose value satisfies {@code value <comparison> filterValue}. */
+    abstract BitSet compare(Comparison comparison, Object filterValue);
+
+    /** Rows whose value is one of {@code filterValues}. */
+    abstract BitSet in(Collection<?> filterValues);
+
+    /** Approximate heap used by this column's arrays and indexes. */
+    abstract long estimatedBytes();
+
+    /** Compares the values of two non-null rows. */
+    abstract int compareRows(int a, int b);
+
+    /**
+     * Dense sort ranks per row ({@code -1} for {@code null}), computed once on first use.
+     */
+    int[] ranks() {
+        int[] result = ranks;
+        if (result == null) {
+            result = computeRanks();
+            ranks = result;
+        }
+        return result;
+    }
+
+    int[] computeRanks() {
+        int[] result = new int[size];
+        int[] order = IntStream.range(0, size)
+                .filter(i -> !nulls.get(i))
+                .boxed()
+                .sorted(this::compareRows)
+                .mapToInt(Integer::intValue)
+                .toArray();
+        Arrays.fill(result, -1);
+        int rank = -1;
+        for (int i = 0; i < order.length; i++) {
+            if (i == 0 || compareRows(order[i - 1], order[i]) != 0) {
+                rank++;
+            }
+            result[order[i]] = rank;
+        }
+        return result;
+    }
+
+    /** Scans non-null rows with a row predicate. */
+    BitSet scan(IntPredicate row) {
+        BitSet result = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            if (!nulls.get(i) && row.test(i)) {
+                result.set(i);
+            }
+        }
+        return result;
+    }
+
+    static final Comparator<Object> NATURAL = (a, b) -> {
+        @SuppressWarnings("unchecked")
+        Comparable<Object> comparable = (Comparable<Object>) a;
+        return comparable.compareTo(b);
+    };
+}
@@ -0,0 +1,18 @@
+package com.chadtalty.commons.data.access.snapshot;
+
+/** Comparison of a column value with a filter value. */
+enum Comparison {
+    EQ, NE, GT, GE, LT, LE;
+
+    /** Applies this comparison to a {@code compareTo}-style result. */
+    boolean test(int c) {
+        return switch (this) {
+            case EQ -> c == 0;
+            case NE -> c != 0;
+            case GT -> c > 0;
+            case GE -> c >= 0;
+            case LT -> c < 0;
+            case LE -> c <= 0;
+        };
+    }
+}
@@ -0,0 +1,120 @@
+package com.chadtalty.commons.data.access.snapshot;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * Strings, booleans and enums as {@code int} codes into a sorted dictionary of distinct values.
+ *
+ * <p>Codes follow the values' natural order, so range comparisons and sorting work on codes. When
+ * there are at most {@code bitmapMaxCardinality} distinct values, each value also gets a bitmap of
+ * its rows, and equality and {@code IN} filters become bitmap copies and ORs instead of scans.
+ */
+final class DictionaryColumn extends Column {
+
+    private final Object[] dictionary;
+
+    private final int[] codes;
+
+    private final BitSet[] bitmaps;
+
+    DictionaryColumn(Object[] raw, int bitmapMaxCardinality) {
+        super(raw.length);
+        TreeSet<Object> distinct = new TreeSet<>(NATURAL);
+        Arrays.stream(raw).filter(Objects::nonNull).forEach(distinct::add);
+        this.dictionary = distinct.toArray();
+        this.codes = new int[raw.length];
+        this.bitmaps = dictionary.length <= bitmapMaxCardinality ? new BitSet[dictionary.length] : null;
+        if (bitmaps != null) {
+            Arrays.setAll(bitmaps, c -> new BitSet(raw.length));
+        }
+        for (int i = 0; i < raw.length; i++) {
+            if (raw[i] == null) {
+                nulls.set(i);
+                codes[i] = -1;
+            } else {
+                codes[i] = Arrays.binarySearch(dictionary, raw[i], NATURAL);
+                if (bitmaps != null) {
+                    bitmaps[codes[i]].set(i);
+                }
+            }
+        }
+    }
+
+    boolean hasBitmaps() {
+        return bitmaps != null;
+    }
+
+    int cardinality() {
+        return dictionary.length;
+    }
+
+    @Override
+    BitSet compare(Comparison comparison, Object filterValue) {
+        int found = Arrays.binarySearch(dictionary, filterValue, NATURAL);
+        if (found < 0) {
+            // absent value: equality matches nothing; ranges split at the insertion point
+            int insertion = -found - 1;
+            return switch (comparison) {
+                case EQ -> new BitSet(size);
+                case NE -> scan(i -> true);
+                case GT, GE -> scan(i -> codes[i] >= insertion);
+                case LT, LE -> scan(i -> codes[i] < insertion);
+            };
+        }
+        if (bitmaps != null && comparison == Comparison.EQ) {
+            return (BitSet) bitmaps[found].clone();
+        }
+        if (bitmaps != null && comparison == Comparison.NE) {
+            BitSet result = scan(i -> true);
+            result.andNot(bitmaps[found]);
+            return result;
+        }
+        return scan(i -> comparison.test(Integer.compare(codes[i], found)));
+    }
+
+    @Override
+    BitSet in(Collection<?> filterValues) {
+        BitSet wanted = new BitSet(dictionary.length);
+        for (Object value : filterValues) {
+            int code = Arrays.binarySearch(dictionary, value, NATURAL);
+            if (code >= 0) {
+                wanted.set(code);
+            }
+        }
+        if (bitmaps != null) {
+            BitSet result = new BitSet(size);
+            wanted.stream().forEach(code -> result.or(bitmaps[code]));
+            return result;
+        }
+        return scan(i -> wanted.get(codes[i]));
+    }
+
+    @Override
+    int compareRows(int a, int b) {
+        return Integer.compare(codes[a], codes[b]);
+    }
+
+    /** Codes are already dense ranks. */
+    @Override
+    int[] computeRanks() {
+        return codes;
+    }
+
+    @Override
+    long estimatedBytes() {
+        long bytes = 16L + 4L * size + 16L + 8L * dictionary.length + size / 8;
+        for (Object value : dictionary) {
+            bytes += value instanceof String s ? 40L + s.length() : 0;
+        }
+        if (bitmaps != null) {
+            for (BitSet bitmap : bitmaps) {
+                bytes += 32L + bitmap.size() / 8;
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,45 @@
+package com.chadtalty.commons.data.access.snapshot;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+
+/** Floating-point properties as a {@code double[]}. */
+final class DoubleColumn extends Column {
+
+    private final double[] values;
+
+    DoubleColumn(Object[] raw) {
+        super(raw.length);
+        this.values = new double[raw.length];
+        for (int i = 0; i < raw.length; i++) {
+            if (raw[i] == null) {
+                nulls.set(i);
+            } else {
+                values[i] = ((Number) raw[i]).doubleValue();
+            }
+        }
+    }
+
+    @Override
+    BitSet compare(Comparison comparison, Object filterValue) {
+        double v = ((Number) filterValue).doubleValue();
+        return scan(i -> comparison.test(Double.compare(values[i], v)));
+    }
+
+    @Override
+    BitSet in(Collection<?> filterValues) {
+        double[] sorted = filterValues.stream().mapToDouble(v -> ((Number) v).doubleValue()).sorted().toArray();
+        return scan(i -> Arrays.binarySearch(sorted, values[i]) >= 0);
+    }
+
+    @Override
+    int compareRows(int a, int b) {
+        return Double.compare(values[a], values[b]);
+    }
+
+    @Override
+    long estimatedBytes() {
+        return 16L + 8L * size + size / 8;
+    }
+}
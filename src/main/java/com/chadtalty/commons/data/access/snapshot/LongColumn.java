@@ -0,0 +1,49 @@
+package com.chadtalty.commons.data.access.snapshot;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.function.ToLongFunction;
+
+/** Integral properties as a {@code long[]}. */
+final class LongColumn extends Column {
+
+    private final long[] values;
+
+    private final ToLongFunction<Object> encoder;
+
+    LongColumn(Object[] raw, ToLongFunction<Object> encoder) {
+        super(raw.length);
+        this.encoder = encoder;
+        this.values = new long[raw.length];
+        for (int i = 0; i < raw.length; i++) {
+            if (raw[i] == null) {
+                nulls.set(i);
+            } else {
+                values[i] = encoder.applyAsLong(raw[i]);
+            }
+        }
+    }
+
+    @Override
+    BitSet compare(Comparison comparison, Object filterValue) {
+        long v = encoder.applyAsLong(filterValue);
+        return scan(i -> comparison.test(Long.compare(values[i], v)));
+    }
+
+    @Override
+    BitSet in(Collection<?> filterValues) {
+        long[] sorted = filterValues.stream().mapToLong(encoder).sorted().toArray();
+        return scan(i -> Arrays.binarySearch(sorted, values[i]) >= 0);
+    }
+
+    @Override
+    int compareRows(int a, int b) {
+        return Long.compare(values[a], values[b]);
+    }
+
+    @Override
+    long estimatedBytes() {
+        return 16L + 8L * size + size / 8;
+    }
+}
@@ -0,0 +1,47 @@
+package com.chadtalty.commons.data.access.snapshot;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.TreeSet;
+
+/**
+ * Other {@link Comparable} properties (e.g. {@code BigDecimal}), compared with {@code compareTo} so
+ * that e.g. {@code 1.0} equals {@code 1.00}, as in SQL.
+ */
+final class ObjectColumn extends Column {
+
+    private final Object[] values;
+
+    ObjectColumn(Object[] raw) {
+        super(raw.length);
+        this.values = raw.clone();
+        for (int i = 0; i < raw.length; i++) {
+            if (raw[i] == null) {
+                nulls.set(i);
+            }
+        }
+    }
+
+    @Override
+    BitSet compare(Comparison comparison, Object filterValue) {
+        return scan(i -> comparison.test(NATURAL.compare(values[i], filterValue)));
+    }
+
+    @Override
+    BitSet in(Collection<?> filterValues) {
+        TreeSet<Object> wanted = new TreeSet<>(NATURAL);
+        wanted.addAll(filterValues);
+        return scan(i -> wanted.contains(values[i]));
+    }
+
+    @Override
+    int compareRows(int a, int b) {
+        return NATURAL.compare(values[a], values[b]);
+    }
+
+    /** References only; the values themselves are shared with the entities. */
+    @Override
+    long estimatedBytes() {
+        return 16L + 4L * size + size / 8;
+    }
+}
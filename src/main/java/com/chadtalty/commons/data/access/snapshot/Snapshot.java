@@ -0,0 +1,229 @@
+package com.chadtalty.commons.data.access.snapshot;
+
+import com.chadtalty.commons.data.access.filter.ValueConversions;
+import com.chadtalty.commons.data.access.support.PropertyAccessor;
+import com.chadtalty.commons.data.access.support.PropertyAccessors;
+import com.chadtalty.commons.data.access.support.RowCopier;
+import com.chadtalty.commons.data.access.support.SortSpecs;
+import com.chadtalty.commons.data.query.BasicFilter;
+import com.chadtalty.commons.data.query.BetweenFilter;
+import com.chadtalty.commons.data.query.ContainsFilter;
+import com.chadtalty.commons.data.query.Criteria;
+import com.chadtalty.commons.data.query.DateTimeFilter;
+import com.chadtalty.commons.data.query.Filter;
+import com.chadtalty.commons.data.query.PageableCriteria;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+/**
+ * An immutable, column-wise copy of a table that answers {@link Criteria} without the database.
+ *
+ * <p>Supports {@link BasicFilter}, {@link ContainsFilter}, {@link BetweenFilter} and {@link
+ * DateTimeFilter} (values converted with {@link ValueConversions}, as the filter handlers do) and
+ * {@code SortSpec} sorting with {@code null}s first; see {@link #supports(Criteria)}. Columns are
+ * built per property on first use (or on load for {@link SnapshotOptions#indexedFields()}) and
+ * cached. Strings compare by {@link String#compareTo}, which may differ from a database collation.
+ *
+ * <p>Each query returns fresh shallow copies of the matching rows (see {@link RowCopier}), so callers
+ * may modify and save them without affecting the snapshot or each other; associated objects are
+ * shared. Rows with an unloaded lazy association are rejected when the snapshot is built, because
+ * reading it later would throw {@code LazyInitializationException}.
+ *
+ * @param <E> entity type
+ */
+public final class Snapshot<E> {
+
+    private final Class<E> entityType;
+
+    private final List<E> rows;
+
+    private final RowCopier<E> copier;
+
+    private final int bitmapMaxCardinality;
+
+    private final Map<String, Column> columns = new ConcurrentHashMap<>();
+
+    private final Duration loadTime;
+
+    private final Instant loadedAt;
+
+    Snapshot(Class<E> entityType, List<E> rows, SnapshotOptions options, Duration readTime) {
+        long start = System.nanoTime();
+        this.entityType = entityType;
+        this.rows = List.copyOf(rows);
+        this.copier = new RowCopier<>(entityType);
+        copier.requireLoaded(this.rows);
+        this.bitmapMaxCardinality = options.bitmapMaxCardinality();
+        options.indexedFields().forEach(this::column);
+        this.loadTime = readTime.plusNanos(System.nanoTime() - start);
+        this.loadedAt = Instant.now();
+    }
+
+    /**
+     * Whether {@link #query(Criteria)} can answer the criteria: no joins and only the four built-in
+     * filter types. Custom filters and joins need the database.
+     */
+    public static boolean supports(Criteria criteria) {
+        if (criteria.getJoins() != null && !criteria.getJoins().isEmpty()) {
+            return false;
+        }
+        return criteria.getFilters() == null
+                || criteria.getFilters().stream().allMatch(f -> f instanceof BasicFilter
+                        || f instanceof ContainsFilter
+                        || f instanceof BetweenFilter
+                        || f instanceof DateTimeFilter);
+    }
+
+    /** Matching entities in {@code SortSpec} order (load order, i.e. by id, when unsorted). */
+    public List<E> query(Criteria criteria) {
+        return select(sortedRows(matches(criteria), SortSpecs.toSort(criteria.getSort())), 0, Integer.MAX_VALUE);
+    }
+
+    /** One page of matching entities, like {@code repository.findAll(spec, pageable)}. */
+    public Page<E> query(PageableCriteria criteria) {
+        Sort sort = SortSpecs.toSort(criteria.getSort());
+        PageRequest pageRequest = PageRequest.of(criteria.getPage(), criteria.getSize(), sort);
+        int[] matching = sortedRows(matches(criteria), sort);
+        return new PageImpl<>(
+                select(matching, (int) pageRequest.getOffset(), pageRequest.getPageSize()),
+                pageRequest,
+                matching.length);
+    }
+
+    /** Number of matching entities. */
+    public long count(Criteria criteria) {
+        return matches(criteria).cardinality();
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    public SnapshotStats stats() {
+        Map<String, Long> columnBytes = new LinkedHashMap<>();
+        columns.forEach((path, column) -> columnBytes.put(path, column.estimatedBytes()));
+        return new SnapshotStats(rows.size(), Collections.unmodifiableMap(columnBytes), loadTime, loadedAt);
+    }
+
+    // -- Internals ------------------------------------------------------------------------------
+
+    private BitSet matches(Criteria criteria) {
+        if (!supports(criteria)) {
+            throw new UnsupportedOperationException("Snapshot cannot answer joins or custom filter types");
+        }
+        BitSet result = new BitSet(rows.size());
+        result.set(0, rows.size());
+        for (Filter filter : criteria.getFilters() == null ? List.<Filter>of() : criteria.getFilters()) {
+            result.and(select(filter));
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private BitSet select(Filter filter) {
+        return switch (filter) {
+            case BasicFilter f -> {
+                Column column = column(f.getField());
+                Object value = ValueConversions.castToRequiredType(type(f.getField()), f.getValue());
+                yield switch (f.getOperator()) {
+                    case EQUAL -> column.compare(Comparison.EQ, value);
+                    case NOT_EQUAL -> column.compare(Comparison.NE, value);
+                    case GREATER_THAN -> column.compare(Comparison.GT, (Number) value);
+                    case LESS_THAN -> column.compare(Comparison.LT, (Number) value);
+                    case GREATER_THAN_OR_EQUAL -> column.compare(Comparison.GE, (Number) value);
+                    case LESS_THAN_OR_EQUAL -> column.compare(Comparison.LE, (Number) value);
+                    default -> throw new UnsupportedOperationException("Operation not supported: " + f.getOperator());
+                };
+            }
+            case ContainsFilter f -> {
+                Class<?> type = type(f.getField());
+                yield column(f.getField()).in(f.getValues().stream()
+                        .map(v -> ValueConversions.castToRequiredType(type, v))
+                        .toList());
+            }
+            case DateTimeFilter f -> {
+                Object value = ValueConversions.castToRequiredType(temporalType(f.getField()), f.getValue());
+                Column column = column(f.getField());
+                yield switch (f.getOperator()) {
+                    case AFTER -> column.compare(Comparison.GT, value);
+                    case AFTER_OR_EQUAL -> column.compare(Comparison.GE, value);
+                    case BEFORE -> column.compare(Comparison.LT, value);
+                    case BEFORE_OR_EQUAL -> column.compare(Comparison.LE, value);
+                    case EQUAL -> column.compare(Comparison.EQ, value);
+                    case NOT_EQUAL -> column.compare(Comparison.NE, value);
+                    default -> throw new UnsupportedOperationException("Operation not supported: " + f.getOperator());
+                };
+            }
+            case BetweenFilter f -> {
+                Class<?> type = temporalType(f.getField());
+                Column column = column(f.getField());
+                BitSet result =
+                        column.compare(Comparison.GE, ValueConversions.castToRequiredType(type, f.getStartDateTime()));
+                result.and(column.compare(Comparison.LE, ValueConversions.castToRequiredType(type, f.getEndDateTime())));
+                yield result;
+            }
+            default -> throw new UnsupportedOperationException("Unsupported filter type: " + filter.getType());
+        };
+    }
+
+    /**
+     * Matching row numbers in sort order; the sort is stable, so ties keep load order.
+     */
+    private int[] sortedRows(BitSet matching, Sort sort) {
+        if (sort.isUnsorted()) {
+            return matching.stream().toArray();
+        }
+        Comparator<Integer> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            int[] ranks = column(order.getProperty()).ranks();
+            Comparator<Integer> next = Comparator.comparingInt(row -> ranks[row]);
+            comparator = comparator.thenComparing(order.isDescending() ? next.reversed() : next);
+        }
+        Integer[] rowNumbers = matching.stream().boxed().toArray(Integer[]::new);
+        Arrays.sort(rowNumbers, comparator);
+        return Arrays.stream(rowNumbers).mapToInt(Integer::intValue).toArray();
+    }
+
+    private List<E> select(int[] matching, int offset, int limit) {
+        int end = (int) Math.min(matching.length, (long) offset + limit);
+        List<E> result = new ArrayList<>(Math.max(0, end - offset));
+        for (int i = offset; i < end; i++) {
+            result.add(copier.copy(rows.get(matching[i])));
+        }
+        return result;
+    }
+
+    private Column column(String path) {
+        return columns.computeIfAbsent(path, p -> {
+            PropertyAccessor property = PropertyAccessors.of(entityType, p);
+            Object[] values = new Object[rows.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = property.get(rows.get(i));
+            }
+            return Column.of(p, property.type(), values, bitmapMaxCardinality);
+        });
+    }
+
+    private Class<?> type(String path) {
+        return PropertyAccessors.of(entityType, path).type();
+    }
+
+    private Class<?> temporalType(String path) {
+        return ValueConversions.temporalType(path, type(path));
+    }
+}
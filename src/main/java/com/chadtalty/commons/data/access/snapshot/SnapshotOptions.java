@@ -0,0 +1,38 @@
+package com.chadtalty.commons.data.access.snapshot;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Opt-in configuration of the in-memory snapshot of an {@code AbstractDAO}.
+ *
+ * @param refreshInterval      reload period in the background, or {@code null} to reload only after
+ *                             saves through the DAO and {@link SnapshotStore#invalidate()}.
+ * @param bitmapMaxCardinality dictionary columns with at most this many distinct values get a
+ *                             bitmap index per value.
+ * @param indexedFields        properties whose columns are built eagerly on each load; others are
+ *                             built on first use.
+ */
+public record SnapshotOptions(Duration refreshInterval, int bitmapMaxCardinality, List<String> indexedFields) {
+
+    /** Default for {@link #bitmapMaxCardinality()}. */
+    public static final int DEFAULT_BITMAP_MAX_CARDINALITY = 256;
+
+    public SnapshotOptions {
+        indexedFields = List.copyOf(indexedFields);
+    }
+
+    /** Reloads every {@code refreshInterval} (and after saves), with default indexing. */
+    public static SnapshotOptions refreshEvery(Duration refreshInterval) {
+        return new SnapshotOptions(refreshInterval, DEFAULT_BITMAP_MAX_CARDINALITY, List.of());
+    }
+
+    /** Reloads only after saves through the DAO, with default indexing. */
+    public static SnapshotOptions refreshOnSave() {
+        return refreshEvery(null);
+    }
+
+    public SnapshotOptions withIndexedFields(String... fields) {
+        return new SnapshotOptions(refreshInterval, bitmapMaxCardinality, List.of(fields));
+    }
+}
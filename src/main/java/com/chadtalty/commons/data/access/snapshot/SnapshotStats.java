@@ -0,0 +1,22 @@
+package com.chadtalty.commons.data.access.snapshot;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Size and age of a {@link Snapshot}.
+ *
+ * @param rows        number of entities.
+ * @param columnBytes estimated heap per built column (arrays, dictionaries and bitmaps, not the
+ *                    entities themselves), keyed by property path.
+ * @param loadTime    time to read the rows and build the eager columns.
+ * @param loadedAt    when loading finished.
+ */
+public record SnapshotStats(int rows, Map<String, Long> columnBytes, Duration loadTime, Instant loadedAt) {
+
+    /** Sum of {@link #columnBytes()}. */
+    public long estimatedColumnBytes() {
+        return columnBytes.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
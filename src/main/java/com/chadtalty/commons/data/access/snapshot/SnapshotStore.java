@@ -0,0 +1,123 @@
+package com.chadtalty.commons.data.access.snapshot;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Holds the current {@link Snapshot} of a table and replaces it when it goes stale.
+ *
+ * <p>The first {@link #get()} loads the table. {@link #invalidate()} marks the snapshot stale so the
+ * next {@code get()} reloads it; with a {@link SnapshotOptions#refreshInterval()} a daemon thread
+ * also reloads it periodically. Readers never wait for a background reload: they keep using the
+ * previous snapshot until the new one is complete. If a background reload fails, the previous
+ * snapshot stays in place and the failure is logged.
+ *
+ * @param <E> entity type
+ */
+public final class SnapshotStore<E> implements AutoCloseable {
+
+    private static final Log log = LogFactory.getLog(SnapshotStore.class);
+
+    private final Class<E> entityType;
+
+    private final Supplier<List<E>> loader;
+
+    private final SnapshotOptions options;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Object loadLock = new Object();
+
+    /** Incremented by {@link #invalidate()}; a snapshot is current if loaded at the latest generation. */
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile Snapshot<E> current;
+
+    private volatile long loadedGeneration = -1;
+
+    /**
+     * @param loader reads all rows of the table, in a stable order (e.g. by id).
+     */
+    public SnapshotStore(Class<E> entityType, Supplier<List<E>> loader, SnapshotOptions options) {
+        this.entityType = entityType;
+        this.loader = loader;
+        this.options = options;
+        Duration interval = options.refreshInterval();
+        if (interval == null) {
+            this.scheduler = null;
+        } else {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                    .daemon()
+                    .name("snapshot-refresh-" + entityType.getSimpleName())
+                    .factory());
+            scheduler.scheduleWithFixedDelay(
+                    this::refreshQuietly, interval.toNanos(), interval.toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Returns the current snapshot, loading it first if there is none or it was invalidated.
+     */
+    public Snapshot<E> get() {
+        Snapshot<E> snapshot = current;
+        if (snapshot != null && loadedGeneration == generation.get()) {
+            return snapshot;
+        }
+        synchronized (loadLock) {
+            if (current == null || loadedGeneration != generation.get()) {
+                load();
+            }
+            return current;
+        }
+    }
+
+    /** Marks the snapshot stale; the next {@link #get()} reloads it. */
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    /** Reloads the snapshot now. */
+    public Snapshot<E> refresh() {
+        synchronized (loadLock) {
+            load();
+            return current;
+        }
+    }
+
+    /** The snapshot currently held, without loading; {@code null} before the first load. */
+    public Snapshot<E> peek() {
+        return current;
+    }
+
+    /** Stops the background refresh, if any. */
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void load() {
+        long started = generation.get();
+        long start = System.nanoTime();
+        List<E> rows = loader.get();
+        current = new Snapshot<>(entityType, rows, options, Duration.ofNanos(System.nanoTime() - start));
+        // an invalidate() during the load leaves the new snapshot stale, so it is loaded again
+        loadedGeneration = started;
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Snapshot refresh of " + entityType.getName() + " failed; keeping the previous snapshot", e);
+        }
+    }
+}
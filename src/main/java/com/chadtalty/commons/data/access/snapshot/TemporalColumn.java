@@ -0,0 +1,90 @@
+package com.chadtalty.commons.data.access.snapshot;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Date;
+
+/**
+ * Temporal properties as epoch seconds (UTC for {@link LocalDateTime}) in a {@code long[]} plus
+ * nanos of the second in an {@code int[]}, so a {@link Timestamp} read into a {@code Date} property
+ * still compares with its nanos, and sentinels such as 9999-12-31 stay in range.
+ */
+final class TemporalColumn extends Column {
+
+    private final long[] seconds;
+
+    private final int[] nanos;
+
+    TemporalColumn(Object[] raw) {
+        super(raw.length);
+        this.seconds = new long[raw.length];
+        this.nanos = new int[raw.length];
+        for (int i = 0; i < raw.length; i++) {
+            if (raw[i] == null) {
+                nulls.set(i);
+            } else {
+                seconds[i] = epochSecond(raw[i]);
+                nanos[i] = nano(raw[i]);
+            }
+        }
+    }
+
+    @Override
+    BitSet compare(Comparison comparison, Object filterValue) {
+        long s = epochSecond(filterValue);
+        int n = nano(filterValue);
+        return scan(i -> comparison.test(compare(i, s, n)));
+    }
+
+    @Override
+    BitSet in(Collection<?> filterValues) {
+        long[] s = filterValues.stream().mapToLong(TemporalColumn::epochSecond).toArray();
+        int[] n = filterValues.stream().mapToInt(TemporalColumn::nano).toArray();
+        return scan(i -> {
+            for (int v = 0; v < s.length; v++) {
+                if (compare(i, s[v], n[v]) == 0) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    @Override
+    int compareRows(int a, int b) {
+        return compare(a, seconds[b], nanos[b]);
+    }
+
+    @Override
+    long estimatedBytes() {
+        return 32L + 12L * size + size / 8;
+    }
+
+    private int compare(int row, long s, int n) {
+        int bySecond = Long.compare(seconds[row], s);
+        return bySecond != 0 ? bySecond : Integer.compare(nanos[row], n);
+    }
+
+    private static long epochSecond(Object value) {
+        if (value instanceof Date d) {
+            return Math.floorDiv(d.getTime(), 1000);
+        } else if (value instanceof LocalDateTime t) {
+            return t.toEpochSecond(ZoneOffset.UTC);
+        }
+        throw new IllegalArgumentException("Not a temporal value: " + value.getClass().getName());
+    }
+
+    private static int nano(Object value) {
+        if (value instanceof Timestamp t) {
+            return t.getNanos();
+        } else if (value instanceof Date d) {
+            return Math.floorMod(d.getTime(), 1000) * 1_000_000;
+        } else if (value instanceof LocalDateTime t) {
+            return t.getNano();
+        }
+        throw new IllegalArgumentException("Not a temporal value: " + value.getClass().getName());
+    }
+}
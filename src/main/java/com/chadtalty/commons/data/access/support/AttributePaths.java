@@ -0,0 +1,112 @@
+package com.chadtalty.commons.data.access.support;
+
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Resolution of dotted attribute paths (e.g. {@code "customer.address.postalCode"}) in criteria
+ * queries.
+ */
+public final class AttributePaths {
+
+    /** The join filter paths currently resolve from, for the root it was joined from. */
+    private static final ThreadLocal<Scope> SCOPE = new ThreadLocal<>();
+
+    private record Scope(From<?, ?> root, From<?, ?> join) {}
+
+    private AttributePaths() {}
+
+    /**
+     * Resolves {@code attributePath} from {@code root}, left-joining each intermediate association.
+     *
+     * @param joins joins already created for this query, keyed by path prefix; reused and extended so
+     *              each association is joined once per query.
+     */
+    public static Path<?> resolve(From<?, ?> root, String attributePath, Map<String, From<?, ?>> joins) {
+        String[] parts = attributePath.split("\\.");
+        From<?, ?> from = root;
+        StringBuilder prefix = new StringBuilder();
+        for (int i = 0; i < parts.length - 1; i++) {
+            prefix.append(i == 0 ? "" : ".").append(parts[i]);
+            From<?, ?> parent = from;
+            String name = parts[i];
+            from = joins.computeIfAbsent(prefix.toString(), p -> parent.join(name, JoinType.LEFT));
+        }
+        return from.get(parts[parts.length - 1]);
+    }
+
+    /**
+     * Resolves {@code attributePath} from {@code root} for a filter: a simple name is {@code
+     * root.get(name)}; for a dotted path each association is joined, reusing a join of the same
+     * attribute already present on the query (e.g. one created for a {@code JoinSpec}) and otherwise
+     * creating a left join.
+     *
+     * <p>Inside {@link #within(From, From, Supplier)} paths on that root resolve from the scoped join
+     * instead.
+     */
+    @SuppressWarnings("unchecked")
+    public static <Y> Path<Y> path(From<?, ?> root, String attributePath) {
+        Scope scope = SCOPE.get();
+        From<?, ?> from = scope != null && scope.root() == root ? scope.join() : root;
+        if (attributePath.indexOf('.') < 0) {
+            return from.get(attributePath);
+        }
+        String[] parts = attributePath.split("\\.");
+        for (int i = 0; i < parts.length - 1; i++) {
+            from = joinOf(from, parts[i]);
+        }
+        return (Path<Y>) from.get(parts[parts.length - 1]);
+    }
+
+    /**
+     * Inner-joins the (possibly dotted) association path from {@code root}, reusing an inner join of
+     * the same attribute already on the query, so each association is inner-joined once.
+     */
+    public static From<?, ?> innerJoin(From<?, ?> root, String associationPath) {
+        From<?, ?> from = root;
+        for (String attribute : associationPath.split("\\.")) {
+            from = innerJoinOf(from, attribute);
+        }
+        return from;
+    }
+
+    /**
+     * Runs {@code action} with {@link #path(From, String)} resolving paths on {@code root} from
+     * {@code join}, so a filter written relative to a joined entity binds to that join.
+     */
+    public static <T> T within(From<?, ?> root, From<?, ?> join, Supplier<T> action) {
+        Scope previous = SCOPE.get();
+        SCOPE.set(new Scope(root, join));
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                SCOPE.remove();
+            } else {
+                SCOPE.set(previous);
+            }
+        }
+    }
+
+    private static From<?, ?> joinOf(From<?, ?> from, String attribute) {
+        for (Join<?, ?> join : from.getJoins()) {
+            if (join.getAttribute().getName().equals(attribute)) {
+                return join;
+            }
+        }
+        return from.join(attribute, JoinType.LEFT);
+    }
+
+    private static From<?, ?> innerJoinOf(From<?, ?> from, String attribute) {
+        for (Join<?, ?> join : from.getJoins()) {
+            if (join.getJoinType() == JoinType.INNER && join.getAttribute().getName().equals(attribute)) {
+                return join;
+            }
+        }
+        return from.join(attribute, JoinType.INNER);
+    }
+}
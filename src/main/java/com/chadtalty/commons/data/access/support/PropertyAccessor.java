@@ -0,0 +1,17 @@
+package com.chadtalty.commons.data.access.support;
+
+import java.util.function.Function;
+
+/**
+ * Compiled read access to a (possibly nested) property; see {@link PropertyAccessors}.
+ *
+ * @param path   the dotted property path.
+ * @param type   declared type of the last property, boxed if primitive.
+ * @param getter reads the property; {@code null} if any intermediate value is {@code null}.
+ */
+public record PropertyAccessor(String path, Class<?> type, Function<Object, Object> getter) {
+
+    public Object get(Object target) {
+        return getter.apply(target);
+    }
+}
@@ -0,0 +1,144 @@
+package com.chadtalty.commons.data.access.support;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Generated property getters for in-memory evaluation of criteria.
+ *
+ * <p>Each getter is compiled once per {@code (class, path)} into a {@link Function} through {@link
+ * LambdaMetafactory}, so reads are plain interface calls the JIT can inline instead of reflective
+ * invocations. Where the metafactory cannot link the target (e.g. inaccessible classes), the getter
+ * falls back to a pre-adapted {@link MethodHandle}.
+ *
+ * <p>Properties resolve, in order, to a {@code getX()} or {@code isX()} method, an accessor named
+ * like the property (records), or the field itself.
+ */
+public final class PropertyAccessors {
+
+    private static final ClassValue<Map<String, PropertyAccessor>> CACHE = new ClassValue<>() {
+        @Override
+        protected Map<String, PropertyAccessor> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private static final MethodType GETTER_FACTORY = MethodType.methodType(Function.class);
+
+    private static final MethodType GETTER_ERASED = MethodType.methodType(Object.class, Object.class);
+
+    private PropertyAccessors() {}
+
+    /**
+     * Returns the accessor for {@code path} on {@code type}, compiling it on first use.
+     *
+     * @throws IllegalArgumentException if a path segment names no readable property.
+     */
+    public static PropertyAccessor of(Class<?> type, String path) {
+        return CACHE.get(type).computeIfAbsent(path, p -> compile(type, p));
+    }
+
+    private static PropertyAccessor compile(Class<?> type, String path) {
+        Function<Object, Object> getter = null;
+        Class<?> current = type;
+        for (String name : path.split("\\.")) {
+            Member member = find(current, name, path);
+            Function<Object, Object> step = member.getter();
+            getter = getter == null ? step : nullSafe(getter, step);
+            current = member.type();
+        }
+        return new PropertyAccessor(path, MethodType.methodType(current).wrap().returnType(), getter);
+    }
+
+    private static Function<Object, Object> nullSafe(Function<Object, Object> first, Function<Object, Object> then) {
+        return target -> {
+            Object intermediate = first.apply(target);
+            return intermediate == null ? null : then.apply(intermediate);
+        };
+    }
+
+    private record Member(Class<?> type, Function<Object, Object> getter) {}
+
+    private static Member find(Class<?> type, String name, String path) {
+        String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for (String candidate : new String[] {"get" + capitalized, "is" + capitalized, name}) {
+            Method method = findMethod(type, candidate);
+            if (method != null) {
+                return new Member(method.getReturnType(), compile(method));
+            }
+        }
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            try {
+                Field field = c.getDeclaredField(name);
+                MethodHandle handle = lookupIn(c).unreflectGetter(field);
+                return new Member(field.getType(), invoker(handle));
+            } catch (NoSuchFieldException e) {
+                // keep looking in the superclass
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException("Cannot read field '" + name + "' of " + c.getName(), e);
+            }
+        }
+        throw new IllegalArgumentException("No property '" + name + "' (in '" + path + "') on " + type.getName());
+    }
+
+    private static Method findMethod(Class<?> type, String name) {
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            try {
+                Method method = c.getDeclaredMethod(name);
+                if (method.getReturnType() != void.class) {
+                    return method;
+                }
+            } catch (NoSuchMethodException e) {
+                // keep looking in the superclass
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> compile(Method method) {
+        MethodHandle handle;
+        try {
+            handle = lookupIn(method.getDeclaringClass()).unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Cannot read " + method, e);
+        }
+        try {
+            CallSite site = LambdaMetafactory.metafactory(
+                    MethodHandles.lookup(),
+                    "apply",
+                    GETTER_FACTORY,
+                    GETTER_ERASED,
+                    handle,
+                    handle.type().wrap());
+            return (Function<Object, Object>) site.getTarget().invokeExact();
+        } catch (Throwable e) {
+            return invoker(handle);
+        }
+    }
+
+    private static Function<Object, Object> invoker(MethodHandle handle) {
+        MethodHandle erased = handle.asType(GETTER_ERASED);
+        return target -> {
+            try {
+                return (Object) erased.invokeExact(target);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    private static MethodHandles.Lookup lookupIn(Class<?> type) throws IllegalAccessException {
+        return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+    }
+}
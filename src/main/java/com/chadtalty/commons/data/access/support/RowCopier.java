@@ -0,0 +1,171 @@
+package com.chadtalty.commons.data.access.support;
+
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Persistence;
+import jakarta.persistence.PersistenceUtil;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Field-by-field shallow copies of entities, so snapshot readers and write-behind saves get
+ * instances of their own.
+ *
+ * <p>Every instance field of the class and its superclasses is copied, including the id and version,
+ * so a modified copy can be passed to {@code save}. Referenced objects (associations, collections,
+ * embeddables) are shared with the snapshot. A row of a subclass of the entity type is copied as
+ * that subclass, with its own fields; the copy plan is built once per class.
+ *
+ * @param <E> entity type
+ */
+public final class RowCopier<E> {
+
+    private static final List<Class<? extends Annotation>> ASSOCIATIONS =
+            List.of(ManyToOne.class, OneToOne.class, OneToMany.class, ManyToMany.class, ElementCollection.class);
+
+    /** Copy plans by runtime class, shared by all copiers. */
+    private static final ClassValue<Layout> LAYOUTS = new ClassValue<>() {
+        @Override
+        protected Layout computeValue(Class<?> type) {
+            return new Layout(type);
+        }
+    };
+
+    private final Class<E> entityType;
+
+    /**
+     * @throws IllegalArgumentException if the class has no no-arg constructor or a final instance field.
+     */
+    public RowCopier(Class<E> entityType) {
+        this.entityType = entityType;
+        LAYOUTS.get(entityType);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the row's class has no no-arg constructor or a final
+     *                                  instance field.
+     */
+    @SuppressWarnings("unchecked")
+    public E copy(E row) {
+        return (E) LAYOUTS.get(row.getClass()).copy(row);
+    }
+
+    /**
+     * Rejects rows holding an association that is not loaded (an uninitialized proxy or collection),
+     * which would throw {@code LazyInitializationException} when read from the snapshot.
+     *
+     * @throws IllegalStateException naming the first such association.
+     */
+    public void requireLoaded(List<E> rows) {
+        PersistenceUtil persistence = Persistence.getPersistenceUtil();
+        for (E row : rows) {
+            for (String association : LAYOUTS.get(row.getClass()).associations) {
+                if (!persistence.isLoaded(row, association)) {
+                    throw new IllegalStateException("Rows must not hold unloaded lazy associations: "
+                            + entityType.getSimpleName() + "." + association
+                            + " is not loaded; fetch it eagerly");
+                }
+            }
+        }
+    }
+
+    /** How to copy instances of one class. */
+    private static final class Layout {
+
+        private final MethodHandle constructor;
+
+        private final MethodHandle[] getters;
+
+        private final MethodHandle[] setters;
+
+        private final List<String> associations;
+
+        Layout(Class<?> type) {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+                this.constructor = lookup.findConstructor(type, MethodType.methodType(void.class))
+                        .asType(MethodType.methodType(Object.class));
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalArgumentException(type.getName() + " has no accessible no-arg constructor", e);
+            }
+            List<MethodHandle> getters = new ArrayList<>();
+            List<MethodHandle> setters = new ArrayList<>();
+            for (Class<?> c = type; c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    // skips the session-state fields added by Hibernate's bytecode enhancement
+                    if (Modifier.isStatic(field.getModifiers())
+                            || field.isSynthetic()
+                            || field.getName().startsWith("$$_hibernate_")) {
+                        continue;
+                    }
+                    if (Modifier.isFinal(field.getModifiers())) {
+                        throw new IllegalArgumentException(
+                                "Cannot copy final field " + c.getName() + "." + field.getName());
+                    }
+                    try {
+                        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(c, MethodHandles.lookup());
+                        getters.add(lookup.unreflectGetter(field)
+                                .asType(MethodType.methodType(Object.class, Object.class)));
+                        setters.add(lookup.unreflectSetter(field)
+                                .asType(MethodType.methodType(void.class, Object.class, Object.class)));
+                    } catch (IllegalAccessException e) {
+                        throw new IllegalArgumentException("Cannot access " + c.getName() + "." + field.getName(), e);
+                    }
+                }
+            }
+            this.getters = getters.toArray(MethodHandle[]::new);
+            this.setters = setters.toArray(MethodHandle[]::new);
+            this.associations = associations(type);
+        }
+
+        Object copy(Object row) {
+            try {
+                Object copy = constructor.invokeExact();
+                for (int i = 0; i < getters.length; i++) {
+                    setters[i].invokeExact(copy, getters[i].invokeExact(row));
+                }
+                return copy;
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /** Names of association attributes, annotated on fields or getters. */
+    private static List<String> associations(Class<?> entityType) {
+        Set<String> names = new LinkedHashSet<>();
+        for (Class<?> c = entityType; c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (isAssociation(field)) {
+                    names.add(field.getName());
+                }
+            }
+            for (Method method : c.getDeclaredMethods()) {
+                String name = method.getName();
+                if (isAssociation(method) && name.startsWith("get") && name.length() > 3) {
+                    names.add(Character.toLowerCase(name.charAt(3)) + name.substring(4));
+                }
+            }
+        }
+        return List.copyOf(names);
+    }
+
+    private static boolean isAssociation(AnnotatedElement element) {
+        return ASSOCIATIONS.stream().anyMatch(element::isAnnotationPresent);
+    }
+}
@@ -0,0 +1,140 @@
+package com.chadtalty.commons.data.access.support;
+
+import com.chadtalty.commons.data.query.SortSpec;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+/**
+ * Conversions from {@link SortSpec} to Spring Data {@link Sort}, criteria orders and in-memory
+ * comparators.
+ */
+public final class SortSpecs {
+
+    private SortSpecs() {}
+
+    /**
+     * Converts a {@link SortSpec} into a {@link Sort}: ascending properties first, then descending.
+     * {@code null} sorts lowest, i.e. {@link Sort.NullHandling#NULLS_FIRST} ascending and {@link
+     * Sort.NullHandling#NULLS_LAST} descending, on every database and in {@link #comparator(Class,
+     * Sort)}, so results loaded in parts can be merged in memory.
+     *
+     * @param sortSpec may be {@code null}.
+     * @return {@link Sort#unsorted()} when there is nothing to sort by.
+     */
+    public static Sort toSort(SortSpec sortSpec) {
+        List<Sort.Order> orders = Stream.concat(
+                        Optional.ofNullable(sortSpec).map(SortSpec::getAscending).stream()
+                                .flatMap(Collection::stream)
+                                .map(Sort.Order::asc),
+                        Optional.ofNullable(sortSpec).map(SortSpec::getDescending).stream()
+                                .flatMap(Collection::stream)
+                                .map(Sort.Order::desc))
+                .collect(Collectors.toList());
+
+        return orders.isEmpty() ? Sort.unsorted() : nullsLowest(Sort.by(orders));
+    }
+
+    /**
+     * Makes the native {@link Sort.NullHandling} of each order explicit as "{@code null} sorts
+     * lowest", which {@link #comparator(Class, Sort)} assumes for native orders.
+     */
+    public static Sort nullsLowest(Sort sort) {
+        return Sort.by(sort.stream()
+                .map(order -> order.getNullHandling() != Sort.NullHandling.NATIVE
+                        ? order
+                        : order.isAscending() ? order.nullsFirst() : order.nullsLast())
+                .toList());
+    }
+
+    /**
+     * Converts {@code sort} into criteria orders on {@code root}, like {@link QueryUtils#toOrders},
+     * but renders an explicit {@link Sort.NullHandling} (which JPA criteria queries cannot express)
+     * as a leading {@code CASE WHEN x IS NULL} order. Attributes the metamodel reports as
+     * non-optional are ordered plainly, so an index on them can still serve the order.
+     */
+    public static List<jakarta.persistence.criteria.Order> toOrders(Sort sort, From<?, ?> root, CriteriaBuilder cb) {
+        List<jakarta.persistence.criteria.Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            jakarta.persistence.criteria.Order plain =
+                    QueryUtils.toOrders(Sort.by(order.with(Sort.NullHandling.NATIVE)), root, cb).get(0);
+            if (order.getNullHandling() != Sort.NullHandling.NATIVE && isOptional(root, order.getProperty())) {
+                int nullRank = order.getNullHandling() == Sort.NullHandling.NULLS_FIRST ? 0 : 1;
+                orders.add(cb.asc(cb.<Integer>selectCase()
+                        .when(cb.isNull(plain.getExpression()), nullRank)
+                        .otherwise(1 - nullRank)));
+            }
+            orders.add(plain);
+        }
+        return orders;
+    }
+
+    /**
+     * Builds a comparator that orders entities like the database would for {@code sort}, reading
+     * properties through generated accessors (see {@link PropertyAccessors}) compiled once for
+     * {@code type}. Properties may be nested paths (e.g. {@code "customer.lastName"}) and must be
+     * {@link Comparable}. {@code null} sorts as the order's {@link Sort.NullHandling} says, or lowest
+     * (first ascending, last descending) when it is native.
+     *
+     * <p>Strings compare by {@link String#compareTo}, i.e. by UTF-16 code unit, which matches a
+     * binary collation ({@code COLLATE "C"}, {@code utf8mb4_bin}, ...) only.
+     *
+     * @return a comparator treating all elements as equal when {@code sort} is unsorted.
+     */
+    public static <E> Comparator<E> comparator(Class<E> type, Sort sort) {
+        Comparator<E> result = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            PropertyAccessor property = PropertyAccessors.of(type, order.getProperty());
+            if (!property.type().isPrimitive() && !Comparable.class.isAssignableFrom(property.type())) {
+                throw new IllegalArgumentException(
+                        "Sort property '" + order.getProperty() + "' is not comparable: " + property.type().getName());
+            }
+            Comparator<Comparable<Object>> values = Comparator.naturalOrder();
+            if (order.isDescending()) {
+                values = values.reversed();
+            }
+            boolean nullsFirst = order.getNullHandling() == Sort.NullHandling.NATIVE
+                    ? order.isAscending()
+                    : order.getNullHandling() == Sort.NullHandling.NULLS_FIRST;
+            @SuppressWarnings("unchecked")
+            Comparator<E> next = Comparator.comparing(
+                    (E entity) -> (Comparable<Object>) property.get(entity),
+                    nullsFirst ? Comparator.nullsFirst(values) : Comparator.nullsLast(values));
+            result = result.thenComparing(next);
+        }
+        return result;
+    }
+
+    /**
+     * {@link #comparator(Class, Sort)} for a {@link SortSpec}; for sorting large in-memory
+     * collections.
+     *
+     * @param sortSpec may be {@code null}.
+     */
+    public static <E> Comparator<E> comparator(Class<E> type, SortSpec sortSpec) {
+        return comparator(type, toSort(sortSpec));
+    }
+
+    /**
+     * Whether the attribute at {@code path} may be {@code null}; dotted paths may, through an
+     * optional association.
+     */
+    private static boolean isOptional(From<?, ?> root, String path) {
+        if (path.indexOf('.') >= 0) {
+            return true;
+        }
+        return !(root.getModel() instanceof ManagedType<?> type
+                && type.getAttribute(path) instanceof SingularAttribute<?, ?> attribute
+                && !attribute.isOptional());
+    }
+}
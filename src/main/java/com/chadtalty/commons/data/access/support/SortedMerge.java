@@ -0,0 +1,76 @@
+package com.chadtalty.commons.data.access.support;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * K-way merge of individually sorted lists.
+ */
+public final class SortedMerge {
+
+    private SortedMerge() {}
+
+    /**
+     * Merges lists that are each sorted by {@code comparator} into one sorted list.
+     *
+     * <p>Ties keep the order of the input lists, so an all-equal comparator simply concatenates.
+     *
+     * @param sorted     input lists, each already ordered by {@code comparator}.
+     * @param comparator the shared order.
+     * @param limit      maximum number of elements to return.
+     * @throws IllegalStateException if an input list is not ordered by {@code comparator}, e.g.
+     *     because the database sorted strings by a collation other than the comparator's.
+     */
+    public static <T> List<T> merge(
+            List<? extends List<? extends T>> sorted, Comparator<? super T> comparator, int limit) {
+        PriorityQueue<Cursor<T>> heads = new PriorityQueue<>(Math.max(1, sorted.size()),
+                Comparator.<Cursor<T>, T>comparing(c -> c.head, comparator).thenComparingInt(c -> c.source));
+        for (int i = 0; i < sorted.size(); i++) {
+            Iterator<? extends T> it = sorted.get(i).iterator();
+            if (it.hasNext()) {
+                heads.add(new Cursor<>(i, it));
+            }
+        }
+
+        List<T> merged = new ArrayList<>(Math.min(limit, sorted.stream().mapToInt(List::size).sum()));
+        while (merged.size() < limit && !heads.isEmpty()) {
+            Cursor<T> cursor = heads.poll();
+            T head = cursor.head;
+            merged.add(head);
+            if (cursor.advance()) {
+                if (comparator.compare(head, cursor.head) > 0) {
+                    throw new IllegalStateException("Input " + cursor.source + " is out of order at element "
+                            + cursor.position + "; does the database collate or order nulls differently?");
+                }
+                heads.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    private static final class Cursor<T> {
+
+        private final int source;
+        private final Iterator<? extends T> iterator;
+        private T head;
+        private int position;
+
+        Cursor(int source, Iterator<? extends T> iterator) {
+            this.source = source;
+            this.iterator = iterator;
+            this.head = iterator.next();
+        }
+
+        boolean advance() {
+            if (!iterator.hasNext()) {
+                return false;
+            }
+            head = iterator.next();
+            position++;
+            return true;
+        }
+    }
+}
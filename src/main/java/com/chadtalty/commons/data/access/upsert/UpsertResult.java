@@ -0,0 +1,35 @@
+package com.chadtalty.commons.data.access.upsert;
+
+/**
+ * Outcome of an upsert.
+ *
+ * @param affected   rows inserted or updated; entities repeating a key earlier in the same call
+ *                   are coalesced into one row (the last one wins).
+ * @param inserted   rows that did not exist before, the rest were updated; {@link #NOT_COUNTED}
+ *                   unless the DAO {@code isUpsertCountingInserted()}.
+ * @param statements number of upsert statements issued.
+ */
+public record UpsertResult(int affected, int inserted, int statements) {
+
+    /** {@link #inserted()} of an upsert that did not count existing rows. */
+    public static final int NOT_COUNTED = -1;
+
+    public static final UpsertResult EMPTY = new UpsertResult(0, 0, 0);
+
+    /** Whether {@link #inserted()} and {@link #updated()} were counted. */
+    public boolean isCounted() {
+        return inserted != NOT_COUNTED;
+    }
+
+    /**
+     * Rows that existed before, or {@link #NOT_COUNTED}.
+     */
+    public int updated() {
+        return isCounted() ? affected - inserted : NOT_COUNTED;
+    }
+
+    public UpsertResult plus(UpsertResult other) {
+        int sum = isCounted() && other.isCounted() ? inserted + other.inserted : NOT_COUNTED;
+        return new UpsertResult(affected + other.affected, sum, statements + other.statements);
+    }
+}
@@ -0,0 +1,58 @@
+package com.chadtalty.commons.data.access.warmup;
+
+import com.chadtalty.commons.data.access.AbstractDAO;
+import com.chadtalty.commons.data.access.filter.handler.FilterHandlerFactory;
+import com.chadtalty.commons.data.query.FilterType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+/**
+ * Startup check and warmup of the data access layer, run once all singletons exist, i.e. before the
+ * application context finishes refreshing and the app reports ready.
+ *
+ * <p>Fails startup with {@link IllegalStateException} if a {@link FilterType} has no registered
+ * handler or a DAO's {@linkplain AbstractDAO#warmUp() warmup criteria} fail; logs each DAO's warmup
+ * time and the queries it ran. Register it with {@code @Import(DataAccessWarmup.class)} or by
+ * scanning this package.
+ */
+@Component
+@RequiredArgsConstructor
+public class DataAccessWarmup implements SmartInitializingSingleton {
+
+    private static final Log log = LogFactory.getLog(DataAccessWarmup.class);
+
+    private final FilterHandlerFactory<?> filterHandlerFactory;
+
+    private final ObjectProvider<AbstractDAO<?, ?>> daos;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Set<FilterType> missing = filterHandlerFactory.missingHandlers();
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("No filter handler registered for filter types " + missing);
+        }
+
+        List<String> failures = new ArrayList<>();
+        daos.orderedStream().forEach(dao -> {
+            WarmupReport report = dao.warmUp();
+            log.info("Warmed up " + report.entityType().getSimpleName() + " in " + report.elapsed().toMillis()
+                    + " ms: " + report.attributes() + " attributes, " + report.queries().size() + " queries");
+            for (WarmupReport.Query query : report.queries()) {
+                log.info("  " + query.description() + ": " + query.elapsed().toMillis() + " ms"
+                        + (query.error() == null ? "" : ", failed: " + query.error()));
+            }
+            report.failures().forEach(query ->
+                    failures.add(report.entityType().getSimpleName() + " " + query.description() + ": " + query.error()));
+        });
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException("Warmup criteria failed: " + failures);
+        }
+    }
+}
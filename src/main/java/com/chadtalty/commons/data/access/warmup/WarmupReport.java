@@ -0,0 +1,50 @@
+package com.chadtalty.commons.data.access.warmup;
+
+import com.chadtalty.commons.data.access.filter.Filters;
+import com.chadtalty.commons.data.query.Criteria;
+import com.chadtalty.commons.data.query.Filter;
+import com.chadtalty.commons.data.query.JoinSpec;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Outcome of {@code AbstractDAO#warmUp()}.
+ *
+ * @param entityType entity of the DAO.
+ * @param attributes number of entity fields whose metadata was precomputed.
+ * @param queries    the warmup criteria run, in order.
+ * @param elapsed    total warmup time.
+ */
+public record WarmupReport(Class<?> entityType, int attributes, List<Query> queries, Duration elapsed) {
+
+    /**
+     * One warmup criteria.
+     *
+     * @param description filtered and joined fields, for logs.
+     * @param elapsed     time to run it.
+     * @param error       why it failed, or {@code null}.
+     */
+    public record Query(String description, Duration elapsed, RuntimeException error) {}
+
+    public WarmupReport {
+        queries = List.copyOf(queries);
+    }
+
+    public List<Query> failures() {
+        return queries.stream().filter(q -> q.error() != null).toList();
+    }
+
+    /** Short description of a criteria for logs, e.g. {@code filters [status, region], joins [customer]}. */
+    public static String describe(Criteria criteria) {
+        String filters = Objects.requireNonNullElse(criteria.getFilters(), List.<Filter>of()).stream()
+                .flatMap(f -> Filters.leaves(f).stream())
+                .map(f -> Objects.requireNonNullElse(Filters.fieldOf(f), f.getClass().getSimpleName()))
+                .collect(Collectors.joining(", ", "[", "]"));
+        String joins = Objects.requireNonNullElse(criteria.getJoins(), List.<JoinSpec>of()).stream()
+                .map(JoinSpec::getJoin)
+                .collect(Collectors.joining(", ", "[", "]"));
+        return "filters " + filters + ", joins " + joins;
+    }
+}
@@ -0,0 +1,341 @@
+package com.chadtalty.commons.data.access.writebehind;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Buffers saves per entity id and writes them in batches.
+ *
+ * <p>A save of an entity that is already buffered replaces it, so an entity saved many times
+ * between flushes is written once, in its latest state. A daemon thread flushes every {@link
+ * WriteBehindOptions#flushInterval()} and whenever {@link WriteBehindOptions#maxBatchSize()}
+ * entities are buffered. When {@link WriteBehindOptions#capacity()} entities are buffered, {@link
+ * #add(Object)} waits for a flush to make room.
+ *
+ * <p>When a batch fails, its entities are written one by one, so one bad entity does not hold back
+ * the others. An entity whose write fails stays buffered, unless saved again in the meantime, and
+ * is retried by the next flush; after {@link WriteBehindOptions#maxAttempts()} failed writes it is
+ * dropped and handed to the dead-letter sink instead.
+ *
+ * @param <E> entity type
+ */
+public final class WriteBehindBuffer<E> implements AutoCloseable {
+
+    private static final Log log = LogFactory.getLog(WriteBehindBuffer.class);
+
+    private final Class<E> entityType;
+
+    private final Function<E, Object> idOf;
+
+    private final Consumer<List<E>> writer;
+
+    private final BiConsumer<E, RuntimeException> deadLetters;
+
+    private final WriteBehindOptions options;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition notFull = lock.newCondition();
+
+    /** Buffered entities by id, in order of their first save since the last flush. */
+    private final LinkedHashMap<Object, E> pending = new LinkedHashMap<>();
+
+    /** Failed writes of the buffered entities by id; a new save of the entity starts over. */
+    private final Map<Object, Integer> attempts = new HashMap<>();
+
+    /** Serializes flushes, so writes of the same entity reach the database in save order. */
+    private final Object flushLock = new Object();
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private final AtomicLong submitted = new AtomicLong();
+
+    private final AtomicLong coalesced = new AtomicLong();
+
+    private final AtomicLong written = new AtomicLong();
+
+    private final AtomicLong flushes = new AtomicLong();
+
+    private final AtomicLong failedFlushes = new AtomicLong();
+
+    private final AtomicLong deadLettered = new AtomicLong();
+
+    private final AtomicLong lastFlushNanos = new AtomicLong();
+
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+
+    private final AtomicLong totalFlushNanos = new AtomicLong();
+
+    /**
+     * A buffer which logs the entities it gives up on.
+     *
+     * @param idOf   identifies the row an entity is written to.
+     * @param writer writes one batch, e.g. in one transaction with JDBC batching.
+     */
+    public WriteBehindBuffer(
+            Class<E> entityType, Function<E, Object> idOf, Consumer<List<E>> writer, WriteBehindOptions options) {
+        this(entityType, idOf, writer, options, (entity, error) -> log.error("Write-behind of "
+                + entityType.getName() + " " + idOf.apply(entity) + " failed " + options.maxAttempts()
+                + " times; dropping it", error));
+    }
+
+    /**
+     * @param idOf        identifies the row an entity is written to.
+     * @param writer      writes one batch, e.g. in one transaction with JDBC batching.
+     * @param deadLetters receives each entity given up after {@link WriteBehindOptions#maxAttempts()}
+     *                    failed writes, with the last failure; called on the flushing thread.
+     */
+    public WriteBehindBuffer(
+            Class<E> entityType,
+            Function<E, Object> idOf,
+            Consumer<List<E>> writer,
+            WriteBehindOptions options,
+            BiConsumer<E, RuntimeException> deadLetters) {
+        this.entityType = entityType;
+        this.idOf = idOf;
+        this.writer = writer;
+        this.options = options;
+        this.deadLetters = deadLetters;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .daemon()
+                .name("write-behind-" + entityType.getSimpleName())
+                .factory());
+        long interval = options.flushInterval().toNanos();
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Buffers the entity, replacing a buffered save of the same id.
+     *
+     * @throws IllegalStateException if the buffer is closed, or still full after {@link
+     *                               WriteBehindOptions#offerTimeout()}.
+     */
+    public void add(E entity) {
+        Object id = idOf.apply(entity);
+        boolean batchReady;
+        lock.lock();
+        try {
+            long nanos = options.offerTimeout().toNanos();
+            while (!pending.containsKey(id) && pending.size() >= options.capacity()) {
+                ensureOpen();
+                if (nanos <= 0) {
+                    throw new IllegalStateException("Write-behind buffer of " + entityType.getName() + " is full ("
+                            + options.capacity() + " entities)");
+                }
+                try {
+                    nanos = notFull.awaitNanos(nanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted waiting for the write-behind buffer", e);
+                }
+            }
+            ensureOpen();
+            if (pending.put(id, entity) != null) {
+                coalesced.incrementAndGet();
+            }
+            attempts.remove(id);
+            submitted.incrementAndGet();
+            batchReady = pending.size() >= options.maxBatchSize();
+        } finally {
+            lock.unlock();
+        }
+        if (batchReady && flushScheduled.compareAndSet(false, true)) {
+            scheduler.execute(() -> {
+                flushScheduled.set(false);
+                flushQuietly();
+            });
+        }
+    }
+
+    /**
+     * Writes the entities buffered when called, in batches of at most {@link
+     * WriteBehindOptions#maxBatchSize()}, on the calling thread.
+     *
+     * @throws RuntimeException the writer's exception, after putting the entities that failed on
+     *                          their own back (or giving them up).
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            int remaining = queueDepth();
+            while (remaining > 0) {
+                List<E> batch = take(Math.min(remaining, options.maxBatchSize()));
+                if (batch.isEmpty()) {
+                    return;
+                }
+                remaining -= batch.size();
+                write(batch);
+            }
+        }
+    }
+
+    /** Current counters. */
+    public WriteBehindStats stats() {
+        return new WriteBehindStats(
+                submitted.get(),
+                coalesced.get(),
+                written.get(),
+                flushes.get(),
+                failedFlushes.get(),
+                deadLettered.get(),
+                queueDepth(),
+                Duration.ofNanos(lastFlushNanos.get()),
+                Duration.ofNanos(maxFlushNanos.get()),
+                Duration.ofNanos(totalFlushNanos.get()));
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * Rejects further saves, stops the background flushes and writes everything still buffered.
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        lock.lock();
+        try {
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(options.offerTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private int queueDepth() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<E> take(int max) {
+        List<E> batch = new ArrayList<>(max);
+        lock.lock();
+        try {
+            Iterator<E> it = pending.values().iterator();
+            while (batch.size() < max && it.hasNext()) {
+                batch.add(it.next());
+                it.remove();
+            }
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        return batch;
+    }
+
+    private void write(List<E> batch) {
+        RuntimeException failure = tryWrite(batch);
+        if (failure == null) {
+            return;
+        }
+        if (batch.size() == 1) {
+            retryOrGiveUp(batch.get(0), failure);
+            throw failure;
+        }
+        // isolate the entities that fail on their own, so they do not hold back the rest
+        boolean failed = false;
+        for (E entity : batch) {
+            RuntimeException single = tryWrite(List.of(entity));
+            if (single != null) {
+                retryOrGiveUp(entity, single);
+                failed = true;
+            }
+        }
+        if (failed) {
+            throw failure;
+        }
+    }
+
+    /** Writes the batch; the writer's exception, or {@code null} on success. */
+    private RuntimeException tryWrite(List<E> batch) {
+        long start = System.nanoTime();
+        try {
+            writer.accept(batch);
+        } catch (RuntimeException e) {
+            failedFlushes.incrementAndGet();
+            return e;
+        }
+        long nanos = System.nanoTime() - start;
+        written.addAndGet(batch.size());
+        flushes.incrementAndGet();
+        lastFlushNanos.set(nanos);
+        maxFlushNanos.accumulateAndGet(nanos, Math::max);
+        totalFlushNanos.addAndGet(nanos);
+        return null;
+    }
+
+    /**
+     * Puts an entity whose write failed back, unless it was saved again since; gives it up once it
+     * has failed {@link WriteBehindOptions#maxAttempts()} times.
+     */
+    private void retryOrGiveUp(E entity, RuntimeException error) {
+        Object id = idOf.apply(entity);
+        lock.lock();
+        try {
+            if (pending.containsKey(id)) {
+                return;
+            }
+            int failures = attempts.merge(id, 1, Integer::sum);
+            if (failures < options.maxAttempts()) {
+                pending.put(id, entity);
+                return;
+            }
+            attempts.remove(id);
+        } finally {
+            lock.unlock();
+        }
+        deadLettered.incrementAndGet();
+        try {
+            deadLetters.accept(entity, error);
+        } catch (RuntimeException e) {
+            log.error("Write-behind dead-letter sink of " + entityType.getName() + " failed", e);
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed.get()) {
+            throw new IllegalStateException("Write-behind buffer of " + entityType.getName() + " is closed");
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Write-behind flush of " + entityType.getName() + " failed; retrying the failed entities", e);
+        }
+    }
+}
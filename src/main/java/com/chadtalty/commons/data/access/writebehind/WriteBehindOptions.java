@@ -0,0 +1,67 @@
+package com.chadtalty.commons.data.access.writebehind;
+
+import java.time.Duration;
+
+/**
+ * Opt-in configuration of the write-behind buffer of an {@code AbstractDAO}.
+ *
+ * @param flushInterval how often buffered saves are written in the background.
+ * @param maxBatchSize  rows per write; reaching it also triggers a background flush.
+ * @param capacity      maximum distinct entities buffered; further saves wait for a flush.
+ * @param offerTimeout  how long a save waits for room before failing.
+ * @param maxAttempts   writes of an entity that fail before it is given up as a dead letter.
+ */
+public record WriteBehindOptions(
+        Duration flushInterval, int maxBatchSize, int capacity, Duration offerTimeout, int maxAttempts) {
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+    public static final int DEFAULT_CAPACITY = 10_000;
+
+    public static final Duration DEFAULT_OFFER_TIMEOUT = Duration.ofSeconds(5);
+
+    public static final int DEFAULT_MAX_ATTEMPTS = 5;
+
+    public WriteBehindOptions {
+        if (flushInterval == null || flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new IllegalArgumentException("flushInterval must be positive: " + flushInterval);
+        }
+        if (maxBatchSize < 1 || capacity < maxBatchSize) {
+            throw new IllegalArgumentException(
+                    "Need 0 < maxBatchSize <= capacity, got " + maxBatchSize + " and " + capacity);
+        }
+        if (offerTimeout == null || offerTimeout.isNegative()) {
+            throw new IllegalArgumentException("offerTimeout must not be negative: " + offerTimeout);
+        }
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be positive: " + maxAttempts);
+        }
+    }
+
+    /** Options with {@link #DEFAULT_MAX_ATTEMPTS}. */
+    public WriteBehindOptions(Duration flushInterval, int maxBatchSize, int capacity, Duration offerTimeout) {
+        this(flushInterval, maxBatchSize, capacity, offerTimeout, DEFAULT_MAX_ATTEMPTS);
+    }
+
+    /** Flushes every {@code flushInterval}, with default batch size, capacity and timeout. */
+    public static WriteBehindOptions flushEvery(Duration flushInterval) {
+        return new WriteBehindOptions(flushInterval, DEFAULT_MAX_BATCH_SIZE, DEFAULT_CAPACITY, DEFAULT_OFFER_TIMEOUT);
+    }
+
+    public WriteBehindOptions withMaxBatchSize(int maxBatchSize) {
+        return new WriteBehindOptions(
+                flushInterval, maxBatchSize, Math.max(capacity, maxBatchSize), offerTimeout, maxAttempts);
+    }
+
+    public WriteBehindOptions withCapacity(int capacity) {
+        return new WriteBehindOptions(flushInterval, maxBatchSize, capacity, offerTimeout, maxAttempts);
+    }
+
+    public WriteBehindOptions withOfferTimeout(Duration offerTimeout) {
+        return new WriteBehindOptions(flushInterval, maxBatchSize, capacity, offerTimeout, maxAttempts);
+    }
+
+    public WriteBehindOptions withMaxAttempts(int maxAttempts) {
+        return new WriteBehindOptions(flushInterval, maxBatchSize, capacity, offerTimeout, maxAttempts);
+    }
+}
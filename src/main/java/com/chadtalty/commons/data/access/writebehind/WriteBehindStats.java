@@ -0,0 +1,40 @@
+package com.chadtalty.commons.data.access.writebehind;
+
+import java.time.Duration;
+
+/**
+ * Counters of a {@link WriteBehindBuffer}.
+ *
+ * @param submitted        saves accepted into the buffer.
+ * @param coalesced        saves that replaced a buffered save of the same entity.
+ * @param written          entities written by flushes.
+ * @param flushes          batches written.
+ * @param failedFlushes    writes that failed (their entities stay buffered for a retry).
+ * @param deadLettered     entities given up after {@link WriteBehindOptions#maxAttempts()} failed
+ *                         writes.
+ * @param queueDepth       distinct entities buffered now.
+ * @param lastFlushLatency write time of the latest batch.
+ * @param maxFlushLatency  longest batch write time.
+ * @param totalFlushTime   sum of all batch write times.
+ */
+public record WriteBehindStats(
+        long submitted,
+        long coalesced,
+        long written,
+        long flushes,
+        long failedFlushes,
+        long deadLettered,
+        int queueDepth,
+        Duration lastFlushLatency,
+        Duration maxFlushLatency,
+        Duration totalFlushTime) {
+
+    /** Share of saves merged into another one, between 0 and 1. */
+    public double coalescingRatio() {
+        return submitted == 0 ? 0 : (double) coalesced / submitted;
+    }
+
+    public Duration averageFlushLatency() {
+        return flushes == 0 ? Duration.ZERO : totalFlushTime.dividedBy(flushes);
+    }
+}
@@ -0,0 +1,136 @@
+package com.chadtalty.commons.data.access;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.chadtalty.commons.data.access.aggregate.Aggregate;
+import com.chadtalty.commons.data.access.aggregate.AggregateQuery;
+import com.chadtalty.commons.data.access.aggregate.AggregateRow;
+import com.chadtalty.commons.data.access.testutil.JpaTestConfig;
+import com.chadtalty.commons.data.access.testutil.TestOrder;
+import com.chadtalty.commons.data.access.testutil.TestOrderDAO;
+import com.chadtalty.commons.data.query.BasicFilter;
+import com.chadtalty.commons.data.query.Criteria;
+import com.chadtalty.commons.data.query.SortSpec;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+/** Database-side aggregation of {@link AbstractDAO} against embedded H2. */
+@SpringJUnitConfig(JpaTestConfig.class)
+class AbstractDAOAggregateTest {
+
+    @Autowired TestOrderDAO dao;
+
+    record StatusTotals(String status, long count, BigDecimal total) {}
+
+    /** OPEN: EU 10, EU 20, US 30; CLOSED: EU 5, APAC 5; CANCELLED: US (no amount). */
+    @BeforeEach
+    void setUp() {
+        dao.getRepository().deleteAllInBatch();
+        List<TestOrder> orders = new ArrayList<>();
+        orders.add(order("OPEN", "EU", 1, "10"));
+        orders.add(order("OPEN", "EU", 2, "20"));
+        orders.add(order("OPEN", "US", 3, "30"));
+        orders.add(order("CLOSED", "EU", 1, "5"));
+        orders.add(order("CLOSED", "APAC", 2, "5"));
+        orders.add(order("CANCELLED", "US", 4, null));
+        dao.getRepository().saveAll(orders);
+    }
+
+    @Test
+    void groupBy_computesAllFunctionsPerGroup() {
+        List<AggregateRow> rows = dao.aggregate(new Criteria(), AggregateQuery.builder()
+                .groupBy(List.of("status"))
+                .aggregates(List.of(
+                        Aggregate.count(),
+                        Aggregate.countDistinct("region"),
+                        Aggregate.sum("amount"),
+                        Aggregate.avg("priority"),
+                        Aggregate.min("priority"),
+                        Aggregate.max("priority")))
+                .sort(new SortSpec(List.of("status"), List.of()))
+                .build());
+
+        assertEquals(List.of("CANCELLED", "CLOSED", "OPEN"), rows.stream().map(r -> r.get("status")).toList());
+        AggregateRow open = rows.get(2);
+        assertEquals(3L, open.getLong("count"));
+        assertEquals(2L, open.getLong("count_distinct_region"));
+        assertEquals(0, new BigDecimal("60").compareTo(open.getBigDecimal("sum_amount")));
+        assertEquals(2.0, open.getDouble("avg_priority"), 1e-9);
+        assertEquals(1, open.get("min_priority", Integer.class));
+        assertEquals(3, open.get("max_priority", Integer.class));
+        assertNull(rows.get(0).get("sum_amount"));
+    }
+
+    @Test
+    void criteriaFilters_restrictInputRows() {
+        Criteria criteria = new Criteria();
+        criteria.setFilters(List.of(BasicFilter.builder()
+                .field("region")
+                .operator(BasicFilter.Operator.EQUAL)
+                .value("EU")
+                .build()));
+
+        List<AggregateRow> rows = dao.aggregate(criteria, AggregateQuery.builder()
+                .aggregates(List.of(Aggregate.count(), Aggregate.sum("amount").as("total")))
+                .build());
+
+        assertEquals(1, rows.size());
+        assertEquals(3L, rows.get(0).getLong("count"));
+        assertEquals(0, new BigDecimal("35").compareTo(rows.get(0).getBigDecimal("total")));
+    }
+
+    @Test
+    void having_sortByAggregate_limit_andRecordMapping() {
+        List<StatusTotals> rows = dao.aggregate(new Criteria(), AggregateQuery.builder()
+                        .groupBy(List.of("status"))
+                        .aggregates(List.of(Aggregate.count(), Aggregate.sum("amount").as("total")))
+                        .having(List.of(BasicFilter.builder()
+                                .field("count")
+                                .operator(BasicFilter.Operator.GREATER_THAN_OR_EQUAL)
+                                .value("2")
+                                .build()))
+                        .sort(new SortSpec(List.of(), List.of("total")))
+                        .limit(1)
+                        .build())
+                .stream()
+                .map(row -> row.as(StatusTotals.class))
+                .toList();
+
+        assertEquals(1, rows.size());
+        assertEquals("OPEN", rows.get(0).status());
+        assertEquals(3L, rows.get(0).count());
+    }
+
+    @Test
+    void unknownSortColumn_isRejected() {
+        AggregateQuery query = AggregateQuery.builder()
+                .groupBy(List.of("status"))
+                .aggregates(List.of(Aggregate.count()))
+                .sort(new SortSpec(List.of("region"), List.of()))
+                .build();
+
+        assertThrows(InvalidDataAccessApiUsageException.class, () -> dao.aggregate(new Criteria(), query));
+    }
+
+    @Test
+    void duplicateAlias_isRejected() {
+        AggregateQuery query = AggregateQuery.builder()
+                .groupBy(List.of("status"))
+                .aggregates(List.of(Aggregate.count().as("status")))
+                .build();
+
+        assertThrows(InvalidDataAccessApiUsageException.class, () -> dao.aggregate(new Criteria(), query));
+    }
+
+    private static TestOrder order(String status, String region, int priority, String amount) {
+        TestOrder order = new TestOrder(status, region, priority);
+        order.setAmount(amount == null ? null : new BigDecimal(amount));
+        return order;
+    }
+}
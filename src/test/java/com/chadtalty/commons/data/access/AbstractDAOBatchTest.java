@@ -0,0 +1,219 @@
+package com.chadtalty.commons.data.access;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.chadtalty.commons.data.access.batch.BatchQuery;
+import com.chadtalty.commons.data.access.batch.BatchResult;
+import com.chadtalty.commons.data.access.filter.CompositeFilter;
+import com.chadtalty.commons.data.access.filter.handler.AbstractFilterHandler;
+import com.chadtalty.commons.data.access.filter.handler.FilterHandlerFactory;
+import com.chadtalty.commons.data.access.testutil.JpaTestConfig;
+import com.chadtalty.commons.data.access.testutil.TestCustomer;
+import com.chadtalty.commons.data.access.testutil.TestOrder;
+import com.chadtalty.commons.data.access.testutil.TestOrderDAO;
+import com.chadtalty.commons.data.query.BasicFilter;
+import com.chadtalty.commons.data.query.Criteria;
+import com.chadtalty.commons.data.query.Filter;
+import com.chadtalty.commons.data.query.JoinSpec;
+import com.chadtalty.commons.data.query.PageableCriteria;
+import com.chadtalty.commons.data.query.SortSpec;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** Batched criteria execution of {@link AbstractDAO} against embedded H2. */
+@SpringJUnitConfig(JpaTestConfig.class)
+class AbstractDAOBatchTest {
+
+    @Autowired TestOrderDAO dao;
+    @Autowired FilterHandlerFactory<TestOrder> factory;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired EntityManagerFactory entityManagerFactory;
+    @PersistenceContext EntityManager entityManager;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        dao.getRepository().deleteAllInBatch();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            TestCustomer smith = new TestCustomer("Smith");
+            entityManager.persist(smith);
+            persist("OPEN", "EU", 1, smith);
+            persist("OPEN", "US", 2, null);
+            persist("CLOSED", "EU", 3, smith);
+            persist("CLOSED", "US", 4, null);
+            persist("CLOSED", "APAC", 5, null);
+        });
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void mixedBatch_inOrder_countsCombined_oneTransaction() {
+        List<BatchResult<TestOrder>> results = dao.batch(dashboard());
+
+        assertEquals(5, results.size());
+        assertEquals(2L, results.get(0).count());
+        assertNull(results.get(0).results());
+        assertEquals(4L, results.get(1).count());
+        assertEquals(5L, results.get(2).count());
+        assertEquals(List.of(1, 3), priorities(results.get(3)));
+        assertNull(results.get(3).count());
+        assertEquals(List.of(5), priorities(results.get(4)));
+        assertEquals(3L, results.get(4).count());
+
+        // one combined count statement plus one per result list
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getTransactionCount());
+    }
+
+    @Test
+    void failingQuery_isReportedAlone() {
+        List<BatchResult<TestOrder>> results = dao.batch(List.of(
+                BatchQuery.count(criteria(basic("status", "OPEN"))),
+                BatchQuery.count(criteria(basic("unknown", "x"))),
+                BatchQuery.results(criteria(BasicFilter.builder()
+                        .field("priority")
+                        .operator(BasicFilter.Operator.EQUAL)
+                        .value("high")
+                        .build())),
+                BatchQuery.count(criteria(basic("region", "EU")))));
+
+        assertEquals(2L, results.get(0).count());
+        assertFalse(results.get(1).isSuccess());
+        assertNotNull(results.get(1).error());
+        assertFalse(results.get(2).isSuccess());
+        assertInstanceOf(NumberFormatException.class, results.get(2).error());
+        assertEquals(2L, results.get(3).count());
+    }
+
+    @Test
+    void statementFailingInTheDatabase_isReportedAlone_andTheRestContinueInANewTransaction() {
+        factory.register(DivideByZeroFilter.class, new DivideByZeroFilterHandler());
+
+        List<BatchResult<TestOrder>> results = dao.batch(List.of(
+                BatchQuery.count(criteria(basic("status", "OPEN"))),
+                BatchQuery.results(criteria(new DivideByZeroFilter())),
+                BatchQuery.count(criteria(basic("region", "EU"))),
+                BatchQuery.results(criteria(basic("region", "APAC")))));
+
+        assertEquals(2L, results.get(0).count());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals(2L, results.get(2).count());
+        assertEquals(List.of(5), priorities(results.get(3)));
+        // the combined count and the failing statement, then the last query
+        assertEquals(2, statistics.getTransactionCount());
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void statementFailingInTheDatabase_leavesTheCallersTransactionCommittable() {
+        factory.register(DivideByZeroFilter.class, new DivideByZeroFilterHandler());
+
+        List<BatchResult<TestOrder>> results = new TransactionTemplate(transactionManager).execute(status -> {
+            entityManager.persist(new TestOrder("OPEN", "EU", 6));
+            return dao.batch(List.of(
+                    BatchQuery.count(criteria(new DivideByZeroFilter())),
+                    BatchQuery.count(criteria(basic("status", "OPEN")))));
+        });
+
+        assertFalse(results.get(0).isSuccess());
+        // the batch runs in a transaction of its own, which does not see the uncommitted order
+        assertEquals(2L, results.get(1).count());
+        assertEquals(6, dao.getRepository().count());
+    }
+
+    @Test
+    void countsWithJoins_runSeparately() {
+        JoinSpec join = new JoinSpec();
+        join.setJoin("customer");
+        join.setFilter(basic("lastName", "Smith"));
+        Criteria joined = criteria(basic("status", "CLOSED"));
+        joined.setJoins(List.of(join));
+
+        List<BatchResult<TestOrder>> results = dao.batch(List.of(
+                BatchQuery.count(joined),
+                BatchQuery.count(criteria(basic("status", "CLOSED"))),
+                BatchQuery.count(criteria(CompositeFilter.or(basic("region", "EU"), basic("region", "APAC"))))));
+
+        assertEquals(List.of(1L, 3L, 3L), results.stream().map(BatchResult::count).toList());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void concurrent_matchesSingleTransaction() {
+        List<BatchResult<TestOrder>> sequential = dao.batch(dashboard());
+        List<BatchResult<TestOrder>> concurrent = dao.batch(dashboard(), 4);
+
+        for (int i = 0; i < sequential.size(); i++) {
+            assertEquals(sequential.get(i).count(), concurrent.get(i).count());
+            assertEquals(priorities(sequential.get(i)), priorities(concurrent.get(i)));
+        }
+    }
+
+    /** Builds fine, fails when the database evaluates it. */
+    static class DivideByZeroFilter extends Filter {}
+
+    static class DivideByZeroFilterHandler extends AbstractFilterHandler<TestOrder> {
+
+        @Override
+        public void init() {}
+
+        @Override
+        public Specification<TestOrder> handle(Filter filter) {
+            return (root, query, cb) ->
+                    cb.gt(cb.quot(path(root, "priority"), cb.diff(path(root, "priority"), path(root, "priority"))), 0);
+        }
+    }
+
+    private List<BatchQuery> dashboard() {
+        Criteria eu = criteria(basic("region", "EU"));
+        eu.setSort(new SortSpec(List.of("priority"), List.of()));
+        PageableCriteria closed = new PageableCriteria();
+        closed.setFilters(List.of(basic("status", "CLOSED")));
+        closed.setSort(new SortSpec(List.of("priority"), List.of()));
+        closed.setPage(1);
+        closed.setSize(2);
+        return List.of(
+                BatchQuery.count(criteria(basic("status", "OPEN"))),
+                BatchQuery.count(criteria(BasicFilter.builder()
+                        .field("priority")
+                        .operator(BasicFilter.Operator.GREATER_THAN)
+                        .value("1")
+                        .build())),
+                BatchQuery.count(new Criteria()),
+                BatchQuery.results(eu),
+                BatchQuery.resultsAndCount(closed));
+    }
+
+    private static List<Integer> priorities(BatchResult<TestOrder> result) {
+        return result.results() == null ? null : result.results().stream().map(TestOrder::getPriority).toList();
+    }
+
+    private static Criteria criteria(Filter filter) {
+        Criteria criteria = new Criteria();
+        criteria.setFilters(List.of(filter));
+        return criteria;
+    }
+
+    private static BasicFilter basic(String field, String value) {
+        return BasicFilter.builder().field(field).operator(BasicFilter.Operator.EQUAL).value(value).build();
+    }
+
+    private void persist(String status, String region, int priority, TestCustomer customer) {
+        TestOrder order = new TestOrder(status, region, priority);
+        order.setCustomer(customer);
+        entityManager.persist(order);
+    }
+}
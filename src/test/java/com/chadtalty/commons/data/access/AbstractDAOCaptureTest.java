@@ -0,0 +1,181 @@
+package com.chadtalty.commons.data.access;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.chadtalty.commons.data.access.capture.CaptureFile;
+import com.chadtalty.commons.data.access.capture.CaptureOptions;
+import com.chadtalty.commons.data.access.capture.CapturedQuery;
+import com.chadtalty.commons.data.access.capture.QueryOperation;
+import com.chadtalty.commons.data.access.capture.QueryReplayer;
+import com.chadtalty.commons.data.access.capture.ReplayOptions;
+import com.chadtalty.commons.data.access.capture.ReplayReport;
+import com.chadtalty.commons.data.access.capture.ReplayValues;
+import com.chadtalty.commons.data.access.capture.ShapeStats;
+import com.chadtalty.commons.data.access.testutil.JpaTestConfig;
+import com.chadtalty.commons.data.access.testutil.TestOrder;
+import com.chadtalty.commons.data.access.testutil.TestOrderDAO;
+import com.chadtalty.commons.data.access.testutil.TestOrderRepository;
+import com.chadtalty.commons.data.query.BasicFilter;
+import com.chadtalty.commons.data.query.ContainsFilter;
+import com.chadtalty.commons.data.query.Criteria;
+import com.chadtalty.commons.data.query.PageableCriteria;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+/** Query capture of {@link AbstractDAO} and its replay against embedded H2. */
+@SpringJUnitConfig({JpaTestConfig.class, AbstractDAOCaptureTest.CaptureConfig.class})
+class AbstractDAOCaptureTest {
+
+    static final Path FILE = tempFile();
+
+    /** Records every query with redacted values. */
+    static class CapturingOrderDAO extends AbstractDAO<TestOrder, TestOrderRepository> {
+        @Override
+        protected CaptureOptions getCaptureOptions() {
+            return CaptureOptions.to(FILE);
+        }
+    }
+
+    @Configuration
+    static class CaptureConfig {
+        @Bean
+        CapturingOrderDAO capturingOrderDAO() {
+            return new CapturingOrderDAO();
+        }
+    }
+
+    @Autowired CapturingOrderDAO capturingDao;
+
+    /** Replays without recording. */
+    @Autowired TestOrderDAO dao;
+
+    @BeforeEach
+    void setUp() {
+        dao.getRepository().deleteAllInBatch();
+        List<TestOrder> orders = new ArrayList<>();
+        for (String status : List.of("OPEN", "CLOSED")) {
+            for (String region : List.of("EU", "US", "APAC")) {
+                for (int priority = 1; priority <= 5; priority++) {
+                    orders.add(new TestOrder(status, region, priority));
+                }
+            }
+        }
+        dao.getRepository().saveAll(orders);
+    }
+
+    @Test
+    void capturedTraffic_replaysWithSampledValues() {
+        List<CapturedQuery> queries = capture(() -> {
+            for (String region : List.of("EU", "US", "APAC", "EU")) {
+                capturingDao.getQueryResult(regionIs(region));
+                capturingDao.count(regionIs(region));
+            }
+            capturingDao.getQueryResultPage(statusInPage());
+            assertThrows(RuntimeException.class, () -> capturingDao.getQueryResult(fieldIs("noSuchField")));
+        });
+
+        assertEquals(10, queries.size());
+        assertEquals(10, queries.get(0).rows());
+        assertEquals(QueryOperation.COUNT, queries.get(1).operation());
+        assertEquals(10, queries.get(1).rows());
+        assertEquals(QueryOperation.PAGE, queries.get(8).operation());
+        assertEquals(4, queries.get(8).rows());
+        assertTrue(queries.get(9).failed());
+        assertTrue(queries.stream().allMatch(q -> q.values().stream().allMatch(v -> v == null)));
+
+        ReplayValues values = ReplayValues.sampledFrom(dao, List.of("region", "status"), 3);
+        ReplayReport report = QueryReplayer.replay(queries, dao, ReplayOptions.unpaced(4).withValues(values));
+
+        assertEquals(10, report.queries());
+        assertEquals(1, report.failures());
+        assertEquals(4, report.shapes().size());
+        ShapeStats list = report.shapes().get(0);
+        assertEquals(QueryOperation.LIST, list.operation());
+        assertEquals(4, list.count());
+        assertEquals(0, list.failures());
+        assertEquals(40, list.rows());
+        ShapeStats page = report.shapes().get(2);
+        assertEquals(QueryOperation.PAGE, page.operation());
+        assertEquals(4, page.rows());
+        assertNotNull(report.shapes().get(3).firstError());
+        assertTrue(report.regressionsAgainst(report, 1.0).isEmpty());
+    }
+
+    @Test
+    void pacedReplay_keepsCapturedGaps() {
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+        List<CapturedQuery> queries = new ArrayList<>();
+        for (int i = 0; i <= 4; i++) {
+            queries.add(new CapturedQuery(
+                    start.plusMillis(250L * i), QueryOperation.COUNT, "-|||", List.of(), 0, Duration.ofMillis(1), 30));
+        }
+
+        ReplayReport report = QueryReplayer.replay(queries, dao, ReplayOptions.paced(5, 2));
+
+        assertEquals(0, report.failures());
+        assertEquals(150, report.shapes().get(0).rows());
+        // 1 s of captured traffic at 5x speed
+        assertTrue(report.elapsed().toMillis() >= 200, report.elapsed().toString());
+    }
+
+    /** Queries recorded while {@code traffic} runs. */
+    private List<CapturedQuery> capture(Runnable traffic) {
+        capturingDao.getQueryRecorder().flush();
+        int before = CaptureFile.read(FILE).size();
+        traffic.run();
+        capturingDao.getQueryRecorder().flush();
+        List<CapturedQuery> all = CaptureFile.read(FILE);
+        return all.subList(before, all.size());
+    }
+
+    private static Criteria regionIs(String region) {
+        return fieldIs("region", region);
+    }
+
+    private static Criteria fieldIs(String field) {
+        return fieldIs(field, "x");
+    }
+
+    private static Criteria fieldIs(String field, String value) {
+        Criteria criteria = new Criteria();
+        criteria.setFilters(List.of(BasicFilter.builder()
+                .field(field)
+                .operator(BasicFilter.Operator.EQUAL)
+                .value(value)
+                .build()));
+        return criteria;
+    }
+
+    private static PageableCriteria statusInPage() {
+        PageableCriteria criteria = new PageableCriteria();
+        criteria.setSize(4);
+        criteria.setFilters(List.of(ContainsFilter.builder()
+                .field("status")
+                .operator(ContainsFilter.Operator.IN)
+                .values(List.of("OPEN", "CLOSED"))
+                .build()));
+        return criteria;
+    }
+
+    private static Path tempFile() {
+        try {
+            Path dir = Files.createTempDirectory("capture");
+            dir.toFile().deleteOnExit();
+            return dir.resolve("orders.capture");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.chadtalty.commons.data.access;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.chadtalty.commons.data.access.changes.ChangeBatch;
+import com.chadtalty.commons.data.access.changes.Watermark;
+import com.chadtalty.commons.data.access.testutil.JpaTestConfig;
+import com.chadtalty.commons.data.access.testutil.TestOrder;
+import com.chadtalty.commons.data.access.testutil.TestOrderDAO;
+import com.chadtalty.commons.data.query.BasicFilter;
+import com.chadtalty.commons.data.query.Criteria;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+/** Watermark-based change feed of {@link AbstractDAO} against embedded H2. */
+@SpringJUnitConfig(JpaTestConfig.class)
+class AbstractDAOChangeFeedTest {
+
+    static final Instant T0 = Instant.parse("2025-08-20T10:00:00Z");
+
+    @Autowired TestOrderDAO dao;
+
+    List<TestOrder> saved;
+
+    /** Ten open orders over four distinct instants (ties included), plus closed and untimed noise. */
+    @BeforeEach
+    void setUp() {
+        dao.getRepository().deleteAllInBatch();
+        List<TestOrder> orders = new ArrayList<>();
+        int[] minutes = {3, 0, 1, 1, 0, 2, 1, 3, 0, 2};
+        for (int minute : minutes) {
+            orders.add(timed(new TestOrder("OPEN", "EU", minute), T0.plusSeconds(60L * minute)));
+        }
+        orders.add(timed(new TestOrder("CLOSED", "EU", 9), T0));
+        orders.add(new TestOrder("OPEN", "EU", 9));
+        saved = dao.getRepository().saveAll(orders);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"createdAt", "updatedAt", "shippedAt"})
+    void pagingThroughFeed_returnsEachRowOnceInWatermarkOrder(String timestampField) {
+        List<Long> expected = saved.stream()
+                .filter(o -> "OPEN".equals(o.getStatus()) && o.getCreatedAt() != null)
+                .sorted((a, b) -> a.getPriority().equals(b.getPriority())
+                        ? a.getId().compareTo(b.getId())
+                        : a.getPriority().compareTo(b.getPriority()))
+                .map(TestOrder::getId)
+                .toList();
+
+        List<Long> seen = new ArrayList<>();
+        Watermark watermark = null;
+        for (int i = 0; i < 10; i++) {
+            ChangeBatch<TestOrder> batch = dao.getChanges(open(), timestampField, watermark, 3);
+            if (batch.isEmpty()) {
+                assertEquals(watermark, batch.watermark());
+                break;
+            }
+            batch.items().forEach(o -> seen.add(o.getId()));
+            watermark = batch.watermark();
+        }
+
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    void watermark_pointsAtLastRow() {
+        ChangeBatch<TestOrder> batch = dao.getChanges(open(), "createdAt", null, 4);
+
+        TestOrder last = batch.items().get(3);
+        assertEquals(new Watermark(T0.plusSeconds(60), last.getId()), batch.watermark());
+        assertEquals(batch.watermark(), batch.changes().get(3).position());
+    }
+
+    @Test
+    void newRowsWithEqualTimestamp_areNotSkipped() {
+        ChangeBatch<TestOrder> first = dao.getChanges(open(), "createdAt", null, 100);
+        assertEquals(10, first.changes().size());
+
+        TestOrder late = dao.save(timed(new TestOrder("OPEN", "US", 3), T0.plusSeconds(180)));
+        ChangeBatch<TestOrder> next = dao.getChanges(open(), "createdAt", first.watermark(), 100);
+
+        assertEquals(List.of(late.getId()), next.items().stream().map(TestOrder::getId).toList());
+    }
+
+    private static TestOrder timed(TestOrder order, Instant at) {
+        order.setCreatedAt(Timestamp.from(at));
+        order.setUpdatedAt(LocalDateTime.ofInstant(at, ZoneOffset.UTC));
+        order.setShippedAt(Date.from(at));
+        return order;
+    }
+
+    private static Criteria open() {
+        Criteria criteria = new Criteria();
+        criteria.setFilters(List.of(
+                BasicFilter.builder().field("status").operator(BasicFilter.Operator.EQUAL).value("OPEN").build()));
+        return criteria;
+    }
+}
@@ -0,0 +1,219 @@
+package com.chadtalty.commons.data.access;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.chadtalty.commons.data.access.filter.CompositeFilter;
+import com.chadtalty.commons.data.access.filter.handler.AbstractFilterHandler;
+import com.chadtalty.commons.data.access.filter.handler.FilterHandlerFactory;
+import com.chadtalty.commons.data.access.testutil.JpaTestConfig;
+import com.chadtalty.commons.data.access.testutil.RecordingStatementInspector;
+import com.chadtalty.commons.data.access.testutil.TestCustomer;
+import com.chadtalty.commons.data.access.testutil.TestOrder;
+import com.chadtalty.commons.data.access.testutil.TestOrderDAO;
+import com.chadtalty.commons.data.query.BasicFilter;
+import com.chadtalty.commons.data.query.ContainsFilter;
+import com.chadtalty.commons.data.query.Criteria;
+import com.chadtalty.commons.data.query.Filter;
+import com.chadtalty.commons.data.query.JoinSpec;
+import com.chadtalty.commons.data.query.SortSpec;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import java.util.List;
+import java.util.regex.Pattern;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** AND/OR/NOT filter groups of {@link AbstractDAO} against embedded H2. */
+@SpringJUnitConfig(JpaTestConfig.class)
+class AbstractDAOCompositeFilterTest {
+
+    @Autowired TestOrderDAO dao;
+    @Autowired FilterHandlerFactory<TestOrder> factory;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired EntityManagerFactory entityManagerFactory;
+    @PersistenceContext EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        dao.getRepository().deleteAllInBatch();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            TestCustomer smith = new TestCustomer("Smith");
+            TestCustomer jones = new TestCustomer("Jones");
+            entityManager.persist(smith);
+            entityManager.persist(jones);
+            persist("OPEN", "EU", 1, smith);
+            persist("CLOSED", "EU", 7, smith);
+            persist("CANCELLED", "US", 3, jones);
+            persist("CLOSED", "US", 9, jones);
+            persist("CLOSED", "APAC", 2, null);
+        });
+    }
+
+    @Test
+    void or_matchesEitherBranch_inOneStatement() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Integer> priorities = priorities(CompositeFilter.or(
+                ContainsFilter.builder()
+                        .field("status")
+                        .operator(ContainsFilter.Operator.IN)
+                        .values(List.of("OPEN", "CANCELLED"))
+                        .build(),
+                basic("priority", BasicFilter.Operator.GREATER_THAN, "5")));
+
+        assertEquals(List.of(1, 3, 7, 9), priorities);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void notAndNestedGroups() {
+        assertEquals(List.of(1, 3), priorities(CompositeFilter.not(basic("status", BasicFilter.Operator.EQUAL, "CLOSED"))));
+        assertEquals(List.of(2, 7), priorities(CompositeFilter.and(
+                basic("status", BasicFilter.Operator.EQUAL, "CLOSED"),
+                CompositeFilter.or(
+                        basic("region", BasicFilter.Operator.EQUAL, "APAC"),
+                        basic("region", BasicFilter.Operator.EQUAL, "EU")))));
+    }
+
+    @Test
+    void emptyGroups() {
+        assertEquals(List.of(1, 2, 3, 7, 9), priorities(CompositeFilter.and()));
+        assertEquals(List.of(), priorities(CompositeFilter.or()));
+    }
+
+    @Test
+    void dottedField_isJoined() {
+        assertEquals(List.of(1, 7), priorities(CompositeFilter.or(
+                basic("customer.lastName", BasicFilter.Operator.EQUAL, "Smith"),
+                basic("region", BasicFilter.Operator.EQUAL, "Nowhere"))));
+    }
+
+    @Test
+    void groupInsideJoin_appliesToJoinedEntity() {
+        JoinSpec join = new JoinSpec();
+        join.setJoin("customer");
+        join.setFilter(CompositeFilter.or(
+                basic("lastName", BasicFilter.Operator.EQUAL, "Jones"),
+                basic("lastName", BasicFilter.Operator.EQUAL, "Nobody")));
+        Criteria criteria = new Criteria();
+        criteria.setJoins(List.of(join));
+        criteria.setFilters(List.of(basic("priority", BasicFilter.Operator.GREATER_THAN, "3")));
+        criteria.setSort(new SortSpec(List.of("priority"), List.of()));
+
+        assertEquals(List.of(9), dao.getQueryResult(criteria).stream().map(TestOrder::getPriority).toList());
+        assertEquals(1, dao.count(criteria));
+    }
+
+    @Test
+    void joinSpecsOnTheSameAssociation_shareOneInnerJoin() {
+        Criteria criteria = new Criteria();
+        criteria.setJoins(List.of(
+                join("customer", basic("lastName", BasicFilter.Operator.NOT_EQUAL, "Jones")),
+                join("customer", basic("lastName", BasicFilter.Operator.EQUAL, "Smith"))));
+        criteria.setSort(new SortSpec(List.of("priority"), List.of()));
+
+        RecordingStatementInspector.clear();
+        assertEquals(List.of(1, 7), dao.getQueryResult(criteria).stream().map(TestOrder::getPriority).toList());
+
+        assertEquals(1, joinsIn(RecordingStatementInspector.statements().get(0)));
+    }
+
+    @Test
+    void dottedFilter_reusesTheJoinSpecsInnerJoin() {
+        Criteria criteria = new Criteria();
+        criteria.setJoins(List.of(join("customer", basic("lastName", BasicFilter.Operator.NOT_EQUAL, "Nobody"))));
+        criteria.setFilters(List.of(basic("customer.lastName", BasicFilter.Operator.EQUAL, "Jones")));
+        criteria.setSort(new SortSpec(List.of("priority"), List.of()));
+
+        RecordingStatementInspector.clear();
+        assertEquals(List.of(3, 9), dao.getQueryResult(criteria).stream().map(TestOrder::getPriority).toList());
+        assertEquals(2, dao.count(criteria));
+
+        List<String> statements = RecordingStatementInspector.statements();
+        assertEquals(1, joinsIn(statements.get(0)));
+        assertFalse(statements.get(0).toLowerCase().contains("left join"), statements.get(0));
+    }
+
+    @Test
+    void customFilterInsideJoin_resolvesFromTheJoinedEntity() {
+        factory.register(StartsWithFilter.class, new StartsWithFilterHandler());
+        StartsWithFilter filter = new StartsWithFilter();
+        filter.prefix = "Jo";
+        Criteria criteria = new Criteria();
+        criteria.setJoins(List.of(join("customer", filter)));
+        criteria.setSort(new SortSpec(List.of("priority"), List.of()));
+
+        assertEquals(List.of(3, 9), dao.getQueryResult(criteria).stream().map(TestOrder::getPriority).toList());
+    }
+
+    @Test
+    void notWithoutExactlyOneChild_isRejected() {
+        CompositeFilter not = new CompositeFilter(CompositeFilter.Operator.NOT, List.of());
+
+        assertThrows(IllegalArgumentException.class, () -> priorities(not));
+    }
+
+    @Test
+    void unregisteredChild_isRejectedWithItsName() {
+        CompositeFilter or = CompositeFilter.or(basic("status", BasicFilter.Operator.EQUAL, "OPEN"), new UnhandledFilter());
+
+        var e = assertThrows(IllegalArgumentException.class, () -> priorities(or));
+        assertEquals("No filter handler registered for UnhandledFilter", e.getMessage());
+    }
+
+    static class UnhandledFilter extends Filter {}
+
+    /** Custom filter on {@code lastName} that the built-in handlers know nothing about. */
+    static class StartsWithFilter extends Filter {
+        String prefix;
+    }
+
+    static class StartsWithFilterHandler extends AbstractFilterHandler<TestOrder> {
+
+        @Override
+        public void init() {}
+
+        @Override
+        public Specification<TestOrder> handle(Filter filter) {
+            String prefix = ((StartsWithFilter) filter).prefix;
+            return (root, query, cb) -> cb.like(path(root, "lastName"), prefix + "%");
+        }
+    }
+
+    private static JoinSpec join(String association, Filter filter) {
+        JoinSpec join = new JoinSpec();
+        join.setJoin(association);
+        join.setFilter(filter);
+        return join;
+    }
+
+    private static long joinsIn(String sql) {
+        return Pattern.compile("\\bjoin\\b").matcher(sql.toLowerCase()).results().count();
+    }
+
+    private List<Integer> priorities(Filter filter) {
+        Criteria criteria = new Criteria();
+        criteria.setFilters(List.of(filter));
+        criteria.setSort(new SortSpec(List.of("priority"), List.of()));
+        return dao.getQueryResult(criteria).stream().map(TestOrder::getPriority).toList();
+    }
+
+    private void persist(String status, String region, int priority, TestCustomer customer) {
+        TestOrder order = new TestOrder(status, region, priority);
+        order.setCustomer(customer);
+        entityManager.persist(order);
+    }
+
+    private static BasicFilter basic(String field, BasicFilter.Operator operator, String value) {
+        return BasicFilter.builder().field(field).operator(operator).value(value).build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.chadtalty.commons.data.access;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.chadtalty.commons.data.access.export.ExportColumn;
+import com.chadtalty.commons.data.access.export.ExportFormat;
+import com.chadtalty.commons.data.access.testutil.JpaTestConfig;
+import com.chadtalty.commons.data.access.testutil.TestCustomer;
+import com.chadtalty.commons.data.access.testutil.TestOrder;
+import com.chadtalty.commons.data.access.testutil.TestOrderDAO;
+import com.chadtalty.commons.data.query.BasicFilter;
+import com.chadtalty.commons.data.query.Criteria;
+import com.chadtalty.commons.data.query.SortSpec;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** Streaming export of {@link AbstractDAO} criteria results against embedded H2. */
+@SpringJUnitConfig(JpaTestConfig.class)
+class AbstractDAOExportTest {
+
+    @Autowired TestOrderDAO dao;
+    @Autowired PlatformTransactionManager transactionManager;
+    @PersistenceContext EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        dao.getRepository().deleteAllInBatch();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            TestCustomer smith = new TestCustomer("Smith, Jr.");
+            entityManager.persist(smith);
+            TestOrder first = new TestOrder("OPEN", "EU", 2);
+            first.setCustomer(smith);
+            entityManager.persist(first);
+            entityManager.persist(new TestOrder("OPEN", "US", 1));
+            entityManager.persist(new TestOrder("CLOSED", "US", 3));
+        });
+    }
+
+    @Test
+    void csv_selectsColumnsAndFollowsSort() {
+        String csv = export(ExportFormat.CSV);
+
+        assertEquals("priority,region,customer\r\n"
+                + "1,US,\r\n"
+                + "2,EU,\"Smith, Jr.\"\r\n", csv);
+    }
+
+    @Test
+    void ndjson_oneObjectPerRow() {
+        String json = export(ExportFormat.NDJSON);
+
+        assertEquals("{\"priority\":1,\"region\":\"US\",\"customer\":null}\n"
+                + "{\"priority\":2,\"region\":\"EU\",\"customer\":\"Smith, Jr.\"}\n", json);
+    }
+
+    private String export(ExportFormat format) {
+        Criteria criteria = new Criteria();
+        criteria.setFilters(List.of(
+                BasicFilter.builder().field("status").operator(BasicFilter.Operator.EQUAL).value("OPEN").build()));
+        criteria.setSort(new SortSpec(List.of("priority"), List.of()));
+        List<ExportColumn> columns = List.of(
+                ExportColumn.of("priority"), ExportColumn.of("region"), new ExportColumn("customer.lastName", "customer"));
+
+        var out = new ByteArrayOutputStream();
+        long rows = dao.export(criteria, columns, format, out);
+        assertEquals(2, rows);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
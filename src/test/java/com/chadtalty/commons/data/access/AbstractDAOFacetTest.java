@@ -0,0 +1,119 @@
+package com.chadtalty.commons.data.access;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.chadtalty.commons.data.access.facet.FacetQuery;
+import com.chadtalty.commons.data.access.facet.FacetResult;
+import com.chadtalty.commons.data.access.facet.FacetValue;
+import com.chadtalty.commons.data.access.testutil.JpaTestConfig;
+import com.chadtalty.commons.data.access.testutil.TestOrder;
+import com.chadtalty.commons.data.access.testutil.TestOrderDAO;
+import com.chadtalty.commons.data.query.BasicFilter;
+import com.chadtalty.commons.data.query.ContainsFilter;
+import com.chadtalty.commons.data.query.Criteria;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+/** Facet counts of {@link AbstractDAO} against embedded H2. */
+@SpringJUnitConfig(JpaTestConfig.class)
+class AbstractDAOFacetTest {
+
+    @Autowired TestOrderDAO dao;
+
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    /** status × region × priority, with a few extra OPEN/EU rows so counts differ. */
+    @BeforeEach
+    void setUp() {
+        dao.getRepository().deleteAllInBatch();
+        List<TestOrder> orders = new ArrayList<>();
+        for (String status : List.of("OPEN", "CLOSED", "CANCELLED")) {
+            for (String region : List.of("EU", "US", "APAC")) {
+                for (int priority = 1; priority <= 3; priority++) {
+                    orders.add(new TestOrder(status, region, priority));
+                }
+            }
+        }
+        orders.add(new TestOrder("OPEN", "EU", 3));
+        orders.add(new TestOrder("OPEN", "EU", 3));
+        orders.add(new TestOrder("OPEN", "US", 2));
+        dao.getRepository().saveAll(orders);
+    }
+
+    @Test
+    void facets_excludeOwnFilter_inOneStatement() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        FacetResult result = dao.facets(criteria(), FacetQuery.builder().fields(List.of("status", "region")).build());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertFacets(result);
+    }
+
+    @Test
+    void perFacetFallback_matchesSingleStatement() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        FacetResult result = dao.facets(criteria(), FacetQuery.builder()
+                .fields(List.of("status", "region"))
+                .maxCombinations(2)
+                .build());
+
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertFacets(result);
+    }
+
+    @Test
+    void limit_keepsHighestCounts() {
+        FacetResult result = dao.facets(new Criteria(), FacetQuery.builder()
+                .fields(List.of("region", "priority"))
+                .limit(1)
+                .build());
+
+        assertEquals(List.of(new FacetValue("EU", 11)), result.get("region"));
+        assertEquals(List.of(new FacetValue(3, 11)), result.get("priority"));
+    }
+
+    /**
+     * status ignores its own filter (OPEN) but applies region IN (EU, US) and priority >= 2; region
+     * ignores region IN but applies status = OPEN and priority >= 2.
+     */
+    private static void assertFacets(FacetResult result) {
+        assertEquals(
+                List.of(new FacetValue("OPEN", 7), new FacetValue("CANCELLED", 4), new FacetValue("CLOSED", 4)),
+                result.get("status"));
+        assertEquals(
+                List.of(new FacetValue("EU", 4), new FacetValue("US", 3), new FacetValue("APAC", 2)),
+                result.get("region"));
+    }
+
+    private static Criteria criteria() {
+        Criteria criteria = new Criteria();
+        criteria.setFilters(List.of(
+                BasicFilter.builder()
+                        .field("status")
+                        .operator(BasicFilter.Operator.EQUAL)
+                        .value("OPEN")
+                        .build(),
+                ContainsFilter.builder()
+                        .field("region")
+                        .operator(ContainsFilter.Operator.IN)
+                        .values(List.of("EU", "US"))
+                        .build(),
+                BasicFilter.builder()
+                        .field("priority")
+                        .operator(BasicFilter.Operator.GREATER_THAN_OR_EQUAL)
+                        .value("2")
+                        .build()));
+        return criteria;
+    }
+}
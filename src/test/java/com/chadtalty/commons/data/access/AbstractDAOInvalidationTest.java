@@ -0,0 +1,164 @@
+package com.chadtalty.commons.data.access;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.chadtalty.commons.data.access.invalidation.Invalidation;
+import com.chadtalty.commons.data.access.invalidation.InvalidationBus;
+import com.chadtalty.commons.data.access.invalidation.InvalidationOptions;
+import com.chadtalty.commons.data.access.invalidation.LoopbackTransport;
+import com.chadtalty.commons.data.access.snapshot.SnapshotOptions;
+import com.chadtalty.commons.data.access.testutil.JpaTestConfig;
+import com.chadtalty.commons.data.access.testutil.TestOrder;
+import com.chadtalty.commons.data.access.testutil.TestOrderRepository;
+import com.chadtalty.commons.data.query.BasicFilter;
+import com.chadtalty.commons.data.query.Criteria;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** Snapshot DAOs of two simulated nodes kept in step by an {@link InvalidationBus}, on embedded H2. */
+@SpringJUnitConfig({JpaTestConfig.class, AbstractDAOInvalidationTest.NodesConfig.class})
+class AbstractDAOInvalidationTest {
+
+    /** A snapshot DAO on one node. */
+    static class NodeOrderDAO extends AbstractDAO<TestOrder, TestOrderRepository> {
+
+        private final InvalidationBus bus;
+
+        NodeOrderDAO(InvalidationBus bus) {
+            this.bus = bus;
+        }
+
+        @Override
+        protected SnapshotOptions getSnapshotOptions() {
+            return SnapshotOptions.refreshOnSave();
+        }
+
+        @Override
+        protected InvalidationBus getInvalidationBus() {
+            return bus;
+        }
+    }
+
+    @Configuration
+    static class NodesConfig {
+
+        /** Sends only on {@link InvalidationBus#flush()}. */
+        static final InvalidationOptions MANUAL = InvalidationOptions.flushEvery(Duration.ofHours(1));
+
+        @Bean
+        LoopbackTransport transport() {
+            return new LoopbackTransport();
+        }
+
+        @Bean(destroyMethod = "close")
+        InvalidationBus busA() {
+            return new InvalidationBus("a", transport(), MANUAL);
+        }
+
+        @Bean(destroyMethod = "close")
+        InvalidationBus busB() {
+            return new InvalidationBus("b", transport(), MANUAL);
+        }
+
+        @Bean
+        NodeOrderDAO nodeA() {
+            return new NodeOrderDAO(busA());
+        }
+
+        @Bean
+        NodeOrderDAO nodeB() {
+            return new NodeOrderDAO(busB());
+        }
+    }
+
+    @Autowired NodeOrderDAO nodeA;
+    @Autowired NodeOrderDAO nodeB;
+    @Autowired InvalidationBus busA;
+    @Autowired InvalidationBus busB;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        nodeA.getRepository().deleteAllInBatch();
+        nodeA.getRepository().saveAll(List.of(new TestOrder("OPEN", "EU", 1), new TestOrder("OPEN", "US", 2)));
+        nodeA.getSnapshotStore().invalidate();
+        nodeB.getSnapshotStore().invalidate();
+    }
+
+    @Test
+    void saveOnOneNode_invalidatesSnapshotOnTheOther() {
+        assertEquals(2, nodeB.count(open()));
+        long received = busB.stats().messagesReceived();
+
+        TestOrder order = nodeA.findById(nodeA.findAll().get(0).getId());
+        order.setStatus("CLOSED");
+        nodeA.save(order);
+
+        assertEquals(1, nodeA.count(open()));
+        assertEquals(2, nodeB.count(open()), "stale until the batch is sent");
+        busA.flush();
+        assertEquals(1, nodeB.count(open()));
+        assertEquals(received + 1, busB.stats().messagesReceived());
+    }
+
+    @Test
+    void otherCaches_receiveCommittedIds() {
+        List<Invalidation> evicted = new CopyOnWriteArrayList<>();
+        Consumer<Invalidation> listener = evicted::add;
+        busB.subscribe(TestOrder.class, listener);
+        try {
+            TestOrder order = new TestOrder("OPEN", "APAC", 3);
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> nodeA.save(order));
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                nodeA.save(new TestOrder("OPEN", "APAC", 4));
+                status.setRollbackOnly();
+            });
+            busA.flush();
+
+            assertEquals(1, evicted.size());
+            assertTrue(evicted.get(0).covers(order.getId()));
+            assertFalse(evicted.get(0).all());
+        } finally {
+            busB.unsubscribe(TestOrder.class, listener);
+        }
+    }
+
+    @Test
+    void daoListener_receivesLocalAndRemoteWrites() {
+        List<Invalidation> evicted = new CopyOnWriteArrayList<>();
+        Consumer<Invalidation> listener = evicted::add;
+        nodeB.addInvalidationListener(listener);
+        try {
+            TestOrder remote = nodeA.save(new TestOrder("OPEN", "APAC", 3));
+            TestOrder local = nodeB.save(new TestOrder("OPEN", "APAC", 4));
+            assertEquals(1, evicted.size(), "remote write not sent yet");
+            busA.flush();
+
+            assertEquals(2, evicted.size());
+            assertTrue(evicted.get(0).covers(local.getId()));
+            assertTrue(evicted.get(1).covers(remote.getId()));
+        } finally {
+            nodeB.removeInvalidationListener(listener);
+        }
+    }
+
+    private static Criteria open() {
+        Criteria criteria = new Criteria();
+        criteria.setFilters(List.of(BasicFilter.builder()
+                .field("status")
+                .operator(BasicFilter.Operator.EQUAL)
+                .value("OPEN")
+                .build()));
+        return criteria;
+    }
+}
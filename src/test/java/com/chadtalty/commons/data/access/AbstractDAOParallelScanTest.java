@@ -0,0 +1,104 @@
+package com.chadtalty.commons.data.access;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.chadtalty.commons.data.access.testutil.JpaTestConfig;
+import com.chadtalty.commons.data.access.testutil.TestOrder;
+import com.chadtalty.commons.data.access.testutil.TestOrderDAO;
+import com.chadtalty.commons.data.query.BasicFilter;
+import com.chadtalty.commons.data.query.Criteria;
+import com.chadtalty.commons.data.query.SortSpec;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+/** Id-range partitioned scans of {@link AbstractDAO} against embedded H2. */
+@SpringJUnitConfig(JpaTestConfig.class)
+class AbstractDAOParallelScanTest {
+
+    static final ParallelScanOptions OPTIONS = new ParallelScanOptions(3, 7);
+
+    @Autowired TestOrderDAO dao;
+    @Autowired DataSource dataSource;
+
+    JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(dataSource);
+        dao.getRepository().deleteAllInBatch();
+        List<TestOrder> orders = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            orders.add(new TestOrder(i % 3 == 0 ? "OPEN" : "CLOSED", i % 2 == 0 ? "EU" : "US", (i * 37) % 101));
+        }
+        dao.getRepository().saveAll(orders);
+    }
+
+    @Test
+    void sortedScan_matchesSequentialOrder() {
+        Criteria criteria = open();
+        criteria.setSort(new SortSpec(List.of("priority"), List.of("id")));
+
+        assertEquals(ids(dao.getQueryResult(criteria)), ids(dao.getQueryResultParallel(criteria, OPTIONS)));
+    }
+
+    @Test
+    void sortedScan_ordersNullsLowest_whateverTheDatabaseDefault() {
+        jdbc.update("update test_order set priority = null where mod(id, 5) = 0");
+        jdbc.execute("set default_null_ordering high");
+        try {
+            Criteria criteria = open();
+            criteria.setSort(new SortSpec(List.of("priority"), List.of("id")));
+
+            List<TestOrder> parallel = dao.getQueryResultParallel(criteria, OPTIONS);
+            assertEquals(ids(dao.getQueryResult(criteria)), ids(parallel));
+            assertNull(parallel.get(0).getPriority());
+            assertNotNull(parallel.get(parallel.size() - 1).getPriority());
+        } finally {
+            jdbc.execute("set default_null_ordering low");
+        }
+    }
+
+    @Test
+    void unsortedScan_returnsAllMatchesInIdOrder() {
+        Criteria criteria = open();
+        List<Long> expected = ids(dao.getQueryResult(criteria)).stream().sorted().toList();
+
+        assertEquals(expected, ids(dao.getQueryResultParallel(criteria, OPTIONS)));
+    }
+
+    @Test
+    void streamingScan_deliversEveryRowOnce() {
+        List<TestOrder> seen = new ArrayList<>();
+        dao.scanParallel(open(), OPTIONS, seen::addAll);
+
+        assertEquals(167, seen.size());
+        assertEquals(167, ids(seen).stream().distinct().count());
+    }
+
+    @Test
+    void noMatches_returnsEmpty() {
+        Criteria criteria = new Criteria();
+        criteria.setFilters(List.of(status("MISSING")));
+        assertTrue(dao.getQueryResultParallel(criteria, ParallelScanOptions.forConnectionPool(10)).isEmpty());
+    }
+
+    private static Criteria open() {
+        Criteria criteria = new Criteria();
+        criteria.setFilters(List.of(status("OPEN")));
+        return criteria;
+    }
+
+    private static BasicFilter status(String status) {
+        return BasicFilter.builder().field("status").operator(BasicFilter.Operator.EQUAL).value(status).build();
+    }
+
+    private static List<Long> ids(List<TestOrder> orders) {
+        return orders.stream().map(TestOrder::getId).toList();
+    }
+}
@@ -0,0 +1,125 @@
+package com.chadtalty.commons.data.access;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.chadtalty.commons.data.access.id.HiLoTableIdBlockSource;
+import com.chadtalty.commons.data.access.id.PooledIdAllocator;
+import com.chadtalty.commons.data.access.id.SequenceIdBlockSource;
+import com.chadtalty.commons.data.access.testutil.JpaTestConfig;
+import com.chadtalty.commons.data.access.testutil.RecordingStatementInspector;
+import com.chadtalty.commons.data.access.testutil.TestProduct;
+import com.chadtalty.commons.data.access.testutil.TestProductRepository;
+import com.chadtalty.commons.data.access.testutil.TestStock;
+import com.chadtalty.commons.data.access.testutil.TestStockRepository;
+import java.util.List;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+/** Pooled id allocation of {@link AbstractDAO} against embedded H2. */
+@SpringJUnitConfig({JpaTestConfig.class, AbstractDAOPooledIdTest.PooledIdConfig.class})
+class AbstractDAOPooledIdTest {
+
+    static final int BLOCK_SIZE = 50;
+
+    /** Takes {@link TestStock} ids from {@code test_stock_seq}. */
+    static class PooledStockDAO extends AbstractDAO<TestStock, TestStockRepository> {
+
+        @Autowired DataSource dataSource;
+
+        private PooledIdAllocator ids;
+
+        @Override
+        protected synchronized PooledIdAllocator getIdAllocator() {
+            if (ids == null) {
+                ids = new PooledIdAllocator(SequenceIdBlockSource.of(dataSource, "test_stock_seq", BLOCK_SIZE));
+            }
+            return ids;
+        }
+    }
+
+    /** {@link TestProduct} ids come from an identity column. */
+    static class ProductDAO extends AbstractDAO<TestProduct, TestProductRepository> {}
+
+    @Configuration
+    static class PooledIdConfig {
+        @Bean
+        PooledStockDAO pooledStockDAO() {
+            return new PooledStockDAO();
+        }
+
+        @Bean
+        ProductDAO productDAO() {
+            return new ProductDAO();
+        }
+    }
+
+    @Autowired PooledStockDAO dao;
+    @Autowired ProductDAO products;
+    @Autowired DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        new JdbcTemplate(dataSource).execute(
+                "CREATE SEQUENCE IF NOT EXISTS test_stock_seq START WITH 1 INCREMENT BY " + BLOCK_SIZE);
+        dao.getRepository().deleteAllInBatch();
+        products.getRepository().deleteAllInBatch();
+    }
+
+    @Test
+    void save_assignsIdFromBlock() {
+        long blocks = dao.getIdAllocator().blocksReserved();
+
+        TestStock first = dao.save(new TestStock(null, "first", 1));
+        TestStock second = dao.save(new TestStock(null, "second", 2));
+
+        assertNotNull(first.getId());
+        assertEquals(first.getId() + 1, second.getId());
+        assertEquals("second", dao.findById(second.getId()).getSku());
+        assertTrue(dao.getIdAllocator().blocksReserved() - blocks <= 2);
+
+        second.setQuantity(3);
+        dao.save(second);
+        assertEquals(3, dao.findById(second.getId()).getQuantity());
+    }
+
+    @Test
+    void saveAll_insertsInBatches_withoutIdRoundTrips() {
+        List<TestStock> stock = IntStream.range(0, 120)
+                .mapToObj(i -> new TestStock(null, "S" + i, i))
+                .toList();
+
+        long blocks = dao.getIdAllocator().blocksReserved();
+        RecordingStatementInspector.clear();
+        dao.saveAll(stock);
+
+        long inserts = RecordingStatementInspector.statements().stream()
+                .filter(sql -> sql.toLowerCase().startsWith("insert"))
+                .count();
+        assertTrue(dao.getIdAllocator().blocksReserved() - blocks <= 3, "one sequence call per 50 ids");
+        assertTrue(inserts <= 3, "inserts batched by hibernate.jdbc.batch_size: " + inserts);
+        assertEquals(120, stock.stream().map(TestStock::getId).distinct().count());
+        assertEquals(120, dao.count());
+    }
+
+    @Test
+    void sequenceAndTableNames_areValidatedAsIdentifiers() {
+        assertNotNull(SequenceIdBlockSource.of(dataSource, "public.test_stock_seq", BLOCK_SIZE).nextBlock());
+        for (String name : List.of("test_stock_seq; drop table test_stock", "seq')", "", "1seq")) {
+            assertThrows(
+                    IllegalArgumentException.class,
+                    () -> SequenceIdBlockSource.of(dataSource, name, BLOCK_SIZE),
+                    name);
+            assertThrows(
+                    IllegalArgumentException.class,
+                    () -> new HiLoTableIdBlockSource(dataSource, name, "stock", BLOCK_SIZE),
+                    name);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.chadtalty.commons.data.access;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.chadtalty.commons.data.access.batch.BatchQuery;
+import com.chadtalty.commons.data.access.batch.BatchResult;
+import com.chadtalty.commons.data.access.filter.CompositeFilter;
+import com.chadtalty.commons.data.access.filter.handler.AbstractFilterHandler;
+import com.chadtalty.commons.data.access.filter.handler.FilterHandlerFactory;
+import com.chadtalty.commons.data.access.guard.QueryPolicy;
+import com.chadtalty.commons.data.access.guard.QueryPolicyViolation;
+import com.chadtalty.commons.data.access.guard.QueryRejectedException;
+import com.chadtalty.commons.data.access.testutil.JpaTestConfig;
+import com.chadtalty.commons.data.access.testutil.TestOrder;
+import com.chadtalty.commons.data.access.testutil.TestOrderRepository;
+import com.chadtalty.commons.data.query.BasicFilter;
+import com.chadtalty.commons.data.query.ContainsFilter;
+import com.chadtalty.commons.data.query.Criteria;
+import com.chadtalty.commons.data.query.Filter;
+import com.chadtalty.commons.data.query.JoinSpec;
+import com.chadtalty.commons.data.query.PageableCriteria;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+/** Query guardrails of {@link AbstractDAO} against embedded H2. */
+@SpringJUnitConfig({JpaTestConfig.class, AbstractDAOQueryPolicyTest.PolicyConfig.class})
+class AbstractDAOQueryPolicyTest {
+
+    static final List<String> VIOLATIONS = new CopyOnWriteArrayList<>();
+
+    /** Same table as {@code TestOrderDAO}, guarded; only {@code id} is indexed on {@link TestOrder}. */
+    static class GuardedOrderDAO extends AbstractDAO<TestOrder, TestOrderRepository> {
+        @Override
+        protected QueryPolicy getQueryPolicy() {
+            return QueryPolicy.builder()
+                    .maxPageSize(50)
+                    .maxInListSize(3)
+                    .maxJoins(1)
+                    .maxFilters(4)
+                    .queryTimeout(Duration.ofSeconds(1))
+                    .unindexedFilters(QueryPolicy.UnindexedFilterAction.REJECT)
+                    .allowedFields(Set.of("status", "priority", "customer.lastName"))
+                    .listener((type, violation, rejected) ->
+                            VIOLATIONS.add(type.getSimpleName() + " " + violation.rule() + " " + rejected))
+                    .build();
+        }
+    }
+
+    @Configuration
+    static class PolicyConfig {
+        @Bean
+        GuardedOrderDAO guardedOrderDAO() {
+            return new GuardedOrderDAO();
+        }
+    }
+
+    /** Custom filter whose predicate sleeps 10 ms per row, to exceed the timeout. */
+    static class SlowFilter extends Filter {}
+
+    @Autowired GuardedOrderDAO dao;
+    @Autowired FilterHandlerFactory<TestOrder> filterHandlerFactory;
+    @Autowired DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dao.getRepository().deleteAllInBatch();
+        dao.getRepository().saveAll(List.of(
+                new TestOrder("OPEN", "EU", 1), new TestOrder("OPEN", "US", 2), new TestOrder("CLOSED", "EU", 3)));
+        VIOLATIONS.clear();
+    }
+
+    @Test
+    void withinLimits_runs() {
+        Criteria criteria = criteria(
+                in("status", "OPEN", "CLOSED"), CompositeFilter.or(eq("priority", "1"), eq("id", "-1")));
+
+        assertEquals(1, dao.getQueryResult(criteria).size());
+        assertEquals(List.of(), VIOLATIONS);
+    }
+
+    @Test
+    void pageSize_rejected() {
+        PageableCriteria criteria = new PageableCriteria();
+        criteria.setSize(51);
+
+        QueryRejectedException e = assertThrows(QueryRejectedException.class, () -> dao.getQueryResultPage(criteria));
+        assertEquals(QueryPolicyViolation.Rule.PAGE_SIZE, e.getViolations().get(0).rule());
+        assertEquals(List.of("TestOrder PAGE_SIZE true"), VIOLATIONS);
+    }
+
+    @Test
+    void inListFilterAndJoinCaps_rejected() {
+        assertRejected(QueryPolicyViolation.Rule.IN_LIST_SIZE, criteria(in("status", "A", "B", "C", "D")));
+        assertRejected(QueryPolicyViolation.Rule.FILTER_COUNT, criteria(CompositeFilter.and(
+                eq("status", "A"), eq("status", "B"), eq("status", "C"), eq("status", "D"), eq("status", "E"))));
+
+        JoinSpec join = new JoinSpec();
+        join.setJoin("customer");
+        join.setFilter(eq("lastName", "Smith"));
+        Criteria twoJoins = criteria(eq("customer.id", "1"), eq("customer.lastName", "Smith"));
+        assertDoesNotThrow(() -> dao.count(twoJoins));
+        twoJoins.setJoins(List.of(join, join));
+        assertRejected(QueryPolicyViolation.Rule.JOIN_COUNT, twoJoins);
+    }
+
+    @Test
+    void unindexedFilter_rejected_indexedAndAllowedPass() {
+        assertRejected(QueryPolicyViolation.Rule.UNINDEXED_FILTER, criteria(eq("region", "EU")));
+        assertEquals(2L, dao.count(criteria(eq("status", "OPEN"))));
+        assertEquals(0L, dao.count(criteria(eq("id", "-1"), eq("status", "OPEN"))));
+    }
+
+    @Test
+    void batch_reportsRejectionPerQuery() {
+        List<BatchResult<TestOrder>> results = dao.batch(List.of(
+                BatchQuery.count(criteria(eq("status", "OPEN"))), BatchQuery.count(criteria(eq("region", "EU")))));
+
+        assertEquals(2L, results.get(0).count());
+        assertInstanceOf(QueryRejectedException.class, results.get(1).error());
+    }
+
+    @Test
+    void queryTimeout_appliesToQueries() {
+        // H2 checks for timeouts every 128 rows
+        dao.getRepository().saveAll(IntStream.range(0, 300).mapToObj(i -> new TestOrder("OPEN", "EU", i)).toList());
+        new JdbcTemplate(dataSource).execute("CREATE ALIAS IF NOT EXISTS SLEEP_MS FOR 'java.lang.Thread.sleep(long)'");
+        filterHandlerFactory.register(SlowFilter.class, new AbstractFilterHandler<>() {
+            @Override
+            public void init() {}
+
+            @Override
+            public Specification<TestOrder> handle(Filter filter) {
+                return (root, query, cb) -> cb.isNull(cb.function("SLEEP_MS", Object.class, cb.literal(10L)));
+            }
+        });
+
+        assertThrows(QueryTimeoutException.class, () -> dao.count(criteria(new SlowFilter())));
+    }
+
+    private void assertRejected(QueryPolicyViolation.Rule rule, Criteria criteria) {
+        QueryRejectedException e = assertThrows(QueryRejectedException.class, () -> dao.count(criteria));
+        assertEquals(List.of(rule), e.getViolations().stream().map(QueryPolicyViolation::rule).toList());
+    }
+
+    private static Criteria criteria(Filter... filters) {
+        Criteria criteria = new Criteria();
+        criteria.setFilters(List.of(filters));
+        return criteria;
+    }
+
+    private static BasicFilter eq(String field, String value) {
+        return BasicFilter.builder().field(field).operator(BasicFilter.Operator.EQUAL).value(value).build();
+    }
+
+    private static ContainsFilter in(String field, String... values) {
+        return ContainsFilter.builder()
+                .field(field)
+                .operator(ContainsFilter.Operator.IN)
+                .values(List.of(values))
+                .build();
+    }
+}
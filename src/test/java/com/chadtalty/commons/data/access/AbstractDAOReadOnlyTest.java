@@ -0,0 +1,134 @@
+package com.chadtalty.commons.data.access;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.chadtalty.commons.data.access.testutil.JpaTestConfig;
+import com.chadtalty.commons.data.access.testutil.TestOrder;
+import com.chadtalty.commons.data.access.testutil.TestOrderDAO;
+import com.chadtalty.commons.data.access.testutil.TestOrderRepository;
+import com.chadtalty.commons.data.query.BasicFilter;
+import com.chadtalty.commons.data.query.Criteria;
+import com.chadtalty.commons.data.query.PageableCriteria;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.List;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** Read-only query mode of {@link AbstractDAO} against embedded H2. */
+@SpringJUnitConfig({JpaTestConfig.class, AbstractDAOReadOnlyTest.Config.class})
+class AbstractDAOReadOnlyTest {
+
+    @Configuration
+    static class Config {
+        @Bean
+        ReadOnlyOrderDAO readOnlyOrderDAO() {
+            return new ReadOnlyOrderDAO();
+        }
+    }
+
+    static class ReadOnlyOrderDAO extends AbstractDAO<TestOrder, TestOrderRepository> {
+        @Override
+        protected boolean isReadOnlyByDefault() {
+            return true;
+        }
+    }
+
+    @Autowired TestOrderDAO dao;
+    @Autowired ReadOnlyOrderDAO readOnlyDao;
+    @Autowired PlatformTransactionManager transactionManager;
+    @PersistenceContext EntityManager entityManager;
+
+    TransactionTemplate tx;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        dao.getRepository().deleteAllInBatch();
+        dao.save(new TestOrder("OPEN", "EU", 1));
+        dao.save(new TestOrder("OPEN", "US", 2));
+        dao.save(new TestOrder("CLOSED", "US", 3));
+    }
+
+    @Test
+    void readOnlyQuery_entitiesAreNotDirtyChecked() {
+        tx.executeWithoutResult(status -> {
+            List<TestOrder> open = readOnlyDao.getQueryResult(statusCriteria("OPEN"));
+            assertEquals(2, open.size());
+            Session session = entityManager.unwrap(Session.class);
+            open.forEach(o -> assertTrue(session.isReadOnly(o)));
+            open.forEach(o -> o.setStatus("MUTATED"));
+        });
+
+        assertEquals(0, dao.getQueryResult(statusCriteria("MUTATED")).size());
+    }
+
+    @Test
+    void readOnlyPerCall_entitiesAreNotDirtyChecked() {
+        tx.executeWithoutResult(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            dao.getQueryResult(statusCriteria("OPEN"), true).forEach(o -> assertTrue(session.isReadOnly(o)));
+            dao.findAll(true).forEach(o -> assertTrue(session.isReadOnly(o)));
+        });
+        tx.executeWithoutResult(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            readOnlyDao.getQueryResult(statusCriteria("OPEN"), false).forEach(o -> assertFalse(session.isReadOnly(o)));
+        });
+    }
+
+    @Test
+    void readOnlyByDefault_appliesToPagedFindAll() {
+        tx.executeWithoutResult(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            var page = readOnlyDao.findAll(PageRequest.of(0, 2));
+            assertEquals(2, page.getContent().size());
+            assertEquals(3, page.getTotalElements());
+            page.forEach(o -> assertTrue(session.isReadOnly(o)));
+        });
+        tx.executeWithoutResult(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            dao.findAll(PageRequest.of(0, 2)).forEach(o -> assertFalse(session.isReadOnly(o)));
+        });
+    }
+
+    @Test
+    void defaultQuery_entitiesAreManaged() {
+        tx.executeWithoutResult(status -> {
+            List<TestOrder> open = dao.getQueryResult(statusCriteria("OPEN"));
+            Session session = entityManager.unwrap(Session.class);
+            open.forEach(o -> assertFalse(session.isReadOnly(o)));
+        });
+    }
+
+    @Test
+    void readOnlyPageAndFindAll() {
+        PageableCriteria criteria = new PageableCriteria();
+        criteria.setFilters(statusCriteria("OPEN").getFilters());
+        criteria.setPage(0);
+        criteria.setSize(1);
+
+        var page = readOnlyDao.getQueryResultPage(criteria);
+        assertEquals(1, page.getContent().size());
+        assertEquals(2, page.getTotalElements());
+        assertEquals(2, dao.getQueryResultPage(criteria, true).getTotalElements());
+        assertEquals(3, readOnlyDao.findAll().size());
+    }
+
+    private static Criteria statusCriteria(String status) {
+        Criteria criteria = new Criteria();
+        criteria.setFilters(List.of(BasicFilter.builder()
+                .field("status")
+                .operator(BasicFilter.Operator.EQUAL)
+                .value(status)
+                .build()));
+        return criteria;
+    }
+}
@@ -0,0 +1,148 @@
+package com.chadtalty.commons.data.access;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.chadtalty.commons.data.access.batch.BatchQuery;
+import com.chadtalty.commons.data.access.batch.BatchResult;
+import com.chadtalty.commons.data.access.routing.DataSourceRoute;
+import com.chadtalty.commons.data.access.routing.DataSourceRouting;
+import com.chadtalty.commons.data.access.snapshot.SnapshotOptions;
+import com.chadtalty.commons.data.access.testutil.ReplicaJpaTestConfig;
+import com.chadtalty.commons.data.access.testutil.TestOrder;
+import com.chadtalty.commons.data.access.testutil.TestOrderDAO;
+import com.chadtalty.commons.data.access.testutil.TestOrderRepository;
+import com.chadtalty.commons.data.query.BasicFilter;
+import com.chadtalty.commons.data.query.Criteria;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Replica routing of {@link AbstractDAO} reads against two embedded H2 databases. The replica is
+ * not replicated; each test seeds it directly so the source of a read is observable.
+ */
+@SpringJUnitConfig({ReplicaJpaTestConfig.class, AbstractDAOReplicaRoutingTest.Config.class})
+class AbstractDAOReplicaRoutingTest {
+
+    @Configuration
+    static class Config {
+        @Bean
+        SnapshotOrderDAO snapshotOrderDAO() {
+            return new SnapshotOrderDAO();
+        }
+    }
+
+    static class SnapshotOrderDAO extends AbstractDAO<TestOrder, TestOrderRepository> {
+        @Override
+        protected SnapshotOptions getSnapshotOptions() {
+            return SnapshotOptions.refreshOnSave();
+        }
+    }
+
+    @Autowired TestOrderDAO dao;
+    @Autowired SnapshotOrderDAO snapshotDao;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired EntityManagerFactory entityManagerFactory;
+    @Autowired @Qualifier("primaryDatabase") EmbeddedDatabase primaryDatabase;
+    @Autowired @Qualifier("replicaDatabase") EmbeddedDatabase replicaDatabase;
+
+    JdbcTemplate primary;
+    JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        DataSourceRouting.unpin();
+        DataSourceRouting.callOn(DataSourceRoute.REPLICA, () -> {
+            var schema = entityManagerFactory.unwrap(SessionFactory.class).getSchemaManager();
+            schema.dropMappedObjects(false);
+            schema.exportMappedObjects(false);
+            return null;
+        });
+        primary = new JdbcTemplate(primaryDatabase);
+        replica = new JdbcTemplate(replicaDatabase);
+        primary.update("delete from test_order");
+        primary.update("insert into test_order (status, region, priority) values ('OPEN', 'EU', 1)");
+        replica.update("insert into test_order (status, region, priority) values ('OPEN', 'EU', 1)");
+        replica.update("insert into test_order (status, region, priority) values ('OPEN', 'US', 2)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        DataSourceRouting.unpin();
+    }
+
+    @Test
+    void readsOutsideTransaction_useReplica() {
+        assertEquals(2L, dao.count());
+        assertEquals(2, dao.getQueryResult(new Criteria()).size());
+    }
+
+    @Test
+    void readsInsideTransaction_usePrimary() {
+        Long count = new TransactionTemplate(transactionManager).execute(status -> dao.count());
+        assertEquals(1L, count);
+    }
+
+    @Test
+    void save_pinsCallerToPrimary() {
+        dao.save(new TestOrder("CLOSED", "US", 3));
+
+        assertEquals(2L, dao.count());
+        assertEquals(2, dao.getQueryResult(new Criteria()).size());
+        assertEquals(2L, primary.queryForObject("select count(*) from test_order", Long.class));
+
+        DataSourceRouting.unpin();
+        assertEquals(2L, replica.queryForObject("select count(*) from test_order", Long.class));
+        assertEquals(1, dao.getQueryResult(new Criteria()).stream()
+                .filter(o -> "US".equals(o.getRegion()))
+                .count());
+    }
+
+    @Test
+    void snapshot_loadsFromPrimary() {
+        snapshotDao.getSnapshotStore().invalidate();
+        assertEquals(1L, snapshotDao.count(new Criteria()));
+
+        primary.update("insert into test_order (status, region, priority) values ('CLOSED', 'US', 3)");
+        snapshotDao.getSnapshotStore().invalidate();
+        assertEquals(2L, snapshotDao.count(new Criteria()));
+        assertEquals(2L, dao.count());
+    }
+
+    @Test
+    void concurrentBatch_honoursPrimaryPin() {
+        Criteria closed = new Criteria();
+        closed.setFilters(List.of(BasicFilter.builder()
+                .field("status")
+                .operator(BasicFilter.Operator.EQUAL)
+                .value("CLOSED")
+                .build()));
+        List<BatchQuery> queries = List.of(
+                BatchQuery.count(closed), BatchQuery.results(closed), BatchQuery.resultsAndCount(new Criteria()));
+
+        dao.save(new TestOrder("CLOSED", "US", 3));
+        List<BatchResult<TestOrder>> pinned = dao.batch(queries, 4);
+
+        assertEquals(1L, pinned.get(0).count());
+        assertEquals(1, pinned.get(1).results().size());
+        assertEquals(2L, pinned.get(2).count());
+
+        DataSourceRouting.unpin();
+        List<BatchResult<TestOrder>> unpinned = dao.batch(queries, 4);
+
+        assertEquals(0L, unpinned.get(0).count());
+        assertEquals(0, unpinned.get(1).results().size());
+    }
+}
@@ -0,0 +1,261 @@
+package com.chadtalty.commons.data.access;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.chadtalty.commons.data.access.snapshot.SnapshotOptions;
+import com.chadtalty.commons.data.access.snapshot.SnapshotStats;
+import com.chadtalty.commons.data.access.testutil.JpaTestConfig;
+import com.chadtalty.commons.data.access.testutil.TestCustomer;
+import com.chadtalty.commons.data.access.testutil.TestOrder;
+import com.chadtalty.commons.data.access.testutil.TestOrderDAO;
+import com.chadtalty.commons.data.access.testutil.TestOrderRepository;
+import com.chadtalty.commons.data.query.BasicFilter;
+import com.chadtalty.commons.data.query.BetweenFilter;
+import com.chadtalty.commons.data.query.ContainsFilter;
+import com.chadtalty.commons.data.query.Criteria;
+import com.chadtalty.commons.data.query.DateTimeFilter;
+import com.chadtalty.commons.data.query.Filter;
+import com.chadtalty.commons.data.query.JoinSpec;
+import com.chadtalty.commons.data.query.PageableCriteria;
+import com.chadtalty.commons.data.query.SortSpec;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** In-memory snapshot mode of {@link AbstractDAO}, compared with the database on embedded H2. */
+@SpringJUnitConfig({JpaTestConfig.class, AbstractDAOSnapshotTest.SnapshotConfig.class})
+class AbstractDAOSnapshotTest {
+
+    static final Instant T0 = Instant.parse("2025-08-20T10:00:00Z");
+
+    /** Same table as {@link TestOrderDAO}, answered from a snapshot. */
+    static class SnapshotOrderDAO extends AbstractDAO<TestOrder, TestOrderRepository> {
+        @Override
+        protected SnapshotOptions getSnapshotOptions() {
+            return SnapshotOptions.refreshOnSave().withIndexedFields("status", "region");
+        }
+    }
+
+    @Configuration
+    static class SnapshotConfig {
+        @Bean
+        SnapshotOrderDAO snapshotOrderDAO() {
+            return new SnapshotOrderDAO();
+        }
+    }
+
+    @Autowired TestOrderDAO database;
+    @Autowired SnapshotOrderDAO snapshot;
+    @Autowired EntityManagerFactory entityManagerFactory;
+    @Autowired PlatformTransactionManager transactionManager;
+    @PersistenceContext EntityManager entityManager;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        database.getRepository().deleteAllInBatch();
+        List<TestOrder> orders = new ArrayList<>();
+        String[] statuses = {"OPEN", "CLOSED", "CANCELLED"};
+        for (int i = 0; i < 40; i++) {
+            TestOrder order = new TestOrder(statuses[i % 3], i % 4 == 0 ? null : "R" + i % 4, i % 5 == 4 ? null : i % 5);
+            order.setAmount(i % 7 == 0 ? null : new BigDecimal(i).setScale(i % 3));
+            Instant at = T0.plusSeconds(3_600L * (i % 13));
+            order.setCreatedAt(i % 6 == 5 ? null : Timestamp.from(at.plusNanos(i)));
+            order.setUpdatedAt(LocalDateTime.ofInstant(at, ZoneOffset.UTC));
+            order.setShippedAt(Date.from(at));
+            orders.add(order);
+        }
+        database.getRepository().saveAll(orders);
+        snapshot.getSnapshotStore().invalidate();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    static Stream<List<Filter>> filters() {
+        Instant t3 = T0.plusSeconds(3_600L * 3);
+        Instant t9 = T0.plusSeconds(3_600L * 9);
+        return Stream.of(
+                List.of(),
+                List.of(basic("status", BasicFilter.Operator.EQUAL, "OPEN")),
+                List.of(basic("status", BasicFilter.Operator.NOT_EQUAL, "OPEN")),
+                List.of(basic("region", BasicFilter.Operator.EQUAL, "R9")),
+                List.of(basic("priority", BasicFilter.Operator.GREATER_THAN, "1")),
+                List.of(basic("priority", BasicFilter.Operator.LESS_THAN_OR_EQUAL, "2")),
+                List.of(basic("amount", BasicFilter.Operator.EQUAL, "10")),
+                List.of(basic("amount", BasicFilter.Operator.GREATER_THAN_OR_EQUAL, "12.5")),
+                List.of(in("amount", "1", "2.0", "8.00")),
+                List.of(in("status", "OPEN", "CLOSED", "HELD"), basic("region", BasicFilter.Operator.NOT_EQUAL, "R2")),
+                List.of(in("priority", "0", "3")),
+                List.of(dateTime("createdAt", DateTimeFilter.Operator.AFTER, t3)),
+                List.of(dateTime("updatedAt", DateTimeFilter.Operator.BEFORE_OR_EQUAL, t3)),
+                List.of(dateTime("shippedAt", DateTimeFilter.Operator.EQUAL, t9)),
+                List.of(between("createdAt", t3, t9)),
+                List.of(between("updatedAt", t3, t9), basic("status", BasicFilter.Operator.EQUAL, "CLOSED")));
+    }
+
+    @ParameterizedTest
+    @MethodSource("filters")
+    void snapshot_answersLikeTheDatabase_withoutStatements(List<Filter> filters) {
+        snapshot.getSnapshotStore().get();
+        Criteria criteria = new Criteria();
+        criteria.setFilters(filters);
+        criteria.setSort(new SortSpec(List.of("region", "priority"), List.of("amount", "id")));
+
+        List<Long> expected = ids(database.getQueryResult(criteria));
+        long expectedCount = database.count(criteria);
+        statistics.clear();
+
+        assertEquals(expected, ids(snapshot.getQueryResult(criteria)));
+        assertEquals(expectedCount, snapshot.count(criteria));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void pages_matchTheDatabase() {
+        PageableCriteria criteria = new PageableCriteria();
+        criteria.setFilters(List.of(in("status", "OPEN", "CLOSED")));
+        criteria.setSort(new SortSpec(List.of(), List.of("createdAt", "id")));
+        criteria.setSize(7);
+        criteria.setPage(2);
+
+        Page<TestOrder> expected = database.getQueryResultPage(criteria);
+        Page<TestOrder> actual = snapshot.getQueryResultPage(criteria);
+
+        assertEquals(ids(expected.getContent()), ids(actual.getContent()));
+        assertEquals(expected.getTotalElements(), actual.getTotalElements());
+        assertEquals(expected.getTotalPages(), actual.getTotalPages());
+    }
+
+    @Test
+    void farFutureSentinels_compareAndSortLikeTheDatabase() {
+        Instant sentinel = Instant.parse("9999-12-31T00:00:00Z");
+        TestOrder open = new TestOrder("OPEN", "R1", 1);
+        open.setCreatedAt(Timestamp.from(sentinel));
+        open.setUpdatedAt(LocalDateTime.ofInstant(sentinel, ZoneOffset.UTC));
+        open.setShippedAt(Date.from(sentinel));
+        database.save(open);
+        snapshot.getSnapshotStore().invalidate();
+
+        for (String field : List.of("createdAt", "updatedAt", "shippedAt")) {
+            Criteria criteria = criteria(dateTime(field, DateTimeFilter.Operator.AFTER, T0.plusSeconds(3_600L * 9)));
+            criteria.setSort(new SortSpec(List.of(), List.of(field, "id")));
+            List<Long> expected = ids(database.getQueryResult(criteria));
+
+            assertEquals(open.getId(), expected.get(0), field);
+            assertEquals(expected, ids(snapshot.getQueryResult(criteria)), field);
+        }
+    }
+
+    @Test
+    void save_refreshesSnapshot() {
+        Criteria held = criteria(basic("status", BasicFilter.Operator.EQUAL, "HELD"));
+        assertEquals(0, snapshot.getQueryResult(held).size());
+
+        snapshot.save(new TestOrder("HELD", "R1", 1));
+
+        assertEquals(1, snapshot.getQueryResult(held).size());
+    }
+
+    @Test
+    void reads_returnCopiesOfTheirOwn() {
+        Criteria open = criteria(basic("status", BasicFilter.Operator.EQUAL, "OPEN"));
+        TestOrder first = snapshot.getQueryResult(open).get(0);
+        TestOrder again = snapshot.getQueryResult(open).get(0);
+        assertNotSame(first, again);
+        assertEquals(first.getId(), again.getId());
+
+        first.setStatus("MUTATED");
+        assertEquals("OPEN", snapshot.getQueryResult(open).get(0).getStatus());
+        assertEquals(0, snapshot.count(criteria(basic("status", BasicFilter.Operator.EQUAL, "MUTATED"))));
+
+        snapshot.save(first);
+        assertEquals(1, snapshot.count(criteria(basic("status", BasicFilter.Operator.EQUAL, "MUTATED"))));
+        assertEquals("MUTATED", database.findById(first.getId()).getStatus());
+    }
+
+    @Test
+    void unloadedLazyAssociation_isRejectedWhenBuilding() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            TestCustomer smith = new TestCustomer("Smith");
+            entityManager.persist(smith);
+            TestOrder order = new TestOrder("OPEN", "R1", 1);
+            order.setCustomer(smith);
+            entityManager.persist(order);
+        });
+        snapshot.getSnapshotStore().invalidate();
+
+        var e = assertThrows(IllegalStateException.class, () -> snapshot.getSnapshotStore().get());
+        assertTrue(e.getMessage().contains("TestOrder.customer"), e.getMessage());
+    }
+
+    @Test
+    void joins_goToTheDatabase() {
+        JoinSpec join = new JoinSpec();
+        join.setJoin("customer");
+        join.setFilter(basic("lastName", BasicFilter.Operator.EQUAL, "Smith"));
+        Criteria criteria = new Criteria();
+        criteria.setJoins(List.of(join));
+        snapshot.getSnapshotStore().get();
+        statistics.clear();
+
+        assertEquals(0, snapshot.getQueryResult(criteria).size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void stats_reportRowsAndColumns() {
+        SnapshotStats stats = snapshot.getSnapshotStore().get().stats();
+
+        assertEquals(40, stats.rows());
+        assertTrue(stats.columnBytes().keySet().containsAll(List.of("status", "region")));
+        assertTrue(stats.estimatedColumnBytes() > 0);
+    }
+
+    private static List<Long> ids(List<TestOrder> orders) {
+        return orders.stream().map(TestOrder::getId).toList();
+    }
+
+    private static Criteria criteria(Filter... filters) {
+        Criteria criteria = new Criteria();
+        criteria.setFilters(List.of(filters));
+        return criteria;
+    }
+
+    private static BasicFilter basic(String field, BasicFilter.Operator operator, String value) {
+        return BasicFilter.builder().field(field).operator(operator).value(value).build();
+    }
+
+    private static ContainsFilter in(String field, String... values) {
+        return ContainsFilter.builder().field(field).operator(ContainsFilter.Operator.IN).values(List.of(values)).build();
+    }
+
+    private static DateTimeFilter dateTime(String field, DateTimeFilter.Operator operator, Instant value) {
+        return DateTimeFilter.builder().field(field).operator(operator).value(value).build();
+    }
+
+    private static BetweenFilter between(String field, Instant start, Instant end) {
+        return BetweenFilter.builder().field(field).startDateTime(start).endDateTime(end).build();
+    }
+}
@@ -0,0 +1,309 @@
+package com.chadtalty.commons.data.access;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.chadtalty.commons.data.access.changes.ChangeBatch;
+import com.chadtalty.commons.data.access.filter.CompositeFilter;
+import com.chadtalty.commons.data.access.filter.TextFilter;
+import com.chadtalty.commons.data.access.testutil.JpaTestConfig;
+import com.chadtalty.commons.data.access.testutil.SqlCounts;
+import com.chadtalty.commons.data.access.testutil.SqlStatistics;
+import com.chadtalty.commons.data.access.testutil.TestCustomer;
+import com.chadtalty.commons.data.access.testutil.TestOrder;
+import com.chadtalty.commons.data.access.testutil.TestOrderDAO;
+import com.chadtalty.commons.data.query.BasicFilter;
+import com.chadtalty.commons.data.query.BetweenFilter;
+import com.chadtalty.commons.data.query.ContainsFilter;
+import com.chadtalty.commons.data.query.Criteria;
+import com.chadtalty.commons.data.query.DateTimeFilter;
+import com.chadtalty.commons.data.query.Filter;
+import com.chadtalty.commons.data.query.JoinSpec;
+import com.chadtalty.commons.data.query.PageableCriteria;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Statement-count regression tests: every {@link DAO} method and every filter handler, end to end
+ * against embedded H2, with the number of statements, loaded entities, lazy fetches and flushes
+ * each may cause.
+ */
+@SpringJUnitConfig(JpaTestConfig.class)
+class AbstractDAOStatementCountTest {
+
+    static final Instant T0 = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Autowired TestOrderDAO dao;
+    @Autowired EntityManagerFactory entityManagerFactory;
+    @Autowired PlatformTransactionManager transactionManager;
+    @PersistenceContext EntityManager entityManager;
+
+    SqlStatistics sql;
+
+    Long firstId;
+
+    /** Ten orders of five customers, two per customer; timestamps one hour apart. */
+    @BeforeEach
+    void setUp() {
+        sql = new SqlStatistics(entityManagerFactory);
+        dao.getRepository().deleteAllInBatch();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            TestCustomer customer = null;
+            for (int i = 0; i < 10; i++) {
+                if (i % 2 == 0) {
+                    customer = new TestCustomer("Customer" + i / 2);
+                    entityManager.persist(customer);
+                }
+                Instant at = T0.plusSeconds(3600L * i);
+                TestOrder order = new TestOrder(i % 2 == 0 ? "OPEN" : "CLOSED", "EU", i);
+                order.setCustomer(customer);
+                order.setCreatedAt(Timestamp.from(at));
+                order.setUpdatedAt(LocalDateTime.ofInstant(at, ZoneOffset.UTC));
+                entityManager.persist(order);
+                if (i == 0) {
+                    firstId = order.getId();
+                }
+            }
+        });
+    }
+
+    // -- DAO methods ---------------------------------------------------------------------------
+
+    @Test
+    void findById() {
+        sql.countsOf(() -> dao.findById(firstId))
+                .assertStatements(1)
+                .assertMaxEntitiesLoaded(1)
+                .assertNoLazyFetches()
+                .assertFlushes(0);
+    }
+
+    @Test
+    void findAll() {
+        sql.countsOf(() -> dao.findAll())
+                .assertStatements(1)
+                .assertMaxEntitiesLoaded(10)
+                .assertNoLazyFetches()
+                .assertFlushes(0);
+    }
+
+    @Test
+    void findAll_pageable() {
+        sql.countsOf(() -> dao.findAll(PageRequest.of(0, 3)))
+                .assertStatements(2)
+                .assertMaxEntitiesLoaded(3)
+                .assertNoLazyFetches()
+                .assertFlushes(0);
+    }
+
+    @Test
+    void getQueryResult() {
+        sql.countsOf(() -> dao.getQueryResult(criteria(eq("status", "OPEN"))))
+                .assertStatements(1)
+                .assertMaxEntitiesLoaded(5)
+                .assertNoLazyFetches()
+                .assertFlushes(0);
+    }
+
+    @Test
+    void getQueryResultPage_pageAndCount() {
+        PageableCriteria criteria = new PageableCriteria();
+        criteria.setFilters(List.of(eq("status", "OPEN")));
+        criteria.setPage(0);
+        criteria.setSize(2);
+
+        sql.countsOf(() -> assertEquals(5, dao.getQueryResultPage(criteria).getTotalElements()))
+                .assertStatements(2)
+                .assertMaxEntitiesLoaded(2)
+                .assertNoLazyFetches()
+                .assertFlushes(0);
+    }
+
+    @Test
+    void getQueryResultPage_lastPage_skipsCount() {
+        PageableCriteria criteria = new PageableCriteria();
+        criteria.setFilters(List.of(eq("status", "OPEN")));
+        criteria.setPage(0);
+        criteria.setSize(20);
+
+        sql.countsOf(() -> dao.getQueryResultPage(criteria)).assertStatements(1).assertMaxEntitiesLoaded(5);
+    }
+
+    @Test
+    void count() {
+        sql.countsOf(() -> dao.count()).assertStatements(1).assertMaxEntitiesLoaded(0).assertFlushes(0);
+    }
+
+    @Test
+    void count_criteria() {
+        sql.countsOf(() -> assertEquals(5, dao.count(criteria(eq("status", "CLOSED")))))
+                .assertStatements(1)
+                .assertMaxEntitiesLoaded(0)
+                .assertFlushes(0);
+    }
+
+    @Test
+    void existsById() {
+        sql.countsOf(() -> assertTrue(dao.existsById(firstId)))
+                .assertStatements(1)
+                .assertMaxEntitiesLoaded(0)
+                .assertFlushes(0);
+    }
+
+    @Test
+    void getChanges() {
+        SqlStatistics.Measured<ChangeBatch<TestOrder>> measured =
+                sql.measure(() -> dao.getChanges(new Criteria(), "updatedAt", null, 4));
+
+        assertEquals(4, measured.result().changes().size());
+        measured.counts()
+                .assertStatements(1)
+                .assertMaxEntitiesLoaded(4)
+                .assertNoLazyFetches()
+                .assertFlushes(0);
+    }
+
+    @Test
+    void save_insert() {
+        sql.countsOf(() -> dao.save(new TestOrder("NEW", "US", 1)))
+                .assertStatements(1)
+                .assertNoLazyFetches()
+                .assertFlushes(1);
+    }
+
+    @Test
+    void save_update_mergesDetached() {
+        TestOrder order = dao.findById(firstId);
+        order.setStatus("SHIPPED");
+
+        // merge loads the row, then updates it
+        sql.countsOf(() -> dao.save(order))
+                .assertStatements(2)
+                .assertMaxEntitiesLoaded(1)
+                .assertNoLazyFetches()
+                .assertFlushes(1);
+    }
+
+    @Test
+    void getRepository() {
+        sql.countsOf(() -> dao.getRepository()).assertStatements(0);
+    }
+
+    // -- Filter handlers -----------------------------------------------------------------------
+
+    @Test
+    void basicFilter() {
+        assertOneQuery(criteria(eq("region", "EU")), 10);
+    }
+
+    @Test
+    void containsFilter() {
+        assertOneQuery(
+                criteria(ContainsFilter.builder()
+                        .field("status")
+                        .values(List.of("OPEN", "CLOSED"))
+                        .build()),
+                10);
+    }
+
+    @Test
+    void betweenFilter() {
+        assertOneQuery(
+                criteria(BetweenFilter.builder()
+                        .field("createdAt")
+                        .startDateTime(T0)
+                        .endDateTime(T0.plusSeconds(3600L * 2))
+                        .build()),
+                3);
+    }
+
+    @Test
+    void dateTimeFilter() {
+        assertOneQuery(
+                criteria(DateTimeFilter.builder()
+                        .field("createdAt")
+                        .operator(DateTimeFilter.Operator.BEFORE)
+                        .value(T0.plusSeconds(3600L * 4))
+                        .build()),
+                4);
+    }
+
+    @Test
+    void compositeFilter() {
+        assertOneQuery(criteria(CompositeFilter.or(eq("priority", "1"), CompositeFilter.not(eq("status", "OPEN")))), 5);
+    }
+
+    @Test
+    void textFilter() {
+        assertOneQuery(
+                criteria(TextFilter.builder()
+                        .field("status")
+                        .operator(TextFilter.Operator.STARTS_WITH)
+                        .value("op")
+                        .ignoreCase(true)
+                        .build()),
+                5);
+    }
+
+    @Test
+    void joinedFilter_joinsInsteadOfFetchingLazily() {
+        JoinSpec join = new JoinSpec();
+        join.setJoin("customer");
+        join.setFilter(eq("lastName", "Customer1"));
+        Criteria criteria = new Criteria();
+        criteria.setJoins(List.of(join));
+
+        assertOneQuery(criteria, 2);
+        assertOneQuery(criteria(eq("customer.lastName", "Customer2")), 2);
+    }
+
+    // -- The harness itself --------------------------------------------------------------------
+
+    @Test
+    void lazyAssociationAccess_isReportedAsNPlusOne() {
+        SqlCounts counts = sql.countsOf(() -> new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> dao.findAll().forEach(order -> order.getCustomer().getLastName())));
+
+        assertEquals(5, counts.lazyFetches());
+        assertEquals(6, counts.statements());
+        assertThrows(AssertionError.class, counts::assertNoLazyFetches);
+    }
+
+    /** The criteria runs as one statement loading {@code expected} orders and nothing else. */
+    private void assertOneQuery(Criteria criteria, int expected) {
+        SqlStatistics.Measured<List<TestOrder>> measured = sql.measure(() -> dao.getQueryResult(criteria));
+
+        assertEquals(expected, measured.result().size());
+        measured.counts()
+                .assertStatements(1)
+                .assertMaxEntitiesLoaded(expected)
+                .assertNoLazyFetches()
+                .assertFlushes(0);
+    }
+
+    private static Criteria criteria(Filter... filters) {
+        Criteria criteria = new Criteria();
+        criteria.setFilters(List.of(filters));
+        return criteria;
+    }
+
+    private static BasicFilter eq(String field, String value) {
+        return BasicFilter.builder()
+                .field(field)
+                .operator(BasicFilter.Operator.EQUAL)
+                .value(value)
+                .build();
+    }
+}
@@ -0,0 +1,172 @@
+package com.chadtalty.commons.data.access;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.chadtalty.commons.data.access.testutil.JpaTestConfig;
+import com.chadtalty.commons.data.access.testutil.RecordingStatementInspector;
+import com.chadtalty.commons.data.access.testutil.TestPrice;
+import com.chadtalty.commons.data.access.testutil.TestPriceRepository;
+import com.chadtalty.commons.data.access.testutil.TestStock;
+import com.chadtalty.commons.data.access.testutil.TestStockRepository;
+import com.chadtalty.commons.data.access.upsert.UpsertResult;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+/** Native upserts of {@link AbstractDAO} against embedded H2. */
+@SpringJUnitConfig({JpaTestConfig.class, AbstractDAOUpsertTest.UpsertConfig.class})
+class AbstractDAOUpsertTest {
+
+    /** Upserts on the id, three rows per statement, counting inserted rows. */
+    static class StockDAO extends AbstractDAO<TestStock, TestStockRepository> {
+        @Override
+        protected int getUpsertBatchSize() {
+            return 3;
+        }
+
+        @Override
+        protected boolean isUpsertCountingInserted() {
+            return true;
+        }
+    }
+
+    /** Upserts on the unique {@code sku}, counting inserted rows. */
+    static class StockBySkuDAO extends AbstractDAO<TestStock, TestStockRepository> {
+        @Override
+        protected List<String> getUpsertKey() {
+            return List.of("sku");
+        }
+
+        @Override
+        protected boolean isUpsertCountingInserted() {
+            return true;
+        }
+    }
+
+    /** Upserts a versioned entity on the id, with the defaults. */
+    static class PriceDAO extends AbstractDAO<TestPrice, TestPriceRepository> {}
+
+    @Configuration
+    static class UpsertConfig {
+        @Bean
+        StockDAO stockDAO() {
+            return new StockDAO();
+        }
+
+        @Bean
+        StockBySkuDAO stockBySkuDAO() {
+            return new StockBySkuDAO();
+        }
+
+        @Bean
+        PriceDAO priceDAO() {
+            return new PriceDAO();
+        }
+    }
+
+    @Autowired StockDAO dao;
+    @Autowired StockBySkuDAO bySku;
+    @Autowired PriceDAO prices;
+
+    @BeforeEach
+    void setUp() {
+        dao.getRepository().deleteAllInBatch();
+        prices.getRepository().deleteAllInBatch();
+        dao.getRepository().saveAll(List.of(new TestStock(1L, "A", 10), new TestStock(2L, "B", 20)));
+    }
+
+    @Test
+    void upsert_insertsThenUpdates() {
+        assertEquals(new UpsertResult(1, 1, 1), dao.upsert(new TestStock(3L, "C", 30)));
+        assertEquals(new UpsertResult(1, 0, 1), dao.upsert(new TestStock(3L, "C", 31)));
+
+        assertEquals(31, dao.findById(3L).getQuantity());
+        assertEquals(3, dao.count());
+    }
+
+    @Test
+    void upsertAll_batchesAndCountsInserted() {
+        List<TestStock> stock = LongStream.rangeClosed(1, 7)
+                .mapToObj(id -> new TestStock(id, "S" + id, (int) id * 100))
+                .toList();
+
+        RecordingStatementInspector.clear();
+        UpsertResult result = dao.upsertAll(stock);
+
+        assertEquals(7, result.affected());
+        assertEquals(5, result.inserted());
+        assertEquals(2, result.updated());
+        assertEquals(3, result.statements());
+        assertEquals(3, RecordingStatementInspector.statements().stream()
+                .filter(sql -> sql.toLowerCase().startsWith("merge"))
+                .count());
+        assertEquals(
+                List.of(100, 200, 300, 400, 500, 600, 700),
+                dao.findAll().stream()
+                        .sorted(Comparator.comparing(TestStock::getId))
+                        .map(TestStock::getQuantity)
+                        .toList());
+    }
+
+    @Test
+    void upsertAll_repeatedKeys_lastWins() {
+        UpsertResult result =
+                dao.upsertAll(List.of(new TestStock(5L, "E", 1), new TestStock(5L, "E", 2), new TestStock(1L, "A", 3)));
+
+        assertEquals(new UpsertResult(2, 1, 1), result);
+        assertEquals(2, dao.findById(5L).getQuantity());
+        assertEquals(3, dao.findById(1L).getQuantity());
+    }
+
+    @Test
+    void upsertAll_onUniqueKey_keepsExistingIds() {
+        UpsertResult result = bySku.upsertAll(List.of(new TestStock(99L, "A", 11), new TestStock(3L, "C", 30)));
+
+        assertEquals(new UpsertResult(2, 1, 1), result);
+        assertEquals(11, dao.findById(1L).getQuantity());
+        assertEquals("C", dao.findById(3L).getSku());
+        assertFalse(dao.existsById(99L));
+    }
+
+    @Test
+    void upsert_onId_withoutId_rejected() {
+        assertThrows(InvalidDataAccessApiUsageException.class, () -> dao.upsert(new TestStock(null, "X", 1)));
+    }
+
+    @Test
+    void upsertAll_byDefault_skipsTheCount() {
+        RecordingStatementInspector.clear();
+        UpsertResult result = prices.upsertAll(List.of(new TestPrice(1L, 100), new TestPrice(2L, 200)));
+
+        assertEquals(new UpsertResult(2, UpsertResult.NOT_COUNTED, 1), result);
+        assertFalse(result.isCounted());
+        assertEquals(UpsertResult.NOT_COUNTED, result.updated());
+        assertEquals(List.of("merge"), RecordingStatementInspector.statements().stream()
+                .map(sql -> sql.toLowerCase().substring(0, sql.indexOf(' ')))
+                .toList());
+    }
+
+    @Test
+    void upsert_versionedEntity_insertsVersionZeroAndIncrementsOnUpdate() {
+        prices.upsert(new TestPrice(1L, 100));
+        assertEquals(0L, prices.findById(1L).getVersion());
+
+        prices.upsert(new TestPrice(1L, 150));
+        TestPrice loaded = prices.findById(1L);
+        assertEquals(150, loaded.getCents());
+        assertEquals(1L, loaded.getVersion());
+
+        prices.upsert(new TestPrice(1L, 175));
+        loaded.setCents(999);
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> prices.save(loaded));
+        assertEquals(175, prices.findById(1L).getCents());
+    }
+}
@@ -0,0 +1,132 @@
+package com.chadtalty.commons.data.access;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.chadtalty.commons.data.access.filter.handler.FilterHandlerFactory;
+import com.chadtalty.commons.data.access.testutil.JpaTestConfig;
+import com.chadtalty.commons.data.access.testutil.TestOrder;
+import com.chadtalty.commons.data.access.testutil.TestOrderDAO;
+import com.chadtalty.commons.data.access.testutil.TestOrderRepository;
+import com.chadtalty.commons.data.access.warmup.DataAccessWarmup;
+import com.chadtalty.commons.data.access.warmup.WarmupReport;
+import com.chadtalty.commons.data.query.BasicFilter;
+import com.chadtalty.commons.data.query.Criteria;
+import com.chadtalty.commons.data.query.Filter;
+import com.chadtalty.commons.data.query.FilterType;
+import com.chadtalty.commons.data.query.JoinSpec;
+import com.chadtalty.commons.data.query.SortSpec;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+/** Startup validation and warmup of {@link AbstractDAO}s against embedded H2. */
+@SpringJUnitConfig({JpaTestConfig.class, AbstractDAOWarmupTest.WarmupConfig.class})
+class AbstractDAOWarmupTest {
+
+    static class WarmedOrderDAO extends AbstractDAO<TestOrder, TestOrderRepository> {
+        @Override
+        protected List<Criteria> getWarmupCriteria() {
+            Criteria open = criteria(BasicFilter.builder()
+                    .field("status")
+                    .operator(BasicFilter.Operator.EQUAL)
+                    .value("OPEN")
+                    .build());
+            open.setSort(new SortSpec(List.of(), List.of("createdAt")));
+            JoinSpec join = new JoinSpec();
+            join.setJoin("customer");
+            join.setFilter(BasicFilter.builder()
+                    .field("lastName")
+                    .operator(BasicFilter.Operator.EQUAL)
+                    .value("Smith")
+                    .build());
+            Criteria byCustomer = new Criteria();
+            byCustomer.setJoins(List.of(join));
+            return List.of(open, byCustomer);
+        }
+    }
+
+    /** Warmup criteria with a misspelled field. */
+    static class BrokenOrderDAO extends AbstractDAO<TestOrder, TestOrderRepository> {
+        @Override
+        protected List<Criteria> getWarmupCriteria() {
+            return List.of(criteria(BasicFilter.builder()
+                    .field("stauts")
+                    .operator(BasicFilter.Operator.EQUAL)
+                    .value("OPEN")
+                    .build()));
+        }
+    }
+
+    @Configuration
+    @Import(DataAccessWarmup.class)
+    static class WarmupConfig {
+        @Bean
+        WarmedOrderDAO warmedOrderDAO() {
+            return new WarmedOrderDAO();
+        }
+    }
+
+    @Configuration
+    static class BrokenConfig {
+        @Bean
+        BrokenOrderDAO brokenOrderDAO() {
+            return new BrokenOrderDAO();
+        }
+    }
+
+    static class UnregisteredFilter extends Filter {}
+
+    @Autowired WarmedOrderDAO warmed;
+    @Autowired TestOrderDAO plain;
+
+    @Test
+    void warmUp_runsEachCriteria_andPrecomputesMetadata() {
+        WarmupReport report = warmed.warmUp();
+
+        assertEquals(TestOrder.class, report.entityType());
+        assertTrue(report.attributes() >= 9, "attributes: " + report.attributes());
+        assertEquals(
+                List.of("filters [status], joins []", "filters [], joins [customer]"),
+                report.queries().stream().map(WarmupReport.Query::description).toList());
+        assertEquals(List.of(), report.failures());
+        assertEquals(0, plain.warmUp().queries().size());
+    }
+
+    @Test
+    void failingWarmupCriteria_failStartup() {
+        var context = new AnnotationConfigApplicationContext();
+        context.register(JpaTestConfig.class, BrokenConfig.class, DataAccessWarmup.class);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, context::refresh);
+        assertTrue(e.getMessage().contains("stauts"), e.getMessage());
+        assertFalse(context.isActive());
+    }
+
+    @Test
+    void missingHandlers_reportsUnregisteredTypes() {
+        FilterHandlerFactory<TestOrder> factory = new FilterHandlerFactory<>();
+        factory.register(FilterType.BASIC, null);
+
+        assertEquals(EnumSet.complementOf(EnumSet.of(FilterType.BASIC)), factory.missingHandlers());
+    }
+
+    @Test
+    void unregisteredFilter_isRejectedWithMessage() {
+        IllegalArgumentException e =
+                assertThrows(IllegalArgumentException.class, () -> plain.count(criteria(new UnregisteredFilter())));
+        assertTrue(e.getMessage().contains("UnregisteredFilter"), e.getMessage());
+    }
+
+    private static Criteria criteria(Filter filter) {
+        Criteria criteria = new Criteria();
+        criteria.setFilters(List.of(filter));
+        return criteria;
+    }
+}
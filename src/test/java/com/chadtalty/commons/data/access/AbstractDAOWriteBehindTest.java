@@ -0,0 +1,246 @@
+package com.chadtalty.commons.data.access;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.chadtalty.commons.data.access.invalidation.Invalidation;
+import com.chadtalty.commons.data.access.snapshot.Snapshot;
+import com.chadtalty.commons.data.access.snapshot.SnapshotOptions;
+import com.chadtalty.commons.data.access.snapshot.SnapshotStore;
+import com.chadtalty.commons.data.access.testutil.JpaTestConfig;
+import com.chadtalty.commons.data.access.testutil.RecordingStatementInspector;
+import com.chadtalty.commons.data.access.testutil.TestPrice;
+import com.chadtalty.commons.data.access.testutil.TestPriceRepository;
+import com.chadtalty.commons.data.access.testutil.TestStock;
+import com.chadtalty.commons.data.access.testutil.TestStockRepository;
+import com.chadtalty.commons.data.access.writebehind.WriteBehindOptions;
+import com.chadtalty.commons.data.access.writebehind.WriteBehindStats;
+import com.chadtalty.commons.data.query.Criteria;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** Write-behind saves of {@link AbstractDAO} against embedded H2. */
+@SpringJUnitConfig({JpaTestConfig.class, AbstractDAOWriteBehindTest.WriteBehindConfig.class})
+class AbstractDAOWriteBehindTest {
+
+    /** Buffers saves; flushes only when asked to. */
+    static class BufferedStockDAO extends AbstractDAO<TestStock, TestStockRepository> {
+        @Override
+        protected WriteBehindOptions getWriteBehindOptions() {
+            return WriteBehindOptions.flushEvery(Duration.ofHours(1)).withMaxBatchSize(1_000);
+        }
+    }
+
+    /** Buffers saves and keeps a snapshot of the table. */
+    static class SnapshotStockDAO extends AbstractDAO<TestStock, TestStockRepository> {
+        @Override
+        protected WriteBehindOptions getWriteBehindOptions() {
+            return WriteBehindOptions.flushEvery(Duration.ofHours(1)).withMaxBatchSize(1_000);
+        }
+
+        @Override
+        protected SnapshotOptions getSnapshotOptions() {
+            return SnapshotOptions.refreshOnSave();
+        }
+    }
+
+    /** Opts a versioned entity into write-behind. */
+    static class BufferedPriceDAO extends AbstractDAO<TestPrice, TestPriceRepository> {
+        @Override
+        protected WriteBehindOptions getWriteBehindOptions() {
+            return WriteBehindOptions.flushEvery(Duration.ofHours(1));
+        }
+    }
+
+    @Configuration
+    static class WriteBehindConfig {
+        @Bean
+        BufferedStockDAO bufferedStockDAO() {
+            return new BufferedStockDAO();
+        }
+
+        @Bean
+        SnapshotStockDAO snapshotStockDAO() {
+            return new SnapshotStockDAO();
+        }
+
+        @Bean
+        BufferedPriceDAO bufferedPriceDAO() {
+            return new BufferedPriceDAO();
+        }
+    }
+
+    @Autowired BufferedStockDAO dao;
+    @Autowired SnapshotStockDAO snapshotDao;
+    @Autowired BufferedPriceDAO priceDao;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired ApplicationContext context;
+
+    @BeforeEach
+    void setUp() {
+        dao.flush();
+        snapshotDao.flush();
+        dao.getRepository().deleteAllInBatch();
+        dao.getRepository().saveAll(List.of(new TestStock(1L, "A", 0), new TestStock(2L, "B", 0)));
+    }
+
+    @Test
+    void repeatedSaves_writtenOnceOnFlush() {
+        for (int i = 1; i <= 100; i++) {
+            dao.save(new TestStock(1L, "A", i));
+        }
+        dao.save(new TestStock(2L, "B", 7));
+        assertEquals(0, dao.findById(1L).getQuantity());
+
+        RecordingStatementInspector.clear();
+        dao.flush();
+
+        // both rows go through one UPDATE statement, without reading them first
+        List<String> statements = RecordingStatementInspector.statements();
+        assertEquals(1, statements.size(), statements.toString());
+        assertTrue(statements.get(0).toLowerCase().startsWith("update"), statements.get(0));
+        assertEquals(100, dao.findById(1L).getQuantity());
+        assertEquals(7, dao.findById(2L).getQuantity());
+        WriteBehindStats stats = dao.getWriteBehindBuffer().stats();
+        assertEquals(0, stats.queueDepth());
+        assertTrue(stats.coalesced() >= 99);
+    }
+
+    @Test
+    void deletedRow_failsAlone() {
+        dao.save(new TestStock(1L, "A", 5));
+        dao.save(new TestStock(2L, "B", 6));
+        dao.getRepository().deleteById(2L);
+
+        assertThrows(InvalidDataAccessApiUsageException.class, dao::flush);
+
+        assertEquals(5, dao.findById(1L).getQuantity());
+        assertFalse(dao.existsById(2L));
+        assertEquals(1, dao.getWriteBehindBuffer().stats().queueDepth());
+
+        dao.getRepository().save(new TestStock(2L, "B", 0));
+        dao.flush();
+        assertEquals(6, dao.findById(2L).getQuantity());
+    }
+
+    @Test
+    void saveInTransaction_writesThrough() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> dao.save(new TestStock(1L, "A", 5)));
+
+        assertEquals(5, dao.findById(1L).getQuantity());
+    }
+
+    @Test
+    void saveInReadOnlyTransaction_isBuffered() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> dao.save(new TestStock(1L, "A", 5)));
+
+        assertEquals(0, dao.findById(1L).getQuantity());
+        dao.flush();
+        assertEquals(5, dao.findById(1L).getQuantity());
+    }
+
+    @Test
+    void versionedEntity_savedTwiceAcrossFlushes_writesThroughWithFreshVersions() {
+        priceDao.getRepository().deleteAllInBatch();
+        TestPrice price = priceDao.save(new TestPrice(1L, 100));
+
+        price.setCents(150);
+        price = priceDao.save(price);
+        priceDao.flush();
+        price.setCents(200);
+        price = priceDao.save(price);
+        priceDao.flush();
+
+        TestPrice stored = priceDao.findById(1L);
+        assertEquals(200, stored.getCents());
+        assertEquals(stored.getVersion(), price.getVersion());
+        assertEquals(0, priceDao.getWriteBehindBuffer().stats().submitted());
+    }
+
+    @Test
+    void invalidationListener_receivesCommittedWrites() {
+        List<Invalidation> seen = new CopyOnWriteArrayList<>();
+        Consumer<Invalidation> listener = seen::add;
+        dao.addInvalidationListener(listener);
+        try {
+            dao.save(new TestStock(1L, "A", 5));
+            dao.flush();
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                dao.save(new TestStock(2L, "B", 6));
+                status.setRollbackOnly();
+            });
+            dao.saveAll(List.of(new TestStock(2L, "B", 7)));
+            dao.upsertAll(List.of(new TestStock(3L, "C", 8)));
+        } finally {
+            dao.removeInvalidationListener(listener);
+        }
+        dao.save(new TestStock(1L, "A", 9));
+
+        // buffered save, write-behind flush, saveAll, upsertAll; not the rolled back save
+        assertEquals(
+                List.of(Set.of("1"), Set.of("1"), Set.of("2"), Set.of("3")),
+                seen.stream().map(Invalidation::ids).toList());
+        assertTrue(seen.get(0).covers(1L));
+        assertEquals(TestStock.class.getName(), seen.get(0).entityType());
+    }
+
+    @Test
+    void close_drainsThenSavesDirectly() {
+        BufferedStockDAO other = context.getAutowireCapableBeanFactory().createBean(BufferedStockDAO.class);
+        other.save(new TestStock(2L, "B", 3));
+        assertEquals(0, other.findById(2L).getQuantity());
+
+        other.close();
+        assertEquals(3, other.findById(2L).getQuantity());
+
+        other.save(new TestStock(2L, "B", 4));
+        assertEquals(4, other.findById(2L).getQuantity());
+    }
+
+    @Test
+    void changesAfterSave_doNotLeakIntoTheBufferedWrite() {
+        TestStock stock = new TestStock(1L, "A", 5);
+        assertSame(stock, dao.save(stock));
+        stock.setQuantity(6);
+
+        dao.flush();
+
+        assertEquals(5, dao.findById(1L).getQuantity());
+    }
+
+    @Test
+    void bufferedSave_invalidatesTheSnapshotOnAddAndAfterTheWrite() {
+        SnapshotStore<TestStock> store = snapshotDao.getSnapshotStore();
+        Snapshot<TestStock> loaded = store.get();
+
+        snapshotDao.save(new TestStock(1L, "A", 5));
+        Snapshot<TestStock> afterAdd = store.get();
+        assertNotSame(loaded, afterAdd);
+        assertEquals(0, quantityOf(afterAdd, 1L));
+
+        snapshotDao.flush();
+        assertEquals(5, quantityOf(store.get(), 1L));
+    }
+
+    private static int quantityOf(Snapshot<TestStock> snapshot, long id) {
+        return snapshot.query(new Criteria()).stream()
+                .filter(stock -> stock.getId() == id)
+                .findFirst()
+                .orElseThrow()
+                .getQuantity();
+    }
+}
@@ -0,0 +1,41 @@
+package com.chadtalty.commons.data.access.benchmark;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/** Bulk test data for the benchmark harnesses and the benchmarks module (plain JDBC, bypassing the DAO). */
+public final class BenchmarkData {
+
+    public static final String[] STATUSES = {"OPEN", "PENDING", "CLOSED", "CANCELLED"};
+    public static final String[] REGIONS = {"EU", "US", "APAC"};
+
+    private BenchmarkData() {}
+
+    public static void insertOrders(JdbcTemplate jdbc, int rows) {
+        Instant base = Instant.parse("2025-01-01T00:00:00Z");
+        List<Object[]> batch = new ArrayList<>(1_000);
+        for (int i = 0; i < rows; i++) {
+            Instant at = base.plusSeconds(i * 60L);
+            batch.add(new Object[] {
+                STATUSES[i % STATUSES.length],
+                REGIONS[i % REGIONS.length],
+                i % 10,
+                i * 1.25,
+                Timestamp.from(at),
+                LocalDateTime.ofInstant(at, ZoneOffset.UTC)
+            });
+            if (batch.size() == 1_000 || i == rows - 1) {
+                jdbc.batchUpdate(
+                        "insert into test_order (status, region, priority, amount, created_at, updated_at) "
+                                + "values (?, ?, ?, ?, ?, ?)",
+                        batch);
+                batch.clear();
+            }
+        }
+    }
+}
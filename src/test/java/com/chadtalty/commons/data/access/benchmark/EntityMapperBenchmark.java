@@ -0,0 +1,177 @@
+package com.chadtalty.commons.data.access.benchmark;
+
+import com.chadtalty.commons.data.access.EntityMapper;
+import com.chadtalty.commons.data.access.mapping.EntityMappers;
+import com.chadtalty.commons.data.access.mapping.GeneratedEntityMapper;
+import com.chadtalty.commons.data.access.testutil.TestOrder;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+import lombok.Setter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.BeanUtils;
+
+/**
+ * JMH benchmark of {@link EntityMappers} mapping entity lists to record and bean DTOs, against
+ * per-call reflection ({@code Method.invoke} and Spring's {@code BeanUtils.copyProperties}) and a
+ * hand-written mapper.
+ *
+ * <p>Not a unit test; run manually, e.g. {@code java -cp <test classpath>
+ * com.chadtalty.commons.data.access.benchmark.EntityMapperBenchmark}. Scores are milliseconds per
+ * list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityMapperBenchmark {
+
+    public record OrderRecord(Long id, String status, String region, Integer priority, BigDecimal amount,
+            Timestamp createdAt) {}
+
+    @Getter
+    @Setter
+    public static class OrderBean {
+        private Long id;
+        private String status;
+        private String region;
+        private Integer priority;
+        private BigDecimal amount;
+        private Timestamp createdAt;
+    }
+
+    @Param("100000")
+    int entities;
+
+    List<TestOrder> orders;
+    GeneratedEntityMapper<OrderRecord, TestOrder> generatedRecord;
+    GeneratedEntityMapper<OrderRecord, TestOrder> generatedParallel;
+    GeneratedEntityMapper<OrderBean, TestOrder> generatedBean;
+    Method[] getters;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        SplittableRandom random = new SplittableRandom(42);
+        Instant t0 = Instant.parse("2025-01-01T00:00:00Z");
+        orders = new ArrayList<>(entities);
+        for (int i = 0; i < entities; i++) {
+            TestOrder order = new TestOrder("OPEN", "EU", random.nextInt(10));
+            order.setId((long) i);
+            order.setAmount(BigDecimal.valueOf(random.nextInt(100_000), 2));
+            order.setCreatedAt(Timestamp.from(t0.plusSeconds(random.nextInt(365 * 86_400))));
+            orders.add(order);
+        }
+        generatedRecord = EntityMappers.of(OrderRecord.class, TestOrder.class);
+        generatedParallel = generatedRecord.withParallelThreshold(10_000);
+        generatedBean = EntityMappers.of(OrderBean.class, TestOrder.class);
+        getters = new Method[] {
+            TestOrder.class.getMethod("getId"),
+            TestOrder.class.getMethod("getStatus"),
+            TestOrder.class.getMethod("getRegion"),
+            TestOrder.class.getMethod("getPriority"),
+            TestOrder.class.getMethod("getAmount"),
+            TestOrder.class.getMethod("getCreatedAt")
+        };
+    }
+
+    @Benchmark
+    public List<OrderRecord> generatedRecord() {
+        return generatedRecord.toDtos(orders);
+    }
+
+    @Benchmark
+    public List<OrderRecord> generatedRecordParallel() {
+        return generatedParallel.toDtos(orders);
+    }
+
+    @Benchmark
+    public List<OrderBean> generatedBean() {
+        return generatedBean.toDtos(orders);
+    }
+
+    @Benchmark
+    public List<OrderRecord> reflectiveRecord() throws ReflectiveOperationException {
+        List<OrderRecord> dtos = new ArrayList<>();
+        for (TestOrder order : orders) {
+            dtos.add(new OrderRecord(
+                    (Long) getters[0].invoke(order),
+                    (String) getters[1].invoke(order),
+                    (String) getters[2].invoke(order),
+                    (Integer) getters[3].invoke(order),
+                    (BigDecimal) getters[4].invoke(order),
+                    (Timestamp) getters[5].invoke(order)));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<OrderBean> reflectiveBean() {
+        List<OrderBean> dtos = new ArrayList<>();
+        for (TestOrder order : orders) {
+            OrderBean dto = new OrderBean();
+            BeanUtils.copyProperties(order, dto);
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<OrderRecord> handWrittenRecord() {
+        EntityMapper<OrderRecord, TestOrder> mapper = HandWritten.INSTANCE;
+        return mapper.toDtos(orders);
+    }
+
+    /** What a team would write by hand. */
+    private enum HandWritten implements EntityMapper<OrderRecord, TestOrder> {
+        INSTANCE;
+
+        @Override
+        public OrderRecord toDto(TestOrder o) {
+            return new OrderRecord(o.getId(), o.getStatus(), o.getRegion(), o.getPriority(), o.getAmount(), o.getCreatedAt());
+        }
+
+        @Override
+        public TestOrder toEntity(OrderRecord dto) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<OrderRecord> toDtos(List<TestOrder> entities) {
+            List<OrderRecord> dtos = new ArrayList<>(entities.size());
+            for (TestOrder entity : entities) {
+                dtos.add(toDto(entity));
+            }
+            return dtos;
+        }
+
+        @Override
+        public List<TestOrder> toEntities(List<OrderRecord> dtos) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EntityMapperBenchmark.class.getSimpleName()).build()).run();
+    }
+}
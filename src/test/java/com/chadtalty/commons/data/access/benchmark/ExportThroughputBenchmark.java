@@ -0,0 +1,79 @@
+package com.chadtalty.commons.data.access.benchmark;
+
+import com.chadtalty.commons.data.access.export.ExportColumn;
+import com.chadtalty.commons.data.access.export.ExportFormat;
+import com.chadtalty.commons.data.access.testutil.JpaTestConfig;
+import com.chadtalty.commons.data.access.testutil.TestOrderDAO;
+import com.chadtalty.commons.data.query.Criteria;
+import com.chadtalty.commons.data.query.SortSpec;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Measures {@code AbstractDAO.export} throughput in rows/sec for CSV and NDJSON, writing to a
+ * channel that discards bytes.
+ *
+ * <p>Not a unit test; run manually, e.g. {@code java -Xmx256m -cp <test classpath>
+ * com.chadtalty.commons.data.access.benchmark.ExportThroughputBenchmark [rows]}. A small heap is
+ * deliberate: the export must not need memory proportional to the row count.
+ */
+public final class ExportThroughputBenchmark {
+
+    private static final List<ExportColumn> COLUMNS = List.of(
+            ExportColumn.of("id"),
+            ExportColumn.of("status"),
+            ExportColumn.of("region"),
+            ExportColumn.of("priority"),
+            ExportColumn.of("amount"),
+            ExportColumn.of("createdAt"),
+            ExportColumn.of("updatedAt"));
+
+    private ExportThroughputBenchmark() {}
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        try (var context = new AnnotationConfigApplicationContext(JpaTestConfig.class)) {
+            TestOrderDAO dao = context.getBean(TestOrderDAO.class);
+            BenchmarkData.insertOrders(new JdbcTemplate(context.getBean(DataSource.class)), rows);
+
+            Criteria criteria = new Criteria();
+            criteria.setSort(new SortSpec(List.of("id"), List.of()));
+            for (int round = 0; round < 3; round++) {
+                for (ExportFormat format : ExportFormat.values()) {
+                    var sink = new CountingChannel();
+                    long start = System.nanoTime();
+                    long exported = dao.export(criteria, COLUMNS, format, sink);
+                    double seconds = (System.nanoTime() - start) / 1e9;
+                    System.out.printf(
+                            "round %d %-6s rows=%d %,.0f rows/s %,.1f MiB/s%n",
+                            round, format, exported, exported / seconds, sink.bytes / seconds / (1 << 20));
+                }
+            }
+        }
+    }
+
+    private static final class CountingChannel implements WritableByteChannel {
+
+        long bytes;
+
+        @Override
+        public int write(ByteBuffer src) {
+            int n = src.remaining();
+            src.position(src.limit());
+            bytes += n;
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {}
+    }
+}
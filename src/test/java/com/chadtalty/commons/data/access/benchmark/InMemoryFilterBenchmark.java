@@ -0,0 +1,158 @@
+package com.chadtalty.commons.data.access.benchmark;
+
+import com.chadtalty.commons.data.access.filter.InMemoryCriteria;
+import com.chadtalty.commons.data.access.filter.handler.BasicFilterHandler;
+import com.chadtalty.commons.data.access.filter.handler.BetweenFilterHandler;
+import com.chadtalty.commons.data.access.filter.handler.ContainsFilterHandler;
+import com.chadtalty.commons.data.access.filter.handler.DateTimeFilterHandler;
+import com.chadtalty.commons.data.access.filter.handler.FilterHandlerFactory;
+import com.chadtalty.commons.data.access.testutil.TestOrder;
+import com.chadtalty.commons.data.query.BasicFilter;
+import com.chadtalty.commons.data.query.ContainsFilter;
+import com.chadtalty.commons.data.query.Criteria;
+import com.chadtalty.commons.data.query.DateTimeFilter;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark of {@link InMemoryCriteria} predicates over a million in-memory entities, against
+ * the same filters evaluated through per-call reflection and a hand-written lambda.
+ *
+ * <p>Not a unit test; run manually, e.g. {@code java -cp <test classpath>
+ * com.chadtalty.commons.data.access.benchmark.InMemoryFilterBenchmark}. Scores are milliseconds per
+ * full scan; divide the entity count by the score for entities/ms.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InMemoryFilterBenchmark {
+
+    static final Instant T0 = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Param("1000000")
+    int entities;
+
+    List<TestOrder> orders;
+    Predicate<TestOrder> compiled;
+    Predicate<TestOrder> reflective;
+    Predicate<TestOrder> handWritten;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        SplittableRandom random = new SplittableRandom(42);
+        String[] statuses = {"OPEN", "CLOSED", "CANCELLED", "HELD"};
+        String[] regions = {"EU", "US", "APAC", "LATAM", "MEA"};
+        orders = new ArrayList<>(entities);
+        for (int i = 0; i < entities; i++) {
+            TestOrder order = new TestOrder(statuses[random.nextInt(4)], regions[random.nextInt(5)], random.nextInt(10));
+            order.setAmount(BigDecimal.valueOf(random.nextInt(100_000), 2));
+            order.setCreatedAt(Timestamp.from(T0.plusSeconds(random.nextInt(365 * 86_400))));
+            orders.add(order);
+        }
+
+        FilterHandlerFactory<TestOrder> factory = new FilterHandlerFactory<>();
+        new BasicFilterHandler<>(factory).init();
+        new ContainsFilterHandler<>(factory).init();
+        new BetweenFilterHandler<>(factory).init();
+        new DateTimeFilterHandler<>(factory).init();
+        compiled = new InMemoryCriteria<>(factory).predicate(TestOrder.class, criteria());
+
+        Method status = TestOrder.class.getMethod("getStatus");
+        Method region = TestOrder.class.getMethod("getRegion");
+        Method priority = TestOrder.class.getMethod("getPriority");
+        Method createdAt = TestOrder.class.getMethod("getCreatedAt");
+        Timestamp after = Timestamp.from(T0.plusSeconds(90L * 86_400));
+        Set<String> regionSet = Set.of("EU", "US");
+        reflective = order -> {
+            try {
+                return "OPEN".equals(status.invoke(order))
+                        && regionSet.contains(region.invoke(order))
+                        && priority.invoke(order) instanceof Integer p && p >= 3
+                        && createdAt.invoke(order) instanceof Timestamp t && t.after(after);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+        handWritten = order -> "OPEN".equals(order.getStatus())
+                && regionSet.contains(order.getRegion())
+                && order.getPriority() != null && order.getPriority() >= 3
+                && order.getCreatedAt() != null && order.getCreatedAt().after(after);
+    }
+
+    /** {@code status = OPEN AND region IN (EU, US) AND priority >= 3 AND createdAt > T0 + 90d}. */
+    static Criteria criteria() {
+        Criteria criteria = new Criteria();
+        criteria.setFilters(List.of(
+                BasicFilter.builder().field("status").operator(BasicFilter.Operator.EQUAL).value("OPEN").build(),
+                ContainsFilter.builder()
+                        .field("region")
+                        .operator(ContainsFilter.Operator.IN)
+                        .values(List.of("EU", "US"))
+                        .build(),
+                BasicFilter.builder()
+                        .field("priority")
+                        .operator(BasicFilter.Operator.GREATER_THAN_OR_EQUAL)
+                        .value("3")
+                        .build(),
+                DateTimeFilter.builder()
+                        .field("createdAt")
+                        .operator(DateTimeFilter.Operator.AFTER)
+                        .value(T0.plusSeconds(90L * 86_400))
+                        .build()));
+        return criteria;
+    }
+
+    @Benchmark
+    public long compiledPredicate() {
+        return count(compiled);
+    }
+
+    @Benchmark
+    public long reflectivePredicate() {
+        return count(reflective);
+    }
+
+    @Benchmark
+    public long handWrittenPredicate() {
+        return count(handWritten);
+    }
+
+    private long count(Predicate<TestOrder> predicate) {
+        long matches = 0;
+        for (TestOrder order : orders) {
+            if (predicate.test(order)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(InMemoryFilterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
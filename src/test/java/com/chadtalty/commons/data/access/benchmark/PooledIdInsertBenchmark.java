@@ -0,0 +1,109 @@
+package com.chadtalty.commons.data.access.benchmark;
+
+import com.chadtalty.commons.data.access.AbstractDAO;
+import com.chadtalty.commons.data.access.id.PooledIdAllocator;
+import com.chadtalty.commons.data.access.id.SequenceIdBlockSource;
+import com.chadtalty.commons.data.access.testutil.JpaTestConfig;
+import com.chadtalty.commons.data.access.testutil.TestProduct;
+import com.chadtalty.commons.data.access.testutil.TestProductRepository;
+import com.chadtalty.commons.data.access.testutil.TestStock;
+import com.chadtalty.commons.data.access.testutil.TestStockRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Compares concurrent insert throughput with ids from an identity column, from a {@link
+ * PooledIdAllocator} one save at a time, and from a {@link PooledIdAllocator} with {@code saveAll}
+ * batches of 50.
+ *
+ * <p>Not a unit test; run manually, e.g. {@code java -cp <test classpath>
+ * com.chadtalty.commons.data.access.benchmark.PooledIdInsertBenchmark [threads] [rowsPerThread]}.
+ */
+public final class PooledIdInsertBenchmark {
+
+    private static final int BLOCK_SIZE = 50;
+
+    private static final int ROUNDS = 3;
+
+    /** Takes {@link TestStock} ids from {@code test_stock_seq}. */
+    public static class PooledStockDAO extends AbstractDAO<TestStock, TestStockRepository> {
+
+        @Autowired DataSource dataSource;
+
+        private PooledIdAllocator ids;
+
+        @Override
+        protected synchronized PooledIdAllocator getIdAllocator() {
+            if (ids == null) {
+                ids = new PooledIdAllocator(SequenceIdBlockSource.of(dataSource, "test_stock_seq", BLOCK_SIZE));
+            }
+            return ids;
+        }
+    }
+
+    /** {@link TestProduct} ids come from an identity column. */
+    public static class ProductDAO extends AbstractDAO<TestProduct, TestProductRepository> {}
+
+    private PooledIdInsertBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int perThread = args.length > 1 ? Integer.parseInt(args[1]) : 5_000;
+        try (var context = new AnnotationConfigApplicationContext()) {
+            context.register(JpaTestConfig.class);
+            context.registerBean(PooledStockDAO.class);
+            context.registerBean(ProductDAO.class);
+            context.refresh();
+            new JdbcTemplate(context.getBean(DataSource.class)).execute(
+                    "CREATE SEQUENCE IF NOT EXISTS test_stock_seq START WITH 1 INCREMENT BY " + BLOCK_SIZE);
+            PooledStockDAO stock = context.getBean(PooledStockDAO.class);
+            ProductDAO products = context.getBean(ProductDAO.class);
+
+            for (int round = 0; round < ROUNDS; round++) {
+                String prefix = "R" + round + "_";
+                double identity = insertsPerSecond(threads, perThread, 1,
+                        i -> products.save(new TestProduct(prefix + i, "name", "p@example.com")));
+                double pooled = insertsPerSecond(threads, perThread, 1,
+                        i -> stock.save(new TestStock(null, prefix + "S" + i, i)));
+                double pooledBatched = insertsPerSecond(threads, perThread / 50, 50,
+                        i -> stock.saveAll(IntStream.range(0, 50)
+                                .mapToObj(j -> new TestStock(null, prefix + "B" + i + "_" + j, j))
+                                .toList()));
+                System.out.printf(
+                        "round %d: inserts/sec with %d threads: identity %.0f, pooled ids %.0f,"
+                                + " pooled ids in batches of 50 %.0f%n",
+                        round, threads, identity, pooled, pooledBatched);
+            }
+        }
+    }
+
+    /** Runs {@code insert}, which saves {@code rowsPerCall} rows, {@code calls} times per thread. */
+    private static double insertsPerSecond(int threads, int calls, int rowsPerCall, IntConsumer insert)
+            throws Exception {
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                int offset = t * calls;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < calls; i++) {
+                        insert.accept(offset + i);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        return (double) threads * calls * rowsPerCall / ((System.nanoTime() - start) / 1e9);
+    }
+}
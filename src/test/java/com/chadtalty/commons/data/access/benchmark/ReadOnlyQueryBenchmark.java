@@ -0,0 +1,96 @@
+package com.chadtalty.commons.data.access.benchmark;
+
+import com.chadtalty.commons.data.access.testutil.JpaTestConfig;
+import com.chadtalty.commons.data.access.testutil.TestOrder;
+import com.chadtalty.commons.data.access.testutil.TestOrderDAO;
+import java.util.List;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Compares loading 100k rows managed vs read-only (the repository's {@code findAllReadOnly}, which
+ * {@code AbstractDAO} uses when {@code isReadOnlyByDefault()}): retained heap while the result is
+ * alive, and wall time of a transaction that loads the rows, runs a count (which auto-flushes) and
+ * commits.
+ *
+ * <p>Not a unit test; run manually, e.g. {@code java -Xmx1g -cp <test classpath>
+ * com.chadtalty.commons.data.access.benchmark.ReadOnlyQueryBenchmark [rows]}. On H2 in-memory,
+ * read-only retains about 85% of the managed heap and the transaction time is within noise.
+ */
+public final class ReadOnlyQueryBenchmark {
+
+    private static final int ROUNDS = 6;
+
+    private ReadOnlyQueryBenchmark() {}
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        try (var context = new AnnotationConfigApplicationContext(JpaTestConfig.class)) {
+            TestOrderDAO dao = context.getBean(TestOrderDAO.class);
+            var tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+            BenchmarkData.insertOrders(new JdbcTemplate(context.getBean(DataSource.class)), rows);
+
+            for (int round = 0; round < ROUNDS; round++) {
+                long managed = retainedBytes(tx, () -> dao.getRepository().findAll());
+                long readOnly = retainedBytes(tx, () -> dao.getRepository().findAllReadOnly(null, Sort.unsorted()));
+                double managedMillis = transactionMillis(tx, dao, false);
+                double readOnlyMillis = transactionMillis(tx, dao, true);
+                System.out.printf(
+                        "round %d: rows=%d heap managed=%,d KiB readOnly=%,d KiB (%.1f%%)"
+                                + " | tx managed=%.0f ms readOnly=%.0f ms (%.1f%%)%n",
+                        round,
+                        rows,
+                        managed / 1024,
+                        readOnly / 1024,
+                        100.0 * readOnly / managed,
+                        managedMillis,
+                        readOnlyMillis,
+                        100.0 * readOnlyMillis / managedMillis);
+            }
+        }
+    }
+
+    /**
+     * Heap still in use while the result list and its persistence context are alive, relative to
+     * the heap in use before the query.
+     */
+    private static long retainedBytes(TransactionTemplate tx, Supplier<List<TestOrder>> query) {
+        long before = usedHeapAfterGc();
+        long[] during = new long[1];
+        tx.executeWithoutResult(status -> {
+            List<TestOrder> result = query.get();
+            during[0] = usedHeapAfterGc();
+            if (result.isEmpty()) {
+                throw new IllegalStateException("no rows loaded");
+            }
+        });
+        return during[0] - before;
+    }
+
+    /** Loads every row, runs a count (which auto-flushes) and commits. */
+    private static double transactionMillis(TransactionTemplate tx, TestOrderDAO dao, boolean readOnly) {
+        long start = System.nanoTime();
+        tx.executeWithoutResult(status -> {
+            List<TestOrder> rows = readOnly
+                    ? dao.getRepository().findAllReadOnly(null, Sort.unsorted())
+                    : dao.getRepository().findAll();
+            if (rows.isEmpty() || dao.count() == 0) {
+                throw new IllegalStateException("no rows loaded");
+            }
+        });
+        return (System.nanoTime() - start) / 1e6;
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,136 @@
+package com.chadtalty.commons.data.access.benchmark;
+
+import com.chadtalty.commons.data.access.AbstractDAO;
+import com.chadtalty.commons.data.access.snapshot.Snapshot;
+import com.chadtalty.commons.data.access.snapshot.SnapshotOptions;
+import com.chadtalty.commons.data.access.snapshot.SnapshotStats;
+import com.chadtalty.commons.data.access.testutil.JpaTestConfig;
+import com.chadtalty.commons.data.access.testutil.TestOrder;
+import com.chadtalty.commons.data.access.testutil.TestOrderDAO;
+import com.chadtalty.commons.data.access.testutil.TestOrderRepository;
+import com.chadtalty.commons.data.query.BasicFilter;
+import com.chadtalty.commons.data.query.ContainsFilter;
+import com.chadtalty.commons.data.query.Criteria;
+import com.chadtalty.commons.data.query.PageableCriteria;
+import com.chadtalty.commons.data.query.SortSpec;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Compares query latency of the in-memory snapshot with embedded H2 for a reference-sized table,
+ * and reports the snapshot's memory footprint.
+ *
+ * <p>Not a unit test; run manually, e.g. {@code java -Xmx1g -cp <test classpath>
+ * com.chadtalty.commons.data.access.benchmark.SnapshotQueryBenchmark [rows]}. H2 runs in-process,
+ * so the database side has no network round trip; a networked database only widens the gap.
+ */
+public final class SnapshotQueryBenchmark {
+
+    /** {@link TestOrderDAO} with the snapshot enabled. */
+    public static class SnapshotOrderDAO extends AbstractDAO<TestOrder, TestOrderRepository> {
+        @Override
+        protected SnapshotOptions getSnapshotOptions() {
+            return SnapshotOptions.refreshOnSave().withIndexedFields("status", "region", "priority", "createdAt");
+        }
+    }
+
+    private static final int ITERATIONS = 200;
+
+    private SnapshotQueryBenchmark() {}
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        try (var context = new AnnotationConfigApplicationContext()) {
+            context.register(JpaTestConfig.class);
+            context.registerBean(SnapshotOrderDAO.class);
+            context.refresh();
+            TestOrderDAO database = context.getBean(TestOrderDAO.class);
+            SnapshotOrderDAO snapshot = context.getBean(SnapshotOrderDAO.class);
+            BenchmarkData.insertOrders(new JdbcTemplate(context.getBean(DataSource.class)), rows);
+
+            long before = usedHeapAfterGc();
+            Snapshot<TestOrder> loaded = snapshot.getSnapshotStore().get();
+            long retained = usedHeapAfterGc() - before;
+            SnapshotStats stats = loaded.stats();
+            System.out.printf("rows=%d load=%d ms retained heap (entities + columns)=%,d KiB columns=%,d KiB%n",
+                    stats.rows(), stats.loadTime().toMillis(), retained / 1024, stats.estimatedColumnBytes() / 1024);
+            stats.columnBytes().forEach((column, bytes) -> System.out.printf("  %-10s %,8d KiB%n", column, bytes / 1024));
+
+            Map<String, Criteria> queries = Map.of(
+                    "status=OPEN, top 20 by createdAt", page(equal("status", "OPEN"), 20),
+                    "region IN (EU,US) AND priority>5", criteria(
+                            in("region", "EU", "US"),
+                            BasicFilter.builder()
+                                    .field("priority")
+                                    .operator(BasicFilter.Operator.GREATER_THAN)
+                                    .value("5")
+                                    .build()),
+                    "status=CANCELLED AND region=APAC", criteria(equal("status", "CANCELLED"), equal("region", "APAC")));
+            for (int round = 0; round < 2; round++) {
+                for (Map.Entry<String, Criteria> query : queries.entrySet()) {
+                    double[] db = latenciesMicros(() -> run(database, query.getValue()));
+                    double[] mem = latenciesMicros(() -> run(snapshot, query.getValue()));
+                    System.out.printf("round %d %-36s database p50=%8.1f us p99=%8.1f us | snapshot p50=%8.1f us p99=%8.1f us%n",
+                            round, query.getKey(), db[0], db[1], mem[0], mem[1]);
+                }
+            }
+        }
+    }
+
+    private static Object run(AbstractDAO<TestOrder, TestOrderRepository> dao, Criteria criteria) {
+        return criteria instanceof PageableCriteria page
+                ? dao.getQueryResultPage(page).getContent()
+                : dao.getQueryResult(criteria);
+    }
+
+    /** p50 and p99 of {@link #ITERATIONS} calls after as many warm-up calls. */
+    private static double[] latenciesMicros(Supplier<Object> query) {
+        for (int i = 0; i < ITERATIONS; i++) {
+            query.get();
+        }
+        long[] nanos = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            query.get();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return new double[] {nanos[ITERATIONS / 2] / 1_000.0, nanos[ITERATIONS * 99 / 100] / 1_000.0};
+    }
+
+    private static PageableCriteria page(BasicFilter filter, int size) {
+        PageableCriteria criteria = new PageableCriteria();
+        criteria.setFilters(List.of(filter));
+        criteria.setSort(new SortSpec(List.of(), List.of("createdAt")));
+        criteria.setPage(0);
+        criteria.setSize(size);
+        return criteria;
+    }
+
+    private static Criteria criteria(com.chadtalty.commons.data.query.Filter... filters) {
+        Criteria criteria = new Criteria();
+        criteria.setFilters(List.of(filters));
+        return criteria;
+    }
+
+    private static BasicFilter equal(String field, String value) {
+        return BasicFilter.builder().field(field).operator(BasicFilter.Operator.EQUAL).value(value).build();
+    }
+
+    private static ContainsFilter in(String field, String... values) {
+        return ContainsFilter.builder().field(field).operator(ContainsFilter.Operator.IN).values(List.of(values)).build();
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
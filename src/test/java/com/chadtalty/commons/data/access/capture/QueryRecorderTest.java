@@ -0,0 +1,185 @@
+package com.chadtalty.commons.data.access.capture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.chadtalty.commons.data.access.filter.CompositeFilter;
+import com.chadtalty.commons.data.access.filter.TextFilter;
+import com.chadtalty.commons.data.query.BasicFilter;
+import com.chadtalty.commons.data.query.BetweenFilter;
+import com.chadtalty.commons.data.query.ContainsFilter;
+import com.chadtalty.commons.data.query.Criteria;
+import com.chadtalty.commons.data.query.DateTimeFilter;
+import com.chadtalty.commons.data.query.JoinSpec;
+import com.chadtalty.commons.data.query.PageableCriteria;
+import com.chadtalty.commons.data.query.SortSpec;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class QueryRecorderTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTrip_keepsShapeAndValues() {
+        Path file = dir.resolve("orders.capture");
+        PageableCriteria criteria = criteria("EU, (west) | \"tab\"\there");
+
+        try (QueryRecorder recorder = new QueryRecorder(CaptureOptions.to(file).withValues())) {
+            recorder.record(QueryOperation.PAGE, criteria, 1_000, 2_500_000, 20);
+        }
+        List<CapturedQuery> queries = CaptureFile.read(file);
+
+        assertEquals(1, queries.size());
+        CapturedQuery query = queries.get(0);
+        assertEquals(Instant.ofEpochMilli(1_000), query.startedAt());
+        assertEquals(QueryOperation.PAGE, query.operation());
+        assertEquals(Duration.ofMillis(2).plusNanos(500_000), query.duration());
+        assertEquals(20, query.rows());
+        assertEquals(
+                CriteriaCodec.encode(criteria, false),
+                CriteriaCodec.encode(query.toCriteria(ReplayValues.recorded()), false));
+    }
+
+    @Test
+    void redactedValues_neverReachTheFile_andAreReplacedOnReplay() throws Exception {
+        Path file = dir.resolve("orders.capture");
+        try (QueryRecorder recorder = new QueryRecorder(CaptureOptions.to(file))) {
+            recorder.record(QueryOperation.PAGE, criteria("secret-region"), 1_000, 1_000, 3);
+        }
+
+        assertFalse(Files.readString(file).contains("secret"));
+        CapturedQuery query = CaptureFile.read(file).get(0);
+        assertTrue(query.values().stream().allMatch(value -> value == null));
+
+        ReplayValues samples = ReplayValues.sampled(Map.of(
+                "region", List.of("US"),
+                "status", List.of("OPEN"),
+                "createdAt", List.of("2024-01-01T00:00:00Z"),
+                "updatedAt", List.of("2024-01-01T00:00:00Z"),
+                "customer.name", List.of("acme")));
+        PageableCriteria replayed = (PageableCriteria) query.toCriteria(samples);
+        assertEquals("US", ((BasicFilter) replayed.getFilters().get(0)).getValue());
+        assertEquals(List.of("OPEN", "OPEN"), ((ContainsFilter) replayed.getFilters().get(1)).getValues());
+        assertEquals("acme", ((TextFilter) replayed.getJoins().get(0).getFilter()).getValue());
+        assertEquals(50, replayed.getSize());
+        assertEquals(2, replayed.getPage());
+    }
+
+    @Test
+    void shapesWrittenOnce_andNumberingContinuesOnAppend() throws Exception {
+        Path file = dir.resolve("orders.capture");
+        try (QueryRecorder recorder = new QueryRecorder(CaptureOptions.to(file))) {
+            for (int i = 0; i < 10; i++) {
+                recorder.record(QueryOperation.LIST, statusIs("OPEN"), i, 1_000, 1);
+            }
+        }
+        // a process that died mid-line
+        Files.writeString(file, "Q\t123\tL", StandardOpenOption.APPEND);
+        try (QueryRecorder recorder = new QueryRecorder(CaptureOptions.to(file))) {
+            recorder.record(QueryOperation.LIST, statusIs("CLOSED"), 20, 1_000, 1);
+            recorder.record(QueryOperation.COUNT, new Criteria(), 21, 1_000, 42);
+        }
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(2, lines.stream().filter(line -> line.startsWith("S\t")).count());
+        List<CapturedQuery> queries = CaptureFile.read(file);
+        assertEquals(12, queries.size());
+        assertEquals(queries.get(0).shape(), queries.get(10).shape());
+        assertEquals(42, queries.get(11).rows());
+    }
+
+    @Test
+    void sampleRateZero_recordsNothing() {
+        try (QueryRecorder recorder = new QueryRecorder(CaptureOptions.to(dir.resolve("none.capture")).withSampleRate(0))) {
+            assertFalse(recorder.sample());
+        }
+    }
+
+    @Test
+    void fullQueue_dropsInsteadOfBlocking() {
+        CaptureOptions options = CaptureOptions.to(dir.resolve("small.capture"))
+                .withCapacity(2)
+                .withFlushInterval(Duration.ofHours(1));
+        try (QueryRecorder recorder = new QueryRecorder(options)) {
+            for (int i = 0; i < 5; i++) {
+                recorder.record(QueryOperation.LIST, statusIs("OPEN"), i, 1_000, 1);
+            }
+            assertEquals(2, recorder.recorded());
+            assertEquals(3, recorder.dropped());
+        }
+        assertEquals(2, CaptureFile.read(dir.resolve("small.capture")).size());
+    }
+
+    @Test
+    void unknownFilterType_cannotBeReplayed() {
+        Criteria criteria = new Criteria();
+        criteria.setFilters(List.of(new com.chadtalty.commons.data.query.Filter() {}));
+        CriteriaCodec.Encoded encoded = CriteriaCodec.encode(criteria, false);
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> CriteriaCodec.decode(encoded.shape(), encoded.values(), 0, (field, value) -> value));
+    }
+
+    /** Every filter type, a join and a sort. */
+    private static PageableCriteria criteria(String region) {
+        PageableCriteria criteria = new PageableCriteria();
+        criteria.setPage(2);
+        criteria.setSize(50);
+        List<com.chadtalty.commons.data.query.Filter> filters = new ArrayList<>();
+        filters.add(BasicFilter.builder()
+                .field("region")
+                .operator(BasicFilter.Operator.EQUAL)
+                .value(region)
+                .build());
+        filters.add(ContainsFilter.builder()
+                .field("status")
+                .operator(ContainsFilter.Operator.IN)
+                .values(List.of("OPEN", "CLOSED"))
+                .build());
+        filters.add(CompositeFilter.or(
+                BetweenFilter.builder()
+                        .field("createdAt")
+                        .operator(BetweenFilter.Operator.BETWEEN)
+                        .startDateTime(Instant.parse("2024-01-01T00:00:00Z"))
+                        .endDateTime(Instant.parse("2024-02-01T00:00:00Z"))
+                        .build(),
+                CompositeFilter.not(DateTimeFilter.builder()
+                        .field("updatedAt")
+                        .operator(DateTimeFilter.Operator.AFTER)
+                        .value(Instant.parse("2024-03-01T00:00:00Z"))
+                        .build())));
+        criteria.setFilters(filters);
+        JoinSpec join = new JoinSpec();
+        join.setJoin("customer");
+        join.setFilter(TextFilter.builder()
+                .field("name")
+                .operator(TextFilter.Operator.STARTS_WITH)
+                .value("ac")
+                .ignoreCase(true)
+                .build());
+        criteria.setJoins(List.of(join));
+        criteria.setSort(new SortSpec(List.of("region"), List.of("id")));
+        return criteria;
+    }
+
+    private static Criteria statusIs(String status) {
+        Criteria criteria = new Criteria();
+        criteria.setFilters(List.of(BasicFilter.builder()
+                .field("status")
+                .operator(BasicFilter.Operator.EQUAL)
+                .value(status)
+                .build()));
+        return criteria;
+    }
+}
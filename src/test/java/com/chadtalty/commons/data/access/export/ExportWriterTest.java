@@ -0,0 +1,65 @@
+package com.chadtalty.commons.data.access.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ExportWriterTest {
+
+    static final List<ExportColumn> COLUMNS =
+            List.of(ExportColumn.of("status"), new ExportColumn("amount", "total"), ExportColumn.of("createdAt"));
+
+    @Test
+    void csv_quotesSpecialCharactersAndFormatsValues() {
+        String csv = export(ExportFormat.CSV, new Object[][] {
+            {"OPEN", new BigDecimal("1E+3"), Timestamp.from(Instant.parse("2025-08-20T12:00:00Z"))},
+            {"a,\"b\"\nc", null, LocalDateTime.parse("2025-08-20T12:00:00")}
+        });
+
+        assertEquals("status,total,createdAt\r\n"
+                + "OPEN,1000,2025-08-20T12:00:00Z\r\n"
+                + "\"a,\"\"b\"\"\nc\",,2025-08-20T12:00\r\n", csv);
+    }
+
+    @Test
+    void ndjson_writesTypedLiteralsAndEscapesStrings() {
+        String json = export(ExportFormat.NDJSON, new Object[][] {
+            {"tab\there \"q\" é", 12.5, null},
+            {"\u0001", Double.NaN, Boolean.TRUE}
+        });
+
+        assertEquals("{\"status\":\"tab\\there \\\"q\\\" é\",\"total\":12.5,\"createdAt\":null}\n"
+                + "{\"status\":\"\\u0001\",\"total\":null,\"createdAt\":true}\n", json);
+    }
+
+    @Test
+    void largeExport_spansManyBufferDrains() {
+        Object[][] rows = new Object[20_000][];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new Object[] {"row-" + i, i, null};
+        }
+        String csv = export(ExportFormat.CSV, rows);
+
+        assertEquals(rows.length + 1, csv.lines().count());
+        assertEquals("row-19999,19999,", csv.lines().reduce((a, b) -> b).orElseThrow());
+    }
+
+    private static String export(ExportFormat format, Object[][] rows) {
+        var out = new ByteArrayOutputStream();
+        var writer = new ExportWriter(format, COLUMNS, Channels.newChannel(out));
+        writer.begin();
+        for (Object[] row : rows) {
+            writer.writeRow(row);
+        }
+        writer.finish();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
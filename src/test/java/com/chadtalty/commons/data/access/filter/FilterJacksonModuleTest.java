@@ -0,0 +1,76 @@
+package com.chadtalty.commons.data.access.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.chadtalty.commons.data.query.BasicFilter;
+import com.chadtalty.commons.data.query.ContainsFilter;
+import com.chadtalty.commons.data.query.Criteria;
+import com.chadtalty.commons.data.query.Filter;
+import com.chadtalty.commons.data.query.FilterType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidTypeIdException;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.junit.jupiter.api.Test;
+
+/** Polymorphic JSON for filters, including the groups and text filters defined here. */
+class FilterJacksonModuleTest {
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new FilterJacksonModule().withFilter("REGION", RegionFilter.class));
+
+    @Test
+    void readsCompositeGroupsFromJson() throws JsonProcessingException {
+        String json = """
+                {"filters": [{"type": "COMPOSITE", "operator": "OR", "filters": [
+                    {"type": "BASIC", "field": "status", "operator": "EQUAL", "value": "OPEN"},
+                    {"type": "COMPOSITE", "operator": "NOT", "filters": [
+                        {"type": "CONTAINS", "field": "region", "operator": "IN", "values": ["EU", "US"]}]},
+                    {"type": "TEXT", "field": "status", "operator": "STARTS_WITH", "value": "CL"}]}]}
+                """;
+
+        Criteria criteria = mapper.readValue(json, Criteria.class);
+
+        CompositeFilter or = assertInstanceOf(CompositeFilter.class, criteria.getFilters().get(0));
+        assertEquals(CompositeFilter.Operator.OR, or.getOperator());
+        BasicFilter basic = assertInstanceOf(BasicFilter.class, or.getFilters().get(0));
+        assertEquals(FilterType.BASIC, basic.getType());
+        assertEquals("OPEN", basic.getValue());
+        CompositeFilter not = assertInstanceOf(CompositeFilter.class, or.getFilters().get(1));
+        ContainsFilter in = assertInstanceOf(ContainsFilter.class, not.getFilters().get(0));
+        assertEquals(List.of("EU", "US"), in.getValues());
+        TextFilter text = assertInstanceOf(TextFilter.class, or.getFilters().get(2));
+        assertEquals(TextFilter.Operator.STARTS_WITH, text.getOperator());
+    }
+
+    @Test
+    void roundTripsWithDiscriminator() throws JsonProcessingException {
+        RegionFilter region = new RegionFilter();
+        region.setRegion("EU");
+        CompositeFilter and = CompositeFilter.and(
+                BasicFilter.builder().field("priority").operator(BasicFilter.Operator.GREATER_THAN).value("1").build(),
+                region);
+
+        String json = mapper.writeValueAsString(and);
+        assertTrue(json.startsWith("{\"type\":\"COMPOSITE\""), json);
+
+        CompositeFilter read = assertInstanceOf(CompositeFilter.class, mapper.readValue(json, Filter.class));
+        assertEquals(FilterType.BASIC, read.getFilters().get(0).getType());
+        assertEquals("EU", assertInstanceOf(RegionFilter.class, read.getFilters().get(1)).getRegion());
+    }
+
+    @Test
+    void rejectsUnknownOrMissingType() {
+        assertThrows(InvalidTypeIdException.class, () -> mapper.readValue("{\"type\": \"FUZZY\"}", Filter.class));
+        assertThrows(InvalidTypeIdException.class, () -> mapper.readValue("{\"field\": \"status\"}", Filter.class));
+        assertThrows(IllegalArgumentException.class, () -> new FilterJacksonModule().withFilter(" ", RegionFilter.class));
+    }
+
+    @Getter
+    @Setter
+    static class RegionFilter extends Filter {
+        private String region;
+    }
+}
@@ -0,0 +1,213 @@
+package com.chadtalty.commons.data.access.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.chadtalty.commons.data.access.filter.handler.AbstractFilterHandler;
+import com.chadtalty.commons.data.access.filter.handler.FilterHandlerFactory;
+import com.chadtalty.commons.data.access.testutil.JpaTestConfig;
+import com.chadtalty.commons.data.access.testutil.TestCustomer;
+import com.chadtalty.commons.data.access.testutil.TestOrder;
+import com.chadtalty.commons.data.access.testutil.TestOrderDAO;
+import com.chadtalty.commons.data.query.BasicFilter;
+import com.chadtalty.commons.data.query.BetweenFilter;
+import com.chadtalty.commons.data.query.ContainsFilter;
+import com.chadtalty.commons.data.query.Criteria;
+import com.chadtalty.commons.data.query.DateTimeFilter;
+import com.chadtalty.commons.data.query.Filter;
+import com.chadtalty.commons.data.query.JoinSpec;
+import com.chadtalty.commons.data.query.SortSpec;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+/**
+ * In-memory criteria must select exactly what the JPA specifications select; checked against
+ * embedded H2 with entities as Hibernate loads them.
+ */
+@SpringJUnitConfig(JpaTestConfig.class)
+class InMemoryCriteriaTest {
+
+    static final Instant T0 = Instant.parse("2025-08-20T10:00:00Z");
+
+    @Autowired TestOrderDAO dao;
+
+    @Autowired FilterHandlerFactory<TestOrder> filterHandlerFactory;
+
+    InMemoryCriteria<TestOrder> inMemory;
+
+    @BeforeEach
+    void setUp() {
+        inMemory = new InMemoryCriteria<>(filterHandlerFactory);
+        dao.getRepository().deleteAllInBatch();
+        List<TestOrder> orders = new ArrayList<>();
+        String[] statuses = {"OPEN", "CLOSED", "CANCELLED"};
+        for (int i = 0; i < 30; i++) {
+            TestOrder order = new TestOrder(statuses[i % 3], i % 2 == 0 ? "EU" : "US", i % 5 == 4 ? null : i % 5);
+            order.setAmount(i % 7 == 0 ? null : new BigDecimal(i).setScale(i % 3));
+            Instant at = T0.plusSeconds(3_600L * i);
+            order.setCreatedAt(i % 6 == 5 ? null : Timestamp.from(at));
+            order.setUpdatedAt(LocalDateTime.ofInstant(at, ZoneOffset.UTC));
+            order.setShippedAt(Date.from(at));
+            orders.add(order);
+        }
+        dao.getRepository().saveAll(orders);
+    }
+
+    static Stream<List<Filter>> filters() {
+        Instant t5 = T0.plusSeconds(3_600L * 5);
+        Instant t20 = T0.plusSeconds(3_600L * 20);
+        return Stream.of(
+                List.of(basic("status", BasicFilter.Operator.EQUAL, "OPEN")),
+                List.of(basic("status", BasicFilter.Operator.NOT_EQUAL, "OPEN")),
+                List.of(basic("priority", BasicFilter.Operator.GREATER_THAN, "1")),
+                List.of(basic("priority", BasicFilter.Operator.LESS_THAN_OR_EQUAL, "2")),
+                List.of(basic("amount", BasicFilter.Operator.EQUAL, "10")),
+                List.of(basic("amount", BasicFilter.Operator.GREATER_THAN_OR_EQUAL, "12.5")),
+                List.of(ContainsFilter.builder()
+                        .field("amount")
+                        .operator(ContainsFilter.Operator.IN)
+                        .values(List.of("1", "2.0", "8.00"))
+                        .build()),
+                List.of(ContainsFilter.builder()
+                        .field("status")
+                        .operator(ContainsFilter.Operator.IN)
+                        .values(List.of("OPEN", "CLOSED"))
+                        .build(),
+                        basic("region", BasicFilter.Operator.EQUAL, "EU")),
+                List.of(dateTime("createdAt", DateTimeFilter.Operator.AFTER, t5)),
+                List.of(dateTime("updatedAt", DateTimeFilter.Operator.BEFORE_OR_EQUAL, t5)),
+                List.of(dateTime("shippedAt", DateTimeFilter.Operator.EQUAL, t20)),
+                List.of(dateTime("shippedAt", DateTimeFilter.Operator.NOT_EQUAL, t20)),
+                List.of(between("createdAt", t5, t20)),
+                List.of(between("updatedAt", t5, t20)),
+                List.of(between("shippedAt", t5, t20)),
+                List.of(CompositeFilter.or(
+                        basic("status", BasicFilter.Operator.EQUAL, "OPEN"),
+                        basic("priority", BasicFilter.Operator.GREATER_THAN, "2"))),
+                List.of(CompositeFilter.and(
+                        basic("region", BasicFilter.Operator.EQUAL, "EU"),
+                        CompositeFilter.or(
+                                between("createdAt", t5, t20),
+                                CompositeFilter.not(basic("status", BasicFilter.Operator.EQUAL, "CLOSED"))))),
+                // NOT over null properties: three-valued, like SQL
+                List.of(CompositeFilter.not(basic("priority", BasicFilter.Operator.GREATER_THAN, "1"))),
+                List.of(CompositeFilter.not(dateTime("createdAt", DateTimeFilter.Operator.AFTER, t5))),
+                List.of(CompositeFilter.not(CompositeFilter.or(
+                        basic("amount", BasicFilter.Operator.EQUAL, "10"),
+                        basic("status", BasicFilter.Operator.EQUAL, "OPEN")))),
+                List.of(CompositeFilter.not(CompositeFilter.and(
+                        basic("priority", BasicFilter.Operator.LESS_THAN, "3"),
+                        between("createdAt", t5, t20)))),
+                List.of(CompositeFilter.not(CompositeFilter.not(
+                        basic("amount", BasicFilter.Operator.GREATER_THAN_OR_EQUAL, "12.5")))));
+    }
+
+    @ParameterizedTest
+    @MethodSource("filters")
+    void predicate_selectsSameRowsAsSpecification(List<Filter> filters) {
+        Criteria criteria = new Criteria();
+        criteria.setFilters(filters);
+        criteria.setSort(new SortSpec(List.of("id"), List.of()));
+
+        List<Long> expected = dao.getQueryResult(criteria).stream().map(TestOrder::getId).toList();
+        List<Long> actual = inMemory.apply(TestOrder.class, dao.findAll(), criteria).stream()
+                .map(TestOrder::getId)
+                .toList();
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void comparator_matchesDatabaseOrder_withNullsFirst() {
+        Criteria criteria = new Criteria();
+        criteria.setSort(new SortSpec(List.of("priority"), List.of("amount", "id")));
+
+        List<Long> expected = dao.getQueryResult(criteria).stream().map(TestOrder::getId).toList();
+        List<Long> actual = inMemory.apply(TestOrder.class, dao.findAll(), criteria).stream()
+                .map(TestOrder::getId)
+                .toList();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void join_matchesJoinedAttribute() {
+        TestOrder smith = new TestOrder("OPEN", "EU", 1);
+        smith.setCustomer(new TestCustomer("Smith"));
+        TestOrder jones = new TestOrder("OPEN", "EU", 1);
+        jones.setCustomer(new TestCustomer("Jones"));
+        TestOrder none = new TestOrder("OPEN", "EU", 1);
+        JoinSpec join = new JoinSpec();
+        join.setJoin("customer");
+        join.setFilter(basic("lastName", BasicFilter.Operator.EQUAL, "Smith"));
+        Criteria criteria = new Criteria();
+        criteria.setJoins(List.of(join));
+
+        assertEquals(List.of(smith), inMemory.apply(TestOrder.class, List.of(smith, jones, none), criteria));
+    }
+
+    @Test
+    void invalidValue_failsAtCompileTime() {
+        Criteria criteria = new Criteria();
+        criteria.setFilters(List.of(basic("priority", BasicFilter.Operator.EQUAL, "high")));
+
+        assertThrows(NumberFormatException.class, () -> inMemory.predicate(TestOrder.class, criteria));
+    }
+
+    @Test
+    void unregisteredFilter_isRejectedWithItsName() {
+        Criteria criteria = new Criteria();
+        criteria.setFilters(List.of(new Filter() {}));
+
+        var e = assertThrows(IllegalArgumentException.class, () -> inMemory.predicate(TestOrder.class, criteria));
+        assertTrue(e.getMessage().startsWith("No filter handler registered for " + InMemoryCriteriaTest.class.getName()),
+                e.getMessage());
+    }
+
+    @Test
+    void sqlOnlyHandler_isNotSupported() {
+        filterHandlerFactory.register(SqlOnlyFilter.class, new AbstractFilterHandler<>() {
+            @Override public void init() {}
+            @Override public Specification<TestOrder> handle(Filter filter) { return (root, query, cb) -> cb.conjunction(); }
+        });
+        Criteria builtIn = new Criteria();
+        builtIn.setFilters(List.of(CompositeFilter.not(basic("status", BasicFilter.Operator.EQUAL, "OPEN"))));
+        Criteria nested = new Criteria();
+        nested.setFilters(List.of(CompositeFilter.or(basic("status", BasicFilter.Operator.EQUAL, "OPEN"),
+                new SqlOnlyFilter())));
+
+        assertTrue(inMemory.supports(builtIn));
+        assertFalse(inMemory.supports(nested));
+        var e = assertThrows(IllegalArgumentException.class, () -> inMemory.predicate(TestOrder.class, nested));
+        assertEquals("No in-memory translation for SqlOnlyFilter", e.getMessage());
+        assertEquals(30, dao.getQueryResult(nested).size());
+    }
+
+    static class SqlOnlyFilter extends Filter {}
+
+    private static BasicFilter basic(String field, BasicFilter.Operator operator, String value) {
+        return BasicFilter.builder().field(field).operator(operator).value(value).build();
+    }
+
+    private static DateTimeFilter dateTime(String field, DateTimeFilter.Operator operator, Instant value) {
+        return DateTimeFilter.builder().field(field).operator(operator).value(value).build();
+    }
+
+    private static BetweenFilter between(String field, Instant start, Instant end) {
+        return BetweenFilter.builder().field(field).startDateTime(start).endDateTime(end).build();
+    }
+}
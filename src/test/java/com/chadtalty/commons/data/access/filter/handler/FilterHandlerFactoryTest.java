@@ -0,0 +1,45 @@
+package com.chadtalty.commons.data.access.filter.handler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.chadtalty.commons.data.access.filter.CompositeFilter;
+import com.chadtalty.commons.data.access.filter.TextFilter;
+import com.chadtalty.commons.data.query.BasicFilter;
+import com.chadtalty.commons.data.query.Filter;
+import com.chadtalty.commons.data.query.FilterType;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.domain.Specification;
+
+/** Handler lookup by filter type and by filter class. */
+class FilterHandlerFactoryTest {
+
+    private final FilterHandlerFactory<Object> factory = new FilterHandlerFactory<>();
+
+    private final FilterHandler<Object> handler = new AbstractFilterHandler<>() {
+        @Override public void init() {}
+        @Override public Specification<Object> handle(Filter filter) { return null; }
+    };
+
+    @Test
+    void requireFilterHandler_findsByTypeAndByClass() {
+        factory.register(FilterType.BASIC, handler);
+        factory.register(CompositeFilter.class, handler);
+
+        assertSame(handler, factory.requireFilterHandler(BasicFilter.builder().field("a").build()));
+        assertSame(handler, factory.requireFilterHandler(CompositeFilter.and()));
+    }
+
+    @Test
+    void requireFilterHandler_namesTheUnregisteredFilter() {
+        var byType = assertThrows(IllegalArgumentException.class,
+                () -> factory.requireFilterHandler(BasicFilter.builder().field("a").build()));
+        assertEquals("No filter handler registered for BasicFilter (type BASIC)", byType.getMessage());
+
+        var byClass = assertThrows(IllegalArgumentException.class,
+                () -> factory.requireFilterHandler(TextFilter.builder().field("a").build()));
+        assertEquals("No filter handler registered for TextFilter", byClass.getMessage());
+
+        assertThrows(IllegalArgumentException.class, () -> factory.requireFilterHandler(null));
+        assertNull(factory.getFilterHandler(TextFilter.builder().build()));
+    }
+}
@@ -0,0 +1,129 @@
+package com.chadtalty.commons.data.access.filter.handler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.chadtalty.commons.data.access.filter.TextFilter;
+import com.chadtalty.commons.data.access.testutil.JpaTestConfig;
+import com.chadtalty.commons.data.access.testutil.RecordingStatementInspector;
+import com.chadtalty.commons.data.access.testutil.TestProduct;
+import com.chadtalty.commons.data.access.testutil.TestProductRepository;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+/** {@code LIKE} translation of {@link TextFilter}, checked against embedded H2. */
+@SpringJUnitConfig(JpaTestConfig.class)
+class TextFilterHandlerTest {
+
+    @Autowired FilterHandlerFactory<TestProduct> factory;
+    @Autowired TestProductRepository repository;
+    @Autowired DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAllInBatch();
+        List<TestProduct> products = new ArrayList<>(List.of(
+                new TestProduct("AB-100", "Blue Widget", "alice@example.com"),
+                new TestProduct("AB-200", "blue gadget", "bob@example.com"),
+                new TestProduct("ab_300", "Red 100% Widget", "carol@example.org"),
+                new TestProduct("XY-100", "Green thing", "dave@example.com")));
+        for (int i = 0; i < 500; i++) {
+            products.add(new TestProduct("ZZ-" + i, "Filler " + i, "filler" + i + "@example.net"));
+        }
+        repository.saveAll(products);
+        RecordingStatementInspector.clear();
+    }
+
+    @Test
+    void startsWith_isPrefixLike_servedByIndex() throws SQLException {
+        assertEquals(List.of("AB-100", "AB-200"), skus(text("sku", TextFilter.Operator.STARTS_WITH, "AB-", false)));
+
+        String sql = lastStatement();
+        assertTrue(sql.contains("like ? escape '\\'"), sql);
+        assertFalse(sql.contains("lower("), sql);
+        assertTrue(explain(sql, "AB-%").contains("IDX_TEST_PRODUCT_SKU"));
+    }
+
+    @Test
+    void ignoreCase_lowersColumnAndValue() {
+        assertEquals(List.of("AB-100", "AB-200"), skus(text("name", TextFilter.Operator.STARTS_WITH, "BLUE", true)));
+
+        assertTrue(lastStatement().contains("lower("), lastStatement());
+    }
+
+    @Test
+    void ignoreCase_onStoredLowerCaseColumn_keepsIndex() throws SQLException {
+        assertEquals(List.of("AB-100"), skus(text("email", TextFilter.Operator.STARTS_WITH, "Alice@", true)));
+
+        String sql = lastStatement();
+        assertFalse(sql.contains("lower("), sql);
+        assertTrue(explain(sql, "alice@%").contains("IDX_TEST_PRODUCT_EMAIL"));
+    }
+
+    @Test
+    void wildcards_areMatchedLiterally() {
+        assertEquals(List.of("ab_300"), skus(text("name", TextFilter.Operator.CONTAINS, "100%", false)));
+        assertEquals(List.of("ab_300"), skus(text("sku", TextFilter.Operator.STARTS_WITH, "ab_", true)));
+        assertEquals(List.of(), skus(text("sku", TextFilter.Operator.CONTAINS, "\\", false)));
+    }
+
+    @Test
+    void endsWithAndContains() {
+        assertEquals(List.of("ab_300"), skus(text("email", TextFilter.Operator.ENDS_WITH, ".org", false)));
+        assertEquals(List.of("AB-100", "ab_300"), skus(text("name", TextFilter.Operator.CONTAINS, "widget", true)));
+    }
+
+    @Test
+    void inMemory_matchesDatabase() {
+        List<TestProduct> all = repository.findAll(Sort.by("id"));
+        for (TextFilter filter : List.of(
+                text("sku", TextFilter.Operator.STARTS_WITH, "ab", true),
+                text("name", TextFilter.Operator.CONTAINS, "Widget", false),
+                text("email", TextFilter.Operator.ENDS_WITH, "EXAMPLE.COM", true))) {
+            List<String> expected = skus(filter);
+            var predicate = factory.requireInMemoryFilterHandler(filter).toPredicate(filter, TestProduct.class);
+            assertEquals(expected, all.stream().filter(predicate).map(TestProduct::getSku).toList());
+        }
+    }
+
+    @Test
+    void escape() {
+        assertEquals("a\\%b\\_c\\\\d", TextFilterHandler.escape("a%b_c\\d"));
+    }
+
+    private List<String> skus(TextFilter filter) {
+        Specification<TestProduct> spec = factory.getFilterHandler(filter).handle(filter);
+        return repository.findAll(spec, Sort.by("id")).stream().map(TestProduct::getSku).toList();
+    }
+
+    private static TextFilter text(String field, TextFilter.Operator operator, String value, boolean ignoreCase) {
+        return TextFilter.builder().field(field).operator(operator).value(value).ignoreCase(ignoreCase).build();
+    }
+
+    private static String lastStatement() {
+        List<String> statements = RecordingStatementInspector.statements();
+        return statements.get(statements.size() - 1);
+    }
+
+    /** H2's plan for {@code sql} with its single parameter bound to {@code pattern}. */
+    private String explain(String sql, String pattern) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            statement.setString(1, pattern);
+            try (ResultSet plan = statement.executeQuery()) {
+                plan.next();
+                return plan.getString(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.chadtalty.commons.data.access.guard;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.chadtalty.commons.data.access.testutil.TestOrder;
+import com.chadtalty.commons.data.access.testutil.TestProduct;
+import org.junit.jupiter.api.Test;
+
+class IndexedAttributesTest {
+
+    @Test
+    void idAndLeadingIndexColumns_areIndexed() {
+        assertTrue(IndexedAttributes.isIndexed(TestProduct.class, "id"));
+        assertTrue(IndexedAttributes.isIndexed(TestProduct.class, "sku"));
+        assertTrue(IndexedAttributes.isIndexed(TestProduct.class, "email"));
+        assertFalse(IndexedAttributes.isIndexed(TestProduct.class, "name"));
+    }
+
+    @Test
+    void dottedPaths_resolveOnTheAssociatedEntity() {
+        assertTrue(IndexedAttributes.isIndexed(TestOrder.class, "customer.id"));
+        assertFalse(IndexedAttributes.isIndexed(TestOrder.class, "customer.lastName"));
+        assertFalse(IndexedAttributes.isIndexed(TestOrder.class, "nothing.id"));
+    }
+}
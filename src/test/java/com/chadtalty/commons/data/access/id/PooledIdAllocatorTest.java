@@ -0,0 +1,99 @@
+package com.chadtalty.commons.data.access.id;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+class PooledIdAllocatorTest {
+
+    EmbeddedDatabase database;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        JdbcTemplate jdbc = new JdbcTemplate(database);
+        jdbc.execute("CREATE SEQUENCE order_seq START WITH 1 INCREMENT BY 50");
+        jdbc.execute("CREATE TABLE id_blocks (name VARCHAR(64) PRIMARY KEY, next_val BIGINT NOT NULL)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void concurrentCallers_getDistinctIds_oneReservationPerBlock() throws Exception {
+        AtomicLong next = new AtomicLong(1);
+        PooledIdAllocator allocator = new PooledIdAllocator(() -> {
+            long first = next.getAndAdd(100);
+            return new IdBlock(first, first + 100);
+        });
+
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        ids.add(allocator.nextId());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertEquals(80_000, ids.size());
+        assertEquals(800, allocator.blocksReserved());
+        assertEquals(1, ids.stream().mapToLong(Long::longValue).min().orElseThrow());
+        assertEquals(80_000, ids.stream().mapToLong(Long::longValue).max().orElseThrow());
+    }
+
+    @Test
+    void sequenceSource_reservesIncrementSizedBlocks() {
+        SequenceIdBlockSource source = SequenceIdBlockSource.of(database, "order_seq", 50);
+
+        assertEquals(new IdBlock(1, 51), source.nextBlock());
+        assertEquals(new IdBlock(51, 101), source.nextBlock());
+
+        PooledIdAllocator allocator = new PooledIdAllocator(source);
+        assertEquals(101, allocator.nextId());
+        assertEquals(102, allocator.nextId());
+    }
+
+    @Test
+    void hiLoSource_createsRowThenAdvancesIt() {
+        HiLoTableIdBlockSource orders = new HiLoTableIdBlockSource(database, "id_blocks", "orders", 20);
+        HiLoTableIdBlockSource customers = new HiLoTableIdBlockSource(database, "id_blocks", "customers", 5);
+
+        assertEquals(new IdBlock(1, 21), orders.nextBlock());
+        assertEquals(new IdBlock(21, 41), orders.nextBlock());
+        assertEquals(new IdBlock(1, 6), customers.nextBlock());
+        assertEquals(41L, new JdbcTemplate(database)
+                .queryForObject("SELECT next_val FROM id_blocks WHERE name = 'orders'", Long.class));
+    }
+
+    @Test
+    void emptyBlock_rejected() {
+        assertThrows(IllegalArgumentException.class, () -> new IdBlock(5, 5));
+        assertThrows(IllegalArgumentException.class, () -> new SequenceIdBlockSource(database, "SELECT 1", 0));
+    }
+}
@@ -0,0 +1,185 @@
+package com.chadtalty.commons.data.access.invalidation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class InvalidationBusTest {
+
+    /** Sends only on {@link InvalidationBus#flush()}. */
+    static final InvalidationOptions MANUAL = InvalidationOptions.flushEvery(Duration.ofHours(1));
+
+    LoopbackTransport transport;
+    InvalidationBus nodeA;
+    InvalidationBus nodeB;
+    List<Invalidation> seenByA;
+    List<Invalidation> seenByB;
+
+    @BeforeEach
+    void setUp() {
+        transport = new LoopbackTransport();
+        nodeA = new InvalidationBus("a", transport, MANUAL.withMaxIdsPerType(10));
+        nodeB = new InvalidationBus("b", transport, MANUAL);
+        seenByA = new CopyOnWriteArrayList<>();
+        seenByB = new CopyOnWriteArrayList<>();
+        nodeA.subscribe(String.class, seenByA::add);
+        nodeB.subscribe(String.class, seenByB::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.close();
+        nodeB.close();
+    }
+
+    @Test
+    void repeatedIds_sentOnceInOneMessage() {
+        for (int i = 0; i < 50; i++) {
+            nodeA.invalidate(String.class, List.of(1L));
+        }
+        nodeA.invalidate(String.class, List.of(2L));
+        nodeA.invalidate(Integer.class, List.of(7L));
+
+        assertEquals(51, seenByA.size());
+        assertTrue(seenByB.isEmpty());
+        nodeA.flush();
+
+        assertEquals(List.of(Invalidation.of(String.class.getName(), Set.of(1L, 2L))), seenByB);
+        assertEquals(51, seenByA.size());
+        InvalidationStats sent = nodeA.stats();
+        assertEquals(52, sent.requested());
+        assertEquals(49, sent.coalesced());
+        assertEquals(1, sent.messagesSent());
+        assertEquals(2, sent.invalidationsSent());
+        assertEquals(0, sent.messagesReceived());
+        InvalidationStats received = nodeB.stats();
+        assertEquals(1, received.messagesReceived());
+        assertEquals(2, received.invalidationsReceived());
+    }
+
+    @Test
+    void tooManyIds_invalidateWholeType() {
+        for (long id = 0; id < 11; id++) {
+            nodeA.invalidate(String.class, List.of(id));
+        }
+        nodeA.flush();
+
+        assertEquals(List.of(Invalidation.all(String.class.getName())), seenByB);
+        assertTrue(seenByB.get(0).covers(12345L));
+    }
+
+    @Test
+    void insideTransaction_sentAfterCommitOnly() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            nodeA.invalidate(String.class, List.of(1L));
+            nodeA.flush();
+            assertTrue(seenByA.isEmpty());
+            assertTrue(seenByB.isEmpty());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        nodeA.flush();
+        assertEquals(1, seenByA.size());
+        assertEquals(1, seenByB.size());
+
+        // rolled back: afterCommit never runs
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            nodeA.invalidate(String.class, List.of(2L));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        nodeA.flush();
+        assertEquals(1, seenByB.size());
+    }
+
+    @Test
+    void failedPublish_retriedWithNextBatch() {
+        AtomicBoolean fail = new AtomicBoolean(true);
+        InvalidationTransport flaky = new InvalidationTransport() {
+            @Override
+            public void publish(InvalidationMessage message) {
+                if (fail.getAndSet(false)) {
+                    throw new IllegalStateException("broker down");
+                }
+                transport.publish(message);
+            }
+
+            @Override
+            public void subscribe(Consumer<InvalidationMessage> receiver) {
+                transport.subscribe(receiver);
+            }
+        };
+        try (InvalidationBus nodeC = new InvalidationBus("c", flaky, MANUAL)) {
+            nodeC.invalidate(String.class, List.of(1L));
+            assertThrows(IllegalStateException.class, nodeC::flush);
+            nodeC.invalidate(String.class, List.of(2L));
+            nodeC.flush();
+
+            assertEquals(1, nodeC.stats().publishFailures());
+        }
+        assertEquals(List.of(Invalidation.of(String.class.getName(), Set.of(1L, 2L))), seenByB);
+    }
+
+    @Test
+    void lag_measuredFromFirstCommit() throws InterruptedException {
+        nodeA.invalidate(String.class, List.of(1L));
+        Thread.sleep(30);
+        nodeA.invalidate(String.class, List.of(2L));
+        nodeA.flush();
+
+        InvalidationStats stats = nodeB.stats();
+        assertTrue(stats.lastLag().toMillis() >= 30, stats.toString());
+        assertEquals(stats.lastLag(), stats.averageLag());
+    }
+
+    @Test
+    void backgroundFlush_sendsWithoutBeingAsked() throws InterruptedException {
+        try (InvalidationBus fast = new InvalidationBus("fast", transport, InvalidationOptions.defaults())) {
+            fast.invalidate(String.class, List.of(9L));
+            for (int i = 0; i < 200 && seenByB.isEmpty(); i++) {
+                Thread.sleep(10);
+            }
+        }
+        assertEquals(List.of(Invalidation.of(String.class.getName(), Set.of(9L))), seenByB);
+    }
+
+    @Test
+    void message_encodeDecodeRoundTrip() {
+        InvalidationMessage message = new InvalidationMessage(
+                "node-1",
+                1_000,
+                1_020,
+                List.of(Invalidation.of("com.example.Order", Set.of(1L, 2L)), Invalidation.all("com.example.Item")));
+
+        assertEquals(message, InvalidationMessage.decode(message.encode()));
+        assertThrows(IllegalArgumentException.class, () -> InvalidationMessage.decode("v1|x|1|2|T"));
+        assertThrows(IllegalArgumentException.class, () -> InvalidationMessage.decode("v1|x|1|2|T=%zz"));
+    }
+
+    @Test
+    void textIds_sentWithTheirSeparatorsIntact() {
+        UUID uuid = UUID.randomUUID();
+        nodeA.invalidate(String.class, List.of("a,b", "c|d=e", "50% *", uuid));
+        nodeA.flush();
+
+        assertEquals(1, seenByB.size());
+        Invalidation received = seenByB.get(0);
+        assertEquals(Set.of("a,b", "c|d=e", "50% *", uuid.toString()), received.ids());
+        assertTrue(received.covers(uuid));
+        assertFalse(received.covers("a"));
+    }
+}
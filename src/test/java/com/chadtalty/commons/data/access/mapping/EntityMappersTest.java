@@ -0,0 +1,111 @@
+package com.chadtalty.commons.data.access.mapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.chadtalty.commons.data.access.testutil.TestCustomer;
+import com.chadtalty.commons.data.access.testutil.TestOrder;
+import java.math.BigDecimal;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import lombok.Getter;
+import lombok.Setter;
+import org.junit.jupiter.api.Test;
+
+class EntityMappersTest {
+
+    /** {@code rank} has no counterpart on the entity. */
+    public record OrderRecord(Long id, String status, Integer priority, BigDecimal amount, TestCustomer customer, int rank) {}
+
+    @Getter
+    @Setter
+    public static class OrderBean {
+        private Long id;
+        private String status;
+        private int priority;
+        private String note;
+    }
+
+    record WrongType(Long id, String priority) {}
+
+    static TestOrder order(long id, String status, Integer priority) {
+        TestOrder order = new TestOrder(status, "EU", priority);
+        order.setId(id);
+        order.setAmount(BigDecimal.TEN);
+        return order;
+    }
+
+    @Test
+    void record_roundTrip() {
+        GeneratedEntityMapper<OrderRecord, TestOrder> mapper = EntityMappers.of(OrderRecord.class, TestOrder.class);
+        TestCustomer customer = new TestCustomer("Smith");
+        TestOrder order = order(1, "OPEN", 3);
+        order.setCustomer(customer);
+
+        OrderRecord dto = mapper.toDto(order);
+        assertEquals(new OrderRecord(1L, "OPEN", 3, BigDecimal.TEN, customer, 0), dto);
+
+        TestOrder entity = mapper.toEntity(new OrderRecord(2L, "CLOSED", null, null, null, 5));
+        assertEquals(2L, entity.getId());
+        assertEquals("CLOSED", entity.getStatus());
+        assertNull(entity.getPriority());
+        assertNull(entity.getRegion());
+    }
+
+    @Test
+    void bean_copiesMatchingProperties_primitiveKeepsDefaultForNull() {
+        GeneratedEntityMapper<OrderBean, TestOrder> mapper = EntityMappers.of(OrderBean.class, TestOrder.class);
+
+        OrderBean dto = mapper.toDto(order(1, "OPEN", null));
+        assertEquals(1L, dto.getId());
+        assertEquals("OPEN", dto.getStatus());
+        assertEquals(0, dto.getPriority());
+        assertNull(dto.getNote());
+
+        dto.setPriority(4);
+        assertEquals(4, mapper.toEntity(dto).getPriority());
+    }
+
+    @Test
+    void nulls_mapToNull() {
+        GeneratedEntityMapper<OrderRecord, TestOrder> mapper = EntityMappers.of(OrderRecord.class, TestOrder.class);
+
+        assertNull(mapper.toDto(null));
+        assertNull(mapper.toEntity(null));
+    }
+
+    @Test
+    void incompatibleTypes_rejectedWhenBuilt() {
+        IllegalArgumentException e =
+                assertThrows(IllegalArgumentException.class, () -> EntityMappers.of(WrongType.class, TestOrder.class));
+        assertTrue(e.getMessage().contains("'priority'"), e.getMessage());
+    }
+
+    @Test
+    void bulk_sequentialAndParallel_keepOrder() {
+        List<TestOrder> orders = IntStream.range(0, 1_000)
+                .mapToObj(i -> order(i, "S" + i, i))
+                .toList();
+        GeneratedEntityMapper<OrderRecord, TestOrder> mapper = EntityMappers.of(OrderRecord.class, TestOrder.class);
+        GeneratedEntityMapper<OrderRecord, TestOrder> parallel = mapper.withParallelThreshold(100);
+
+        List<OrderRecord> sequential = mapper.toDtos(orders);
+        assertEquals(sequential, parallel.toDtos(orders));
+        assertEquals(sequential, mapper.toDtos(new LinkedList<>(orders)));
+        assertEquals(sequential, parallel.toDtos(new LinkedList<>(orders)));
+        assertEquals(999, sequential.get(999).priority());
+
+        List<TestOrder> back = parallel.toEntities(sequential);
+        assertEquals("S500", back.get(500).getStatus());
+    }
+
+    @Test
+    void stream_mapsLazily() {
+        GeneratedEntityMapper<OrderRecord, TestOrder> mapper = EntityMappers.of(OrderRecord.class, TestOrder.class);
+
+        Stream<OrderRecord> dtos = mapper.toDtoStream(Stream.of(order(1, "A", 1), order(2, "B", 2), order(3, "C", 3)));
+
+        assertEquals(List.of("A", "B"), dtos.limit(2).map(OrderRecord::status).toList());
+    }
+}
@@ -0,0 +1,46 @@
+package com.chadtalty.commons.data.access.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class IdRangeTest {
+
+    @Test
+    void split_coversRangeWithoutGaps() {
+        List<IdRange> parts = new IdRange(1, 10).split(3);
+        assertEquals(List.of(new IdRange(1, 4), new IdRange(5, 7), new IdRange(8, 10)), parts);
+    }
+
+    @Test
+    void split_neverProducesEmptyRanges() {
+        assertEquals(List.of(new IdRange(5, 5), new IdRange(6, 6)), new IdRange(5, 6).split(8));
+        assertEquals(List.of(new IdRange(7, 7)), new IdRange(7, 7).split(4));
+    }
+
+    @Test
+    void split_handlesRangesWiderThanLongMaxValue() {
+        IdRange full = new IdRange(Long.MIN_VALUE, Long.MAX_VALUE);
+        assertEquals(List.of(full), full.split(1));
+        assertEquals(List.of(new IdRange(Long.MIN_VALUE, -1), new IdRange(0, Long.MAX_VALUE)), full.split(2));
+
+        List<IdRange> parts = full.split(7);
+        assertEquals(7, parts.size());
+        assertEquals(Long.MIN_VALUE, parts.get(0).min());
+        assertEquals(Long.MAX_VALUE, parts.get(6).max());
+        for (int i = 1; i < parts.size(); i++) {
+            assertEquals(parts.get(i - 1).max() + 1, parts.get(i).min());
+        }
+
+        assertEquals(
+                List.of(new IdRange(-5, Long.MAX_VALUE / 2 - 2), new IdRange(Long.MAX_VALUE / 2 - 1, Long.MAX_VALUE)),
+                new IdRange(-5, Long.MAX_VALUE).split(2));
+    }
+
+    @Test
+    void rejectsInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> new IdRange(2, 1));
+        assertThrows(IllegalArgumentException.class, () -> new IdRange(1, 2).split(0));
+    }
+}
@@ -0,0 +1,86 @@
+package com.chadtalty.commons.data.access.routing;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReadReplicaRoutingDataSourceTest {
+
+    DataSource primary;
+    DataSource replica;
+    Connection primaryConnection;
+    Connection replicaConnection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSourceRouting.unpin();
+        primary = mock(DataSource.class);
+        replica = mock(DataSource.class);
+        primaryConnection = mock(Connection.class);
+        replicaConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+    }
+
+    @AfterEach
+    void tearDown() {
+        DataSourceRouting.unpin();
+    }
+
+    @Test
+    void routesByThreadRoute() throws SQLException {
+        var routing = new ReadReplicaRoutingDataSource(primary, replica);
+
+        assertSame(primaryConnection, routing.getConnection());
+        assertSame(replicaConnection, onReplica(routing));
+    }
+
+    @Test
+    void pinOverridesReplicaRoute() throws SQLException {
+        var routing = new ReadReplicaRoutingDataSource(primary, replica);
+
+        DataSourceRouting.pinToPrimary(Duration.ofMinutes(1));
+        assertSame(primaryConnection, onReplica(routing));
+
+        DataSourceRouting.unpin();
+        assertSame(replicaConnection, onReplica(routing));
+    }
+
+    @Test
+    void fallsBackToPrimaryWhileReplicaIsDown() throws SQLException {
+        when(replica.getConnection()).thenThrow(new SQLException("replica down"));
+        var routing = new ReadReplicaRoutingDataSource(primary, replica, Duration.ofMinutes(1));
+
+        assertSame(primaryConnection, onReplica(routing));
+        assertFalse(routing.isReplicaAvailable());
+        assertSame(primaryConnection, onReplica(routing));
+        verify(replica, times(1)).getConnection();
+    }
+
+    @Test
+    void retriesReplicaAfterInterval() throws SQLException {
+        when(replica.getConnection()).thenThrow(new SQLException("replica down")).thenReturn(replicaConnection);
+        var routing = new ReadReplicaRoutingDataSource(primary, replica, Duration.ZERO);
+
+        assertSame(primaryConnection, onReplica(routing));
+        assertTrue(routing.isReplicaAvailable());
+        assertSame(replicaConnection, onReplica(routing));
+    }
+
+    private static Connection onReplica(DataSource dataSource) {
+        return DataSourceRouting.callOn(DataSourceRoute.REPLICA, () -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,193 @@
+package com.chadtalty.commons.data.access.shard;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.chadtalty.commons.data.access.testutil.JpaTestConfig;
+import com.chadtalty.commons.data.access.testutil.TestOrder;
+import com.chadtalty.commons.data.access.testutil.TestOrderDAO;
+import com.chadtalty.commons.data.query.BasicFilter;
+import com.chadtalty.commons.data.query.ContainsFilter;
+import com.chadtalty.commons.data.query.Criteria;
+import com.chadtalty.commons.data.query.PageableCriteria;
+import com.chadtalty.commons.data.query.SortSpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/** Scatter-gather behavior of {@link ShardedDAO} over three embedded H2 databases. */
+class ShardedDAOTest {
+
+    static final List<String> SHARD_IDS = List.of("s0", "s1", "s2");
+    static final List<String> REGIONS = List.of("EU", "US", "APAC", "LATAM", "MEA");
+
+    /** Shard {@code k} allocates ids from {@code k * ID_BLOCK + 1}, so ids are unique across shards. */
+    static final long ID_BLOCK = 1_000_000L;
+
+    static final List<AnnotationConfigApplicationContext> contexts = new ArrayList<>();
+    static final Map<String, TestOrderDAO> shardDaos = new LinkedHashMap<>();
+    static final Map<String, JdbcTemplate> shardJdbc = new LinkedHashMap<>();
+    static ExecutorService executor;
+
+    HashShardRouter<TestOrder> router = new HashShardRouter<>("region", TestOrder::getRegion, SHARD_IDS);
+    ShardedDAO<TestOrder> dao;
+
+    @BeforeAll
+    static void startShards() {
+        for (String id : SHARD_IDS) {
+            var context = new AnnotationConfigApplicationContext(JpaTestConfig.class);
+            contexts.add(context);
+            shardDaos.put(id, context.getBean(TestOrderDAO.class));
+            shardJdbc.put(id, new JdbcTemplate(context.getBean(DataSource.class)));
+        }
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @AfterAll
+    static void stopShards() {
+        executor.close();
+        contexts.forEach(AnnotationConfigApplicationContext::close);
+    }
+
+    @BeforeEach
+    void setUp() {
+        shardDaos.values().forEach(d -> d.getRepository().deleteAllInBatch());
+        for (int k = 0; k < SHARD_IDS.size(); k++) {
+            shardJdbc.get(SHARD_IDS.get(k))
+                    .execute("alter table test_order alter column id restart with " + (k * ID_BLOCK + 1));
+        }
+        dao = new ShardedDAO<>(TestOrder.class, shardDaos, router, executor);
+        for (int i = 0; i < 20; i++) {
+            dao.save(new TestOrder(i % 2 == 0 ? "OPEN" : "CLOSED", REGIONS.get(i % REGIONS.size()), i));
+        }
+    }
+
+    @Test
+    void save_routesByShardKey() {
+        for (var entry : shardDaos.entrySet()) {
+            entry.getValue().findAll().forEach(o -> assertEquals(entry.getKey(), router.shardForKey(o.getRegion())));
+        }
+        assertEquals(20L, dao.count());
+    }
+
+    @Test
+    void queryAndCount_gatherAllShards() {
+        Criteria open = new Criteria();
+        open.setFilters(List.of(basic("status", "OPEN")));
+
+        assertEquals(10, dao.getQueryResult(open).size());
+        assertEquals(10L, dao.count(open));
+    }
+
+    @Test
+    void shardKeyFilter_prunesShards() {
+        Criteria eu = new Criteria();
+        eu.setFilters(List.of(basic("region", "EU")));
+        assertEquals(List.of(router.shardForKey("EU")), List.copyOf(dao.relevantShards(eu)));
+        assertEquals(4L, dao.count(eu));
+
+        Criteria some = new Criteria();
+        some.setFilters(List.of(ContainsFilter.builder().field("region").values(List.of("EU", "US")).build()));
+        assertEquals(
+                List.of(router.shardForKey("EU"), router.shardForKey("US")).stream().distinct().sorted().toList(),
+                dao.relevantShards(some).stream().sorted().toList());
+        assertEquals(8, dao.getQueryResult(some).size());
+    }
+
+    @Test
+    void queryResult_mergesInSortOrder() {
+        Criteria criteria = new Criteria();
+        criteria.setFilters(List.of(basic("status", "OPEN")));
+        criteria.setSort(new SortSpec(List.of(), List.of("priority")));
+
+        assertEquals(
+                List.of(18, 16, 14, 12, 10, 8, 6, 4, 2, 0),
+                dao.getQueryResult(criteria).stream().map(TestOrder::getPriority).toList());
+
+        criteria.setSort(new SortSpec(List.of("region", "priority"), List.of()));
+        List<TestOrder> byRegion = dao.getQueryResult(criteria);
+        assertEquals(
+                byRegion.stream()
+                        .sorted(Comparator.comparing(TestOrder::getRegion).thenComparing(TestOrder::getPriority))
+                        .toList(),
+                byRegion);
+    }
+
+    @Test
+    void page_mergesInSortOrder() {
+        PageableCriteria criteria = new PageableCriteria();
+        criteria.setSort(new SortSpec(List.of(), List.of("priority")));
+        criteria.setPage(1);
+        criteria.setSize(6);
+
+        var page = dao.getQueryResultPage(criteria);
+
+        assertEquals(20, page.getTotalElements());
+        assertEquals(List.of(13, 12, 11, 10, 9, 8), page.getContent().stream().map(TestOrder::getPriority).toList());
+    }
+
+    @Test
+    void sortedMerge_ordersNullsLowest_whateverTheDatabaseDefault() {
+        shardJdbc.values().forEach(jdbc -> {
+            jdbc.update("update test_order set priority = null where mod(priority, 4) = 0");
+            jdbc.execute("set default_null_ordering high");
+        });
+        try {
+            Criteria criteria = new Criteria();
+            criteria.setSort(new SortSpec(List.of("priority"), List.of()));
+            List<Integer> ascending = dao.getQueryResult(criteria).stream().map(TestOrder::getPriority).toList();
+            assertEquals(5, ascending.stream().filter(p -> p == null).count());
+            assertNull(ascending.get(4));
+            assertEquals(1, ascending.get(5));
+
+            PageableCriteria page = new PageableCriteria();
+            page.setSort(new SortSpec(List.of(), List.of("priority")));
+            page.setPage(2);
+            page.setSize(6);
+            assertEquals(
+                    Arrays.asList(3, 2, 1, null, null, null),
+                    dao.getQueryResultPage(page).getContent().stream().map(TestOrder::getPriority).toList());
+
+            var byPageable = dao.findAll(PageRequest.of(0, 3, Sort.by("priority")));
+            assertEquals(Arrays.asList(null, null, null), byPageable.map(TestOrder::getPriority).getContent());
+        } finally {
+            shardJdbc.values().forEach(jdbc -> jdbc.execute("set default_null_ordering low"));
+        }
+    }
+
+    @Test
+    void findById_searchesAllShards() {
+        for (int k = 0; k < SHARD_IDS.size(); k++) {
+            String shardId = SHARD_IDS.get(k);
+            for (TestOrder stored : shardDaos.get(shardId).findAll()) {
+                long id = stored.getId();
+                assertEquals(k, id / ID_BLOCK, "id allocated outside the shard's block");
+                long onShards = shardDaos.values().stream().filter(d -> d.existsById(id)).count();
+                assertEquals(1, onShards, "id " + id + " is not unique across shards");
+
+                TestOrder found = dao.findById(id);
+                assertEquals(id, found.getId());
+                assertEquals(shardId, router.shardForKey(found.getRegion()));
+                assertEquals(stored.getPriority(), found.getPriority());
+            }
+        }
+        assertThrows(jakarta.persistence.EntityNotFoundException.class, () -> dao.findById(10 * ID_BLOCK));
+    }
+
+    private static BasicFilter basic(String field, String value) {
+        return BasicFilter.builder().field(field).operator(BasicFilter.Operator.EQUAL).value(value).build();
+    }
+}
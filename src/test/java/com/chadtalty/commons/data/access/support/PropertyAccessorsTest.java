@@ -0,0 +1,62 @@
+package com.chadtalty.commons.data.access.support;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.chadtalty.commons.data.access.testutil.TestCustomer;
+import com.chadtalty.commons.data.access.testutil.TestOrder;
+import org.junit.jupiter.api.Test;
+
+class PropertyAccessorsTest {
+
+    record Point(int x, Long y) {}
+
+    static class Holder {
+        private final Point point;
+        private boolean active = true;
+
+        Holder(Point point) {
+            this.point = point;
+        }
+
+        boolean isActive() {
+            return active;
+        }
+    }
+
+    @Test
+    void beanGetter_isCompiledAndCached() {
+        TestOrder order = new TestOrder("OPEN", "EU", 3);
+
+        PropertyAccessor accessor = PropertyAccessors.of(TestOrder.class, "priority");
+
+        assertEquals(Integer.class, accessor.type());
+        assertEquals(3, accessor.get(order));
+        assertSame(accessor, PropertyAccessors.of(TestOrder.class, "priority"));
+    }
+
+    @Test
+    void recordComponents_fields_andBooleanGetters_onNonPublicTypes() {
+        Holder holder = new Holder(new Point(1, 2L));
+
+        assertEquals(Integer.class, PropertyAccessors.of(Point.class, "x").type());
+        assertEquals(1, PropertyAccessors.of(Holder.class, "point.x").get(holder));
+        assertEquals(2L, PropertyAccessors.of(Holder.class, "point.y").get(holder));
+        assertEquals(true, PropertyAccessors.of(Holder.class, "active").get(holder));
+    }
+
+    @Test
+    void nestedPath_isNullSafe() {
+        TestOrder order = new TestOrder("OPEN", "EU", 3);
+        PropertyAccessor lastName = PropertyAccessors.of(TestOrder.class, "customer.lastName");
+
+        assertNull(lastName.get(order));
+        order.setCustomer(new TestCustomer("Smith"));
+        assertEquals("Smith", lastName.get(order));
+        assertEquals(String.class, lastName.type());
+    }
+
+    @Test
+    void unknownProperty_isRejected() {
+        assertThrows(IllegalArgumentException.class, () -> PropertyAccessors.of(TestOrder.class, "customer.nope"));
+    }
+}
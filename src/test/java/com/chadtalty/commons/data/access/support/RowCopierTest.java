@@ -0,0 +1,50 @@
+package com.chadtalty.commons.data.access.support;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.junit.jupiter.api.Test;
+
+/** Shallow copies of {@link RowCopier}. */
+class RowCopierTest {
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    static class Vehicle {
+        private Long id;
+        private String name;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    static class Truck extends Vehicle {
+        private int axles;
+    }
+
+    @Test
+    void copy_keepsTheRuntimeClassAndItsFields() {
+        Truck truck = new Truck();
+        truck.setId(1L);
+        truck.setName("T1");
+        truck.setAxles(3);
+
+        Vehicle copy = new RowCopier<>(Vehicle.class).copy(truck);
+
+        Truck copied = assertInstanceOf(Truck.class, copy);
+        assertNotSame(truck, copied);
+        assertEquals(1L, copied.getId());
+        assertEquals("T1", copied.getName());
+        assertEquals(3, copied.getAxles());
+    }
+
+    @Test
+    void classWithoutNoArgConstructor_isRejected() {
+        record Frozen(long id) {}
+
+        assertThrows(IllegalArgumentException.class, () -> new RowCopier<>(Frozen.class));
+    }
+}
@@ -0,0 +1,31 @@
+package com.chadtalty.commons.data.access.support;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/** K-way merging of {@link SortedMerge}. */
+class SortedMergeTest {
+
+    @Test
+    void merge_interleavesSortedInputs_andKeepsInputOrderOnTies() {
+        assertEquals(
+                List.of("a", "B", "b", "c", "d"),
+                SortedMerge.merge(
+                        List.of(List.of("a", "B", "d"), List.of("b", "c")),
+                        String.CASE_INSENSITIVE_ORDER,
+                        Integer.MAX_VALUE));
+    }
+
+    @Test
+    void merge_rejectsAnInputOrderedByAnotherCollation() {
+        // a case-insensitive database collation orders "a" before "B"; code-point order does not
+        var e = assertThrows(
+                IllegalStateException.class,
+                () -> SortedMerge.merge(
+                        List.of(List.of("a", "B"), List.of("c")), Comparator.<String>naturalOrder(), 10));
+        assertTrue(e.getMessage().contains("Input 0"), e.getMessage());
+    }
+}
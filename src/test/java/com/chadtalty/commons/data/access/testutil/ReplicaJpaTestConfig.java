@@ -0,0 +1,35 @@
+package com.chadtalty.commons.data.access.testutil;
+
+import com.chadtalty.commons.data.access.routing.ReadReplicaRoutingDataSource;
+import javax.sql.DataSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+/**
+ * {@link JpaTestConfig} variant whose JPA stack runs on a {@link ReadReplicaRoutingDataSource} over
+ * two separate embedded H2 databases. Hibernate creates the schema on the primary only.
+ */
+@Configuration
+public class ReplicaJpaTestConfig extends JpaTestConfig {
+
+    @Bean
+    public EmbeddedDatabase primaryDatabase() {
+        return new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+    }
+
+    @Bean
+    public EmbeddedDatabase replicaDatabase() {
+        return new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+    }
+
+    @Bean
+    @Primary
+    @Override
+    public DataSource dataSource() {
+        return new ReadReplicaRoutingDataSource(primaryDatabase(), replicaDatabase());
+    }
+}
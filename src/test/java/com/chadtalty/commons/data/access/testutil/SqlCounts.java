@@ -0,0 +1,40 @@
+package com.chadtalty.commons.data.access.testutil;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+/**
+ * What one measured action did at the JDBC level; see {@link SqlStatistics}. The assertions
+ * return {@code this}, so they chain, and their messages list the SQL that ran.
+ *
+ * @param statements     JDBC statements prepared (a JDBC batch counts once).
+ * @param entitiesLoaded entities materialized from result rows.
+ * @param lazyFetches    entities and collections loaded on access after their owner, the N+1 signal.
+ * @param flushes        persistence context flushes.
+ * @param sql            the statements, in order.
+ */
+public record SqlCounts(long statements, long entitiesLoaded, long lazyFetches, long flushes, List<String> sql) {
+
+    public SqlCounts assertStatements(long expected) {
+        assertEquals(expected, statements, () -> "statements: " + sql);
+        return this;
+    }
+
+    public SqlCounts assertMaxEntitiesLoaded(long max) {
+        assertTrue(entitiesLoaded <= max, () -> entitiesLoaded + " entities loaded, expected at most " + max);
+        return this;
+    }
+
+    /** No lazy association was loaded one by one. */
+    public SqlCounts assertNoLazyFetches() {
+        assertEquals(0, lazyFetches, () -> "lazy fetches (N+1): " + sql);
+        return this;
+    }
+
+    public SqlCounts assertFlushes(long expected) {
+        assertEquals(expected, flushes, "flushes");
+        return this;
+    }
+}
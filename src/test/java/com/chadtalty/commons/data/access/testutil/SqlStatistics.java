@@ -0,0 +1,46 @@
+package com.chadtalty.commons.data.access.testutil;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.function.Supplier;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Measures the statements, entity loads, lazy fetches and flushes of an action from Hibernate's
+ * statistics (enabled by {@link JpaTestConfig}) and the {@link RecordingStatementInspector}.
+ * Statistics are global to the session factory, so measured actions must not run concurrently
+ * with other database work.
+ */
+public final class SqlStatistics {
+
+    private final Statistics statistics;
+
+    public SqlStatistics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /** Runs {@code action} and returns its counts. */
+    public SqlCounts countsOf(Runnable action) {
+        return measure(() -> {
+            action.run();
+            return null;
+        }).counts();
+    }
+
+    /** Runs {@code action} and returns its result together with its counts. */
+    public <T> Measured<T> measure(Supplier<T> action) {
+        statistics.clear();
+        RecordingStatementInspector.clear();
+        T result = action.get();
+        SqlCounts counts = new SqlCounts(
+                statistics.getPrepareStatementCount(),
+                statistics.getEntityLoadCount(),
+                statistics.getEntityFetchCount() + statistics.getCollectionFetchCount(),
+                statistics.getFlushCount(),
+                RecordingStatementInspector.statements());
+        return new Measured<>(result, counts);
+    }
+
+    /** Result and counts of a measured action. */
+    public record Measured<T>(T result, SqlCounts counts) {}
+}
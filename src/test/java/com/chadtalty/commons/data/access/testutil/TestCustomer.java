@@ -0,0 +1,27 @@
+package com.chadtalty.commons.data.access.testutil;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** Test-only JPA entity referenced by {@link TestOrder}. */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+public class TestCustomer {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String lastName;
+
+    public TestCustomer(String lastName) {
+        this.lastName = lastName;
+    }
+}
@@ -0,0 +1,50 @@
+package com.chadtalty.commons.data.access.testutil;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Date;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** Test-only JPA entity used by the embedded H2 tests. */
+@Entity
+@Table(name = "test_order")
+@Getter
+@Setter
+@NoArgsConstructor
+public class TestOrder {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String status;
+    private String region;
+    private Integer priority;
+    private BigDecimal amount;
+    private Timestamp createdAt;
+    private LocalDateTime updatedAt;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date shippedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private TestCustomer customer;
+
+    public TestOrder(String status, String region, Integer priority) {
+        this.status = status;
+        this.region = region;
+        this.priority = priority;
+    }
+}
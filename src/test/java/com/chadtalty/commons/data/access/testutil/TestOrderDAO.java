@@ -0,0 +1,6 @@
+package com.chadtalty.commons.data.access.testutil;
+
+import com.chadtalty.commons.data.access.AbstractDAO;
+
+/** Minimal DAO over {@link TestOrder}. */
+public class TestOrderDAO extends AbstractDAO<TestOrder, TestOrderRepository> {}
@@ -0,0 +1,6 @@
+package com.chadtalty.commons.data.access.testutil;
+
+import com.chadtalty.commons.data.access.repository.EntityRepository;
+
+/** Repository for {@link TestOrder}. */
+public interface TestOrderRepository extends EntityRepository<TestOrder, Long> {}
@@ -0,0 +1,31 @@
+package com.chadtalty.commons.data.access.testutil;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** Test-only versioned JPA entity with an assigned id, used by the upsert tests. */
+@Entity
+@Table(name = "test_price")
+@Getter
+@Setter
+@NoArgsConstructor
+public class TestPrice {
+
+    @Id
+    private Long id;
+
+    private Integer cents;
+
+    @Version
+    private Long version;
+
+    public TestPrice(Long id, Integer cents) {
+        this.id = id;
+        this.cents = cents;
+    }
+}
@@ -0,0 +1,43 @@
+package com.chadtalty.commons.data.access.testutil;
+
+import com.chadtalty.commons.data.access.filter.StoredLowerCase;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** Test-only JPA entity with indexed string columns, used by the text search tests. */
+@Entity
+@Table(
+        name = "test_product",
+        indexes = {
+            @Index(name = "idx_test_product_sku", columnList = "sku"),
+            @Index(name = "idx_test_product_email", columnList = "email")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+public class TestProduct {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String sku;
+
+    private String name;
+
+    @StoredLowerCase
+    private String email;
+
+    public TestProduct(String sku, String name, String email) {
+        this.sku = sku;
+        this.name = name;
+        this.email = email;
+    }
+}
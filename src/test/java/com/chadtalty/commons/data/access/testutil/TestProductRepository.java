@@ -0,0 +1,6 @@
+package com.chadtalty.commons.data.access.testutil;
+
+import com.chadtalty.commons.data.access.repository.EntityRepository;
+
+/** Repository for {@link TestProduct}. */
+public interface TestProductRepository extends EntityRepository<TestProduct, Long> {}
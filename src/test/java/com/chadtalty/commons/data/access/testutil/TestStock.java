@@ -0,0 +1,31 @@
+package com.chadtalty.commons.data.access.testutil;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** Test-only JPA entity with an assigned id and a unique {@code sku}, used by the upsert tests. */
+@Entity
+@Table(name = "test_stock", uniqueConstraints = @UniqueConstraint(name = "uk_test_stock_sku", columnNames = "sku"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class TestStock {
+
+    @Id
+    private Long id;
+
+    private String sku;
+
+    private Integer quantity;
+
+    public TestStock(Long id, String sku, Integer quantity) {
+        this.id = id;
+        this.sku = sku;
+        this.quantity = quantity;
+    }
+}
@@ -0,0 +1,6 @@
+package com.chadtalty.commons.data.access.testutil;
+
+import com.chadtalty.commons.data.access.repository.EntityRepository;
+
+/** Repository for {@link TestStock}. */
+public interface TestStockRepository extends EntityRepository<TestStock, Long> {}
@@ -0,0 +1,190 @@
+package com.chadtalty.commons.data.access.writebehind;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class WriteBehindBufferTest {
+
+    record Row(long id, int value) {}
+
+    final List<List<Row>> batches = new CopyOnWriteArrayList<>();
+
+    WriteBehindBuffer<Row> buffer;
+
+    @AfterEach
+    void tearDown() {
+        if (buffer != null) {
+            buffer.close();
+        }
+    }
+
+    WriteBehindBuffer<Row> buffer(WriteBehindOptions options) {
+        buffer = new WriteBehindBuffer<>(Row.class, Row::id, batches::add, options);
+        return buffer;
+    }
+
+    @Test
+    void repeatedSaves_coalescedToLatest() {
+        WriteBehindBuffer<Row> buffer = buffer(WriteBehindOptions.flushEvery(Duration.ofHours(1)));
+        for (int i = 1; i <= 10; i++) {
+            buffer.add(new Row(1, i));
+            buffer.add(new Row(2, -i));
+        }
+
+        buffer.flush();
+
+        assertEquals(List.of(List.of(new Row(1, 10), new Row(2, -10))), batches);
+        WriteBehindStats stats = buffer.stats();
+        assertEquals(20, stats.submitted());
+        assertEquals(18, stats.coalesced());
+        assertEquals(2, stats.written());
+        assertEquals(1, stats.flushes());
+        assertEquals(0, stats.queueDepth());
+        assertEquals(0.9, stats.coalescingRatio(), 1e-9);
+    }
+
+    @Test
+    void flush_splitsIntoBatches() {
+        WriteBehindBuffer<Row> buffer =
+                buffer(WriteBehindOptions.flushEvery(Duration.ofHours(1)).withMaxBatchSize(2));
+        buffer.flush();
+        assertEquals(List.of(), batches);
+
+        // every second save schedules a background flush; flush() waits for it and writes the rest
+        for (int i = 1; i <= 5; i++) {
+            buffer.add(new Row(i, i));
+        }
+        buffer.flush();
+
+        assertEquals(5, batches.stream().mapToInt(List::size).sum());
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 2));
+    }
+
+    @Test
+    void interval_flushesInBackground() throws InterruptedException {
+        CountDownLatch flushed = new CountDownLatch(1);
+        buffer = new WriteBehindBuffer<>(
+                Row.class, Row::id, batch -> flushed.countDown(), WriteBehindOptions.flushEvery(Duration.ofMillis(20)));
+        buffer.add(new Row(1, 1));
+
+        assertTrue(flushed.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void full_waitsThenFails() {
+        CountDownLatch release = new CountDownLatch(1);
+        buffer = new WriteBehindBuffer<>(
+                Row.class,
+                Row::id,
+                batch -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                },
+                new WriteBehindOptions(Duration.ofHours(1), 2, 2, Duration.ofMillis(50)));
+        try {
+            // the second save schedules a flush that blocks in the writer, the next ones fill the buffer
+            assertThrows(IllegalStateException.class, () -> {
+                for (int i = 1; i < 10; i++) {
+                    buffer.add(new Row(i, 1));
+                }
+            });
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void failedWrite_writesTheOthers_andKeepsTheFailingEntityUnlessSavedAgain() {
+        List<List<Row>> attempts = new CopyOnWriteArrayList<>();
+        buffer = new WriteBehindBuffer<>(
+                Row.class,
+                Row::id,
+                batch -> {
+                    attempts.add(batch);
+                    if (batch.size() == 3) {
+                        buffer.add(new Row(3, 30));
+                    }
+                    if (batch.stream().anyMatch(row -> row.value() < 0)) {
+                        throw new IllegalStateException("constraint violated");
+                    }
+                },
+                WriteBehindOptions.flushEvery(Duration.ofHours(1)).withMaxAttempts(2));
+        buffer.add(new Row(1, 1));
+        buffer.add(new Row(2, -2));
+        buffer.add(new Row(3, -3));
+
+        assertThrows(IllegalStateException.class, buffer::flush);
+        // the batch, then each entity on its own
+        assertEquals(List.of(new Row(1, 1)), attempts.get(1));
+        assertEquals(1, buffer.stats().written());
+        assertEquals(3, buffer.stats().failedFlushes());
+        assertEquals(2, buffer.stats().queueDepth());
+
+        attempts.clear();
+        assertThrows(IllegalStateException.class, buffer::flush);
+        assertEquals(List.of(List.of(new Row(3, 30), new Row(2, -2)), List.of(new Row(3, 30)), List.of(new Row(2, -2))),
+                attempts);
+        assertEquals(0, buffer.stats().queueDepth());
+        assertEquals(1, buffer.stats().deadLettered());
+    }
+
+    @Test
+    void entityFailingMaxAttemptsTimes_isDeadLettered() {
+        List<Row> deadLetters = new CopyOnWriteArrayList<>();
+        buffer = new WriteBehindBuffer<>(
+                Row.class,
+                Row::id,
+                batch -> {
+                    if (batch.stream().anyMatch(row -> row.value() < 0)) {
+                        throw new IllegalStateException("constraint violated");
+                    }
+                },
+                WriteBehindOptions.flushEvery(Duration.ofHours(1)).withMaxAttempts(2),
+                (row, error) -> deadLetters.add(row));
+        buffer.add(new Row(1, -1));
+
+        assertThrows(IllegalStateException.class, buffer::flush);
+        assertEquals(1, buffer.stats().queueDepth());
+        assertEquals(List.of(), deadLetters);
+
+        assertThrows(IllegalStateException.class, buffer::flush);
+        assertEquals(0, buffer.stats().queueDepth());
+        assertEquals(1, buffer.stats().deadLettered());
+        assertEquals(List.of(new Row(1, -1)), deadLetters);
+
+        buffer.flush();
+    }
+
+    @Test
+    void close_drainsAndRejects() {
+        WriteBehindBuffer<Row> buffer = buffer(WriteBehindOptions.flushEvery(Duration.ofHours(1)));
+        buffer.add(new Row(1, 1));
+
+        buffer.close();
+
+        assertEquals(List.of(List.of(new Row(1, 1))), batches);
+        assertTrue(buffer.isClosed());
+        assertThrows(IllegalStateException.class, () -> buffer.add(new Row(2, 2)));
+    }
+
+    @Test
+    void options_validated() {
+        assertThrows(IllegalArgumentException.class, () -> WriteBehindOptions.flushEvery(Duration.ZERO));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new WriteBehindOptions(Duration.ofSeconds(1), 10, 5, Duration.ZERO));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> WriteBehindOptions.flushEvery(Duration.ofSeconds(1)).withMaxAttempts(0));
+    }
+}